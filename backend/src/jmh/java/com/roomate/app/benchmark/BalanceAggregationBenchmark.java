@@ -0,0 +1,40 @@
+package com.roomate.app.benchmark;
+
+import com.roomate.app.dto.ledger.MemberBalanceDto;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-member balance fold behind getMemberBalances and getMemberBalance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceAggregationBenchmark {
+
+    @Param({"12", "120", "1200"})
+    public int splits;
+
+    private RoomMemberEntity member;
+    private List<LedgerSplitEntity> memberSplits;
+
+    @Setup
+    public void setUp() {
+        RoomEntity room = BenchmarkFixtures.room(4);
+        member = room.getMembers().get(0);
+        memberSplits = BenchmarkFixtures.memberSplits(room, splits);
+    }
+
+    @Benchmark
+    public MemberBalanceDto aggregateBalance() {
+        return MemberBalanceDto.fromSplits(member, memberSplits);
+    }
+}
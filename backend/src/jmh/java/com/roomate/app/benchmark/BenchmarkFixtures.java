@@ -0,0 +1,107 @@
+package com.roomate.app.benchmark;
+
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Detached entity graphs shaped like production rows, built from a fixed seed so runs are comparable.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static UserEntity user(long id) {
+        UserEntity user = new UserEntity(id, "First" + id, "Last" + id, "user" + id + "@example.com");
+        user.setPhone("555-000-" + id);
+        return user;
+    }
+
+    public static RoomEntity room(int memberCount) {
+        RoomEntity room = new RoomEntity("Bench House", "1 Benchmark Way", "Synthetic room", "user1@example.com");
+        room.setId(UUID.nameUUIDFromBytes("room".getBytes()));
+        room.setRoomCode("GBENCH01");
+        room.setCreatedAt(NOW);
+        room.setUpdatedAt(NOW);
+        room.setMemberCount(memberCount);
+
+        List<RoomMemberEntity> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            RoomMemberEnum role = i == 0 ? RoomMemberEnum.HEAD_ROOMMATE : RoomMemberEnum.ROOMMATE;
+            RoomMemberEntity member = new RoomMemberEntity(room, user(i + 1), role);
+            member.setId(UUID.nameUUIDFromBytes(("member" + i).getBytes()));
+            member.setJoinedAt(NOW);
+            members.add(member);
+        }
+        room.setMembers(members);
+        return room;
+    }
+
+    public static LedgerEntryEntity ledgerEntry(RoomEntity room, int index) {
+        List<RoomMemberEntity> members = room.getMembers();
+        BigDecimal share = new BigDecimal("20.00");
+        LedgerEntryEntity entry = new LedgerEntryEntity(room, members.get(0), "Bill " + index,
+                LedgerEntryType.UTILITY, share.multiply(BigDecimal.valueOf(members.size())), SplitType.EQUAL);
+        entry.setId(UUID.nameUUIDFromBytes(("entry" + index).getBytes()));
+        entry.setDescription("Synthetic utility bill");
+        entry.setDueDate(NOW.toLocalDate().plusDays(index % 30));
+        entry.setStatus(LedgerEntryStatus.APPROVED);
+        entry.setCreatedAt(NOW);
+        entry.setUpdatedAt(NOW);
+        for (int i = 0; i < members.size(); i++) {
+            LedgerSplitEntity split = new LedgerSplitEntity(entry, members.get(i), share);
+            split.setId(UUID.nameUUIDFromBytes(("split" + index + "-" + i).getBytes()));
+            if ((index + i) % 3 == 0) {
+                split.recordPayment(share);
+            }
+            entry.getSplits().add(split);
+        }
+        return entry;
+    }
+
+    // EFFECTS : One member's splits across entryCount entries, as getMemberBalances would load them.
+    public static List<LedgerSplitEntity> memberSplits(RoomEntity room, int entryCount) {
+        List<LedgerSplitEntity> splits = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            splits.add(ledgerEntry(room, i).getSplits().get(0));
+        }
+        return splits;
+    }
+
+    public static GroceryListEntity groceryList(RoomEntity room, int itemCount) {
+        Random random = new Random(42);
+        List<RoomMemberEntity> members = room.getMembers();
+        GroceryListEntity list = new GroceryListEntity(room, "Weekly shop", members.get(0));
+        list.setId(UUID.nameUUIDFromBytes("list".getBytes()));
+        list.setCreatedAt(NOW);
+        for (int i = 0; i < itemCount; i++) {
+            RoomMemberEntity adder = members.get(i % members.size());
+            GroceryItemEntity item = new GroceryItemEntity(list, "Item " + i, "1", "Category " + (i % 6), adder);
+            item.setId(UUID.nameUUIDFromBytes(("item" + i).getBytes()));
+            item.setEstimatedPrice(BigDecimal.valueOf(100 + random.nextInt(900), 2));
+            if (i % 2 == 0) {
+                item.markPurchased(adder, item.getEstimatedPrice());
+            }
+            list.getItems().add(item);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,43 @@
+package com.roomate.app.benchmark;
+
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.ledger.LedgerEntryDto;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on the room and ledger read paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"2", "6"})
+    public int members;
+
+    private RoomEntity room;
+    private LedgerEntryEntity entry;
+
+    @Setup
+    public void setUp() {
+        room = BenchmarkFixtures.room(members);
+        entry = BenchmarkFixtures.ledgerEntry(room, 0);
+    }
+
+    @Benchmark
+    public RoomDto convertToRoomDto() {
+        return RoomDto.fromEntity(room);
+    }
+
+    @Benchmark
+    public LedgerEntryDto ledgerEntryFromEntity() {
+        return LedgerEntryDto.fromEntity(entry);
+    }
+}
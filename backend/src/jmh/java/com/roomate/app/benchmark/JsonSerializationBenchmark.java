@@ -0,0 +1,75 @@
+package com.roomate.app.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.dashboard.DashboardDto;
+import com.roomate.app.dto.grocery.GroceryListDto;
+import com.roomate.app.dto.ledger.LedgerEntryDto;
+import com.roomate.app.dto.ledger.MemberBalanceDto;
+import com.roomate.app.entities.room.RoomEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization of the main response DTOs, using the same mapper defaults as the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private RoomDto room;
+    private List<LedgerEntryDto> ledger;
+    private GroceryListDto groceryList;
+    private DashboardDto dashboard;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        RoomEntity roomEntity = BenchmarkFixtures.room(4);
+        room = RoomDto.fromEntity(roomEntity);
+        ledger = IntStream.range(0, 20)
+                .mapToObj(i -> LedgerEntryDto.fromEntity(BenchmarkFixtures.ledgerEntry(roomEntity, i)))
+                .toList();
+        groceryList = GroceryListDto.fromEntity(BenchmarkFixtures.groceryList(roomEntity, 40));
+        dashboard = DashboardDto.builder()
+                .rooms(List.of(room))
+                .chores(List.of())
+                .utilities(List.of())
+                .events(List.of())
+                .balances(Map.of(roomEntity.getId(), MemberBalanceDto.fromSplits(roomEntity.getMembers().get(0),
+                        BenchmarkFixtures.memberSplits(roomEntity, 20))))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] roomDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(room);
+    }
+
+    @Benchmark
+    public byte[] ledgerEntries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ledger);
+    }
+
+    @Benchmark
+    public byte[] groceryList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(groceryList);
+    }
+
+    @Benchmark
+    public byte[] dashboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+}
@@ -0,0 +1,53 @@
+package com.roomate.app.benchmark;
+
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.service.implementation.JWTServiceImplt;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks run on every authenticated request through the JWT filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTServiceImplt jwtService;
+    private UserEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTServiceImplt();
+        ReflectionTestUtils.setField(jwtService, "SECRET", "benchmark-secret-key-that-is-at-least-32-bytes");
+        jwtService.init();
+        user = BenchmarkFixtures.user(1);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValidForUser() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+}
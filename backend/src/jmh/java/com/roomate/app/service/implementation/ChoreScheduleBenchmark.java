@@ -0,0 +1,37 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.entities.ChoreFrequencyUnitEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Due-date expansion used by distributeChores, up to the one-year deadline limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChoreScheduleBenchmark {
+
+    @Param({"WEEKLY", "BIWEEKLY", "MONTHLY"})
+    public ChoreFrequencyUnitEnum unit;
+
+    private LocalDateTime start;
+    private LocalDateTime deadline;
+
+    @Setup
+    public void setUp() {
+        start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        deadline = start.plusYears(1);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> expandOneYear() {
+        return ChoreSchedule.dueDates(start, deadline, unit);
+    }
+}
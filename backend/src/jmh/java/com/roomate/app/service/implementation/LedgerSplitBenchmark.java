@@ -0,0 +1,41 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.benchmark.BenchmarkFixtures;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The split arithmetic behind calculateEqualSplits, without the repository round trips.
+ * Lives next to LedgerSplitCalculator because the calculator is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerSplitBenchmark {
+
+    @Param({"2", "6"})
+    public int members;
+
+    private List<RoomMemberEntity> roomMembers;
+    private BigDecimal total;
+
+    @Setup
+    public void setUp() {
+        roomMembers = BenchmarkFixtures.room(members).getMembers();
+        // An amount that does not divide evenly so the remainder path is exercised
+        total = new BigDecimal("100.01");
+    }
+
+    @Benchmark
+    public Map<RoomMemberEntity, BigDecimal> calculateEqualSplits() {
+        return LedgerSplitCalculator.equalShares(total, roomMembers);
+    }
+}
@@ -0,0 +1,91 @@
+package com.roomate.app.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps every latency sample per operation so percentiles are exact rather than bucketed.
+ * Guarded by ReentrantLock rather than synchronized so recording never pins a virtual thread.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Samples> operations = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        operations.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String operation, long nanos, int status) {
+        if (recording) {
+            operations.computeIfAbsent(operation, op -> new Samples()).add(nanos, status);
+        }
+    }
+
+    Map<String, OperationStats> summarize(double seconds) {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> stats.put(e.getKey(), e.getValue().summarize(seconds)));
+        return stats;
+    }
+
+    record OperationStats(long count, long errors, long throttled, double throughput,
+                          double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        private long throttled;
+
+        void add(long sample, int status) {
+            lock.lock();
+            try {
+                if (size == nanos.length) {
+                    nanos = Arrays.copyOf(nanos, size * 2);
+                }
+                nanos[size++] = sample;
+                // 429 from the rate limiter, 503 from the virtual-thread concurrency limiter
+                if (status == 429 || status == 503) {
+                    throttled++;
+                } else if (status >= 400 || status < 0) {
+                    errors++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        OperationStats summarize(double seconds) {
+            lock.lock();
+            try {
+                long[] sorted = Arrays.copyOf(nanos, size);
+                Arrays.sort(sorted);
+                return new OperationStats(size, errors, throttled, size / seconds,
+                        percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                        size == 0 ? 0 : sorted[size - 1] / 1e6);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
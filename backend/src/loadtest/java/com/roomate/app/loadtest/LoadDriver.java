@@ -0,0 +1,196 @@
+package com.roomate.app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roomate.app.loadtest.LoadTestSeeder.SeededUser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs one virtual thread per seeded user. Each virtual user logs in, then loops over a weighted mix of
+ * the endpoints the frontend polls, pausing for a jittered think time between requests.
+ *
+ * Every virtual user sends its own X-Forwarded-For address so the per-client rate limiter sees many
+ * clients, as it would in production, rather than throttling the whole run as one loopback caller.
+ */
+class LoadDriver {
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private volatile boolean running = true;
+
+    LoadDriver(LoadTestConfig config, URI baseUri, LatencyRecorder recorder) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // EFFECTS : Drives all users through warmup and the measured window; returns the measured seconds.
+    double run(List<SeededUser> users) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                SeededUser user = users.get(i);
+                String clientIp = "10." + ((i >> 16) & 0xff) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+                long seed = config.seed() * 31 + i;
+                executor.submit(() -> new VirtualUser(user, clientIp, seed).run());
+            }
+
+            Thread.sleep(config.warmup());
+            recorder.start();
+            long started = System.nanoTime();
+            Thread.sleep(config.duration());
+            recorder.stop();
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            running = false;
+            return seconds;
+        }
+    }
+
+    private final class VirtualUser {
+        private final SeededUser user;
+        private final String clientIp;
+        private final Random random;
+        private final Deque<String> unpurchasedItems = new ArrayDeque<>();
+        private String token;
+
+        VirtualUser(SeededUser user, String clientIp, long seed) {
+            this.user = user;
+            this.clientIp = clientIp;
+            this.random = new Random(seed);
+        }
+
+        void run() {
+            try {
+                // Spread logins so the run does not open with a thundering herd
+                Thread.sleep(random.nextLong(config.thinkTime().toMillis() + 1));
+                login();
+                while (running) {
+                    nextRequest();
+                    long think = config.thinkTime().toMillis();
+                    Thread.sleep(think / 2 + random.nextLong(think + 1));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void nextRequest() {
+            int roll = random.nextInt(100);
+            String listId = user.groceryListIds().get(random.nextInt(user.groceryListIds().size())).toString();
+            if (roll < 30) {
+                send("GET /api/dashboard", get("/api/dashboard"));
+            } else if (roll < 50) {
+                send("GET /api/rooms/{roomId}/ledger", get("/api/rooms/" + user.roomId() + "/ledger"));
+            } else if (roll < 60) {
+                send("GET /api/rooms/{roomId}/ledger/balances",
+                        get("/api/rooms/" + user.roomId() + "/ledger/balances"));
+            } else if (roll < 75) {
+                send("GET /api/rooms/{roomId}/groceries", get("/api/rooms/" + user.roomId() + "/groceries"));
+            } else if (roll < 87) {
+                send("GET /api/groceries/{listId}", get("/api/groceries/" + listId));
+            } else if (roll < 93 || unpurchasedItems.isEmpty()) {
+                addItem(listId);
+            } else if (roll < 98) {
+                String itemId = unpurchasedItems.poll();
+                send("PUT /api/groceries/items/{itemId}/purchase",
+                        json("/api/groceries/items/" + itemId + "/purchase", "PUT",
+                                Map.of("actualPrice", 1 + random.nextInt(20))));
+            } else {
+                login();
+            }
+        }
+
+        private void login() {
+            HttpResponse<String> response = send("POST /user/login", json("/user/login", "POST",
+                    Map.of("email", user.email(), "password", LoadTestSeeder.PASSWORD)));
+            JsonNode body = parse(response);
+            if (body != null && body.hasNonNull("token")) {
+                token = body.get("token").asText();
+            }
+        }
+
+        private void addItem(String listId) {
+            HttpResponse<String> response = send("POST /api/groceries/{listId}/items",
+                    json("/api/groceries/" + listId + "/items", "POST", Map.of(
+                            "name", "Item " + random.nextInt(500),
+                            "quantity", "1",
+                            "category", "Category " + random.nextInt(8),
+                            "estimatedPrice", 1 + random.nextInt(20))));
+            JsonNode body = parse(response);
+            if (body != null && body.hasNonNull("id")) {
+                unpurchasedItems.add(body.get("id").asText());
+            }
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+
+        private HttpRequest.Builder json(String path, String method, Map<String, Object> body) {
+            try {
+                return request(path)
+                        .header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("X-Forwarded-For", clientIp);
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(String operation, HttpRequest.Builder request) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                recorder.record(operation, System.nanoTime() - started, response.statusCode());
+                return response;
+            } catch (IOException e) {
+                recorder.record(operation, System.nanoTime() - started, -1);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        private JsonNode parse(HttpResponse<String> response) {
+            if (response == null || response.statusCode() / 100 != 2) {
+                return null;
+            }
+            try {
+                return objectMapper.readTree(response.body());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.roomate.app.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test knobs, read from -Dloadtest.* system properties.
+ */
+record LoadTestConfig(
+        int users,
+        int roomSize,
+        int ledgerEntriesPerRoom,
+        int groceryListsPerRoom,
+        int groceryItemsPerList,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        long seed,
+        List<String> threadModes,
+        String resultFile) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.room-size", 4),
+                Integer.getInteger("loadtest.ledger-entries-per-room", 24),
+                Integer.getInteger("loadtest.grocery-lists-per-room", 3),
+                Integer.getInteger("loadtest.grocery-items-per-list", 15),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 700)),
+                Long.getLong("loadtest.seed", 42),
+                // platform, virtual, or both to compare them in one run
+                Arrays.stream(System.getProperty("loadtest.thread-modes", "platform").split(","))
+                        .map(String::trim)
+                        .filter(mode -> !mode.isEmpty())
+                        .toList(),
+                System.getProperty("loadtest.result", "target/loadtest-result.json"));
+    }
+}
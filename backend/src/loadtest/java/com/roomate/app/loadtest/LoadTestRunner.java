@@ -0,0 +1,169 @@
+package com.roomate.app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.loadtest.LatencyRecorder.OperationStats;
+import com.roomate.app.loadtest.LoadTestSeeder.SeededUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the backend on the test profile (in-memory H2, random port), seeds it, replays a realistic request
+ * mix against it over loopback and reports throughput and latency percentiles per endpoint.
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify [-Dloadtest.users=500 -Dloadtest.duration-seconds=120]
+ * -Dloadtest.thread-modes=platform,virtual runs the same mix against Tomcat on platform threads and then on
+ * virtual threads, each on a fresh context, and prints the two side by side.
+ * Any program arguments are passed to Spring, e.g. --spring.datasource.hikari.maximum-pool-size=20.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        // Devtools would restart the context in a second classloader mid-run
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        Map<String, ModeResult> results = new LinkedHashMap<>();
+        for (String mode : config.threadModes()) {
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode " + mode + ", expected platform or virtual");
+            }
+            results.put(mode, run(config, mode, args));
+        }
+
+        if (results.size() > 1) {
+            compare(results);
+        }
+        write(config, results);
+    }
+
+    // EFFECTS : Boots a fresh backend in the given thread mode, seeds it, drives it and returns the results.
+    private static ModeResult run(LoadTestConfig config, String mode, String[] args) throws Exception {
+        // Passed as arguments so they outrank application-test.yml; caller arguments come last and win.
+        // The test classpath shadows the main application.yml, so production settings that change
+        // connection usage are restated here.
+        List<String> springArgs = new ArrayList<>(List.of(
+                "--spring.jpa.open-in-view=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.threads.virtual.enabled=" + mode.equals("virtual")));
+        springArgs.addAll(Arrays.asList(args));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StartOneApplication.class)
+                .profiles("test")
+                .run(springArgs.toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            long seedStarted = System.nanoTime();
+            List<SeededUser> users = new LoadTestSeeder(config, context).seed();
+            log.info("Seeded {} users in {} ms", users.size(), (System.nanoTime() - seedStarted) / 1_000_000);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            log.info("Driving {} virtual users against {} threads: {}s warmup, {}s measured", users.size(), mode,
+                    config.warmup().toSeconds(), config.duration().toSeconds());
+            double seconds = new LoadDriver(config, URI.create("http://localhost:" + port), recorder).run(users);
+
+            ModeResult result = new ModeResult(seconds, recorder.summarize(seconds));
+            report(mode, result);
+            return result;
+        } finally {
+            // create-drop: the next mode starts from an empty schema
+            context.close();
+        }
+    }
+
+    record ModeResult(double measuredSeconds, Map<String, OperationStats> operations) {
+        long total() {
+            return operations.values().stream().mapToLong(OperationStats::count).sum();
+        }
+
+        double throughput() {
+            return total() / measuredSeconds;
+        }
+    }
+
+    private static void report(String mode, ModeResult result) {
+        StringBuilder table = new StringBuilder(String.format("%n%-45s %8s %6s %6s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "shed", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, OperationStats> e : result.operations().entrySet()) {
+            OperationStats s = e.getValue();
+            table.append(String.format("%-45s %8d %6d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n", e.getKey(), s.count(),
+                    s.errors(), s.throttled(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        table.append(String.format("%-45s %8d %6s %6s %9.1f%n", "total", result.total(), "", "", result.throughput()));
+        log.info("Load test results on {} threads over {}s:{}", mode, String.format("%.1f", result.measuredSeconds()),
+                table);
+    }
+
+    // EFFECTS : Logs throughput and p95/p99 side by side for every operation, first mode as the baseline.
+    private static void compare(Map<String, ModeResult> results) {
+        List<String> modes = new ArrayList<>(results.keySet());
+        StringBuilder table = new StringBuilder(String.format("%n%-45s", "operation"));
+        for (String mode : modes) {
+            table.append(String.format(" %14s %14s %14s", mode + " req/s", mode + " p95", mode + " p99"));
+        }
+        table.append(String.format("%n"));
+
+        ModeResult baseline = results.get(modes.get(0));
+        for (String operation : baseline.operations().keySet()) {
+            table.append(String.format("%-45s", operation));
+            for (String mode : modes) {
+                OperationStats s = results.get(mode).operations().get(operation);
+                if (s == null) {
+                    table.append(String.format(" %14s %14s %14s", "-", "-", "-"));
+                } else {
+                    table.append(String.format(" %14.1f %14.2f %14.2f", s.throughput(), s.p95Ms(), s.p99Ms()));
+                }
+            }
+            table.append(String.format("%n"));
+        }
+        table.append(String.format("%-45s", "total"));
+        for (String mode : modes) {
+            table.append(String.format(" %14.1f %14s %14s", results.get(mode).throughput(), "", ""));
+        }
+        log.info("Thread mode comparison:{}", table);
+    }
+
+    private static void write(LoadTestConfig config, Map<String, ModeResult> results) throws Exception {
+        Map<String, Object> modes = new LinkedHashMap<>();
+        results.forEach((mode, result) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("measuredSeconds", result.measuredSeconds());
+            entry.put("throughput", result.throughput());
+            entry.put("operations", result.operations());
+            modes.put(mode, entry);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", config);
+        result.put("modes", modes);
+        File file = new File(config.resultFile());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, result);
+        log.info("Wrote {}", file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,164 @@
+package com.roomate.app.loadtest;
+
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.RoomMemberRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.implementation.RoomCodeAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A scaled-up DataSeeder: users grouped into full rooms, each room with a ledger history and grocery lists.
+ * One room is written per transaction so memory stays flat as the user count grows.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "Load_test_123!";
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private final LoadTestConfig config;
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final RoomMemberRepository roomMemberRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final GroceryListRepository groceryListRepository;
+    private final RoomCodeAllocator roomCodeAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    LoadTestSeeder(LoadTestConfig config, ApplicationContext context) {
+        this.config = config;
+        this.userRepository = context.getBean(UserRepository.class);
+        this.roomRepository = context.getBean(RoomRepository.class);
+        this.roomMemberRepository = context.getBean(RoomMemberRepository.class);
+        this.ledgerEntryRepository = context.getBean(LedgerEntryRepository.class);
+        this.groceryListRepository = context.getBean(GroceryListRepository.class);
+        this.roomCodeAllocator = context.getBean(RoomCodeAllocator.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    List<SeededUser> seed() {
+        Random random = new Random(config.seed());
+        // BCrypt is deliberately slow; every seeded user shares one hash
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        String runId = Long.toString(config.seed(), 36);
+
+        List<SeededUser> seeded = new ArrayList<>(config.users());
+        int rooms = (config.users() + config.roomSize() - 1) / config.roomSize();
+        long started = System.nanoTime();
+
+        for (int r = 0; r < rooms; r++) {
+            int first = r * config.roomSize();
+            int size = Math.min(config.roomSize(), config.users() - first);
+            seeded.addAll(transactionTemplate.execute(status -> seedRoom(runId, first, size, passwordHash, random)));
+
+            if ((r + 1) % 50 == 0 || r + 1 == rooms) {
+                log.info("Seeded {}/{} rooms ({} users) in {} ms", r + 1, rooms, seeded.size(),
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+        return seeded;
+    }
+
+    private List<SeededUser> seedRoom(String runId, int first, int size, String passwordHash, Random random) {
+        List<UserEntity> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int n = first + i;
+            UserEntity user = new UserEntity();
+            user.setFirstName("Load" + n);
+            user.setLastName("User");
+            user.setEmail("load-" + runId + "-" + n + "@loadtest.local");
+            user.setPassword(passwordHash);
+            user.setPhone("555-000-0000");
+            user.setEnabled(true);
+            user.setRoomCount(1);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        RoomEntity room = new RoomEntity("Load House " + first, first + " Benchmark St", "Seeded for load testing",
+                users.get(0).getEmail());
+        room.setRoomCode(roomCodeAllocator.nextCode());
+        room.setMemberCount(size);
+        room = roomRepository.save(room);
+
+        List<RoomMemberEntity> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            RoomMemberEnum role = i == 0 ? RoomMemberEnum.HEAD_ROOMMATE : RoomMemberEnum.ROOMMATE;
+            members.add(new RoomMemberEntity(room, users.get(i), role));
+        }
+        members = roomMemberRepository.saveAll(members);
+
+        List<LedgerEntryEntity> entries = new ArrayList<>(config.ledgerEntriesPerRoom());
+        for (int e = 0; e < config.ledgerEntriesPerRoom(); e++) {
+            BigDecimal share = BigDecimal.valueOf(1000 + random.nextInt(9000), 2);
+            LedgerEntryEntity entry = new LedgerEntryEntity(room, members.get(0), "Bill " + e,
+                    e % 2 == 0 ? LedgerEntryType.UTILITY : LedgerEntryType.SHARED_EXPENSE,
+                    share.multiply(BigDecimal.valueOf(size)), SplitType.EQUAL);
+            entry.setDueDate(LocalDate.now().plusDays(random.nextInt(60) - 30));
+            entry.setStatus(LedgerEntryStatus.APPROVED);
+            for (RoomMemberEntity member : members) {
+                LedgerSplitEntity split = new LedgerSplitEntity(entry, member, share);
+                if (random.nextInt(3) == 0) {
+                    split.recordPayment(share);
+                }
+                entry.getSplits().add(split);
+            }
+            entries.add(entry);
+        }
+        ledgerEntryRepository.saveAll(entries);
+
+        List<GroceryListEntity> lists = new ArrayList<>(config.groceryListsPerRoom());
+        for (int l = 0; l < config.groceryListsPerRoom(); l++) {
+            GroceryListEntity list = new GroceryListEntity(room, "Shop " + l, members.get(l % size));
+            for (int i = 0; i < config.groceryItemsPerList(); i++) {
+                RoomMemberEntity adder = members.get(random.nextInt(size));
+                GroceryItemEntity item = new GroceryItemEntity(list, "Item " + random.nextInt(500), "1",
+                        "Category " + random.nextInt(8), adder);
+                item.setEstimatedPrice(BigDecimal.valueOf(100 + random.nextInt(2000), 2));
+                if (random.nextInt(4) == 0) {
+                    item.markPurchased(adder, item.getEstimatedPrice());
+                }
+                list.getItems().add(item);
+            }
+            lists.add(list);
+        }
+        lists = groceryListRepository.saveAll(lists);
+
+        List<UUID> listIds = lists.stream().map(GroceryListEntity::getId).toList();
+        List<SeededUser> seeded = new ArrayList<>(size);
+        for (UserEntity user : users) {
+            seeded.add(new SeededUser(user.getEmail(), room.getId(), listIds));
+        }
+        return seeded;
+    }
+
+    record SeededUser(String email, UUID roomId, List<UUID> groceryListIds) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.roomate.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for virtual-thread request handling.
+ *
+ * On platform threads Tomcat's worker pool caps how many requests can queue on Hikari at once. With virtual
+ * threads there is no such cap, so a burst turns into thousands of threads waiting on a handful of
+ * connections until they time out. This filter restores a bound sized from the connection pool: requests
+ * wait briefly for a permit and are turned away with 503 when none frees up.
+ *
+ * Decisions are counted as concurrency.limiter.requests{result}; concurrency.limiter.in.flight is a gauge.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long admissionTimeoutMs;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(DataSource dataSource,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                  @Value("${app.threads.requests-per-connection:2}") int requestsPerConnection,
+                                  @Value("${app.threads.admission-timeout-ms:2000}") long admissionTimeoutMs) {
+        this.maxConcurrentRequests = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : poolSize(dataSource) * requestsPerConnection;
+        this.permits = new Semaphore(this.maxConcurrentRequests, true);
+        this.admissionTimeoutMs = admissionTimeoutMs;
+        this.admitted = decisionCounter(meterRegistry, "admitted");
+        this.rejected = decisionCounter(meterRegistry, "rejected");
+        Gauge.builder("concurrency.limiter.in.flight", this, ConcurrencyLimitFilter::inFlight)
+                .description("Requests currently holding a permit")
+                .register(meterRegistry);
+        log.info("Virtual threads enabled, limiting to {} concurrent requests", this.maxConcurrentRequests);
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String result) {
+        return Counter.builder("concurrency.limiter.requests")
+                .description("Concurrency limiter decisions")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // EFFECTS : Hikari's maximum pool size, or Hikari's default of 10 when it is unset or another pool is used.
+    private static int poolSize(DataSource dataSource) {
+        // Hikari reports -1 until the pool starts unless maximum-pool-size is configured
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return 10;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int inFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write(
+                    "{\"error\":\"Service busy\",\"message\":\"Too many concurrent requests. Please try again shortly.\"}");
+            return;
+        }
+
+        admitted.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator");
+    }
+}
@@ -1,6 +1,7 @@
 package com.roomate.app.config;
 
 import com.roomate.app.entities.*;
+import com.roomate.app.entities.ledger.*;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
 import com.roomate.app.entities.room.RoomMemberEnum;
@@ -12,6 +13,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,7 +41,7 @@ public class DataSeeder {
             RoomMemberRepository roomMemberRepository,
             EventRepository eventRepository,
             ChoreRepository choreRepository,
-            UtilityRepository utilityRepository,
+            LedgerEntryRepository ledgerEntryRepository,
             PasswordEncoder passwordEncoder) {
         return args -> {
             log.info("Checking for test data seeding with email: {}", TEST_EMAIL);
@@ -59,6 +61,7 @@ public class DataSeeder {
             testUser.setPassword(passwordEncoder.encode(TEST_PASSWORD));
             testUser.setPhone("555-123-4567");
             testUser.setEnabled(true);
+            testUser.setRoomCount(1);
             testUser = userRepository.save(testUser);
             log.info("Created test user: {}", testUser.getEmail());
 
@@ -69,6 +72,7 @@ public class DataSeeder {
             roommate.setPassword(passwordEncoder.encode(TEST_PASSWORD));
             roommate.setPhone("555-987-6543");
             roommate.setEnabled(true);
+            roommate.setRoomCount(1);
             roommate = userRepository.save(roommate);
             log.info("Created roommate user: {}", roommate.getEmail());
 
@@ -79,6 +83,7 @@ public class DataSeeder {
             room.setHeadRoommateId(testUser.getEmail());
             room.setRoomCode(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
             room.setCreatedAt(LocalDateTime.now());
+            room.setMemberCount(2);
             room = roomRepository.save(room);
             log.info("Created room: {} with code: {}", room.getName(), room.getRoomCode());
 
@@ -161,38 +166,32 @@ public class DataSeeder {
 
             log.info("Created 4 chores");
 
-            UtilityEntity utility1 = new UtilityEntity();
-            utility1.setUtilityName("Electricity");
+            LedgerEntryEntity utility1 = new LedgerEntryEntity(room, testUserMember, "Electricity",
+                    LedgerEntryType.UTILITY, new BigDecimal("120.50"), SplitType.EQUAL);
             utility1.setDescription("Monthly electricity bill - PG&E");
-            utility1.setUtilityPrice(120.50);
-            utility1.setChoreFrequencyUnitEnum(ChoreFrequencyUnitEnum.MONTHLY);
-            utility1.setUtilDistributionEnum(UtilDistributionEnum.EQUALSPLIT);
-            utility1.setDueAt(now.plusDays(10));
-            utility1.setRoom(room);
-            utility1.setAssignedToMember(testUserMember);
-            utilityRepository.save(utility1);
-
-            UtilityEntity utility2 = new UtilityEntity();
-            utility2.setUtilityName("Internet");
+            utility1.setDueDate(now.plusDays(10).toLocalDate());
+            utility1.setStatus(LedgerEntryStatus.APPROVED);
+            utility1.getSplits().add(new LedgerSplitEntity(utility1, testUserMember, new BigDecimal("60.25")));
+            utility1.getSplits().add(new LedgerSplitEntity(utility1, roommateMember, new BigDecimal("60.25")));
+            ledgerEntryRepository.save(utility1);
+
+            LedgerEntryEntity utility2 = new LedgerEntryEntity(room, testUserMember, "Internet",
+                    LedgerEntryType.UTILITY, new BigDecimal("79.99"), SplitType.EQUAL);
             utility2.setDescription("Xfinity 500Mbps plan");
-            utility2.setUtilityPrice(79.99);
-            utility2.setChoreFrequencyUnitEnum(ChoreFrequencyUnitEnum.MONTHLY);
-            utility2.setUtilDistributionEnum(UtilDistributionEnum.EQUALSPLIT);
-            utility2.setDueAt(now.plusDays(15));
-            utility2.setRoom(room);
-            utility2.setAssignedToMember(roommateMember);
-            utilityRepository.save(utility2);
-
-            UtilityEntity utility3 = new UtilityEntity();
-            utility3.setUtilityName("Water & Garbage");
+            utility2.setDueDate(now.plusDays(15).toLocalDate());
+            utility2.setStatus(LedgerEntryStatus.APPROVED);
+            utility2.getSplits().add(new LedgerSplitEntity(utility2, testUserMember, new BigDecimal("40.00")));
+            utility2.getSplits().add(new LedgerSplitEntity(utility2, roommateMember, new BigDecimal("39.99")));
+            ledgerEntryRepository.save(utility2);
+
+            LedgerEntryEntity utility3 = new LedgerEntryEntity(room, testUserMember, "Water & Garbage",
+                    LedgerEntryType.UTILITY, new BigDecimal("45.00"), SplitType.EQUAL);
             utility3.setDescription("City water and garbage services");
-            utility3.setUtilityPrice(45.00);
-            utility3.setChoreFrequencyUnitEnum(ChoreFrequencyUnitEnum.MONTHLY);
-            utility3.setUtilDistributionEnum(UtilDistributionEnum.EQUALSPLIT);
-            utility3.setDueAt(now.plusDays(20));
-            utility3.setRoom(room);
-            utility3.setAssignedToMember(testUserMember);
-            utilityRepository.save(utility3);
+            utility3.setDueDate(now.plusDays(20).toLocalDate());
+            utility3.setStatus(LedgerEntryStatus.APPROVED);
+            utility3.getSplits().add(new LedgerSplitEntity(utility3, testUserMember, new BigDecimal("22.50")));
+            utility3.getSplits().add(new LedgerSplitEntity(utility3, roommateMember, new BigDecimal("22.50")));
+            ledgerEntryRepository.save(utility3);
 
             log.info("Created 3 utilities");
 
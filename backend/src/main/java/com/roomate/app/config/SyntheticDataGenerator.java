@@ -0,0 +1,341 @@
+package com.roomate.app.config;
+
+import com.roomate.app.service.implementation.RoomCodeAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Scale-testing counterpart to DataSeeder. Only runs with the 'datagen' profile, e.g.
+ * ACTIVE_PROFILE=dev,datagen DATAGEN_USERS=1000000.
+ *
+ * Users are grouped into full rooms; every room gets the same shape of chores, ledger entries with
+ * splits and grocery lists. Each room draws from its own Random seeded from (seed, room index), so
+ * the data is identical across runs and chunk sizes. Rows are written with JDBC batch inserts, one
+ * chunk of rooms per transaction, bypassing the persistence context entirely. Re-running with the
+ * same settings skips chunks that are already there, so an interrupted run can simply be restarted.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public static final String PASSWORD = "Datagen_123!";
+
+    private static final String[] CHORES = {"Kitchen Cleaning", "Bathroom Cleaning", "Take Out Trash",
+            "Vacuum Living Room", "Mop Floors", "Water Plants"};
+    private static final String[] FREQUENCY_UNITS = {"WEEKLY", "BIWEEKLY", "MONTHLY"};
+    private static final String[] ENTRY_TYPES = {"RENT", "UTILITY", "INTERNET", "SHARED_EXPENSE", "GROCERY"};
+    private static final String[] CATEGORIES = {"Produce", "Dairy", "Bakery", "Meat", "Pantry", "Frozen",
+            "Household", "Snacks"};
+
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, password, " +
+            "phone, enabled, room_count) VALUES (:id, :firstName, :lastName, :email, :password, :phone, true, 1)";
+    private static final String COUNT_USER = "SELECT COUNT(*) FROM users WHERE email = :email";
+    private static final String NEXT_USER_ID_BLOCK = "SELECT nextval('users_seq')";
+    // Matches the allocationSize on UserEntity; every nextval reserves this many ids (pooled-lo)
+    private static final int USER_ID_BLOCK = 50;
+    private static final String INSERT_ROOM = "INSERT INTO room (id, name, address, description, room_code, " +
+            "head_roommate_id, created_at, member_count) VALUES (:id, :name, :address, :description, :roomCode, " +
+            ":headRoommateId, :createdAt, :memberCount)";
+    private static final String INSERT_MEMBER = "INSERT INTO room_member (id, room_id, user_id, role, joined_at) " +
+            "VALUES (:id, :roomId, :userId, :role, :joinedAt)";
+    private static final String INSERT_CHORE = "INSERT INTO chore_entity (id, chore_name, frequency, " +
+            "chore_frequency_unit_enum, created_at, due_at, is_completed, room_id, room_member_id) VALUES (:id, " +
+            ":choreName, 1, :unit, :createdAt, :dueAt, :completed, :roomId, :memberId)";
+    private static final String INSERT_ENTRY = "INSERT INTO ledger_entry (id, room_id, created_by_member_id, title, " +
+            "entry_type, total_amount, split_type, status, due_date, created_at, updated_at) VALUES (:id, :roomId, " +
+            ":createdBy, :title, :entryType, :totalAmount, 'EQUAL', :status, :dueDate, :createdAt, :createdAt)";
+    private static final String INSERT_SPLIT = "INSERT INTO ledger_split (id, ledger_entry_id, room_member_id, " +
+            "amount_owed, amount_paid, payment_status, paid_at) VALUES (:id, :entryId, :memberId, :owed, :paid, " +
+            ":paymentStatus, :paidAt)";
+    private static final String INSERT_LIST = "INSERT INTO grocery_list (id, room_id, name, status, created_at, " +
+            "completed_at, created_by_member_id) VALUES (:id, :roomId, :name, :status, :createdAt, :completedAt, " +
+            ":createdBy)";
+    private static final String INSERT_ITEM = "INSERT INTO grocery_item (id, grocery_list_id, name, quantity, " +
+            "category, is_purchased, added_by_member_id, purchased_by_member_id, estimated_price, actual_price, " +
+            "purchased_at, created_at) VALUES (:id, :listId, :name, '1', :category, :purchased, :addedBy, " +
+            ":purchasedBy, :estimatedPrice, :actualPrice, :purchasedAt, :createdAt)";
+
+    public record Settings(long seed, int users, int roomSize, int choresPerRoom, int ledgerEntriesPerRoom,
+                           int groceryListsPerRoom, int itemsPerList, int batchSize) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomCodeAllocator roomCodeAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final Settings settings;
+
+    public SyntheticDataGenerator(NamedParameterJdbcTemplate jdbc,
+                                  PlatformTransactionManager transactionManager,
+                                  RoomCodeAllocator roomCodeAllocator,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${app.datagen.seed:42}") long seed,
+                                  @Value("${app.datagen.users:10000}") int users,
+                                  @Value("${app.datagen.room-size:4}") int roomSize,
+                                  @Value("${app.datagen.chores-per-room:12}") int choresPerRoom,
+                                  @Value("${app.datagen.ledger-entries-per-room:24}") int ledgerEntriesPerRoom,
+                                  @Value("${app.datagen.grocery-lists-per-room:4}") int groceryListsPerRoom,
+                                  @Value("${app.datagen.items-per-list:15}") int itemsPerList,
+                                  @Value("${app.datagen.batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roomCodeAllocator = roomCodeAllocator;
+        this.passwordEncoder = passwordEncoder;
+        this.settings = new Settings(seed, users, roomSize, choresPerRoom, ledgerEntriesPerRoom,
+                groceryListsPerRoom, itemsPerList, batchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate(settings);
+    }
+
+    // EFFECTS : Writes the configured data set and returns the number of rows inserted per table.
+    public Map<String, Long> generate(Settings settings) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        int rooms = (settings.users() + settings.roomSize() - 1) / settings.roomSize();
+        int roomsPerChunk = Math.max(1, settings.batchSize() / settings.roomSize());
+        // BCrypt is deliberately slow; every generated user shares one hash
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        log.info("Generating {} users in {} rooms (seed {}, {} rooms per transaction)",
+                settings.users(), rooms, settings.seed(), roomsPerChunk);
+        long started = System.nanoTime();
+        long lastReport = started;
+
+        for (int first = 0; first < rooms; first += roomsPerChunk) {
+            int from = first;
+            int to = Math.min(rooms, first + roomsPerChunk);
+            // Chunks commit atomically, so a chunk whose first user exists was finished by an earlier run
+            if (userExists(email(settings, from * settings.roomSize()))) {
+                continue;
+            }
+            Map<String, Long> chunk = transactionTemplate.execute(status ->
+                    writeChunk(settings, from, to, passwordHash));
+            chunk.forEach((table, count) -> totals.merge(table, count, Long::sum));
+
+            long now = System.nanoTime();
+            if (to == rooms || now - lastReport > 5_000_000_000L) {
+                long rows = totals.values().stream().mapToLong(Long::longValue).sum();
+                double seconds = (now - started) / 1e9;
+                log.info("Generated {}/{} rooms, {} rows ({} rows/s)", to, rooms, rows, (long) (rows / seconds));
+                lastReport = now;
+            }
+        }
+
+        log.info("Synthetic data complete in {} s: {}", (System.nanoTime() - started) / 1_000_000_000, totals);
+        return totals;
+    }
+
+    private Map<String, Long> writeChunk(Settings settings, int fromRoom, int toRoom, String passwordHash) {
+        Batch users = new Batch(INSERT_USER);
+        Batch rooms = new Batch(INSERT_ROOM);
+        Batch members = new Batch(INSERT_MEMBER);
+        Batch chores = new Batch(INSERT_CHORE);
+        Batch entries = new Batch(INSERT_ENTRY);
+        Batch splits = new Batch(INSERT_SPLIT);
+        Batch lists = new Batch(INSERT_LIST);
+        Batch items = new Batch(INSERT_ITEM);
+
+        Map<String, Long> userIds = new HashMap<>();
+        long nextId = 0;
+        long blockEnd = 0;
+        for (int room = fromRoom; room < toRoom; room++) {
+            for (int n = room * settings.roomSize(); n < Math.min(settings.users(), (room + 1) * settings.roomSize()); n++) {
+                if (nextId == blockEnd) {
+                    nextId = jdbc.getJdbcTemplate().queryForObject(NEXT_USER_ID_BLOCK, Long.class);
+                    blockEnd = nextId + USER_ID_BLOCK;
+                }
+                String email = email(settings, n);
+                userIds.put(email, nextId);
+                users.add(new MapSqlParameterSource()
+                        .addValue("id", nextId++)
+                        .addValue("firstName", "Gen" + n)
+                        .addValue("lastName", "User")
+                        .addValue("email", email)
+                        .addValue("password", passwordHash)
+                        .addValue("phone", "555-" + String.format("%07d", n % 10_000_000)));
+            }
+        }
+        long userCount = users.flush(jdbc);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int room = fromRoom; room < toRoom; room++) {
+            Random random = new Random(settings.seed() * 1_000_003L + room);
+            int firstUser = room * settings.roomSize();
+            int size = Math.min(settings.roomSize(), settings.users() - firstUser);
+            UUID roomId = uuid(random);
+            LocalDateTime createdAt = now.minusDays(random.nextInt(720));
+
+            rooms.add(new MapSqlParameterSource()
+                    .addValue("id", roomId)
+                    .addValue("name", "Generated House " + room)
+                    .addValue("address", room + " Synthetic Ave")
+                    .addValue("description", "Generated for scale testing")
+                    .addValue("roomCode", roomCodeAllocator.nextCode())
+                    .addValue("headRoommateId", email(settings, firstUser))
+                    .addValue("createdAt", Timestamp.valueOf(createdAt))
+                    .addValue("memberCount", size));
+
+            UUID[] memberIds = new UUID[size];
+            for (int i = 0; i < size; i++) {
+                memberIds[i] = uuid(random);
+                members.add(new MapSqlParameterSource()
+                        .addValue("id", memberIds[i])
+                        .addValue("roomId", roomId)
+                        .addValue("userId", userIds.get(email(settings, firstUser + i)))
+                        .addValue("role", i == 0 ? "HEAD_ROOMMATE" : "ROOMMATE")
+                        .addValue("joinedAt", Timestamp.valueOf(createdAt.plusDays(i))));
+            }
+
+            for (int c = 0; c < settings.choresPerRoom(); c++) {
+                LocalDateTime dueAt = now.plusDays(random.nextInt(120) - 60).withMinute(0).withSecond(0);
+                chores.add(new MapSqlParameterSource()
+                        .addValue("id", uuid(random))
+                        .addValue("choreName", CHORES[c % CHORES.length])
+                        .addValue("unit", FREQUENCY_UNITS[random.nextInt(FREQUENCY_UNITS.length)])
+                        .addValue("createdAt", Timestamp.valueOf(createdAt))
+                        .addValue("dueAt", Timestamp.valueOf(dueAt))
+                        .addValue("completed", dueAt.isBefore(now))
+                        .addValue("roomId", roomId)
+                        .addValue("memberId", memberIds[c % size]));
+            }
+
+            for (int e = 0; e < settings.ledgerEntriesPerRoom(); e++) {
+                UUID entryId = uuid(random);
+                BigDecimal share = BigDecimal.valueOf(500 + random.nextInt(50_000), 2);
+                LocalDate dueDate = now.toLocalDate().plusDays(random.nextInt(180) - 150);
+                boolean settled = dueDate.isBefore(now.toLocalDate().minusDays(30));
+                LocalDateTime entryCreated = dueDate.atStartOfDay().minusDays(14);
+                entries.add(new MapSqlParameterSource()
+                        .addValue("id", entryId)
+                        .addValue("roomId", roomId)
+                        .addValue("createdBy", memberIds[0])
+                        .addValue("title", ENTRY_TYPES[e % ENTRY_TYPES.length] + " #" + e)
+                        .addValue("entryType", ENTRY_TYPES[e % ENTRY_TYPES.length])
+                        .addValue("totalAmount", share.multiply(BigDecimal.valueOf(size)))
+                        .addValue("status", settled ? "PAID" : "APPROVED")
+                        .addValue("dueDate", Date.valueOf(dueDate))
+                        .addValue("createdAt", Timestamp.valueOf(entryCreated)));
+                for (UUID memberId : memberIds) {
+                    boolean paid = settled || random.nextInt(3) == 0;
+                    splits.add(new MapSqlParameterSource()
+                            .addValue("id", uuid(random))
+                            .addValue("entryId", entryId)
+                            .addValue("memberId", memberId)
+                            .addValue("owed", share)
+                            .addValue("paid", paid ? share : BigDecimal.ZERO)
+                            .addValue("paymentStatus", paid ? "PAID" : "UNPAID")
+                            .addValue("paidAt", paid ? Timestamp.valueOf(entryCreated.plusDays(3)) : null));
+                }
+            }
+
+            for (int l = 0; l < settings.groceryListsPerRoom(); l++) {
+                UUID listId = uuid(random);
+                // Only the newest list is still active; older ones are completed or archived
+                String status = l == 0 ? "ACTIVE" : l % 2 == 0 ? "ARCHIVED" : "COMPLETED";
+                LocalDateTime listCreated = now.minusDays(7L * l + random.nextInt(7));
+                lists.add(new MapSqlParameterSource()
+                        .addValue("id", listId)
+                        .addValue("roomId", roomId)
+                        .addValue("name", "Shop " + l)
+                        .addValue("status", status)
+                        .addValue("createdAt", Timestamp.valueOf(listCreated))
+                        .addValue("completedAt", l == 0 ? null : Timestamp.valueOf(listCreated.plusDays(2)))
+                        .addValue("createdBy", memberIds[l % size]));
+                for (int i = 0; i < settings.itemsPerList(); i++) {
+                    boolean purchased = l > 0 || random.nextInt(4) == 0;
+                    BigDecimal estimate = BigDecimal.valueOf(99 + random.nextInt(2000), 2);
+                    UUID buyer = memberIds[random.nextInt(size)];
+                    items.add(new MapSqlParameterSource()
+                            .addValue("id", uuid(random))
+                            .addValue("listId", listId)
+                            .addValue("name", "Item " + random.nextInt(400))
+                            .addValue("category", CATEGORIES[random.nextInt(CATEGORIES.length)])
+                            .addValue("purchased", purchased)
+                            .addValue("addedBy", memberIds[random.nextInt(size)])
+                            .addValue("purchasedBy", purchased ? buyer : null)
+                            .addValue("estimatedPrice", estimate)
+                            .addValue("actualPrice", purchased ? estimate : null)
+                            .addValue("purchasedAt", purchased ? Timestamp.valueOf(listCreated.plusDays(1)) : null)
+                            .addValue("createdAt", Timestamp.valueOf(listCreated)));
+                }
+            }
+        }
+
+        // Parents before children
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("users", userCount);
+        counts.put("room", rooms.flush(jdbc));
+        counts.put("room_member", members.flush(jdbc));
+        counts.put("chore_entity", chores.flush(jdbc));
+        counts.put("ledger_entry", entries.flush(jdbc));
+        counts.put("ledger_split", splits.flush(jdbc));
+        counts.put("grocery_list", lists.flush(jdbc));
+        counts.put("grocery_item", items.flush(jdbc));
+        return counts;
+    }
+
+    private boolean userExists(String email) {
+        Integer count = jdbc.queryForObject(COUNT_USER, Map.of("email", email), Integer.class);
+        return count != null && count > 0;
+    }
+
+    public static String email(Settings settings, int n) {
+        return "gen-" + settings.seed() + "-" + n + "@datagen.local";
+    }
+
+    // EFFECTS : A version 4 UUID drawn from the room's Random, so ids repeat across runs with the same seed.
+    private static UUID uuid(Random random) {
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static final class Batch {
+        private final String sql;
+        private final List<SqlParameterSource> rows = new ArrayList<>();
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(SqlParameterSource row) {
+            rows.add(row);
+        }
+
+        long flush(NamedParameterJdbcTemplate jdbc) {
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows.toArray(SqlParameterSource[]::new));
+            }
+            long written = rows.size();
+            rows.clear();
+            return written;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,20 +25,38 @@ import java.util.concurrent.TimeUnit;
  * Limits:
  * - Auth endpoints (/user/login, /user/register): 5 requests per minute per IP
  * - General endpoints: 100 requests per minute per IP
+ *
+ * Every decision is counted as rate.limiter.requests{bucket, result}.
  */
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final LoadingCache<String, Bucket> authBuckets;
     private final LoadingCache<String, Bucket> generalBuckets;
+    private final Counter authAllowed;
+    private final Counter authRejected;
+    private final Counter generalAllowed;
+    private final Counter generalRejected;
 
-    public RateLimitingFilter() {
+    public RateLimitingFilter(MeterRegistry meterRegistry) {
         this.authBuckets = Caffeine.newBuilder()
                 .expireAfterAccess(10, TimeUnit.MINUTES)
                 .build(this::createAuthBucket);
         this.generalBuckets = Caffeine.newBuilder()
                 .expireAfterAccess(10, TimeUnit.MINUTES)
                 .build(this::createGeneralBucket);
+        this.authAllowed = decisionCounter(meterRegistry, "auth", "allowed");
+        this.authRejected = decisionCounter(meterRegistry, "auth", "rejected");
+        this.generalAllowed = decisionCounter(meterRegistry, "general", "allowed");
+        this.generalRejected = decisionCounter(meterRegistry, "general", "rejected");
+    }
+
+    private static Counter decisionCounter(MeterRegistry registry, String bucket, String result) {
+        return Counter.builder("rate.limiter.requests")
+                .description("Rate limiter decisions per bucket")
+                .tag("bucket", bucket)
+                .tag("result", result)
+                .register(registry);
     }
 
     private Bucket createAuthBucket(String key) {
@@ -56,16 +76,19 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         String clientIp = getClientIP(request);
         String path = request.getRequestURI();
 
+        boolean auth = isAuthEndpoint(path);
         Bucket bucket;
-        if (isAuthEndpoint(path)) {
+        if (auth) {
             bucket = authBuckets.get(clientIp);
         } else {
             bucket = generalBuckets.get(clientIp);
         }
 
         if (bucket.tryConsume(1)) {
+            (auth ? authAllowed : generalAllowed).increment();
             chain.doFilter(request, response);
         } else {
+            (auth ? authRejected : generalRejected).increment();
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
             response.getWriter().write(
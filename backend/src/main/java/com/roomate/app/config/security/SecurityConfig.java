@@ -21,6 +21,10 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:3000,http://127.0.0.1:3000}")
     private String allowedOrigins;
 
+    // Set (MANAGEMENT_SERVER_PORT) to serve the actuator on its own port that is only reachable internally
+    @Value("${management.server.port:#{null}}")
+    private Integer managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http,
             JwtAuthenticationFilter jwtAuthenticationFilter,
@@ -42,7 +46,14 @@ public class SecurityConfig {
                         .requestMatchers("/user/register", "/user/login", "/user/status", "/user/verify").permitAll()
                         .requestMatchers("/public_resource").permitAll()
                         .requestMatchers("/ws/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Feed tokens are checked by the controller; calendar apps cannot send a JWT
+                        .requestMatchers(HttpMethod.GET, "/calendar/**").permitAll()
+                        // Health and info stay open for load balancer probes; metrics need an admin unless
+                        // they arrive on the internal management port
+                        .requestMatchers(request -> managementPort != null && request.getLocalPort() == managementPort)
+                        .permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/**").authenticated()
 
                         .requestMatchers("/admin/**").hasRole("ADMIN")
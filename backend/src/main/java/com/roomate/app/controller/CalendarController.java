@@ -0,0 +1,76 @@
+package com.roomate.app.controller;
+
+import com.roomate.app.dto.calendar.CalendarFeedDto;
+import com.roomate.app.service.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * iCalendar subscriptions: events, chores and bills of the user's rooms for phone and desktop calendars.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CalendarController {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+
+    /**
+     * The feed itself; the token in the path is its only credential. Answers 304 when If-None-Match matches
+     * the ETag, which is checked before any event, chore or ledger row is read.
+     */
+    @GetMapping("/calendar/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(
+            @PathVariable String token,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<String> etag = calendarFeedService.findEtag(token);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String quoted = "\"" + etag.get() + "\"";
+        if (matches(ifNoneMatch, quoted)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(quoted).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(quoted)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(out -> calendarFeedService.writeFeed(token, out));
+    }
+
+    @GetMapping("/api/calendar/feed")
+    public ResponseEntity<CalendarFeedDto> getFeedLink(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(calendarFeedService.getFeed(userDetails.getUsername()));
+    }
+
+    /**
+     * Issue a new token; calendars subscribed with the old link stop updating
+     */
+    @PostMapping("/api/calendar/feed/rotate")
+    public ResponseEntity<CalendarFeedDto> rotateFeedLink(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(calendarFeedService.rotateToken(userDetails.getUsername()));
+    }
+
+    // Calendar apps may send several tags or weak ones; any match means the copy they hold is current
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals(etag) || tag.equals("*"));
+    }
+}
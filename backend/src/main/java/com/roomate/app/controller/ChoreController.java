@@ -5,6 +5,8 @@ import com.roomate.app.dto.ChoreDto;
 import com.roomate.app.service.ChoreService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,22 +20,23 @@ public class ChoreController {
     private final ChoreService choreService;
 
     @PostMapping("/room/createChores/{roomId}")
-    public ResponseEntity<List<ChoreDto>> createChores(@PathVariable UUID roomId, @RequestBody List<ChoreCreateDto> choreDTOs) {
+    public ResponseEntity<List<ChoreDto>> createChores(@PathVariable UUID roomId, @RequestBody List<ChoreCreateDto> choreDTOs,
+                                                       @AuthenticationPrincipal UserDetails userDetails) {
 
-        List<ChoreDto> allChores = choreDTOs.stream().flatMap(dto -> choreService.distributeChores(roomId, dto).stream()).collect(Collectors.toList());
+        List<ChoreDto> allChores = choreDTOs.stream().flatMap(dto -> choreService.distributeChores(roomId, dto, userDetails.getUsername()).stream()).collect(Collectors.toList());
 
         return ResponseEntity.ok(allChores);
     }
 
     @PostMapping("/room/{roomId}/redistribute")
-    public ResponseEntity<Void> redistributeChores(@PathVariable UUID roomId) {
-        choreService.redistributeChores(roomId);
+    public ResponseEntity<Void> redistributeChores(@PathVariable UUID roomId, @AuthenticationPrincipal UserDetails userDetails) {
+        choreService.redistributeChores(roomId, userDetails.getUsername());
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<List<ChoreDto>> getRoomChores(@PathVariable UUID roomId) {
-        return ResponseEntity.ok(choreService.getChoresByRoomId(roomId));
+    public ResponseEntity<List<ChoreDto>> getRoomChores(@PathVariable UUID roomId, @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(choreService.getChoresByRoomId(roomId, userDetails.getUsername()));
     }
 
     @GetMapping("/upcoming")
@@ -50,8 +53,9 @@ public class ChoreController {
     }
 
     @DeleteMapping("/room/{roomId}/type/{choreName}")
-    public ResponseEntity<Void> deleteChoresByType(@PathVariable UUID roomId, @PathVariable String choreName) {
-        choreService.deleteChoresByType(roomId, choreName);
+    public ResponseEntity<Void> deleteChoresByType(@PathVariable UUID roomId, @PathVariable String choreName,
+                                                   @AuthenticationPrincipal UserDetails userDetails) {
+        choreService.deleteChoresByType(roomId, choreName, userDetails.getUsername());
         return ResponseEntity.noContent().build();
     }
 }
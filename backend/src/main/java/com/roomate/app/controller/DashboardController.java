@@ -0,0 +1,53 @@
+package com.roomate.app.controller;
+
+import com.roomate.app.dto.dashboard.DashboardDto;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the landing page.
+ * Returns rooms, chores, utilities, events and balances in a single response.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Get the current user's dashboard. Answers 304 when If-None-Match matches the ETag.
+     */
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            DashboardDto dashboard = dashboardService.getDashboard(userDetails.getUsername());
+            String etag = "\"" + dashboard.getEtag() + "\"";
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(dashboard);
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Failed to load the dashboard: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
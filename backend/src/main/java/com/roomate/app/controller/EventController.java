@@ -1,14 +1,17 @@
 package com.roomate.app.controller;
 
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
 import com.roomate.app.dto.EventDTOS.EventDto;
 import com.roomate.app.service.EventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,17 +22,26 @@ public class EventController {
 
     private final EventService eventService;
 
+    /**
+     * Events of all the user's rooms overlapping [from, to). Without a range, the last 30 days and the 90 after.
+     */
     @GetMapping("/user")
-    public ResponseEntity<List<EventDto>> getAllEventsForUser(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<List<EventDto>> getAllEventsForUser(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal UserDetails userDetails) {
         String email = userDetails.getUsername();
-        List<EventDto> events = eventService.getAllEventsForUser(email);
+        List<EventDto> events = eventService.getEventsForUser(email, from, to);
         return ResponseEntity.ok(events);
     }
 
     @GetMapping("/user/own")
-    public ResponseEntity<List<EventDto>> getUserOwnEvents(@AuthenticationPrincipal  UserDetails userDetails) {
+    public ResponseEntity<List<EventDto>> getUserOwnEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal  UserDetails userDetails) {
         String email = userDetails.getUsername();
-        List<EventDto> events = eventService.getAllEventsForUser(email);
+        List<EventDto> events = eventService.getEventsForUser(email, from, to);
         return ResponseEntity.ok(events);
     }
 
@@ -40,6 +52,21 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Events of the room overlapping [start, end); pass the id of an event being moved to leave it out
+     */
+    @GetMapping("/room/{roomId}/conflicts")
+    public ResponseEntity<List<EventConflictDto>> getConflicts(
+            @PathVariable UUID roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) UUID eventId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String email = userDetails.getUsername();
+        List<EventConflictDto> conflicts = eventService.findConflicts(roomId, start, end, eventId, email);
+        return ResponseEntity.ok(conflicts);
+    }
+
     @PostMapping("/room/{roomId}")
     public ResponseEntity<Void> createEvent(@PathVariable UUID roomId, @RequestBody @Valid EventDto eventDto, @AuthenticationPrincipal  UserDetails userDetails) {
         String email = userDetails.getUsername();
@@ -54,6 +81,30 @@ public class EventController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Moves or retitles one occurrence of a recurring event; occurrenceStart is the start its rule gives it
+     */
+    @PutMapping("/{eventId}/occurrences")
+    public ResponseEntity<Void> overrideOccurrence(
+            @PathVariable UUID eventId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+            @RequestBody EventDto eventDto,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String email = userDetails.getUsername();
+        eventService.overrideOccurrence(eventId, occurrenceStart, eventDto, email);
+        return ResponseEntity.ok().build();
+    }
+
+    @DeleteMapping("/{eventId}/occurrences")
+    public ResponseEntity<Void> cancelOccurrence(
+            @PathVariable UUID eventId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String email = userDetails.getUsername();
+        eventService.cancelOccurrence(eventId, occurrenceStart, email);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{eventId}")
     public ResponseEntity<Void> deleteEvent(@PathVariable UUID eventId, @AuthenticationPrincipal  UserDetails userDetails) {
         String email = userDetails.getUsername();
@@ -2,7 +2,9 @@ package com.roomate.app.controller;
 
 import com.roomate.app.dto.grocery.*;
 import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.service.GroceryPriceService;
 import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.GrocerySuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,8 @@ import java.util.UUID;
 public class GroceryController {
 
     private final GroceryService groceryService;
+    private final GrocerySuggestionService suggestionService;
+    private final GroceryPriceService priceService;
 
     /**
      * Create a new grocery list for a room
@@ -69,6 +73,88 @@ public class GroceryController {
         }
     }
 
+    /**
+     * Autocomplete item names (type=item) or categories (type=category) the room has used, best ranked first
+     */
+    @GetMapping("/rooms/{roomId}/groceries/suggestions")
+    public ResponseEntity<List<GrocerySuggestionDto>> suggest(
+            @PathVariable UUID roomId,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "item") String type,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            List<GrocerySuggestionDto> suggestions = switch (type) {
+                case "item" -> suggestionService.suggestItems(roomId, prefix, limit, userDetails.getUsername());
+                case "category" -> suggestionService.suggestCategories(roomId, prefix, limit, userDetails.getUsername());
+                default -> null;
+            };
+            if (suggestions == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(suggestions);
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * What the room has paid for an item: running stats and the most recent prices
+     */
+    @GetMapping("/rooms/{roomId}/groceries/prices")
+    public ResponseEntity<GroceryPriceHistoryDto> getPriceHistory(
+            @PathVariable UUID roomId,
+            @RequestParam String item,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(priceService.getPriceHistory(roomId, item, userDetails.getUsername()));
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Page through a room's compacted lists, newest first
+     */
+    @GetMapping("/rooms/{roomId}/groceries/archive")
+    public ResponseEntity<GroceryListArchivePageDto> getArchivedLists(
+            @PathVariable UUID roomId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(groceryService.getArchivedLists(roomId, page, size, userDetails.getUsername()));
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Get a compacted list with its items, as it was when it was archived
+     */
+    @GetMapping("/groceries/archive/{listId}")
+    public ResponseEntity<GroceryListDto> getArchivedList(
+            @PathVariable UUID listId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(groceryService.getArchivedList(listId, userDetails.getUsername()));
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Get a specific grocery list by ID (with all items)
      */
@@ -87,6 +173,24 @@ public class GroceryController {
         }
     }
 
+    /**
+     * Catch up a live client from the last version it applied: the missed deltas, or a snapshot
+     */
+    @GetMapping("/groceries/{listId}/sync")
+    public ResponseEntity<GroceryListSyncDto> syncGroceryList(
+            @PathVariable UUID listId,
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(groceryService.syncList(listId, since, userDetails.getUsername()));
+        } catch (UserApiError e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Add an item to a grocery list
      */
@@ -106,6 +210,29 @@ public class GroceryController {
         }
     }
 
+    /**
+     * Add or update many items in one transaction. Entries with an id update that item; the rest are added.
+     * Without allowPartial any invalid entry rejects the batch with 400 and per-entry errors.
+     */
+    @PostMapping("/groceries/{listId}/items/bulk")
+    public ResponseEntity<GroceryItemBulkResultDto> bulkUpsertItems(
+            @PathVariable UUID listId,
+            @Valid @RequestBody GroceryItemBulkRequestDto dto,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            GroceryItemBulkResultDto result = groceryService.bulkUpsertItems(listId, dto, userDetails.getUsername());
+            if (result.rejected()) {
+                return ResponseEntity.badRequest().body(result);
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Update a grocery item
      */
@@ -201,6 +328,25 @@ public class GroceryController {
         }
     }
 
+    /**
+     * Complete many lists of a room at once. Lists that are not active are left unchanged.
+     */
+    @PostMapping("/rooms/{roomId}/groceries/complete")
+    public ResponseEntity<List<GroceryListDto>> completeLists(
+            @PathVariable UUID roomId,
+            @Valid @RequestBody GroceryListBulkCompleteDto dto,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            List<GroceryListDto> lists = groceryService.completeLists(roomId, dto.getListIds(), userDetails.getUsername());
+            return ResponseEntity.ok(lists);
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Archive a grocery list (head roommate only)
      */
@@ -3,6 +3,7 @@ package com.roomate.app.controller;
 import com.roomate.app.dto.CreateRoomRequest;
 import com.roomate.app.dto.InviteUserRequest;
 import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.RoomTeardownDto;
 import com.roomate.app.dto.UserDTOS.UpdateMemberRoleRequest;
 import com.roomate.app.exceptions.UserApiError;
 import com.roomate.app.repository.ChoreRepository;
@@ -167,4 +168,16 @@ public class RoomController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{roomId}/delete-room/status")
+    public ResponseEntity<RoomTeardownDto> getDeleteRoomStatus(@PathVariable UUID roomId, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(roomService.getRoomTeardownStatus(roomId, userDetails.getUsername()));
+        } catch (UserApiError e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
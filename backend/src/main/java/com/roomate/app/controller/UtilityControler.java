@@ -2,10 +2,11 @@ package com.roomate.app.controller;
 
 import com.roomate.app.dto.UtilityCreateDto;
 import com.roomate.app.dto.UtilityDto;
-import com.roomate.app.entities.UtilityEntity;
 import com.roomate.app.service.UtilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,8 +19,8 @@ public class UtilityControler {
     private final UtilityService utilityService;
 
     @PostMapping("/create")
-    public ResponseEntity<List<UtilityEntity>> createUtility(@RequestBody UtilityCreateDto dto) {
-        List<UtilityEntity> utility = utilityService.createUtility(dto);
+    public ResponseEntity<List<UtilityDto>> createUtility(@RequestBody UtilityCreateDto dto, @AuthenticationPrincipal UserDetails userDetails) {
+        List<UtilityDto> utility = utilityService.createUtility(dto, userDetails.getUsername());
         return ResponseEntity.ok(utility);
     }
 
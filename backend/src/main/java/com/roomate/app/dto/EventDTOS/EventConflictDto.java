@@ -0,0 +1,14 @@
+package com.roomate.app.dto.EventDTOS;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An event's time slot; returned by the conflict check for each event overlapping the checked slot.
+ */
+public record EventConflictDto(
+        UUID id,
+        String title,
+        LocalDateTime startTime,
+        LocalDateTime endTime) {
+}
@@ -1,5 +1,8 @@
 package com.roomate.app.dto.EventDTOS;
 
+import com.roomate.app.entities.EventEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -26,4 +29,51 @@ public class EventDto {
     private EventUserDto user;
     private LocalDateTime created;
     private LocalDateTime updated;
+    // RFC 5545 RRULE of a recurring event, e.g. FREQ=WEEKLY;BYDAY=MO
+    private String recurrenceRule;
+    // Set on each expanded occurrence of a recurring event: the start its rule gives it, which identifies
+    // the occurrence even after it has been moved
+    private LocalDateTime occurrenceStart;
+
+    public static EventDto fromEntity(EventEntity eventEntity) {
+        EventDto eventDto = new EventDto();
+        eventDto.setId(eventEntity.getId());
+        eventDto.setTitle(eventEntity.getTitle());
+        eventDto.setDescription(eventEntity.getDescription());
+        eventDto.setStartTime(eventEntity.getStartTime());
+        eventDto.setEndTime(eventEntity.getEndTime());
+        eventDto.setRecurrenceRule(eventEntity.getRecurrenceRule());
+
+        RoomEntity roomEntity = eventEntity.getRoom();
+        EventRoomDto roomDto = new EventRoomDto(
+            roomEntity.getRoomCode(),
+            roomEntity.getName()
+        );
+        eventDto.setRooms(roomDto);
+
+        UserEntity userEntity = eventEntity.getUser();
+        EventUserDto userDto = new EventUserDto(
+            userEntity.getFirstName(),
+            userEntity.getLastName(),
+            userEntity.getEmail()
+        );
+        eventDto.setUser(userDto);
+
+        return eventDto;
+    }
+
+    public static EventDto fromRow(EventRow row) {
+        EventDto eventDto = new EventDto();
+        eventDto.setId(row.id());
+        eventDto.setTitle(row.title());
+        eventDto.setDescription(row.description());
+        eventDto.setStartTime(row.startTime());
+        eventDto.setEndTime(row.endTime());
+        eventDto.setRooms(new EventRoomDto(row.roomCode(), row.roomName()));
+        eventDto.setUser(new EventUserDto(row.firstName(), row.lastName(), row.email()));
+        eventDto.setCreated(row.created());
+        eventDto.setUpdated(row.updated());
+        eventDto.setRecurrenceRule(row.recurrenceRule());
+        return eventDto;
+    }
 }
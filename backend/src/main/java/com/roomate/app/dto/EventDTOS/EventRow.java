@@ -0,0 +1,25 @@
+package com.roomate.app.dto.EventDTOS;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One event with the room and creator fields the calendar shows, selected in one query without loading entities.
+ */
+public record EventRow(
+        UUID id,
+        String title,
+        String description,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String roomCode,
+        String roomName,
+        String firstName,
+        String lastName,
+        String email,
+        LocalDateTime created,
+        LocalDateTime updated,
+        String recurrenceRule,
+        LocalDateTime recurrenceEnd,
+        Long version) {
+}
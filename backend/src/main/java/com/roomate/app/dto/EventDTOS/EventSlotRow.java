@@ -0,0 +1,17 @@
+package com.roomate.app.dto.EventDTOS;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An event's time slot and recurrence, for the room's conflict index.
+ */
+public record EventSlotRow(
+        UUID id,
+        String title,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String recurrenceRule,
+        LocalDateTime recurrenceEnd,
+        Long version) {
+}
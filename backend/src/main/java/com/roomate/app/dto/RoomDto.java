@@ -1,11 +1,16 @@
 package com.roomate.app.dto;
 
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +35,63 @@ public class RoomDto {
     public RoomDto() {
 
     }
-}
 
+    public static RoomDto fromEntity(RoomEntity room) {
+        RoomDto dto = new RoomDto();
+        dto.setId(room.getId());
+        dto.setName(room.getName());
+        dto.setAddress(room.getAddress());
+        dto.setDescription(room.getDescription());
+        dto.setRoomCode(room.getRoomCode());
+        dto.setHeadRoommateId(room.getHeadRoommateId());
+        dto.setCreatedAt(room.getCreatedAt());
+        dto.setUpdatedAt(room.getUpdatedAt());
+
+        List<RoomMemberDto> memberDtos = new ArrayList<>();
+        if (room.getMembers() != null) {
+            for (RoomMemberEntity member : room.getMembers()) {
+                if (member == null || member.getUser() == null) continue;
+                RoomMemberDto memberDto = new RoomMemberDto();
+                memberDto.setId(member.getId());
+                memberDto.setJoinedAt(member.getJoinedAt());
+                memberDto.setUserId(member.getUser().getEmail());
+                memberDto.setName(member.getUser().getFirstName());
+                memberDto.setRole(member.getRole());
+                memberDtos.add(memberDto);
+            }
+        }
+
+        dto.setMembers(memberDtos.isEmpty() ? null : memberDtos);
+
+        return dto;
+    }
+
+    // EFFECTS : Groups flat room/member rows into rooms, keeping the rows' order.
+    public static List<RoomDto> fromRows(List<RoomMembershipRow> rows) {
+        Map<UUID, RoomDto> rooms = new LinkedHashMap<>();
+        for (RoomMembershipRow row : rows) {
+            RoomDto dto = rooms.computeIfAbsent(row.roomId(), id -> {
+                RoomDto room = new RoomDto();
+                room.setId(row.roomId());
+                room.setName(row.name());
+                room.setAddress(row.address());
+                room.setDescription(row.description());
+                room.setRoomCode(row.roomCode());
+                room.setHeadRoommateId(row.headRoommateId());
+                room.setCreatedAt(row.createdAt());
+                room.setUpdatedAt(row.updatedAt());
+                room.setMembers(new ArrayList<>());
+                return room;
+            });
 
+            RoomMemberDto memberDto = new RoomMemberDto();
+            memberDto.setId(row.memberId());
+            memberDto.setJoinedAt(row.joinedAt());
+            memberDto.setUserId(row.email());
+            memberDto.setName(row.firstName());
+            memberDto.setRole(row.role());
+            dto.getMembers().add(memberDto);
+        }
+        return new ArrayList<>(rooms.values());
+    }
+}
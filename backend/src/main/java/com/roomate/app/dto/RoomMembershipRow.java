@@ -0,0 +1,25 @@
+package com.roomate.app.dto;
+
+import com.roomate.app.entities.room.RoomMemberEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One room/member pair, flattened so a user's rooms and their members load in a single query.
+ */
+public record RoomMembershipRow(
+        UUID roomId,
+        String name,
+        String address,
+        String description,
+        String roomCode,
+        String headRoommateId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID memberId,
+        LocalDateTime joinedAt,
+        RoomMemberEnum role,
+        String email,
+        String firstName) {
+}
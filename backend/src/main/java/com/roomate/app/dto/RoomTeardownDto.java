@@ -0,0 +1,38 @@
+package com.roomate.app.dto;
+
+import com.roomate.app.entities.room.RoomTeardownEntity;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTeardownDto {
+
+    private UUID roomId;
+    private RoomTeardownStatus status;
+    private String currentStep;
+    private long deletedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public static RoomTeardownDto fromEntity(RoomTeardownEntity entity) {
+        return RoomTeardownDto.builder()
+                .roomId(entity.getRoomId())
+                .status(entity.getStatus())
+                .currentStep(entity.getCurrentStep())
+                .deletedRows(entity.getDeletedRows())
+                .startedAt(entity.getStartedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .completedAt(entity.getCompletedAt())
+                .build();
+    }
+}
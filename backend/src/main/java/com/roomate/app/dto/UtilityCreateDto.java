@@ -3,6 +3,7 @@ package com.roomate.app.dto;
 import com.roomate.app.entities.UtilDistributionEnum;
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
 
@@ -15,5 +16,7 @@ public class UtilityCreateDto {
 
     private UUID roomId;
 
+    private LocalDate dueDate;
+
     private Map<UUID, Double> customSplit;
 }
@@ -1,6 +1,8 @@
 package com.roomate.app.dto;
 
 import com.roomate.app.entities.UtilityEntity;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -37,4 +39,14 @@ public class UtilityDto {
         this.dueDate = dueDate;
     }
 
+    public UtilityDto(LedgerSplitEntity split) {
+        LedgerEntryEntity entry = split.getLedgerEntry();
+        this.id = entry.getId();
+        this.utilityName = entry.getTitle();
+        this.utilityPrice = split.getAmountOwed().doubleValue();
+        this.roomId = entry.getRoom().getId();
+        this.roomMemberId = split.getRoomMember().getId();
+        this.roomName = entry.getRoom().getName();
+        this.dueDate = entry.getDueDate() != null ? entry.getDueDate().atStartOfDay() : null;
+    }
 }
@@ -0,0 +1,20 @@
+package com.roomate.app.dto.calendar;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A ledger entry with a due date, with the user's share of it.
+ */
+public record CalendarBillRow(
+        UUID splitId,
+        String title,
+        LocalDate dueDate,
+        BigDecimal amountOwed,
+        BigDecimal amountPaid,
+        String roomName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,12 @@
+package com.roomate.app.dto.calendar;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CalendarChoreRow(
+        UUID id,
+        String choreName,
+        LocalDateTime dueAt,
+        String roomName,
+        LocalDateTime createdAt) {
+}
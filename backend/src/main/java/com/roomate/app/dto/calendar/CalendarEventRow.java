@@ -0,0 +1,19 @@
+package com.roomate.app.dto.calendar;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An event as the feed writes it, read without loading the entity.
+ */
+public record CalendarEventRow(
+        UUID id,
+        String title,
+        String description,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String recurrenceRule,
+        String roomName,
+        LocalDateTime created,
+        LocalDateTime updated) {
+}
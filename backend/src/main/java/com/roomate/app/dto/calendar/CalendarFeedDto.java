@@ -0,0 +1,10 @@
+package com.roomate.app.dto.calendar;
+
+/**
+ * The user's subscription; calendar apps are given path, which needs no other credentials.
+ */
+public record CalendarFeedDto(String token, String path) {
+    public static CalendarFeedDto of(String token) {
+        return new CalendarFeedDto(token, "/calendar/" + token + ".ics");
+    }
+}
@@ -0,0 +1,17 @@
+package com.roomate.app.dto.calendar;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A moved or cancelled occurrence of a recurring event, with the series' title filled in where it kept it.
+ */
+public record CalendarOccurrenceRow(
+        UUID eventId,
+        LocalDateTime originalStart,
+        boolean cancelled,
+        String title,
+        String description,
+        LocalDateTime startTime,
+        LocalDateTime endTime) {
+}
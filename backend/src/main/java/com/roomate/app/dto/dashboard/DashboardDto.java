@@ -0,0 +1,36 @@
+package com.roomate.app.dto.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.roomate.app.dto.ChoreDto;
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.UtilityDto;
+import com.roomate.app.dto.ledger.MemberBalanceDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything the landing page needs for one user, across all of their rooms.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+
+    private List<RoomDto> rooms;
+    private List<ChoreDto> chores;
+    private List<UtilityDto> utilities;
+    private List<EventDto> events;
+    // The user's own balance, keyed by room id
+    private Map<UUID, MemberBalanceDto> balances;
+
+    @JsonIgnore
+    private String etag;
+}
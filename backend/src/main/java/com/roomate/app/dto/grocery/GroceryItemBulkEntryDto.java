@@ -0,0 +1,18 @@
+package com.roomate.app.dto.grocery;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One entry of a bulk write: updates the item with this id, or adds a new item when id is null.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class GroceryItemBulkEntryDto extends GroceryItemCreateDto {
+
+    private UUID id;
+}
@@ -0,0 +1,21 @@
+package com.roomate.app.dto.grocery;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroceryItemBulkRequestDto {
+
+    // Entries are validated one by one in the service so each failure can be reported by index
+    @NotEmpty(message = "At least one item is required")
+    private List<GroceryItemBulkEntryDto> items;
+
+    // When true, valid entries are written even if others fail; otherwise any failure rejects the whole batch
+    private boolean allowPartial;
+}
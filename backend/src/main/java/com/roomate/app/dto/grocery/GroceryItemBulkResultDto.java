@@ -0,0 +1,17 @@
+package com.roomate.app.dto.grocery;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk write. Items are the written entries in request order; errors name the entries that
+ * were skipped by their index in the request.
+ */
+public record GroceryItemBulkResultDto(List<GroceryItemDto> items, List<ItemError> errors) {
+
+    public record ItemError(int index, String message) {
+    }
+
+    public boolean rejected() {
+        return items.isEmpty() && !errors.isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package com.roomate.app.dto.grocery;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often a room has listed and bought one name/category pair, aggregated to seed autocomplete.
+ */
+public record GroceryItemUsageRow(
+        String name,
+        String category,
+        long uses,
+        long purchases,
+        LocalDateTime lastAddedAt,
+        LocalDateTime lastPurchasedAt) {
+}
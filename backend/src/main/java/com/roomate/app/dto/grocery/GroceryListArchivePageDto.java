@@ -0,0 +1,11 @@
+package com.roomate.app.dto.grocery;
+
+import java.util.List;
+
+public record GroceryListArchivePageDto(
+        List<GroceryListArchiveSummaryDto> lists,
+        int page,
+        int size,
+        long totalLists,
+        int totalPages) {
+}
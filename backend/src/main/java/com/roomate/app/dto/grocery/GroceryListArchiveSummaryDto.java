@@ -0,0 +1,18 @@
+package com.roomate.app.dto.grocery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One compacted list as shown in the archive, read without its JSON document.
+ */
+public record GroceryListArchiveSummaryDto(
+        UUID id,
+        String name,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        LocalDateTime archivedAt,
+        int itemCount,
+        BigDecimal totalSpent) {
+}
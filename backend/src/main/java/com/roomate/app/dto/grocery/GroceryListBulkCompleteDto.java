@@ -0,0 +1,18 @@
+package com.roomate.app.dto.grocery;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroceryListBulkCompleteDto {
+
+    @NotEmpty(message = "At least one list is required")
+    private List<UUID> listIds;
+}
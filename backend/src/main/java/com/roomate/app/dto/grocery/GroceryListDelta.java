@@ -0,0 +1,50 @@
+package com.roomate.app.dto.grocery;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One change to a grocery list, as broadcast to its live subscribers. Only the fields the change touches
+ * are set and members are sent as ids. Applying a delta is an upsert or delete keyed by itemId, so
+ * replaying one the client already has is harmless.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GroceryListDelta(
+        UUID listId,
+        long version,
+        GroceryListDeltaType type,
+        UUID itemId,
+        String name,
+        String quantity,
+        String category,
+        String notes,
+        BigDecimal estimatedPrice,
+        UUID addedBy,
+        UUID purchasedBy,
+        BigDecimal actualPrice,
+        LocalDateTime purchasedAt) {
+
+    // EFFECTS : Delta carrying the item's editable fields, for ITEM_ADDED and ITEM_UPDATED.
+    public static GroceryListDelta ofItem(GroceryListDeltaType type, long version, GroceryItemEntity item) {
+        return new GroceryListDelta(item.getGroceryList().getId(), version, type, item.getId(), item.getName(),
+                item.getQuantity(), item.getCategory(), item.getNotes(), item.getEstimatedPrice(),
+                item.getAddedBy() != null ? item.getAddedBy().getId() : null, null, null, null);
+    }
+
+    public static GroceryListDelta purchased(long version, GroceryItemEntity item) {
+        return new GroceryListDelta(item.getGroceryList().getId(), version, GroceryListDeltaType.ITEM_PURCHASED,
+                item.getId(), null, null, null, null, null, null,
+                item.getPurchasedBy() != null ? item.getPurchasedBy().getId() : null, item.getActualPrice(),
+                item.getPurchasedAt());
+    }
+
+    // EFFECTS : Delta naming only the item, for ITEM_UNPURCHASED and ITEM_REMOVED.
+    public static GroceryListDelta ofItemId(GroceryListDeltaType type, long version, UUID listId, UUID itemId) {
+        return new GroceryListDelta(listId, version, type, itemId, null, null, null, null, null, null,
+                null, null, null);
+    }
+}
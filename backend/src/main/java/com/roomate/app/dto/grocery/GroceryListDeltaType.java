@@ -0,0 +1,9 @@
+package com.roomate.app.dto.grocery;
+
+public enum GroceryListDeltaType {
+    ITEM_ADDED,
+    ITEM_UPDATED,
+    ITEM_PURCHASED,
+    ITEM_UNPURCHASED,
+    ITEM_REMOVED
+}
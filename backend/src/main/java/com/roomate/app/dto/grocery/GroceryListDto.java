@@ -31,6 +31,9 @@ public class GroceryListDto {
     private long purchasedItems;
     private long remainingItems;
     private BigDecimal totalSpent;
+    // Active lists only: spent so far plus the estimated price of what is left
+    private BigDecimal projectedTotal;
+    private long version;
 
     public static GroceryListDto fromEntity(GroceryListEntity entity) {
         return GroceryListDto.builder()
@@ -46,22 +49,40 @@ public class GroceryListDto {
                 .purchasedItems(entity.getPurchasedCount())
                 .remainingItems(entity.getRemainingCount())
                 .totalSpent(entity.getTotalSpent())
+                .version(entity.getVersion())
                 .build();
     }
 
-    public static GroceryListDto fromEntityWithoutItems(GroceryListEntity entity) {
+    // EFFECTS : Builds the list overview from an aggregated row, without items. Counting from the entity
+    //           instead would load every item of every list.
+    public static GroceryListDto fromSummaryRow(GroceryListSummaryRow row) {
+        RoomMemberDto createdBy = null;
+        if (row.creatorMemberId() != null) {
+            createdBy = new RoomMemberDto();
+            createdBy.setId(row.creatorMemberId());
+            createdBy.setUserId(row.creatorUserId() != null ? row.creatorUserId().toString() : null);
+            createdBy.setName(row.creatorUserId() != null ? row.creatorFirstName() + " " + row.creatorLastName() : null);
+            createdBy.setEmail(row.creatorEmail());
+            createdBy.setRole(row.creatorRole());
+            createdBy.setJoinedAt(row.creatorJoinedAt());
+            createdBy.setUpdatedAt(row.creatorUpdatedAt());
+        }
+
         return GroceryListDto.builder()
-                .id(entity.getId())
-                .roomId(entity.getRoom().getId())
-                .name(entity.getName())
-                .status(entity.getStatus())
-                .createdAt(entity.getCreatedAt())
-                .completedAt(entity.getCompletedAt())
-                .createdBy(entity.getCreatedBy() != null ? RoomMemberDto.fromEntity(entity.getCreatedBy()) : null)
-                .totalItems(entity.getItems().size())
-                .purchasedItems(entity.getPurchasedCount())
-                .remainingItems(entity.getRemainingCount())
-                .totalSpent(entity.getTotalSpent())
+                .id(row.listId())
+                .roomId(row.roomId())
+                .name(row.name())
+                .status(row.status())
+                .createdAt(row.createdAt())
+                .completedAt(row.completedAt())
+                .createdBy(createdBy)
+                .totalItems(row.totalItems())
+                .purchasedItems(row.purchasedItems())
+                .remainingItems(row.totalItems() - row.purchasedItems())
+                .totalSpent(row.totalSpent())
+                // Estimates were filled from price history when the items were added, so no history is read here
+                .projectedTotal(row.status() == GroceryListStatus.ACTIVE ? row.totalSpent().add(row.estimatedRemaining()) : null)
+                .version(row.version())
                 .build();
     }
 }
@@ -0,0 +1,39 @@
+package com.roomate.app.dto.grocery;
+
+import com.roomate.app.entities.grocery.GroceryListStatus;
+import com.roomate.app.entities.room.RoomMemberEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One grocery list with its creator and item totals, aggregated in SQL so the overview never loads items.
+ */
+public record GroceryListSummaryRow(
+        UUID listId,
+        UUID roomId,
+        String name,
+        GroceryListStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        long version,
+        UUID creatorMemberId,
+        RoomMemberEnum creatorRole,
+        LocalDateTime creatorJoinedAt,
+        LocalDateTime creatorUpdatedAt,
+        Long creatorUserId,
+        String creatorFirstName,
+        String creatorLastName,
+        String creatorEmail,
+        long totalItems,
+        long purchasedItems,
+        BigDecimal totalSpent,
+        BigDecimal estimatedRemaining) {
+
+    public GroceryListSummaryRow {
+        // SUM over no prices is NULL
+        totalSpent = totalSpent != null ? totalSpent : BigDecimal.ZERO;
+        estimatedRemaining = estimatedRemaining != null ? estimatedRemaining : BigDecimal.ZERO;
+    }
+}
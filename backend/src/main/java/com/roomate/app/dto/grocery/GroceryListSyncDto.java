@@ -0,0 +1,14 @@
+package com.roomate.app.dto.grocery;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer to a client catching up from a known version: either the deltas it missed, in version order,
+ * or a full snapshot when those deltas are no longer retained.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GroceryListSyncDto(UUID listId, long version, List<GroceryListDelta> deltas, GroceryListDto snapshot) {
+}
@@ -0,0 +1,17 @@
+package com.roomate.app.dto.grocery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record GroceryPriceHistoryDto(
+        String item,
+        long timesPurchased,
+        BigDecimal meanPrice,
+        BigDecimal lastPrice,
+        LocalDateTime lastPurchasedAt,
+        List<Observation> recent) {
+
+    public record Observation(String name, BigDecimal price, LocalDateTime observedAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.roomate.app.dto.grocery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Count, sum and latest observation time of one item's prices in a room, aggregated to seed the stats cache.
+ */
+public record GroceryPriceStatsRow(
+        String itemKey,
+        long count,
+        BigDecimal total,
+        LocalDateTime lastObservedAt) {
+}
@@ -0,0 +1,11 @@
+package com.roomate.app.dto.grocery;
+
+import java.time.LocalDateTime;
+
+public record GrocerySuggestionDto(
+        String value,
+        String category,
+        long timesAdded,
+        long timesPurchased,
+        LocalDateTime lastUsedAt) {
+}
@@ -29,6 +29,7 @@ public class LedgerEntryDto {
     private SplitType splitType;
     private LedgerEntryStatus status;
     private LocalDate dueDate;
+    private UUID groceryListId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<LedgerSplitDto> splits;
@@ -47,6 +48,7 @@ public class LedgerEntryDto {
                 .splitType(entity.getSplitType())
                 .status(entity.getStatus())
                 .dueDate(entity.getDueDate())
+                .groceryListId(entity.getGroceryListId())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .splits(entity.getSplits().stream().map(LedgerSplitDto::fromEntity).toList())
@@ -1,12 +1,16 @@
 package com.roomate.app.dto.ledger;
 
 import com.roomate.app.dto.RoomMemberDto;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.PaymentStatus;
+import com.roomate.app.entities.room.RoomMemberEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -21,4 +25,27 @@ public class MemberBalanceDto {
     private BigDecimal totalPaid;
     private BigDecimal outstandingBalance;
     private int unpaidSplitsCount;
+
+    // EFFECTS : Sums a member's splits into owed, paid, outstanding and unpaid count.
+    public static MemberBalanceDto fromSplits(RoomMemberEntity member, List<LedgerSplitEntity> splits) {
+        BigDecimal totalOwed = BigDecimal.ZERO;
+        BigDecimal totalPaid = BigDecimal.ZERO;
+        int unpaidCount = 0;
+        for (LedgerSplitEntity split : splits) {
+            totalOwed = totalOwed.add(split.getAmountOwed());
+            totalPaid = totalPaid.add(split.getAmountPaid());
+            if (split.getPaymentStatus() != PaymentStatus.PAID) {
+                unpaidCount++;
+            }
+        }
+
+        return MemberBalanceDto.builder()
+                .memberId(member.getId())
+                .member(RoomMemberDto.fromEntity(member))
+                .totalOwed(totalOwed)
+                .totalPaid(totalPaid)
+                .outstandingBalance(totalOwed.subtract(totalPaid))
+                .unpaidSplitsCount(unpaidCount)
+                .build();
+    }
 }
@@ -0,0 +1,50 @@
+package com.roomate.app.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user's iCalendar subscription. The token is the only credential calendar apps send, and the revision
+ * moves on every write that changes what the feed contains, so polls can be answered from this row alone.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "calendar_feed", indexes = {
+        @Index(name = "uk_calendar_feed_user", columnList = "user_id", unique = true),
+        @Index(name = "uk_calendar_feed_token", columnList = "token", unique = true)
+})
+public class CalendarFeedEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserEntity user;
+
+    @Column(nullable = false, length = 64)
+    private String token;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public CalendarFeedEntity(UserEntity user, String token) {
+        this.user = user;
+        this.token = token;
+    }
+}
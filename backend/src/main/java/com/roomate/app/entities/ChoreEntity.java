@@ -14,6 +14,10 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_chore_room_due", columnList = "room_id, due_at"),
+        @Index(name = "idx_chore_member", columnList = "room_member_id")
+})
 public class ChoreEntity {
     @Id
     @GeneratedValue(strategy= GenerationType.UUID)
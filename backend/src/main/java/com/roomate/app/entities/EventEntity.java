@@ -11,6 +11,10 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_room_start", columnList = "room_id, start_time"),
+        @Index(name = "idx_event_user", columnList = "user_id")
+})
 public class EventEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -24,10 +28,16 @@ public class EventEntity {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
-    @ManyToOne
+    // RFC 5545 RRULE; null for a one-off event. startTime/endTime are then the first occurrence.
+    private String recurrenceRule;
+
+    // End of the last occurrence of a recurring event, or null if its rule never ends
+    private LocalDateTime recurrenceEnd;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private RoomEntity room;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private UserEntity user;
 
     private LocalDateTime created;
@@ -0,0 +1,52 @@
+package com.roomate.app.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One occurrence of a recurring event that was moved, retitled or cancelled. Only changed occurrences
+ * get a row; every other occurrence is derived from the event's rule.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "event_occurrence_override", indexes = {
+        @Index(name = "uk_event_override_event_start", columnList = "event_id, original_start", unique = true)
+})
+public class EventOccurrenceOverrideEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private EventEntity event;
+
+    // Start the rule gives this occurrence (its RECURRENCE-ID)
+    @Column(name = "original_start", nullable = false)
+    private LocalDateTime originalStart;
+
+    private boolean cancelled;
+
+    // Null keeps the event's title and description
+    private String title;
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    public EventOccurrenceOverrideEntity(EventEntity event, LocalDateTime originalStart) {
+        this.event = event;
+        this.originalStart = originalStart;
+    }
+}
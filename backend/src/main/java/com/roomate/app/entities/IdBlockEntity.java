@@ -0,0 +1,29 @@
+package com.roomate.app.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * High-water mark of a named sequence. Nodes reserve blocks of values from it so that
+ * allocating an id does not need a database round trip.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "id_block")
+public class IdBlockEntity {
+
+    @Id
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    public IdBlockEntity(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,44 @@
+package com.roomate.app.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked background job, so it can resume where it stopped.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "job_checkpoint")
+public class JobCheckpointEntity {
+
+    @Id
+    private String jobName;
+
+    private String lastProcessedKey;
+
+    private long processedRows;
+
+    private long writtenRows;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+
+    public JobCheckpointEntity(String jobName) {
+        this.jobName = jobName;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(String lastProcessedKey, long processedRows, long writtenRows) {
+        this.lastProcessedKey = lastProcessedKey;
+        this.processedRows += processedRows;
+        this.writtenRows += writtenRows;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
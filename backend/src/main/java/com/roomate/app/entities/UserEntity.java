@@ -22,8 +22,10 @@ import java.util.stream.Collectors;
 @Entity
 @Table(name = "users")
 public class UserEntity implements UserDetails {
+    // Ids come from users_seq in blocks of 50 (pooled-lo), so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     private String firstName;
     private String lastName;
@@ -42,6 +44,10 @@ public class UserEntity implements UserDetails {
     // @JsonIgnore
     // private AddressEntity address;
     // TODO Remove EAGER loading and add dto to user/login
+    // Written on insert only; afterwards it changes through the guarded updates in UserRepository
+    @Column(name = "room_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int roomCount;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JsonIgnore
     private Set<RolesEntity> roles = new HashSet<>();
@@ -11,6 +11,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_utility_room", columnList = "room_id"),
+        @Index(name = "idx_utility_member", columnList = "room_member_id")
+})
 @Data
 public class UtilityEntity {
     @Id
@@ -22,6 +26,13 @@ public class UtilityEntity {
 
     private double utilityPrice;
 
+    // Shares created together belong to the same bill; totalPrice and splitPercentage let a bill be re-split
+    private UUID billId;
+
+    private double totalPrice;
+
+    private double splitPercentage;
+
     @Enumerated(EnumType.STRING)
     private ChoreFrequencyUnitEnum choreFrequencyUnitEnum;
 
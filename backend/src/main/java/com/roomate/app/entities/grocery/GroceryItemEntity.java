@@ -16,7 +16,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "grocery_item")
+@Table(name = "grocery_item", indexes = {
+        @Index(name = "idx_grocery_item_list_purchased", columnList = "grocery_list_id, is_purchased"),
+        @Index(name = "idx_grocery_item_list_created", columnList = "grocery_list_id, created_at"),
+        @Index(name = "idx_grocery_item_added_by", columnList = "added_by_member_id")
+})
 public class GroceryItemEntity {
 
     @Id
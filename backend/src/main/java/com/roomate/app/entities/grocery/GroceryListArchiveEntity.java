@@ -0,0 +1,68 @@
+package com.roomate.app.entities.grocery;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An archived grocery list compacted out of grocery_list and grocery_item: the columns the archive is
+ * listed by, plus the whole list with its items as one JSON document.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "grocery_list_archive", indexes = {
+        @Index(name = "idx_grocery_list_archive_room_created", columnList = "room_id, created_at")
+})
+public class GroceryListArchiveEntity {
+
+    // Same id the list had while it was live
+    @Id
+    @Column(name = "list_id")
+    private UUID listId;
+
+    @Column(name = "room_id", nullable = false)
+    private UUID roomId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "total_spent", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalSpent;
+
+    // Never changes once written; large documents are compressed by the database's TOAST storage
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String payload;
+
+    public GroceryListArchiveEntity(GroceryListEntity list, String payload) {
+        this.listId = list.getId();
+        this.roomId = list.getRoom().getId();
+        this.name = list.getName();
+        this.createdAt = list.getCreatedAt();
+        this.completedAt = list.getCompletedAt();
+        this.archivedAt = list.getArchivedAt();
+        this.compactedAt = LocalDateTime.now();
+        this.itemCount = list.getItems().size();
+        this.totalSpent = list.getTotalSpent();
+        this.payload = payload;
+    }
+}
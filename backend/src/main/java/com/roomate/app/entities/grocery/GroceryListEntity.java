@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
@@ -19,7 +20,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "grocery_list")
+@Table(name = "grocery_list", indexes = {
+        @Index(name = "idx_grocery_list_room_status_created", columnList = "room_id, status, created_at"),
+        @Index(name = "idx_grocery_list_status_archived", columnList = "status, archived_at"),
+        @Index(name = "idx_grocery_list_ledger_pending", columnList = "ledger_pending, id")
+})
 public class GroceryListEntity {
 
     @Id
@@ -43,10 +48,23 @@ public class GroceryListEntity {
 
     private LocalDateTime completedAt;
 
+    private LocalDateTime archivedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_member_id")
     private RoomMemberEntity createdBy;
 
+    // Sync version for live clients; only changes through GroceryListRepository.incrementVersion
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long version;
+
+    // Set on completion and cleared in the transaction that posts the purchases to the ledger, so a posting
+    // lost to an error or a restart is picked up again by GroceryLedgerSweepJob
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean ledgerPending;
+
     @OneToMany(mappedBy = "groceryList", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<GroceryItemEntity> items = new ArrayList<>();
 
@@ -75,9 +93,11 @@ public class GroceryListEntity {
     public void complete() {
         this.status = GroceryListStatus.COMPLETED;
         this.completedAt = LocalDateTime.now();
+        this.ledgerPending = true;
     }
 
     public void archive() {
         this.status = GroceryListStatus.ARCHIVED;
+        this.archivedAt = LocalDateTime.now();
     }
 }
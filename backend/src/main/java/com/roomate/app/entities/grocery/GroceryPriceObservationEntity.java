@@ -0,0 +1,55 @@
+package com.roomate.app.entities.grocery;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A price a room paid for an item. Rows are only ever appended, and outlive the list and item they came
+ * from so estimates survive archiving.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "grocery_price_observation", indexes = {
+        @Index(name = "idx_grocery_price_room_item_observed", columnList = "room_id, item_key, observed_at")
+})
+public class GroceryPriceObservationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "room_id", nullable = false, updatable = false)
+    private UUID roomId;
+
+    // Normalized name, so "Oat  Milk" and "oat milk" share a history
+    @Column(name = "item_key", nullable = false, updatable = false)
+    private String itemKey;
+
+    @Column(name = "item_name", nullable = false, updatable = false)
+    private String itemName;
+
+    @Column(nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "grocery_item_id", updatable = false)
+    private UUID groceryItemId;
+
+    @Column(name = "observed_at", nullable = false, updatable = false)
+    private LocalDateTime observedAt;
+
+    public GroceryPriceObservationEntity(UUID roomId, String itemKey, String itemName, BigDecimal price,
+                                         UUID groceryItemId, LocalDateTime observedAt) {
+        this.roomId = roomId;
+        this.itemKey = itemKey;
+        this.itemName = itemName;
+        this.price = price;
+        this.groceryItemId = groceryItemId;
+        this.observedAt = observedAt;
+    }
+}
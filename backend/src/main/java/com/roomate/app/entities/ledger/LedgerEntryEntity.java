@@ -20,7 +20,12 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "ledger_entry")
+@Table(name = "ledger_entry", indexes = {
+        @Index(name = "idx_ledger_entry_room_status_created", columnList = "room_id, status, created_at"),
+        @Index(name = "idx_ledger_entry_room_type", columnList = "room_id, entry_type"),
+        @Index(name = "uk_ledger_entry_grocery_list_member", columnList = "grocery_list_id, created_by_member_id",
+                unique = true)
+})
 public class LedgerEntryEntity {
 
     @Id
@@ -59,6 +64,10 @@ public class LedgerEntryEntity {
 
     private LocalDate dueDate;
 
+    // Set on entries posted from a completed grocery list, one per purchaser, so a list is never posted twice
+    @Column(name = "grocery_list_id")
+    private UUID groceryListId;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -15,7 +15,10 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "ledger_split")
+@Table(name = "ledger_split", indexes = {
+        @Index(name = "idx_ledger_split_member_status", columnList = "room_member_id, payment_status"),
+        @Index(name = "idx_ledger_split_entry", columnList = "ledger_entry_id")
+})
 public class LedgerSplitEntity {
 
     @Id
@@ -44,6 +44,10 @@ public class RoomEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Written on insert only; afterwards it changes through the guarded updates in RoomRepository
+    @Column(name = "member_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int memberCount;
+
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<RoomMemberEntity> members = new ArrayList<>();
 
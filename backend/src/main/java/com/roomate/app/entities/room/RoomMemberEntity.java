@@ -13,7 +13,11 @@ import java.util.UUID;
 @Getter
 @Setter
 @ToString(exclude = {"room", "user"})
-@Table(name = "room_member")
+@Table(name = "room_member", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_member_room_user", columnNames = {"room_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_room_member_user", columnList = "user_id")
+})
 public class RoomMemberEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,72 @@
+package com.roomate.app.entities.room;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a room deletion. Kept after the room is gone so the requester can see it finish.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "room_teardown")
+public class RoomTeardownEntity {
+
+    @Id
+    @Column(name = "room_id")
+    private UUID roomId;
+
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomTeardownStatus status;
+
+    @Column(name = "current_step")
+    private String currentStep;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public RoomTeardownEntity(UUID roomId, String requestedBy) {
+        this.roomId = roomId;
+        this.requestedBy = requestedBy;
+        this.status = RoomTeardownStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    public void advance(String step, long deleted) {
+        this.currentStep = step;
+        this.deletedRows += deleted;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = RoomTeardownStatus.COMPLETED;
+        this.currentStep = null;
+        this.completedAt = LocalDateTime.now();
+        this.updatedAt = this.completedAt;
+    }
+
+    public void fail() {
+        this.status = RoomTeardownStatus.FAILED;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package com.roomate.app.entities.room;
+
+public enum RoomTeardownStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
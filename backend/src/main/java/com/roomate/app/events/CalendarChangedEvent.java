@@ -0,0 +1,18 @@
+package com.roomate.app.events;
+
+import java.util.UUID;
+
+/**
+ * Published by writes that change what calendar feeds contain: the events, chores or bills of a room, or
+ * which rooms a user belongs to. Feeds are bumped in the writing transaction, just before it commits.
+ */
+public record CalendarChangedEvent(UUID roomId, Long userId) {
+
+    public static CalendarChangedEvent forRoom(UUID roomId) {
+        return new CalendarChangedEvent(roomId, null);
+    }
+
+    public static CalendarChangedEvent forUser(Long userId) {
+        return new CalendarChangedEvent(null, userId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.roomate.app.events;
+
+import com.roomate.app.service.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class CalendarFeedListener {
+    private static final Logger logger = LoggerFactory.getLogger(CalendarFeedListener.class);
+
+    private final CalendarFeedService calendarFeedService;
+
+    // After commit, one bump per transaction of its own: bumping before commit held the feed locks until the
+    // caller's transaction ended, and transactions touching several rooms or members took them in any order.
+    // A poll between the commit and the bump only gets the fresh content one poll later.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        try {
+            calendarFeedService.touch(event);
+        } catch (Exception e) {
+            logger.error("Failed to bump calendar feeds for {}: {}", event, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.roomate.app.events;
+
+import com.roomate.app.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class GroceryLedgerListener {
+    private static final Logger logger = LoggerFactory.getLogger(GroceryLedgerListener.class);
+
+    private final LedgerService ledgerService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onListsCompleted(GroceryListsCompletedEvent event) {
+        try {
+            int posted = ledgerService.postCompletedGroceryLists(event.listIds());
+            logger.debug("Posted {} ledger entries for {} completed grocery lists", posted, event.listIds().size());
+        } catch (Exception e) {
+            // The lists stay marked ledgerPending, so GroceryLedgerSweepJob posts them on a later run
+            logger.warn("Failed to post ledger entries for grocery lists {}, left for the sweep: {}",
+                    event.listIds(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.roomate.app.events;
+
+import com.roomate.app.dto.grocery.GroceryListDelta;
+
+/**
+ * Published by each grocery item write; broadcast to the list's subscribers once the write commits.
+ */
+public record GroceryListChangedEvent(GroceryListDelta delta) {
+}
@@ -0,0 +1,11 @@
+package com.roomate.app.events;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when one or more grocery lists are completed in a transaction.
+ * Listeners run after it commits.
+ */
+public record GroceryListsCompletedEvent(List<UUID> listIds) {
+}
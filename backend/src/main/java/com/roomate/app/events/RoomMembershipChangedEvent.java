@@ -0,0 +1,18 @@
+package com.roomate.app.events;
+
+import java.util.UUID;
+
+/**
+ * Published when a member joins, leaves or is removed from a room. left is true when userEmail lost access.
+ * Listeners run after the membership transaction commits.
+ */
+public record RoomMembershipChangedEvent(UUID roomId, String userEmail, boolean left) {
+
+    public static RoomMembershipChangedEvent joined(UUID roomId, String userEmail) {
+        return new RoomMembershipChangedEvent(roomId, userEmail, false);
+    }
+
+    public static RoomMembershipChangedEvent left(UUID roomId, String userEmail) {
+        return new RoomMembershipChangedEvent(roomId, userEmail, true);
+    }
+}
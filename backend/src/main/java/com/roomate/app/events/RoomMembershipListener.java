@@ -0,0 +1,28 @@
+package com.roomate.app.events;
+
+import com.roomate.app.service.UtilityService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class RoomMembershipListener {
+    private static final Logger logger = LoggerFactory.getLogger(RoomMembershipListener.class);
+
+    private final UtilityService utilityService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        try {
+            utilityService.updateUtilitiesOnUserChange(event.roomId());
+        } catch (Exception e) {
+            logger.error("Failed to re-split utilities for room {}: {}", event.roomId(), e.getMessage(), e);
+        }
+    }
+}
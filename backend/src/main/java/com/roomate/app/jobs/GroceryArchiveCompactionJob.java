@@ -0,0 +1,152 @@
+package com.roomate.app.jobs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roomate.app.dto.grocery.GroceryListDto;
+import com.roomate.app.entities.JobCheckpointEntity;
+import com.roomate.app.entities.grocery.GroceryListArchiveEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.repository.GroceryItemRepository;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.JobCheckpointRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nightly job that moves lists archived more than after-days ago out of grocery_list and grocery_item
+ * into one grocery_list_archive row each, so the hot tables only hold lists people still look at.
+ * Lists are taken in id order a chunk at a time; each chunk writes its archive rows, deletes the items
+ * and lists and advances the checkpoint in one transaction, so an interrupted run resumes after the last
+ * list it moved.
+ */
+@Component
+public class GroceryArchiveCompactionJob {
+    private static final Logger logger = LoggerFactory.getLogger(GroceryArchiveCompactionJob.class);
+
+    static final String JOB_NAME = "grocery-archive-compaction";
+    // Sorts before every generated id
+    private static final UUID FIRST_KEY = new UUID(0, 0);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final GroceryListRepository groceryListRepository;
+    private final GroceryItemRepository groceryItemRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper payloadMapper;
+    private final ReentrantLock running = new ReentrantLock();
+    private final int afterDays;
+    private final int chunkSize;
+
+    public GroceryArchiveCompactionJob(GroceryListRepository groceryListRepository,
+                                       GroceryItemRepository groceryItemRepository,
+                                       JobCheckpointRepository checkpointRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectMapper objectMapper,
+                                       @Value("${app.grocery.archive.after-days:90}") int afterDays,
+                                       @Value("${app.grocery.archive.chunk-size:200}") int chunkSize) {
+        this.groceryListRepository = groceryListRepository;
+        this.groceryItemRepository = groceryItemRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Empty fields are left out of the stored documents
+        this.payloadMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.grocery.archive.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            logger.error("Grocery archive compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // EFFECTS : Compacts every list archived before the cutoff and returns how many were moved.
+    //           Returns 0 straight away if a run is already in progress.
+    public long compact() {
+        if (!running.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            transactionTemplate.executeWithoutResult(status -> {
+                JobCheckpointEntity checkpoint = checkpointRepository.findById(JOB_NAME)
+                        .orElseGet(() -> new JobCheckpointEntity(JOB_NAME));
+                // A finished run starts over from the first id; an interrupted one carries on
+                if (checkpoint.isCompleted()) {
+                    checkpoint.setLastProcessedKey(null);
+                    checkpoint.setCompleted(false);
+                }
+                checkpointRepository.save(checkpoint);
+            });
+
+            long moved = 0;
+            int chunk;
+            while ((chunk = transactionTemplate.execute(status -> compactChunk(cutoff))) > 0) {
+                moved += chunk;
+            }
+
+            transactionTemplate.executeWithoutResult(status ->
+                    checkpointRepository.findById(JOB_NAME).ifPresent(done -> done.setCompleted(true)));
+            if (moved > 0) {
+                logger.info("Compacted {} grocery lists archived before {}", moved, cutoff);
+            }
+            return moved;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    // EFFECTS : Moves the next chunk of lists into the archive and returns how many it moved
+    int compactChunk(LocalDateTime cutoff) {
+        JobCheckpointEntity checkpoint = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        UUID after = checkpoint.getLastProcessedKey() != null
+                ? UUID.fromString(checkpoint.getLastProcessedKey())
+                : FIRST_KEY;
+        List<UUID> ids = groceryListRepository.findArchivedIdsBefore(cutoff, after, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Persisted directly: the id is the list's, so save() would read each row before inserting it
+        List<GroceryListEntity> lists = groceryListRepository.findWithItemsByIdIn(ids);
+        for (GroceryListEntity list : lists) {
+            entityManager.persist(new GroceryListArchiveEntity(list, toPayload(list)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int items = groceryItemRepository.deleteByGroceryListIds(ids);
+        groceryListRepository.deleteAllByIdIn(ids);
+
+        checkpoint = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        checkpoint.advance(ids.get(ids.size() - 1).toString(), lists.size() + items, lists.size());
+        return ids.size();
+    }
+
+    private String toPayload(GroceryListEntity list) {
+        try {
+            return payloadMapper.writeValueAsString(GroceryListDto.fromEntity(list));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize grocery list " + list.getId(), e);
+        }
+    }
+}
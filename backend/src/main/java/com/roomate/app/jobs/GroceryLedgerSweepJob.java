@@ -0,0 +1,97 @@
+package com.roomate.app.jobs;
+
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.service.LedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Posts completed grocery lists whose ledger entries never got written. Completing a list marks it
+ * ledgerPending and GroceryLedgerListener posts it after the commit; if that post fails or the process stops
+ * first, the marker stays and this job posts the list. Lists younger than grace-minutes are left to the
+ * listener. Posting is idempotent, so a list the listener finishes at the same time is not posted twice.
+ */
+@Component
+public class GroceryLedgerSweepJob {
+    private static final Logger logger = LoggerFactory.getLogger(GroceryLedgerSweepJob.class);
+
+    // Sorts before every generated id
+    private static final UUID FIRST_KEY = new UUID(0, 0);
+
+    private final GroceryListRepository groceryListRepository;
+    private final LedgerService ledgerService;
+    private final ReentrantLock running = new ReentrantLock();
+    private final int graceMinutes;
+    private final int chunkSize;
+
+    public GroceryLedgerSweepJob(GroceryListRepository groceryListRepository,
+                                 LedgerService ledgerService,
+                                 @Value("${app.grocery.ledger.grace-minutes:5}") int graceMinutes,
+                                 @Value("${app.grocery.ledger.chunk-size:200}") int chunkSize) {
+        this.groceryListRepository = groceryListRepository;
+        this.ledgerService = ledgerService;
+        this.graceMinutes = graceMinutes;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.grocery.ledger.sweep-delay-ms:300000}",
+            initialDelayString = "${app.grocery.ledger.sweep-delay-ms:300000}")
+    public void runScheduled() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            logger.error("Grocery ledger sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // EFFECTS : Posts every pending list completed before the grace period and returns how many ledger entries
+    //           were written. A list that fails again is logged and left pending for the next run.
+    //           Returns 0 straight away if a run is already in progress.
+    public int sweep() {
+        if (!running.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+            UUID after = FIRST_KEY;
+            int posted = 0;
+            List<UUID> ids;
+            while (!(ids = groceryListRepository.findLedgerPendingIdsBefore(cutoff, after, PageRequest.of(0, chunkSize))).isEmpty()) {
+                after = ids.get(ids.size() - 1);
+                try {
+                    posted += ledgerService.postCompletedGroceryLists(ids);
+                } catch (RuntimeException e) {
+                    // One bad list should not hold back the rest of its chunk
+                    posted += postOneByOne(ids);
+                }
+            }
+            if (posted > 0) {
+                logger.info("Posted {} ledger entries for grocery lists completed before {}", posted, cutoff);
+            }
+            return posted;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private int postOneByOne(List<UUID> ids) {
+        int posted = 0;
+        for (UUID id : ids) {
+            try {
+                posted += ledgerService.postCompletedGroceryLists(List.of(id));
+            } catch (RuntimeException e) {
+                logger.warn("Could not post ledger entries for grocery list {}: {}", id, e.getMessage(), e);
+            }
+        }
+        return posted;
+    }
+}
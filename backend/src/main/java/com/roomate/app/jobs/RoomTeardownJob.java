@@ -0,0 +1,187 @@
+package com.roomate.app.jobs;
+
+import com.roomate.app.entities.room.RoomTeardownEntity;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import com.roomate.app.repository.RoomTeardownRepository;
+import com.roomate.app.service.RoomAccessService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes a room and everything it owns, children before parents.
+ * Each step selects a chunk of ids and deletes them with one set-based statement in its own
+ * transaction, recording progress on the room_teardown row. The first chunks run in the
+ * caller's thread; once a room has deleted more than the inline limit the remaining chunks
+ * continue in the background. Teardowns still running at startup are resumed.
+ */
+@Component
+public class RoomTeardownJob implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(RoomTeardownJob.class);
+
+    private record Step(String name, String selectIds, String beforeDelete, String deleteByIds) {
+        Step(String name, String selectIds, String deleteByIds) {
+            this(name, selectIds, null, deleteByIds);
+        }
+    }
+
+    // Dependency order: rows referencing room members go before the members, members before the room
+    private static final List<Step> STEPS = List.of(
+            new Step("grocery_item",
+                    "SELECT i.id FROM GroceryItemEntity i WHERE i.groceryList.room.id = :roomId",
+                    "DELETE FROM GroceryItemEntity i WHERE i.id IN :ids"),
+            new Step("grocery_price_observation",
+                    "SELECT o.id FROM GroceryPriceObservationEntity o WHERE o.roomId = :roomId",
+                    "DELETE FROM GroceryPriceObservationEntity o WHERE o.id IN :ids"),
+            new Step("grocery_list_archive",
+                    "SELECT a.listId FROM GroceryListArchiveEntity a WHERE a.roomId = :roomId",
+                    "DELETE FROM GroceryListArchiveEntity a WHERE a.listId IN :ids"),
+            new Step("grocery_list",
+                    "SELECT l.id FROM GroceryListEntity l WHERE l.room.id = :roomId",
+                    "DELETE FROM GroceryListEntity l WHERE l.id IN :ids"),
+            new Step("ledger_split",
+                    "SELECT s.id FROM LedgerSplitEntity s WHERE s.ledgerEntry.room.id = :roomId",
+                    "DELETE FROM LedgerSplitEntity s WHERE s.id IN :ids"),
+            new Step("ledger_entry",
+                    "SELECT e.id FROM LedgerEntryEntity e WHERE e.room.id = :roomId",
+                    "DELETE FROM LedgerEntryEntity e WHERE e.id IN :ids"),
+            new Step("utility",
+                    "SELECT u.id FROM UtilityEntity u WHERE u.room.id = :roomId OR u.assignedToMember.id IN " +
+                            "(SELECT m.id FROM RoomMemberEntity m WHERE m.room.id = :roomId)",
+                    "DELETE FROM UtilityEntity u WHERE u.id IN :ids"),
+            new Step("chore",
+                    "SELECT c.id FROM ChoreEntity c WHERE c.room.id = :roomId",
+                    "DELETE FROM ChoreEntity c WHERE c.id IN :ids"),
+            new Step("event_occurrence_override",
+                    "SELECT o.id FROM EventOccurrenceOverrideEntity o WHERE o.event.room.id = :roomId",
+                    "DELETE FROM EventOccurrenceOverrideEntity o WHERE o.id IN :ids"),
+            new Step("event",
+                    "SELECT e.id FROM EventEntity e WHERE e.room.id = :roomId",
+                    "DELETE FROM EventEntity e WHERE e.id IN :ids"),
+            new Step("room_member",
+                    "SELECT m.id FROM RoomMemberEntity m WHERE m.room.id = :roomId",
+                    // Release the members' room slots in the same transaction as the delete
+                    "UPDATE UserEntity u SET u.roomCount = u.roomCount - 1 WHERE u.roomCount > 0 " +
+                            "AND u.id IN (SELECT m.user.id FROM RoomMemberEntity m WHERE m.id IN :ids)",
+                    "DELETE FROM RoomMemberEntity m WHERE m.id IN :ids"),
+            new Step("room",
+                    "SELECT r.id FROM RoomEntity r WHERE r.id = :roomId",
+                    "DELETE FROM RoomEntity r WHERE r.id IN :ids"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final RoomTeardownRepository teardownRepository;
+    private final RoomAccessService roomAccessService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final int chunkSize;
+    private final long inlineRowLimit;
+
+    public RoomTeardownJob(RoomTeardownRepository teardownRepository,
+                           RoomAccessService roomAccessService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.room-teardown.chunk-size:1000}") int chunkSize,
+                           @Value("${app.room-teardown.inline-row-limit:5000}") long inlineRowLimit) {
+        this.teardownRepository = teardownRepository;
+        this.roomAccessService = roomAccessService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.inlineRowLimit = inlineRowLimit;
+    }
+
+    // EFFECTS : Records the teardown and deletes the room's rows. Returns once the room is gone,
+    //           or once the inline limit is reached and the rest has been handed to the background.
+    //           Returns empty, without deleting anything, if a teardown of the room is already running.
+    public Optional<RoomTeardownEntity> start(UUID roomId, String requestedBy) {
+        // Claiming the row is the only check: each statement is atomic, so of two concurrent starts one wins
+        LocalDateTime now = LocalDateTime.now();
+        if (teardownRepository.restartFailed(roomId, requestedBy, now) == 0
+                && teardownRepository.insertIfAbsent(roomId, requestedBy, now) == 0) {
+            return Optional.empty();
+        }
+        if (!run(roomId, inlineRowLimit)) {
+            logger.info("Room {} is large, continuing teardown in the background", roomId);
+            executor.submit(() -> runToCompletion(roomId));
+        }
+        return teardownRepository.findById(roomId);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (RoomTeardownEntity teardown : teardownRepository.findByStatus(RoomTeardownStatus.RUNNING)) {
+            logger.info("Resuming teardown of room {}", teardown.getRoomId());
+            executor.submit(() -> runToCompletion(teardown.getRoomId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void runToCompletion(UUID roomId) {
+        run(roomId, Long.MAX_VALUE);
+    }
+
+    // EFFECTS : Deletes chunks until the room is gone (true) or rowBudget rows were deleted (false).
+    private boolean run(UUID roomId, long rowBudget) {
+        long deleted = 0;
+        try {
+            for (Step step : STEPS) {
+                int chunk;
+                do {
+                    if (deleted >= rowBudget) {
+                        return false;
+                    }
+                    chunk = transactionTemplate.execute(status -> deleteChunk(roomId, step));
+                    deleted += chunk;
+                } while (chunk == chunkSize);
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    teardownRepository.findById(roomId).ifPresent(RoomTeardownEntity::complete));
+            // Membership checks made while the members still existed may have been cached again since the
+            // room was evicted at the start; the memberships are gone now, so this eviction is final
+            roomAccessService.evictRoom(roomId);
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Teardown of room {} failed: {}", roomId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status ->
+                    teardownRepository.findById(roomId).ifPresent(RoomTeardownEntity::fail));
+            throw e;
+        }
+    }
+
+    private int deleteChunk(UUID roomId, Step step) {
+        List<?> ids = entityManager.createQuery(step.selectIds())
+                .setParameter("roomId", roomId)
+                .setMaxResults(chunkSize)
+                .getResultList();
+
+        if (!ids.isEmpty() && step.beforeDelete() != null) {
+            entityManager.createQuery(step.beforeDelete()).setParameter("ids", ids).executeUpdate();
+        }
+
+        int deleted = ids.isEmpty() ? 0 : entityManager.createQuery(step.deleteByIds())
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        teardownRepository.findById(roomId).ifPresent(teardown -> teardown.advance(step.name(), deleted));
+        return ids.size();
+    }
+}
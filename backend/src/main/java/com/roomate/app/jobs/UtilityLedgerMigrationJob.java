@@ -0,0 +1,193 @@
+package com.roomate.app.jobs;
+
+import com.roomate.app.entities.JobCheckpointEntity;
+import com.roomate.app.entities.UtilDistributionEnum;
+import com.roomate.app.entities.UtilityEntity;
+import com.roomate.app.entities.ledger.*;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.repository.JobCheckpointRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UtilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * One-shot job that moves legacy utility rows into UTILITY ledger entries.
+ * Rooms are migrated in id order, one chunk per transaction: the ledger entries are written,
+ * the utility rows are deleted and the checkpoint's key is advanced to the chunk's last room
+ * together, so a failed run started again resumes after the last committed room.
+ * Bills that no member was assigned to cannot become splits; their rows are left in place and logged.
+ */
+@Component
+@ConditionalOnProperty(name = "app.migration.utility-ledger.enabled", havingValue = "true")
+public class UtilityLedgerMigrationJob implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(UtilityLedgerMigrationJob.class);
+
+    static final String JOB_NAME = "utility-ledger-migration";
+
+    // Sorts before every generated id
+    private static final UUID FIRST_KEY = new UUID(0, 0);
+
+    private final UtilityRepository utilityRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final RoomRepository roomRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UtilityLedgerMigrationJob(UtilityRepository utilityRepository, LedgerEntryRepository ledgerEntryRepository,
+                                     RoomRepository roomRepository, JobCheckpointRepository checkpointRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.migration.utility-ledger.batch-size:50}") int batchSize) {
+        this.utilityRepository = utilityRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.roomRepository = roomRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        JobCheckpointEntity checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+        if (checkpoint != null && checkpoint.isCompleted()) {
+            logger.info("Utility ledger migration already completed, skipping.");
+            return;
+        }
+
+        logger.info("Starting utility ledger migration with batch size {}", batchSize);
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> migrateChunk()))) {
+            JobCheckpointEntity progress = checkpointRepository.findById(JOB_NAME).orElseThrow();
+            logger.info("Utility ledger migration: {} utility rows moved into {} ledger entries",
+                    progress.getProcessedRows(), progress.getWrittenRows());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            JobCheckpointEntity done = checkpointRepository.findById(JOB_NAME).orElseGet(() -> new JobCheckpointEntity(JOB_NAME));
+            done.setCompleted(true);
+            checkpointRepository.save(done);
+        });
+        logger.info("Utility ledger migration completed.");
+    }
+
+    // EFFECTS : Migrates the next chunk of rooms after the checkpoint and returns false once none are left
+    boolean migrateChunk() {
+        JobCheckpointEntity checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(() -> new JobCheckpointEntity(JOB_NAME));
+        UUID after = checkpoint.getLastProcessedKey() != null
+                ? UUID.fromString(checkpoint.getLastProcessedKey())
+                : FIRST_KEY;
+        List<UUID> roomIds = utilityRepository.findRoomIdsWithUtilitiesAfter(after, PageRequest.of(0, batchSize));
+        if (roomIds.isEmpty()) {
+            return false;
+        }
+
+        long rows = 0;
+        List<LedgerEntryEntity> entries = new ArrayList<>();
+
+        for (UUID roomId : roomIds) {
+            RoomEntity room = roomRepository.getReferenceById(roomId);
+            List<UtilityEntity> utilities = utilityRepository.findByRoomIdWithMember(roomId);
+
+            Map<Object, List<UtilityEntity>> bills = utilities.stream()
+                    .collect(Collectors.groupingBy(UtilityLedgerMigrationJob::billKey, LinkedHashMap::new, Collectors.toList()));
+            List<UtilityEntity> migrated = new ArrayList<>();
+            for (List<UtilityEntity> shares : bills.values()) {
+                LedgerEntryEntity entry = toLedgerEntry(room, shares);
+                if (entry == null) {
+                    logger.warn("Skipped utility bill '{}' in room {}: none of its {} rows is assigned to a member",
+                            shares.get(0).getUtilityName(), roomId, shares.size());
+                    continue;
+                }
+                entries.add(entry);
+                migrated.addAll(shares);
+            }
+            if (!migrated.isEmpty()) {
+                utilityRepository.deleteAllInBatch(migrated);
+            }
+            rows += migrated.size();
+        }
+
+        ledgerEntryRepository.saveAll(entries);
+        checkpoint.advance(roomIds.get(roomIds.size() - 1).toString(), rows, entries.size());
+        checkpointRepository.save(checkpoint);
+        return true;
+    }
+
+    private LedgerEntryEntity toLedgerEntry(RoomEntity room, List<UtilityEntity> shares) {
+        List<UtilityEntity> assigned = shares.stream().filter(share -> share.getAssignedToMember() != null).toList();
+        if (assigned.isEmpty()) {
+            return null;
+        }
+
+        UtilityEntity template = assigned.get(0);
+        BigDecimal total = BigDecimal.valueOf(template.getTotalPrice() > 0
+                        ? template.getTotalPrice()
+                        : assigned.stream().mapToDouble(UtilityEntity::getUtilityPrice).sum())
+                .setScale(2, RoundingMode.HALF_UP);
+        SplitType splitType = template.getUtilDistributionEnum() == UtilDistributionEnum.CUSTOMSPLIT
+                ? SplitType.PERCENTAGE
+                : SplitType.EQUAL;
+
+        LedgerEntryEntity entry = new LedgerEntryEntity(room, null,
+                template.getUtilityName() != null ? template.getUtilityName() : "Utility",
+                LedgerEntryType.UTILITY, total, splitType);
+        entry.setDescription(template.getDescription());
+        entry.setDueDate(template.getDueAt() != null ? template.getDueAt().toLocalDate() : null);
+
+        BigDecimal assignedTotal = BigDecimal.ZERO;
+        for (UtilityEntity share : assigned) {
+            RoomMemberEntity member = share.getAssignedToMember();
+            BigDecimal amount = BigDecimal.valueOf(share.getUtilityPrice()).setScale(2, RoundingMode.HALF_UP);
+            entry.getSplits().add(new LedgerSplitEntity(entry, member, amount));
+            assignedTotal = assignedTotal.add(amount);
+        }
+
+        // Double shares rarely add up to the bill exactly; the first split absorbs the rounding difference
+        LedgerSplitEntity first = entry.getSplits().get(0);
+        first.setAmountOwed(first.getAmountOwed().add(total.subtract(assignedTotal)));
+
+        for (int i = 0; i < assigned.size(); i++) {
+            if (assigned.get(i).isCompleted()) {
+                LedgerSplitEntity split = entry.getSplits().get(i);
+                split.recordPayment(split.getAmountOwed());
+            }
+        }
+
+        if (entry.isFullyPaid()) {
+            entry.setStatus(LedgerEntryStatus.PAID);
+        } else if (entry.getTotalPaid().signum() > 0) {
+            entry.setStatus(LedgerEntryStatus.PARTIALLY_PAID);
+        } else {
+            entry.setStatus(LedgerEntryStatus.APPROVED);
+        }
+        return entry;
+    }
+
+    // Shares created before bills were tracked are grouped by their shared attributes
+    private static Object billKey(UtilityEntity utility) {
+        if (utility.getBillId() != null) {
+            return utility.getBillId();
+        }
+        return List.of(String.valueOf(utility.getUtilityName()), String.valueOf(utility.getDescription()),
+                String.valueOf(utility.getDueAt()), String.valueOf(utility.getUtilDistributionEnum()));
+    }
+}
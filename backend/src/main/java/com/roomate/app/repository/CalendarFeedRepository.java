@@ -0,0 +1,40 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.entities.CalendarFeedEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CalendarFeedRepository extends JpaRepository<CalendarFeedEntity, UUID> {
+
+    Optional<CalendarFeedEntity> findByToken(String token);
+
+    Optional<CalendarFeedEntity> findByUserId(Long userId);
+
+    /**
+     * Lock the feeds of everyone in the room, in id order so that bumps of rooms sharing members queue up
+     * instead of deadlocking
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f.id FROM CalendarFeedEntity f WHERE f.user.id IN " +
+            "(SELECT m.user.id FROM RoomMemberEntity m WHERE m.room.id = :roomId) ORDER BY f.id")
+    List<UUID> lockRoomFeedIds(@Param("roomId") UUID roomId);
+
+    @Modifying
+    @Query("UPDATE CalendarFeedEntity f SET f.revision = f.revision + 1 WHERE f.id IN :ids")
+    int bumpFeeds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE CalendarFeedEntity f SET f.revision = f.revision + 1 WHERE f.user.id = :userId")
+    int bumpUser(@Param("userId") Long userId);
+}
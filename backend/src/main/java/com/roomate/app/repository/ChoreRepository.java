@@ -1,17 +1,23 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.calendar.CalendarChoreRow;
 import com.roomate.app.entities.ChoreEntity;
 import com.roomate.app.entities.room.RoomEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChoreRepository extends JpaRepository<ChoreEntity, Long> {
@@ -36,4 +42,20 @@ public interface ChoreRepository extends JpaRepository<ChoreEntity, Long> {
     @Transactional
     @Query("DELETE FROM ChoreEntity m WHERE m.room.id = :roomId")
     void deleteAllByRoomId(@Param("roomId") UUID roomId);
+
+    @Query("SELECT c FROM ChoreEntity c JOIN FETCH c.room WHERE c.assignedToMember.id IN :roomMemberIds")
+    List<ChoreEntity> findAllByRoomMemberIdsWithRoom(@Param("roomMemberIds") List<UUID> roomMemberIds);
+
+    @Query("SELECT c.room.id FROM ChoreEntity c WHERE c.id = :choreId")
+    Optional<UUID> findRoomIdById(@Param("choreId") UUID choreId);
+
+    /**
+     * Open chores assigned to the user, for the calendar feed; see EventRepository.streamForCalendar
+     */
+    @Query("SELECT new com.roomate.app.dto.calendar.CalendarChoreRow(c.id, c.choreName, c.dueAt, r.name, c.createdAt) " +
+            "FROM ChoreEntity c JOIN c.assignedToMember m JOIN c.room r " +
+            "WHERE m.user.id = :userId AND c.dueAt IS NOT NULL AND c.isCompleted = false AND " +
+            "NOT EXISTS (SELECT t.roomId FROM RoomTeardownEntity t WHERE t.roomId = m.room.id)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CalendarChoreRow> streamForCalendar(@Param("userId") Long userId);
 }
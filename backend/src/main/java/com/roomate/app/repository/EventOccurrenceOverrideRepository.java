@@ -0,0 +1,50 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.dto.calendar.CalendarOccurrenceRow;
+import com.roomate.app.entities.EventOccurrenceOverrideEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventOccurrenceOverrideRepository extends JpaRepository<EventOccurrenceOverrideEntity, UUID> {
+
+    Optional<EventOccurrenceOverrideEntity> findByEventIdAndOriginalStart(UUID eventId, LocalDateTime originalStart);
+
+    /**
+     * Overrides of the given events that replace an occurrence starting in [originalFrom, to), or that move
+     * an occurrence into [from, to)
+     */
+    @Query("SELECT o FROM EventOccurrenceOverrideEntity o WHERE o.event.id IN :eventIds AND " +
+            "((o.originalStart >= :originalFrom AND o.originalStart < :to) OR (o.startTime < :to AND o.endTime > :from))")
+    List<EventOccurrenceOverrideEntity> findForWindow(@Param("eventIds") Collection<UUID> eventIds,
+                                                     @Param("originalFrom") LocalDateTime originalFrom,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    @Query("SELECT o FROM EventOccurrenceOverrideEntity o WHERE o.event.room.id = :roomId")
+    List<EventOccurrenceOverrideEntity> findByRoomId(@Param("roomId") UUID roomId);
+
+    @Modifying
+    @Query("DELETE FROM EventOccurrenceOverrideEntity o WHERE o.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") UUID eventId);
+
+    /**
+     * Overrides of recurring events in the user's rooms, for the calendar feed
+     */
+    @Query("SELECT new com.roomate.app.dto.calendar.CalendarOccurrenceRow(e.id, o.originalStart, o.cancelled, " +
+            "COALESCE(o.title, e.title), COALESCE(o.description, e.description), o.startTime, o.endTime) " +
+            "FROM RoomMemberEntity m JOIN EventEntity e ON e.room.id = m.room.id " +
+            "JOIN EventOccurrenceOverrideEntity o ON o.event.id = e.id " +
+            "WHERE m.user.id = :userId AND " +
+            "NOT EXISTS (SELECT t.roomId FROM RoomTeardownEntity t WHERE t.roomId = m.room.id)")
+    List<CalendarOccurrenceRow> findForCalendar(@Param("userId") Long userId);
+}
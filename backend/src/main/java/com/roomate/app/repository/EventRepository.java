@@ -1,21 +1,48 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.EventDTOS.EventRow;
+import com.roomate.app.dto.EventDTOS.EventSlotRow;
+import com.roomate.app.dto.calendar.CalendarEventRow;
 import com.roomate.app.entities.EventEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<EventEntity, UUID> {
-    @Query("SELECT e FROM EventEntity e WHERE e.room.id IN (SELECT r.id FROM RoomEntity r JOIN r.members m WHERE m.user.email = :email)")
-    List<EventEntity> getAllEventsForUserRooms(@Param("email") String email);
+    /**
+     * Events of every room the user belongs to that overlap [from, to), earliest first, plus recurring events
+     * whose series is still running at from. Joins from the user's memberships so each room is read through
+     * its (room_id, start_time) index.
+     */
+    @Query("SELECT new com.roomate.app.dto.EventDTOS.EventRow(e.id, e.title, e.description, e.startTime, e.endTime, " +
+            "r.roomCode, r.name, u.firstName, u.lastName, u.email, e.created, e.updated, " +
+            "e.recurrenceRule, e.recurrenceEnd, e.version) " +
+            "FROM RoomMemberEntity m JOIN EventEntity e ON e.room.id = m.room.id JOIN e.room r JOIN e.user u " +
+            "WHERE m.user.email = :email AND e.startTime < :to AND (e.endTime > :from OR " +
+            "(e.recurrenceRule IS NOT NULL AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd > :from))) " +
+            "ORDER BY e.startTime, e.id")
+    List<EventRow> findRowsForUserBetween(@Param("email") String email, @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 
-    @Query("SELECT u from EventEntity u WHERE u.user.email = :email AND u.room.id = :roomid" )
+    /**
+     * Every event of a room with just its time slot and recurrence, for the room's conflict index
+     */
+    @Query("SELECT new com.roomate.app.dto.EventDTOS.EventSlotRow(e.id, e.title, e.startTime, e.endTime, " +
+            "e.recurrenceRule, e.recurrenceEnd, e.version) FROM EventEntity e WHERE e.room.id = :roomId")
+    List<EventSlotRow> findSlotsByRoomId(@Param("roomId") UUID roomId);
+
+    @Query("SELECT u from EventEntity u JOIN FETCH u.room JOIN FETCH u.user WHERE u.user.email = :email AND u.room.id = :roomid" )
     List<EventEntity> getAllEventsForUserRoom(@Param("roomid") UUID roomid, @Param("email") String email);
 
     @Query("SELECT e FROM EventEntity e WHERE e.user.email = :email AND e.id = :id")
@@ -28,4 +55,16 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
     @Modifying
     @Query("DELETE FROM EventEntity e WHERE e.room.id = :roomid")
     void deleteAllByEventId(@Param("roomid") UUID roomid);
+
+    /**
+     * Every event of the user's rooms for the calendar feed, read in fetch-size batches; the caller must
+     * close the stream inside a transaction. Rooms being torn down are left out.
+     */
+    @Query("SELECT new com.roomate.app.dto.calendar.CalendarEventRow(e.id, e.title, e.description, e.startTime, " +
+            "e.endTime, e.recurrenceRule, r.name, e.created, e.updated) " +
+            "FROM RoomMemberEntity m JOIN EventEntity e ON e.room.id = m.room.id JOIN e.room r " +
+            "WHERE m.user.id = :userId AND e.startTime IS NOT NULL AND " +
+            "NOT EXISTS (SELECT t.roomId FROM RoomTeardownEntity t WHERE t.roomId = m.room.id)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CalendarEventRow> streamForCalendar(@Param("userId") Long userId);
 }
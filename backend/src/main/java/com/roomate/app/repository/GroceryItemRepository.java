@@ -1,11 +1,14 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.grocery.GroceryItemUsageRow;
 import com.roomate.app.entities.grocery.GroceryItemEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,12 +18,14 @@ public interface GroceryItemRepository extends JpaRepository<GroceryItemEntity,
     /**
      * Find all items in a grocery list
      */
-    List<GroceryItemEntity> findByGroceryListIdOrderByCreatedAtDesc(UUID groceryListId);
+    @Query("SELECT i FROM GroceryItemEntity i WHERE i.groceryList.id = :groceryListId ORDER BY i.createdAt DESC")
+    List<GroceryItemEntity> findByGroceryListIdOrderByCreatedAtDesc(@Param("groceryListId") UUID groceryListId);
 
     /**
      * Find unpurchased items in a list
      */
-    List<GroceryItemEntity> findByGroceryListIdAndIsPurchasedFalse(UUID groceryListId);
+    @Query("SELECT i FROM GroceryItemEntity i WHERE i.groceryList.id = :groceryListId AND i.isPurchased = false")
+    List<GroceryItemEntity> findByGroceryListIdAndIsPurchasedFalse(@Param("groceryListId") UUID groceryListId);
 
     /**
      * Find purchased items in a list
@@ -47,4 +52,24 @@ public interface GroceryItemRepository extends JpaRepository<GroceryItemEntity,
      */
     @Query("SELECT DISTINCT g.category FROM GroceryItemEntity g WHERE g.groceryList.id = :listId AND g.category IS NOT NULL")
     List<String> findDistinctCategoriesByListId(@Param("listId") UUID listId);
+
+    /**
+     * Per name and category, how often a room has listed and bought it and when it last did
+     */
+    @Query("SELECT new com.roomate.app.dto.grocery.GroceryItemUsageRow(i.name, i.category, COUNT(i), " +
+            "SUM(CASE WHEN i.isPurchased = true THEN 1 ELSE 0 END), MAX(i.createdAt), MAX(i.purchasedAt)) " +
+            "FROM GroceryItemEntity i WHERE i.groceryList.room.id = :roomId GROUP BY i.name, i.category")
+    List<GroceryItemUsageRow> summarizeUsageByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Priced purchases on finished lists, with their list and purchaser, oldest purchase first
+     */
+    @Query("SELECT i FROM GroceryItemEntity i JOIN FETCH i.groceryList l JOIN FETCH i.purchasedBy " +
+            "WHERE l.id IN :listIds AND l.status != 'ACTIVE' AND i.isPurchased = true AND i.actualPrice > 0 " +
+            "ORDER BY i.purchasedAt")
+    List<GroceryItemEntity> findPricedPurchasesByListIds(@Param("listIds") Collection<UUID> listIds);
+
+    @Modifying
+    @Query("DELETE FROM GroceryItemEntity i WHERE i.groceryList.id IN :listIds")
+    int deleteByGroceryListIds(@Param("listIds") Collection<UUID> listIds);
 }
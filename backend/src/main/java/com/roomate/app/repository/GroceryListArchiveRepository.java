@@ -0,0 +1,32 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.dto.grocery.GroceryListArchiveSummaryDto;
+import com.roomate.app.entities.grocery.GroceryListArchiveEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface GroceryListArchiveRepository extends JpaRepository<GroceryListArchiveEntity, UUID> {
+
+    /**
+     * A page of a room's compacted lists (newest first), without their documents
+     */
+    @Query(value = "SELECT new com.roomate.app.dto.grocery.GroceryListArchiveSummaryDto(a.listId, a.name, a.createdAt, " +
+            "a.completedAt, a.archivedAt, a.itemCount, a.totalSpent) FROM GroceryListArchiveEntity a " +
+            "WHERE a.roomId = :roomId ORDER BY a.createdAt DESC, a.listId",
+            countQuery = "SELECT COUNT(a) FROM GroceryListArchiveEntity a WHERE a.roomId = :roomId")
+    Page<GroceryListArchiveSummaryDto> findSummariesByRoomId(@Param("roomId") UUID roomId, Pageable pageable);
+
+    /**
+     * Room of a compacted list, without reading its document
+     */
+    @Query("SELECT a.roomId FROM GroceryListArchiveEntity a WHERE a.listId = :listId")
+    Optional<UUID> findRoomIdByListId(@Param("listId") UUID listId);
+}
@@ -1,22 +1,37 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.grocery.GroceryListSummaryRow;
 import com.roomate.app.entities.grocery.GroceryListEntity;
 import com.roomate.app.entities.grocery.GroceryListStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface GroceryListRepository extends JpaRepository<GroceryListEntity, UUID> {
+    String SUMMARY_SELECT = "SELECT new com.roomate.app.dto.grocery.GroceryListSummaryRow(l.id, l.room.id, l.name, " +
+            "l.status, l.createdAt, l.completedAt, l.version, m.id, m.role, m.joinedAt, m.updatedAt, u.id, u.firstName, " +
+            "u.lastName, u.email, COUNT(i), SUM(CASE WHEN i.isPurchased = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN i.isPurchased = true THEN COALESCE(i.actualPrice, 0) END), " +
+            "SUM(CASE WHEN i.isPurchased = false THEN i.estimatedPrice END)) " +
+            "FROM GroceryListEntity l LEFT JOIN l.createdBy m LEFT JOIN m.user u LEFT JOIN l.items i ";
+    String SUMMARY_GROUP_BY = "GROUP BY l.id, l.room.id, l.name, l.status, l.createdAt, l.completedAt, l.version, m.id, " +
+            "m.role, m.joinedAt, m.updatedAt, u.id, u.firstName, u.lastName, u.email ORDER BY l.createdAt DESC";
 
     /**
      * Find all grocery lists for a room, ordered by creation date (newest first)
      */
-    List<GroceryListEntity> findByRoomIdOrderByCreatedAtDesc(UUID roomId);
+    @Query("SELECT g FROM GroceryListEntity g WHERE g.room.id = :roomId ORDER BY g.createdAt DESC")
+    List<GroceryListEntity> findByRoomIdOrderByCreatedAtDesc(@Param("roomId") UUID roomId);
 
     /**
      * Find active grocery lists for a room
@@ -33,4 +48,71 @@ public interface GroceryListRepository extends JpaRepository<GroceryListEntity,
      * Count active lists for a room
      */
     long countByRoomIdAndStatus(UUID roomId, GroceryListStatus status);
+
+    /**
+     * Summaries of all grocery lists for a room (newest first), with item counts and spend from one query
+     */
+    @Query(SUMMARY_SELECT + "WHERE l.room.id = :roomId " + SUMMARY_GROUP_BY)
+    List<GroceryListSummaryRow> findSummariesByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Summaries of the non-archived lists for a room (newest first)
+     */
+    @Query(SUMMARY_SELECT + "WHERE l.room.id = :roomId AND l.status != 'ARCHIVED' " + SUMMARY_GROUP_BY)
+    List<GroceryListSummaryRow> findActiveSummariesByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Ids of every list in a room, archived ones included
+     */
+    @Query("SELECT l.id FROM GroceryListEntity l WHERE l.room.id = :roomId")
+    List<UUID> findIdsByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Room of a list, without loading the list
+     */
+    @Query("SELECT l.room.id FROM GroceryListEntity l WHERE l.id = :listId")
+    Optional<UUID> findRoomIdById(@Param("listId") UUID listId);
+
+    /**
+     * Advance the sync version by one per change; the row stays locked until commit, so concurrent writers
+     * get distinct versions
+     */
+    @Modifying
+    @Query("UPDATE GroceryListEntity l SET l.version = l.version + :changes WHERE l.id = :listId")
+    int incrementVersion(@Param("listId") UUID listId, @Param("changes") long changes);
+
+    @Query("SELECT l.version FROM GroceryListEntity l WHERE l.id = :listId")
+    Optional<Long> findVersionById(@Param("listId") UUID listId);
+
+    /**
+     * Next chunk of lists archived before the cutoff, in id order after the given id. Lists archived before
+     * archived_at existed are dated by completion or creation instead.
+     */
+    @Query("SELECT l.id FROM GroceryListEntity l WHERE l.status = 'ARCHIVED' AND l.id > :after AND " +
+            "(l.archivedAt < :cutoff OR (l.archivedAt IS NULL AND COALESCE(l.completedAt, l.createdAt) < :cutoff)) " +
+            "ORDER BY l.id")
+    List<UUID> findArchivedIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("after") UUID after,
+                                     Pageable pageable);
+
+    /**
+     * Lists with their items and every member they mention, in one query
+     */
+    @Query("SELECT DISTINCT l FROM GroceryListEntity l LEFT JOIN FETCH l.createdBy c LEFT JOIN FETCH c.user " +
+            "LEFT JOIN FETCH l.items i LEFT JOIN FETCH i.addedBy a LEFT JOIN FETCH a.user " +
+            "LEFT JOIN FETCH i.purchasedBy p LEFT JOIN FETCH p.user WHERE l.id IN :ids")
+    List<GroceryListEntity> findWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Completed lists whose ledger posting never committed, in id order after the given id
+    @Query("SELECT l.id FROM GroceryListEntity l WHERE l.ledgerPending = true AND l.completedAt < :cutoff " +
+            "AND l.id > :after ORDER BY l.id")
+    List<UUID> findLedgerPendingIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("after") UUID after,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE GroceryListEntity l SET l.ledgerPending = false WHERE l.id IN :ids AND l.ledgerPending = true")
+    int clearLedgerPending(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM GroceryListEntity l WHERE l.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
 }
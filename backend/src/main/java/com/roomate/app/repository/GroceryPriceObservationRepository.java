@@ -0,0 +1,34 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.dto.grocery.GroceryPriceStatsRow;
+import com.roomate.app.entities.grocery.GroceryPriceObservationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface GroceryPriceObservationRepository extends JpaRepository<GroceryPriceObservationEntity, UUID> {
+
+    /**
+     * Per item, how many prices a room has paid, their sum and when it last paid
+     */
+    @Query("SELECT new com.roomate.app.dto.grocery.GroceryPriceStatsRow(o.itemKey, COUNT(o), SUM(o.price), " +
+            "MAX(o.observedAt)) FROM GroceryPriceObservationEntity o WHERE o.roomId = :roomId GROUP BY o.itemKey")
+    List<GroceryPriceStatsRow> summarizeByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * The most recent observation of each item in a room
+     */
+    @Query("SELECT o FROM GroceryPriceObservationEntity o WHERE o.roomId = :roomId AND o.observedAt = " +
+            "(SELECT MAX(p.observedAt) FROM GroceryPriceObservationEntity p WHERE p.roomId = o.roomId AND p.itemKey = o.itemKey)")
+    List<GroceryPriceObservationEntity> findLatestByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * An item's most recent prices in a room, newest first
+     */
+    List<GroceryPriceObservationEntity> findTop50ByRoomIdAndItemKeyOrderByObservedAtDesc(UUID roomId, String itemKey);
+}
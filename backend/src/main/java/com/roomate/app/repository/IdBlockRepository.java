@@ -0,0 +1,20 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.entities.IdBlockEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdBlockRepository extends JpaRepository<IdBlockEntity, String> {
+
+    /** Find a sequence row and lock it until the transaction ends */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM IdBlockEntity b WHERE b.name = :name")
+    Optional<IdBlockEntity> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,9 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.entities.JobCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpointEntity, String> {
+}
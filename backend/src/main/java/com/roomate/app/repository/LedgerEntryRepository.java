@@ -2,12 +2,18 @@ package com.roomate.app.repository;
 
 import com.roomate.app.entities.ledger.LedgerEntryEntity;
 import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -32,10 +38,42 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity,
     /**
      * Find pending entries (awaiting split assignment)
      */
-    List<LedgerEntryEntity> findByRoomIdAndStatusOrderByCreatedAtDesc(UUID roomId, LedgerEntryStatus status);
+    @Query("SELECT e FROM LedgerEntryEntity e WHERE e.room.id = :roomId AND e.status = :status ORDER BY e.createdAt DESC")
+    List<LedgerEntryEntity> findByRoomIdAndStatusOrderByCreatedAtDesc(@Param("roomId") UUID roomId,
+                                                                      @Param("status") LedgerEntryStatus status);
 
     /**
      * Count entries by room and status
      */
     long countByRoomIdAndStatus(UUID roomId, LedgerEntryStatus status);
+
+    /**
+     * Find approved entries of a type (splits assigned, no payments yet) with their splits and members loaded
+     */
+    @Query("SELECT DISTINCT e FROM LedgerEntryEntity e LEFT JOIN FETCH e.splits s LEFT JOIN FETCH s.roomMember " +
+            "WHERE e.room.id = :roomId AND e.entryType = :entryType AND e.status = 'APPROVED'")
+    List<LedgerEntryEntity> findUnpaidByRoomIdAndEntryType(@Param("roomId") UUID roomId,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Lock the approved entries of a type in a room until the transaction ends, in id order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM LedgerEntryEntity e " +
+            "WHERE e.room.id = :roomId AND e.entryType = :entryType AND e.status = 'APPROVED' ORDER BY e.id")
+    List<LedgerEntryEntity> lockUnpaidByRoomIdAndEntryType(@Param("roomId") UUID roomId,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Find an entry and lock it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM LedgerEntryEntity e WHERE e.id = :id")
+    Optional<LedgerEntryEntity> findForUpdate(@Param("id") UUID id);
+
+    /**
+     * Which of the given grocery lists already have ledger entries
+     */
+    @Query("SELECT DISTINCT e.groceryListId FROM LedgerEntryEntity e WHERE e.groceryListId IN :listIds")
+    Set<UUID> findPostedGroceryListIds(@Param("listIds") Collection<UUID> listIds);
 }
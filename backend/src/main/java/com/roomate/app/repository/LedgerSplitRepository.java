@@ -1,15 +1,24 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.calendar.CalendarBillRow;
+import com.roomate.app.entities.ledger.LedgerEntryType;
 import com.roomate.app.entities.ledger.LedgerSplitEntity;
 import com.roomate.app.entities.ledger.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LedgerSplitRepository extends JpaRepository<LedgerSplitEntity, UUID> {
@@ -30,10 +39,17 @@ public interface LedgerSplitRepository extends JpaRepository<LedgerSplitEntity,
     @Query("SELECT s FROM LedgerSplitEntity s WHERE s.roomMember.id = :memberId AND s.paymentStatus != 'PAID'")
     List<LedgerSplitEntity> findUnpaidByMemberId(@Param("memberId") UUID memberId);
 
+    /**
+     * Find the entry a split belongs to, without loading the split
+     */
+    @Query("SELECT s.ledgerEntry.id FROM LedgerSplitEntity s WHERE s.id = :splitId")
+    Optional<UUID> findEntryIdById(@Param("splitId") UUID splitId);
+
     /**
      * Find all splits for a ledger entry
      */
-    List<LedgerSplitEntity> findByLedgerEntryId(UUID ledgerEntryId);
+    @Query("SELECT s FROM LedgerSplitEntity s WHERE s.ledgerEntry.id = :ledgerEntryId")
+    List<LedgerSplitEntity> findByLedgerEntryId(@Param("ledgerEntryId") UUID ledgerEntryId);
 
     /**
      * Calculate total owed by a member across all unpaid splits
@@ -48,4 +64,75 @@ public interface LedgerSplitRepository extends JpaRepository<LedgerSplitEntity,
     @Query("SELECT s FROM LedgerSplitEntity s WHERE s.roomMember.id = :memberId " +
             "AND s.ledgerEntry.room.id = :roomId ORDER BY s.ledgerEntry.createdAt DESC")
     List<LedgerSplitEntity> findByMemberIdAndRoomId(@Param("memberId") UUID memberId, @Param("roomId") UUID roomId);
+
+    /**
+     * Find splits of active entries of a type in a room, with entry, room and member loaded
+     */
+    @Query("SELECT s FROM LedgerSplitEntity s JOIN FETCH s.ledgerEntry e JOIN FETCH e.room " +
+            "JOIN FETCH s.roomMember m JOIN FETCH m.user " +
+            "WHERE e.room.id = :roomId AND e.entryType = :entryType AND e.status != 'CANCELLED' " +
+            "ORDER BY e.createdAt DESC")
+    List<LedgerSplitEntity> findActiveByRoomIdAndEntryType(@Param("roomId") UUID roomId,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Find a member's splits of active entries of a type in a room
+     */
+    @Query("SELECT s FROM LedgerSplitEntity s JOIN FETCH s.ledgerEntry e JOIN FETCH e.room " +
+            "JOIN FETCH s.roomMember m JOIN FETCH m.user " +
+            "WHERE e.room.id = :roomId AND m.id = :memberId AND e.entryType = :entryType " +
+            "AND e.status != 'CANCELLED' ORDER BY e.createdAt DESC")
+    List<LedgerSplitEntity> findActiveByRoomIdAndMemberIdAndEntryType(@Param("roomId") UUID roomId,
+            @Param("memberId") UUID memberId, @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Find a user's unpaid splits of active entries of a type across all their rooms
+     */
+    @Query("SELECT s FROM LedgerSplitEntity s JOIN FETCH s.ledgerEntry e JOIN FETCH e.room " +
+            "JOIN FETCH s.roomMember m " +
+            "WHERE m.user.email = :email AND e.entryType = :entryType AND e.status != 'CANCELLED' " +
+            "AND s.paymentStatus != 'PAID' ORDER BY e.dueDate ASC")
+    List<LedgerSplitEntity> findUnpaidByUserEmailAndEntryType(@Param("email") String email,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Delete a member's splits on approved entries of a type, so the entries can be re-split
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LedgerSplitEntity s WHERE s.roomMember.id = :memberId AND s.amountPaid = 0 " +
+            "AND s.ledgerEntry.id IN (SELECT e.id FROM LedgerEntryEntity e " +
+            "WHERE e.entryType = :entryType AND e.status = 'APPROVED')")
+    void deleteUnpaidByMemberIdAndEntryType(@Param("memberId") UUID memberId,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Find unpaid splits of active entries of a type for the given memberships
+     */
+    @Query("SELECT s FROM LedgerSplitEntity s JOIN FETCH s.ledgerEntry e JOIN FETCH e.room " +
+            "JOIN FETCH s.roomMember m " +
+            "WHERE m.id IN :memberIds AND e.entryType = :entryType AND e.status != 'CANCELLED' " +
+            "AND s.paymentStatus != 'PAID' ORDER BY e.dueDate ASC")
+    List<LedgerSplitEntity> findUnpaidByMemberIdsAndEntryType(@Param("memberIds") List<UUID> memberIds,
+            @Param("entryType") LedgerEntryType entryType);
+
+    /**
+     * Sum owed, paid and unpaid count per member; rows are [memberId, owed, paid, unpaidCount]
+     */
+    @Query("SELECT s.roomMember.id, COALESCE(SUM(s.amountOwed), 0), COALESCE(SUM(s.amountPaid), 0), " +
+            "SUM(CASE WHEN s.paymentStatus != 'PAID' THEN 1 ELSE 0 END) " +
+            "FROM LedgerSplitEntity s WHERE s.roomMember.id IN :memberIds GROUP BY s.roomMember.id")
+    List<Object[]> summarizeByMemberIds(@Param("memberIds") List<UUID> memberIds);
+
+    /**
+     * The user's shares of ledger entries with a due date, for the calendar feed; see
+     * EventRepository.streamForCalendar
+     */
+    @Query("SELECT new com.roomate.app.dto.calendar.CalendarBillRow(s.id, e.title, e.dueDate, s.amountOwed, " +
+            "s.amountPaid, r.name, e.createdAt, e.updatedAt) " +
+            "FROM LedgerSplitEntity s JOIN s.ledgerEntry e JOIN e.room r JOIN s.roomMember m " +
+            "WHERE m.user.id = :userId AND e.dueDate IS NOT NULL AND e.status != 'CANCELLED' AND " +
+            "NOT EXISTS (SELECT t.roomId FROM RoomTeardownEntity t WHERE t.roomId = m.room.id)")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CalendarBillRow> streamForCalendar(@Param("userId") Long userId);
 }
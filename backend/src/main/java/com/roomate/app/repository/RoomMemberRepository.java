@@ -8,13 +8,15 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RoomMemberRepository extends JpaRepository<RoomMemberEntity, UUID> {
-    Optional<RoomMemberEntity> findByRoomIdAndUserId(UUID roomId, Long userId);
+    @Query("SELECT m FROM RoomMemberEntity m WHERE m.room.id = :roomId AND m.user.id = :userId")
+    Optional<RoomMemberEntity> findByRoomIdAndUserId(@Param("roomId") UUID roomId, @Param("userId") Long userId);
 
     boolean existsByRoomIdAndUserId(UUID roomId, Long userId);
 
@@ -25,6 +27,9 @@ public interface RoomMemberRepository extends JpaRepository<RoomMemberEntity, UU
     @Query("SELECT m FROM RoomMemberEntity m WHERE m.room.id = :roomId")
     List<RoomMemberEntity> findByRoomID(@Param("roomId") UUID roomId);
 
+    @Query("SELECT m FROM RoomMemberEntity m WHERE m.room.id IN :roomIds")
+    List<RoomMemberEntity> findByRoomIds(@Param("roomIds") Collection<UUID> roomIds);
+
     @Modifying
     @Transactional
     @Query("DELETE FROM RoomMemberEntity m WHERE m.room.id = :roomId")
@@ -50,4 +55,7 @@ public interface RoomMemberRepository extends JpaRepository<RoomMemberEntity, UU
 
     @Query("SELECT rm FROM RoomMemberEntity rm WHERE rm.room.id = :roomId AND rm.user.email = :email")
     Optional<RoomMemberEntity> findByRoomIdAndUserEmail(@Param("roomId") UUID roomId, @Param("email") String email);
+
+    @Query("SELECT rm FROM RoomMemberEntity rm JOIN FETCH rm.room JOIN FETCH rm.user u WHERE u.email = :email")
+    List<RoomMemberEntity> findAllByUserEmailWithRoom(@Param("email") String email);
 }
@@ -1,7 +1,9 @@
 package com.roomate.app.repository;
 
+import com.roomate.app.dto.RoomMembershipRow;
 import com.roomate.app.entities.room.RoomEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,6 +27,23 @@ public interface RoomRepository extends JpaRepository<RoomEntity, UUID> {
     Optional<RoomEntity> getRoomEntityById(UUID id);
 
 
+    /** Take a member slot if the room has one free; returns 0 when the room is full */
+    @Modifying
+    @Query("UPDATE RoomEntity r SET r.memberCount = r.memberCount + 1 WHERE r.id = :roomId AND r.memberCount < :maxMembers")
+    int incrementMemberCount(@Param("roomId") UUID roomId, @Param("maxMembers") int maxMembers);
+
+    /** Give a member slot back */
+    @Modifying
+    @Query("UPDATE RoomEntity r SET r.memberCount = r.memberCount - 1 WHERE r.id = :roomId AND r.memberCount > 0")
+    int decrementMemberCount(@Param("roomId") UUID roomId);
+
     @Query("SELECT COUNT(r) FROM RoomEntity r JOIN r.members m WHERE m.user.id = :id")
     int countRoomsByUserId(Long id);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.roomate.app.dto.RoomMembershipRow(r.id, r.name, r.address, r.description, r.roomCode, " +
+            "r.headRoommateId, r.createdAt, r.updatedAt, m.id, m.joinedAt, m.role, u.email, u.firstName) " +
+            "FROM RoomMemberEntity m JOIN m.room r JOIN m.user u " +
+            "WHERE r.id IN (SELECT rm.room.id FROM RoomMemberEntity rm WHERE rm.user.email = :email) " +
+            "ORDER BY r.createdAt, m.joinedAt")
+    List<RoomMembershipRow> findRoomRowsByMemberEmail(@Param("email") String email);
+}
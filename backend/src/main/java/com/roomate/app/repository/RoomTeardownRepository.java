@@ -0,0 +1,40 @@
+package com.roomate.app.repository;
+
+import com.roomate.app.entities.room.RoomTeardownEntity;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RoomTeardownRepository extends JpaRepository<RoomTeardownEntity, UUID> {
+    List<RoomTeardownEntity> findByStatus(RoomTeardownStatus status);
+
+    /**
+     * Record a RUNNING teardown unless the room already has a teardown row. Returns 1 if this call inserted it;
+     * the primary key decides between concurrent calls.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO room_teardown (room_id, requested_by, status, deleted_rows, started_at, updated_at) " +
+            "VALUES (:roomId, :requestedBy, 'RUNNING', 0, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("roomId") UUID roomId, @Param("requestedBy") String requestedBy,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Set a FAILED teardown running again. Returns 1 if this call changed it.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RoomTeardownEntity t SET t.status = 'RUNNING', t.requestedBy = :requestedBy, t.updatedAt = :now " +
+            "WHERE t.roomId = :roomId AND t.status = 'FAILED'")
+    int restartFailed(@Param("roomId") UUID roomId, @Param("requestedBy") String requestedBy,
+                      @Param("now") LocalDateTime now);
+}
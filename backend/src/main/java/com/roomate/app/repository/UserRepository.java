@@ -2,6 +2,9 @@ package com.roomate.app.repository;
 
 import com.roomate.app.entities.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,14 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByEmail(String email);
 
+    /** Take a room slot if the user has one free; returns 0 when the user is at the limit */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.roomCount = u.roomCount + 1 WHERE u.id = :userId AND u.roomCount < :maxRooms")
+    int incrementRoomCount(@Param("userId") Long userId, @Param("maxRooms") int maxRooms);
+
+    /** Give a room slot back */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.roomCount = u.roomCount - 1 WHERE u.id = :userId AND u.roomCount > 0")
+    int decrementRoomCount(@Param("userId") Long userId);
+
 }
@@ -2,6 +2,7 @@ package com.roomate.app.repository;
 
 import com.roomate.app.entities.UtilityEntity;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -38,6 +39,12 @@ public interface UtilityRepository extends JpaRepository<UtilityEntity , Long> {
     @Query("DELETE FROM UtilityEntity m WHERE m.room.id = :roomId")
     void deleteAllByRoomId(@Param("roomId") UUID roomId);
 
+    @Query("SELECT u FROM UtilityEntity u LEFT JOIN FETCH u.assignedToMember WHERE u.room.id = :roomId")
+    List<UtilityEntity> findByRoomIdWithMember(@Param("roomId") UUID roomId);
+
+    @Query("SELECT DISTINCT u.room.id FROM UtilityEntity u WHERE u.room.id > :after ORDER BY u.room.id")
+    List<UUID> findRoomIdsWithUtilitiesAfter(@Param("after") UUID after, Pageable pageable);
+
     @Query("SELECT u FROM UtilityEntity u WHERE u.assignedToMember.id IN :roomMemberIds")
     List<UtilityEntity> findAllByRoomMemberIds(@Param("roomMemberIds") List<UUID> roomMemberIds);
 }
@@ -0,0 +1,19 @@
+package com.roomate.app.service;
+
+import com.roomate.app.dto.calendar.CalendarFeedDto;
+import com.roomate.app.events.CalendarChangedEvent;
+
+import java.io.OutputStream;
+import java.util.Optional;
+
+public interface CalendarFeedService {
+    CalendarFeedDto getFeed(String email);
+
+    CalendarFeedDto rotateToken(String email);
+
+    Optional<String> findEtag(String token);
+
+    void writeFeed(String token, OutputStream out);
+
+    void touch(CalendarChangedEvent event);
+}
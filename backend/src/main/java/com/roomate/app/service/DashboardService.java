@@ -0,0 +1,7 @@
+package com.roomate.app.service;
+
+import com.roomate.app.dto.dashboard.DashboardDto;
+
+public interface DashboardService {
+    DashboardDto getDashboard(String email);
+}
@@ -1,14 +1,19 @@
 package com.roomate.app.service;
 
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
 import com.roomate.app.dto.EventDTOS.EventDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface EventService {
-    List<EventDto> getAllEventsForUser(String email);
+    List<EventDto> getEventsForUser(String email, LocalDateTime from, LocalDateTime to);
     List<EventDto> getEventsForUserRoom(UUID roomID, String email);
     void createEventForRoom(EventDto eventDto, UUID roomid, String email);
     void updateEvent(EventDto eventDto, UUID eventID, String email);
     void deleteEvent(UUID eventId, String email);
+    void overrideOccurrence(UUID eventId, LocalDateTime occurrenceStart, EventDto changes, String email);
+    void cancelOccurrence(UUID eventId, LocalDateTime occurrenceStart, String email);
+    List<EventConflictDto> findConflicts(UUID roomId, LocalDateTime start, LocalDateTime end, UUID ignoredEventId, String email);
 }
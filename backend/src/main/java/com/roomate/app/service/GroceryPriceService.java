@@ -0,0 +1,21 @@
+package com.roomate.app.service;
+
+import com.roomate.app.dto.grocery.GroceryPriceHistoryDto;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * What a room has paid for its groceries, used to pre-fill estimates and project what a list will cost.
+ * Estimates come from running stats per room and item, so they never scan the price history.
+ */
+public interface GroceryPriceService {
+
+    Optional<BigDecimal> estimatePrice(UUID roomId, String itemName);
+
+    void recordPurchase(UUID roomId, GroceryItemEntity item);
+
+    GroceryPriceHistoryDto getPriceHistory(UUID roomId, String itemName, String userEmail);
+}
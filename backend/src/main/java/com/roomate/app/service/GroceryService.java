@@ -15,8 +15,14 @@ public interface GroceryService {
 
     GroceryListDto getGroceryListById(UUID listId, String userEmail);
 
+    GroceryListSyncDto syncList(UUID listId, long sinceVersion, String userEmail);
+
+    void requireListMember(UUID listId, String userEmail);
+
     GroceryItemDto addItem(UUID listId, GroceryItemCreateDto dto, String userEmail);
 
+    GroceryItemBulkResultDto bulkUpsertItems(UUID listId, GroceryItemBulkRequestDto request, String userEmail);
+
     GroceryItemDto updateItem(UUID itemId, GroceryItemCreateDto dto, String userEmail);
 
     GroceryItemDto markItemPurchased(UUID itemId, PurchaseItemDto dto, String userEmail);
@@ -27,7 +33,13 @@ public interface GroceryService {
 
     GroceryListDto completeList(UUID listId, String userEmail);
 
+    List<GroceryListDto> completeLists(UUID roomId, List<UUID> listIds, String userEmail);
+
     GroceryListDto archiveList(UUID listId, String userEmail);
 
     void deleteList(UUID listId, String userEmail);
+
+    GroceryListArchivePageDto getArchivedLists(UUID roomId, int page, int size, String userEmail);
+
+    GroceryListDto getArchivedList(UUID listId, String userEmail);
 }
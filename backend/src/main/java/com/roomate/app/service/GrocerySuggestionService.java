@@ -0,0 +1,21 @@
+package com.roomate.app.service;
+
+import com.roomate.app.dto.grocery.GrocerySuggestionDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Autocomplete for grocery item names and categories, drawn from what the room has added and bought before.
+ * Writes are recorded once their transaction commits.
+ */
+public interface GrocerySuggestionService {
+
+    List<GrocerySuggestionDto> suggestItems(UUID roomId, String prefix, int limit, String userEmail);
+
+    List<GrocerySuggestionDto> suggestCategories(UUID roomId, String prefix, int limit, String userEmail);
+
+    void recordAdded(UUID roomId, String name, String category);
+
+    void recordPurchased(UUID roomId, String name, String category);
+}
@@ -2,6 +2,7 @@ package com.roomate.app.service;
 
 import com.roomate.app.dto.ledger.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,4 +27,6 @@ public interface LedgerService {
     void cancelLedgerEntry(UUID entryId, String userEmail);
 
     void deleteLedgerEntry(UUID entryId, String userEmail);
+
+    int postCompletedGroceryLists(Collection<UUID> listIds);
 }
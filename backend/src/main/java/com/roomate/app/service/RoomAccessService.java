@@ -0,0 +1,26 @@
+package com.roomate.app.service;
+
+import com.roomate.app.entities.room.RoomMemberEnum;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cached answers to "is this user a member of this room, and with which role".
+ * Anything that adds, removes or re-roles a member must evict the affected entries.
+ */
+public interface RoomAccessService {
+
+    record RoomAccess(UUID memberId, RoomMemberEnum role) {
+    }
+
+    Optional<RoomAccess> findAccess(UUID roomId, String email);
+
+    RoomAccess requireMember(UUID roomId, String email);
+
+    boolean isMember(UUID roomId, String email);
+
+    void evict(UUID roomId, String email);
+
+    void evictRoom(UUID roomId);
+}
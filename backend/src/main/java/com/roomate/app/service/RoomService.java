@@ -3,6 +3,7 @@ package com.roomate.app.service;
 import com.roomate.app.dto.CreateRoomRequest;
 import com.roomate.app.dto.InviteUserRequest;
 import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.RoomTeardownDto;
 import com.roomate.app.dto.UserDTOS.UpdateMemberRoleRequest;
 import com.roomate.app.exceptions.UserApiError;
 
@@ -16,6 +17,7 @@ public interface RoomService {
     RoomDto getRoomById(UUID roomId, String email) throws UserApiError;
     void removeMemberFromRoom(UUID roomId, UUID memberId, String removeremail) throws UserApiError;
     void removeRoom(UUID roomId, String email) throws UserApiError;
+    RoomTeardownDto getRoomTeardownStatus(UUID roomId, String email) throws UserApiError;
     void updateMemberRole(UUID roomId, UUID memberId, UpdateMemberRoleRequest request, String requestingUserId) throws UserApiError;
     void leaveRoom(UUID memberId, String email, UUID roomid) throws UserApiError;
     boolean isRoomMember(UUID roomId, String email);
@@ -2,14 +2,12 @@ package com.roomate.app.service;
 
 import com.roomate.app.dto.UtilityCreateDto;
 import com.roomate.app.dto.UtilityDto;
-import com.roomate.app.entities.UtilityEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface UtilityService {
-    List<UtilityEntity> createUtility(UtilityCreateDto dto);
+    List<UtilityDto> createUtility(UtilityCreateDto dto, String userEmail);
     List<UtilityDto> getUtilitiesByRoom(UUID roomId);
     void updateUtilitiesOnUserChange(UUID roomId);
 
@@ -0,0 +1,259 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.dto.calendar.CalendarBillRow;
+import com.roomate.app.dto.calendar.CalendarChoreRow;
+import com.roomate.app.dto.calendar.CalendarEventRow;
+import com.roomate.app.dto.calendar.CalendarFeedDto;
+import com.roomate.app.dto.calendar.CalendarOccurrenceRow;
+import com.roomate.app.entities.CalendarFeedEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.events.CalendarChangedEvent;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.CalendarFeedRepository;
+import com.roomate.app.repository.ChoreRepository;
+import com.roomate.app.repository.EventOccurrenceOverrideRepository;
+import com.roomate.app.repository.EventRepository;
+import com.roomate.app.repository.LedgerSplitRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.CalendarFeedService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Per-user iCalendar feeds. Polls are answered from the calendar_feed row alone: its revision is bumped right
+ * after every transaction that changes what the feed contains commits, so the ETag changes whenever the
+ * content can have. Full reads stream the rows straight into the response, one batch at a time.
+ */
+@Service
+public class CalendarFeedServiceImpl implements CalendarFeedService {
+    // Bump when the rendering changes, so clients holding an old document fetch the new one
+    private static final int FORMAT_VERSION = 1;
+    private static final int TOKEN_BYTES = 32;
+    private static final String UID_DOMAIN = "@daroommate";
+
+    private final CalendarFeedRepository calendarFeedRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final EventOccurrenceOverrideRepository overrideRepository;
+    private final ChoreRepository choreRepository;
+    private final LedgerSplitRepository ledgerSplitRepository;
+    private final TransactionTemplate readOnly;
+    private final SecureRandom random = new SecureRandom();
+
+    public CalendarFeedServiceImpl(CalendarFeedRepository calendarFeedRepository, UserRepository userRepository,
+                                   EventRepository eventRepository, EventOccurrenceOverrideRepository overrideRepository,
+                                   ChoreRepository choreRepository, LedgerSplitRepository ledgerSplitRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.calendarFeedRepository = calendarFeedRepository;
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.overrideRepository = overrideRepository;
+        this.choreRepository = choreRepository;
+        this.ledgerSplitRepository = ledgerSplitRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    // EFFECTS : Returns the user's feed, creating it on first use.
+    @Override
+    public CalendarFeedDto getFeed(String email) {
+        UserEntity user = requireUser(email);
+        Optional<CalendarFeedEntity> existing = calendarFeedRepository.findByUserId(user.getId());
+        if (existing.isPresent()) {
+            return CalendarFeedDto.of(existing.get().getToken());
+        }
+        try {
+            return CalendarFeedDto.of(calendarFeedRepository.saveAndFlush(new CalendarFeedEntity(user, newToken())).getToken());
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent request; the unique user_id index kept it to one
+            return calendarFeedRepository.findByUserId(user.getId())
+                    .map(feed -> CalendarFeedDto.of(feed.getToken()))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    // EFFECTS : Replaces the feed's token, so subscriptions using the old one stop working.
+    @Override
+    @Transactional
+    public CalendarFeedDto rotateToken(String email) {
+        UserEntity user = requireUser(email);
+        CalendarFeedEntity feed = calendarFeedRepository.findByUserId(user.getId())
+                .orElseGet(() -> new CalendarFeedEntity(user, null));
+        feed.setToken(newToken());
+        return CalendarFeedDto.of(calendarFeedRepository.save(feed).getToken());
+    }
+
+    @Override
+    public Optional<String> findEtag(String token) {
+        return calendarFeedRepository.findByToken(token).map(feed -> DigestUtils.md5DigestAsHex(
+                (FORMAT_VERSION + ":" + feed.getId() + ":" + feed.getRevision()).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // EFFECTS : Writes the feed's calendar to out. Read after the ETag in its own transaction, so the content is
+    //           never older than the revision the ETag was made from; a write in between only costs a refetch.
+    @Override
+    public void writeFeed(String token, OutputStream out) {
+        readOnly.executeWithoutResult(status -> {
+            ICalendarWriter ics = new ICalendarWriter(out);
+            ics.begin("VCALENDAR");
+            ics.property("VERSION", "2.0");
+            ics.property("PRODID", "-//DaRoommate//Calendar feed//EN");
+            ics.property("CALSCALE", "GREGORIAN");
+            ics.property("METHOD", "PUBLISH");
+            ics.text("X-WR-CALNAME", "DaRoommate");
+
+            calendarFeedRepository.findByToken(token).ifPresent(feed -> {
+                Long userId = feed.getUser().getId();
+                writeEvents(ics, userId);
+                try (Stream<CalendarChoreRow> chores = choreRepository.streamForCalendar(userId)) {
+                    chores.forEach(chore -> writeChore(ics, chore));
+                }
+                try (Stream<CalendarBillRow> bills = ledgerSplitRepository.streamForCalendar(userId)) {
+                    bills.forEach(bill -> writeBill(ics, bill));
+                }
+            });
+
+            ics.end("VCALENDAR");
+            ics.flush();
+        });
+    }
+
+    // EFFECTS : Bumps the revision of every feed the event touches, in a transaction of its own so the feed
+    //           rows are locked only for this one statement, never for the rest of the caller's transaction.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void touch(CalendarChangedEvent event) {
+        if (event.roomId() != null) {
+            List<UUID> feedIds = calendarFeedRepository.lockRoomFeedIds(event.roomId());
+            if (!feedIds.isEmpty()) {
+                calendarFeedRepository.bumpFeeds(feedIds);
+            }
+        }
+        if (event.userId() != null) {
+            calendarFeedRepository.bumpUser(event.userId());
+        }
+    }
+
+    private void writeEvents(ICalendarWriter ics, Long userId) {
+        // Overrides are sparse, so they are held while the events stream past
+        Map<UUID, List<CalendarOccurrenceRow>> overrides = new HashMap<>();
+        for (CalendarOccurrenceRow override : overrideRepository.findForCalendar(userId)) {
+            overrides.computeIfAbsent(override.eventId(), id -> new ArrayList<>()).add(override);
+        }
+        try (Stream<CalendarEventRow> events = eventRepository.streamForCalendar(userId)) {
+            events.forEach(event -> writeEvent(ics, event, overrides.getOrDefault(event.id(), List.of())));
+        }
+    }
+
+    // Recurring events go out as one RRULE; cancelled occurrences become EXDATEs and moved ones are written
+    // after the series under the same UID with a RECURRENCE-ID
+    private static void writeEvent(ICalendarWriter ics, CalendarEventRow event, List<CalendarOccurrenceRow> overrides) {
+        String uid = event.id() + UID_DOMAIN;
+        LocalDateTime stamp = firstOf(event.updated(), event.created(), event.startTime());
+
+        ics.begin("VEVENT");
+        ics.property("UID", uid);
+        ics.utc("DTSTAMP", stamp);
+        ics.dateTime("DTSTART", event.startTime());
+        if (event.endTime() != null && event.endTime().isAfter(event.startTime())) {
+            ics.dateTime("DTEND", event.endTime());
+        }
+        if (event.recurrenceRule() != null) {
+            ics.property("RRULE", event.recurrenceRule());
+            List<LocalDateTime> cancelled = overrides.stream()
+                    .filter(CalendarOccurrenceRow::cancelled)
+                    .map(CalendarOccurrenceRow::originalStart)
+                    .sorted()
+                    .toList();
+            if (!cancelled.isEmpty()) {
+                ics.dateTimes("EXDATE", cancelled);
+            }
+        }
+        ics.text("SUMMARY", event.title());
+        ics.text("DESCRIPTION", event.description());
+        ics.text("LOCATION", event.roomName());
+        ics.end("VEVENT");
+
+        if (event.recurrenceRule() == null) {
+            return;
+        }
+        for (CalendarOccurrenceRow moved : overrides) {
+            if (moved.cancelled()) {
+                continue;
+            }
+            ics.begin("VEVENT");
+            ics.property("UID", uid);
+            ics.utc("DTSTAMP", stamp);
+            ics.dateTime("RECURRENCE-ID", moved.originalStart());
+            ics.dateTime("DTSTART", moved.startTime());
+            if (moved.endTime().isAfter(moved.startTime())) {
+                ics.dateTime("DTEND", moved.endTime());
+            }
+            ics.text("SUMMARY", moved.title());
+            ics.text("DESCRIPTION", moved.description());
+            ics.text("LOCATION", event.roomName());
+            ics.end("VEVENT");
+        }
+    }
+
+    private static void writeChore(ICalendarWriter ics, CalendarChoreRow chore) {
+        ics.begin("VEVENT");
+        ics.property("UID", "chore-" + chore.id() + UID_DOMAIN);
+        ics.utc("DTSTAMP", firstOf(chore.createdAt(), chore.dueAt()));
+        ics.dateTime("DTSTART", chore.dueAt());
+        ics.text("SUMMARY", "Chore: " + chore.choreName());
+        ics.text("LOCATION", chore.roomName());
+        ics.property("TRANSP", "TRANSPARENT");
+        ics.end("VEVENT");
+    }
+
+    private static void writeBill(ICalendarWriter ics, CalendarBillRow bill) {
+        ics.begin("VEVENT");
+        ics.property("UID", "bill-" + bill.splitId() + UID_DOMAIN);
+        ics.utc("DTSTAMP", firstOf(bill.updatedAt(), bill.createdAt(), bill.dueDate().atStartOfDay()));
+        ics.date("DTSTART", bill.dueDate());
+        ics.date("DTEND", bill.dueDate().plusDays(1));
+        ics.text("SUMMARY", "Due: " + bill.title());
+        ics.text("DESCRIPTION", "Your share: " + bill.amountOwed() + " (paid " + bill.amountPaid() + ")");
+        ics.text("LOCATION", bill.roomName());
+        ics.property("TRANSP", "TRANSPARENT");
+        ics.end("VEVENT");
+    }
+
+    private UserEntity requireUser(String email) {
+        return userRepository.findByEmail(email).orElseThrow(() -> new UserApiError("User not found"));
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static LocalDateTime firstOf(LocalDateTime... times) {
+        for (LocalDateTime time : times) {
+            if (time != null) {
+                return time;
+            }
+        }
+        return LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.entities.ChoreFrequencyUnitEnum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expands a chore's repeat unit into the due dates between a start and a deadline (inclusive).
+ */
+final class ChoreSchedule {
+
+    private ChoreSchedule() {
+    }
+
+    static List<LocalDateTime> dueDates(LocalDateTime start, LocalDateTime deadline, ChoreFrequencyUnitEnum unit) {
+        List<LocalDateTime> dueDates = new ArrayList<>();
+        LocalDateTime dueDate = start;
+        while (!dueDate.isAfter(deadline)) {
+            dueDates.add(dueDate);
+            dueDate = next(dueDate, unit);
+        }
+        return dueDates;
+    }
+
+    static LocalDateTime next(LocalDateTime dueDate, ChoreFrequencyUnitEnum unit) {
+        return switch (unit) {
+            case WEEKLY -> dueDate.plusWeeks(1);
+            case BIWEEKLY -> dueDate.plusWeeks(2);
+            case MONTHLY -> dueDate.plusMonths(1);
+        };
+    }
+}
@@ -7,14 +7,18 @@ import com.roomate.app.entities.ChoreEntity;
 import com.roomate.app.entities.UserEntity;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.events.CalendarChangedEvent;
 import com.roomate.app.repository.ChoreRepository;
 import com.roomate.app.repository.RoomMemberRepository;
 import com.roomate.app.repository.RoomRepository;
 import com.roomate.app.repository.UserRepository;
 import com.roomate.app.service.ChoreService;
+import com.roomate.app.service.RoomAccessService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -24,16 +28,20 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "daroomate.service", extraTags = {"service", "chore"})
 @RequiredArgsConstructor
 public class ChoreServiceImplt implements ChoreService {
     private final RoomRepository roomRepository;
     private final ChoreRepository choreRepository;
     private final RoomMemberRepository roomMemberRepository;
     private final UserRepository userRepository;
+    private final RoomAccessService roomAccessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public List<ChoreDto> distributeChores(UUID roomId, ChoreCreateDto choreDTO) {
+    public List<ChoreDto> distributeChores(UUID roomId, ChoreCreateDto choreDTO, String email) {
+        roomAccessService.requireMember(roomId, email);
         RoomEntity room = roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
         List<RoomMemberEntity> roomMembers = roomMemberRepository.findByRoomID(roomId);
@@ -54,9 +62,8 @@ public class ChoreServiceImplt implements ChoreService {
 
         List<ChoreDto> createdChores = new ArrayList<>();
         int memberIndex = 0;
-        LocalDateTime dueDate = now;
 
-        while (!dueDate.isAfter(choreDTO.getDeadline())) {
+        for (LocalDateTime dueDate : ChoreSchedule.dueDates(now, choreDTO.getDeadline(), choreDTO.getFrequencyUnit())) {
             ChoreEntity chore = new ChoreEntity();
             chore.setChoreName(choreDTO.getChoreName());
             chore.setFrequency(choreDTO.getFrequency());
@@ -69,18 +76,15 @@ public class ChoreServiceImplt implements ChoreService {
             createdChores.add(toDto(chore));
 
             memberIndex++;
-            switch (choreDTO.getFrequencyUnit()) {
-                case WEEKLY -> dueDate = dueDate.plusWeeks(1);
-                case BIWEEKLY -> dueDate = dueDate.plusWeeks(2);
-                case MONTHLY -> dueDate = dueDate.plusMonths(1);
-            }
         }
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId));
         return createdChores;
     }
 
     @Override
     @Transactional
-    public List<ChoreDto> getChoresByRoomId(UUID roomId) {
+    public List<ChoreDto> getChoresByRoomId(UUID roomId, String email) {
+        roomAccessService.requireMember(roomId, email);
         RoomEntity room = roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
         LocalDateTime now = LocalDateTime.now();
@@ -91,7 +95,8 @@ public class ChoreServiceImplt implements ChoreService {
 
     @Override
     @Transactional
-    public void redistributeChores(UUID roomId) {
+    public void redistributeChores(UUID roomId, String email) {
+        roomAccessService.requireMember(roomId, email);
         RoomEntity room = roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
         List<RoomMemberEntity> roomMembers = roomMemberRepository.findByRoomID(roomId);
@@ -103,19 +108,24 @@ public class ChoreServiceImplt implements ChoreService {
             choreRepository.save(chore);
             memberIndex++;
         }
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId));
     }
 
     @Override
     @Transactional
     public void deleteChore(UUID choreId) {
+        choreRepository.findRoomIdById(choreId)
+                .ifPresent(roomId -> eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId)));
         choreRepository.deleteById(choreId);
     }
 
     @Override
     @Transactional
-    public void deleteChoresByType(UUID roomId, String choreName) {
+    public void deleteChoresByType(UUID roomId, String choreName, String email) {
+        roomAccessService.requireMember(roomId, email);
         roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
         choreRepository.deleteAllByRoomIdAndChoreName(roomId, choreName);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId));
     }
 
     @Override
@@ -0,0 +1,182 @@
+package com.roomate.app.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.dto.ChoreDto;
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.dto.RoomMemberDto;
+import com.roomate.app.dto.UtilityDto;
+import com.roomate.app.dto.dashboard.DashboardDto;
+import com.roomate.app.dto.ledger.MemberBalanceDto;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.*;
+import com.roomate.app.service.DashboardService;
+import com.roomate.app.service.EventService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the landing page in one pass: memberships are resolved once and every
+ * section is read in one read-only transaction, so a dashboard holds a single
+ * pooled connection however many sections it has. Each section is one query that
+ * fetch-joins what its mapping needs.
+ */
+@Service
+public class DashboardServiceImplt implements DashboardService {
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final RoomRepository roomRepository;
+    private final ChoreRepository choreRepository;
+    private final LedgerSplitRepository ledgerSplitRepository;
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    private final Cache<String, DashboardDto> cache;
+
+    public DashboardServiceImplt(RoomMemberRepository roomMemberRepository,
+                                 RoomRepository roomRepository,
+                                 ChoreRepository choreRepository,
+                                 LedgerSplitRepository ledgerSplitRepository,
+                                 EventService eventService,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.dashboard.cache-ttl-seconds:15}") long cacheTtlSeconds) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.roomRepository = roomRepository;
+        this.choreRepository = choreRepository;
+        this.ledgerSplitRepository = ledgerSplitRepository;
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Override
+    public DashboardDto getDashboard(String email) {
+        DashboardDto cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        // Not cache.get(email, loader): the loader runs inside a synchronized map bin and would hold it, pinning a
+        // virtual-thread request to its carrier, for as long as the database reads take
+        DashboardDto dashboard = readOnly.execute(status -> loadDashboard(email));
+        cache.put(email, dashboard);
+        return dashboard;
+    }
+
+    private DashboardDto loadDashboard(String email) {
+        List<RoomMemberEntity> memberships = roomMemberRepository.findAllByUserEmailWithRoom(email);
+        List<UUID> memberIds = memberships.stream().map(RoomMemberEntity::getId).toList();
+
+        DashboardDto dashboard;
+        if (memberships.isEmpty()) {
+            dashboard = new DashboardDto(List.of(), List.of(), List.of(), List.of(), Map.of(), null);
+        } else {
+            dashboard = DashboardDto.builder()
+                    .rooms(loadRooms(email))
+                    .chores(loadChores(memberIds))
+                    .utilities(loadUtilities(memberIds))
+                    .events(loadEvents(email))
+                    .balances(loadBalances(memberships))
+                    .build();
+        }
+
+        dashboard.setEtag(computeEtag(dashboard));
+        return dashboard;
+    }
+
+    private List<RoomDto> loadRooms(String email) {
+        return RoomDto.fromRows(roomRepository.findRoomRowsByMemberEmail(email));
+    }
+
+    private List<ChoreDto> loadChores(List<UUID> memberIds) {
+        return choreRepository.findAllByRoomMemberIdsWithRoom(memberIds)
+                .stream()
+                .map(chore -> new ChoreDto(
+                        chore.getId(),
+                        chore.getChoreName(),
+                        chore.getDueAt(),
+                        chore.getRoom().getName()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    private List<UtilityDto> loadUtilities(List<UUID> memberIds) {
+        return ledgerSplitRepository.findUnpaidByMemberIdsAndEntryType(memberIds, LedgerEntryType.UTILITY)
+                .stream()
+                .map(split -> new UtilityDto(
+                        split.getLedgerEntry().getId(),
+                        split.getLedgerEntry().getTitle(),
+                        split.getAmountOwed().doubleValue(),
+                        split.getLedgerEntry().getRoom().getName(),
+                        split.getLedgerEntry().getDueDate() != null ? split.getLedgerEntry().getDueDate().atStartOfDay() : null
+                ))
+                .collect(Collectors.toList());
+    }
+
+    // EFFECTS : Returns the calendar's default window, with recurring events expanded into their occurrences.
+    private List<EventDto> loadEvents(String email) {
+        return eventService.getEventsForUser(email, null, null);
+    }
+
+    // EFFECTS : Returns the user's balance in every room they owe in, from one grouped query.
+    //           Landlords are skipped, matching the ledger's member balances.
+    private Map<UUID, MemberBalanceDto> loadBalances(List<RoomMemberEntity> memberships) {
+        Map<UUID, RoomMemberEntity> membersById = memberships.stream()
+                .filter(m -> m.getRole() != RoomMemberEnum.LANDLORD)
+                .collect(Collectors.toMap(RoomMemberEntity::getId, m -> m));
+        if (membersById.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Object[]> totals = new HashMap<>();
+        for (Object[] row : ledgerSplitRepository.summarizeByMemberIds(new ArrayList<>(membersById.keySet()))) {
+            totals.put((UUID) row[0], row);
+        }
+
+        Map<UUID, MemberBalanceDto> balances = new LinkedHashMap<>();
+        membersById.forEach((memberId, member) -> {
+            Object[] row = totals.get(memberId);
+            BigDecimal totalOwed = row != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+            BigDecimal totalPaid = row != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+            int unpaidCount = row != null ? ((Number) row[3]).intValue() : 0;
+
+            balances.put(member.getRoom().getId(), MemberBalanceDto.builder()
+                    .memberId(memberId)
+                    .member(RoomMemberDto.fromEntity(member))
+                    .totalOwed(totalOwed)
+                    .totalPaid(totalPaid)
+                    .outstandingBalance(totalOwed.subtract(totalPaid))
+                    .unpaidSplitsCount(unpaidCount)
+                    .build());
+        });
+        return balances;
+    }
+
+    private String computeEtag(DashboardDto dashboard) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(dashboard));
+        } catch (JsonProcessingException e) {
+            throw new UserApiError("Could not build dashboard");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval tree over a room's event slots. Slots are sorted by start time and the sorted array is
+ * read as a balanced search tree (each range's middle slot is its root), with the latest end time of every
+ * subtree stored alongside. A query descends only into subtrees that can still hold an overlap, so it costs
+ * O(log n) plus the overlaps it returns.
+ *
+ * Slots are half-open: an event ending at 10:00 does not conflict with one starting at 10:00.
+ */
+public final class EventIntervalTree {
+    private final EventConflictDto[] slots;
+    private final long[] starts;
+    private final long[] ends;
+    // Latest end within the subtree rooted at each index
+    private final long[] maxEnds;
+
+    public EventIntervalTree(Collection<EventConflictDto> events) {
+        this.slots = events.stream()
+                .filter(event -> event.startTime() != null)
+                .sorted(Comparator.comparing(EventConflictDto::startTime))
+                .toArray(EventConflictDto[]::new);
+        this.starts = new long[slots.length];
+        this.ends = new long[slots.length];
+        this.maxEnds = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            starts[i] = toMillis(slots[i].startTime());
+            // An event without an end is treated as an instant
+            ends[i] = slots[i].endTime() != null ? Math.max(starts[i], toMillis(slots[i].endTime())) : starts[i];
+        }
+        buildMaxEnds(0, slots.length);
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    // EFFECTS : Returns every slot overlapping [start, end), earliest start first.
+    public List<EventConflictDto> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<EventConflictDto> found = new ArrayList<>();
+        collect(0, slots.length, toMillis(start), toMillis(end), found);
+        return found;
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    // In-order walk, so overlaps come out sorted by start
+    private void collect(int lo, int hi, long start, long end, List<EventConflictDto> found) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Nothing in this subtree ends after the slot starts
+        if (maxEnds[mid] <= start) {
+            return;
+        }
+        collect(lo, mid, start, end, found);
+        // This slot and everything to its right start at or after the checked slot ends
+        if (starts[mid] >= end) {
+            return;
+        }
+        if (ends[mid] > start) {
+            found.add(slots[mid]);
+        }
+        collect(mid + 1, hi, start, end, found);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
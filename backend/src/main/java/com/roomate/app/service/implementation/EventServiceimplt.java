@@ -1,41 +1,166 @@
 package com.roomate.app.service.implementation;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
 import com.roomate.app.dto.EventDTOS.EventDto;
-import com.roomate.app.dto.EventDTOS.EventRoomDto;
-import com.roomate.app.dto.EventDTOS.EventUserDto;
+import com.roomate.app.dto.EventDTOS.EventRow;
+import com.roomate.app.dto.EventDTOS.EventSlotRow;
 import com.roomate.app.entities.EventEntity;
-import com.roomate.app.entities.UserEntity;
-import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.EventOccurrenceOverrideEntity;
+import com.roomate.app.events.CalendarChangedEvent;
 import com.roomate.app.exceptions.EventAPIException;
+import com.roomate.app.repository.EventOccurrenceOverrideRepository;
 import com.roomate.app.repository.EventRepository;
 import com.roomate.app.repository.RoomRepository;
 import com.roomate.app.repository.UserRepository;
 import com.roomate.app.service.EventService;
+import com.roomate.app.service.RoomAccessService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class EventServiceimplt implements EventService {
+    // Calendar reads default to a month back and three months ahead, and may span at most a year
+    private static final Duration DEFAULT_LOOKBACK = Duration.ofDays(30);
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(120);
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+    private static final int MAX_RULE_LENGTH = 255;
+
+    // A recurring event as far as expansion is concerned
+    private record Series(UUID id, long version, String rule, LocalDateTime start, LocalDateTime end,
+                          LocalDateTime recurrenceEnd, String title, String description) {
+        Duration length() {
+            return end != null && end.isAfter(start) ? Duration.between(start, end) : Duration.ZERO;
+        }
+    }
+
+    // A moved, retitled or cancelled occurrence, keyed by the start its rule gives it
+    private record OccurrenceChange(LocalDateTime originalStart, boolean cancelled, String title, String description,
+                                    LocalDateTime start, LocalDateTime end) {
+        static OccurrenceChange of(EventOccurrenceOverrideEntity override) {
+            return new OccurrenceChange(override.getOriginalStart(), override.isCancelled(), override.getTitle(),
+                    override.getDescription(), override.getStartTime(), override.getEndTime());
+        }
+    }
+
+    private record Occurrence(LocalDateTime originalStart, String title, String description, LocalDateTime start,
+                              LocalDateTime end) {
+    }
+
+    // Occurrence starts of one version of a rule within one calendar month; a changed event gets a new version.
+    // Keying by month instead of by the requested range lets overlapping and sliding views share entries.
+    private record OccurrenceWindow(UUID eventId, long version, YearMonth month) {
+    }
+
+    // One-off events in an interval tree; recurring ones are expanded over the checked slot
+    private record RoomSchedule(EventIntervalTree singles, List<Series> series,
+                                Map<UUID, Map<LocalDateTime, OccurrenceChange>> changes) {
+        int weight() {
+            return 1 + singles.size() + series.size();
+        }
+    }
+
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final EventRepository eventRepository;
+    private final EventOccurrenceOverrideRepository overrideRepository;
+    private final RoomAccessService roomAccessService;
+    private final ApplicationEventPublisher eventPublisher;
+    // Built on a room's first conflict check and dropped whenever one of its events changes
+    private final Cache<UUID, RoomSchedule> conflictIndexes;
+    private final Cache<OccurrenceWindow, List<LocalDateTime>> occurrences;
 
-    public EventServiceimplt(EventRepository eventRepository, UserRepository userRepository, RoomRepository roomRepository) {
+    public EventServiceimplt(EventRepository eventRepository, UserRepository userRepository, RoomRepository roomRepository,
+                             EventOccurrenceOverrideRepository overrideRepository,
+                             RoomAccessService roomAccessService, ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.events.conflicts.max-entries:200000}") long maxEntries,
+                             @Value("${app.events.conflicts.idle-minutes:60}") long idleMinutes,
+                             @Value("${app.events.recurrence.max-occurrences:500000}") long maxOccurrences,
+                             @Value("${app.events.recurrence.idle-minutes:30}") long occurrenceIdleMinutes) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
+        this.overrideRepository = overrideRepository;
+        this.roomAccessService = roomAccessService;
+        this.eventPublisher = eventPublisher;
+        this.conflictIndexes = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((UUID roomId, RoomSchedule schedule) -> schedule.weight())
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+        this.occurrences = Caffeine.newBuilder()
+                .maximumWeight(maxOccurrences)
+                .weigher((OccurrenceWindow window, List<LocalDateTime> starts) -> 1 + starts.size())
+                .expireAfterAccess(Duration.ofMinutes(occurrenceIdleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, conflictIndexes, "eventConflicts");
+        CaffeineCacheMetrics.monitor(meterRegistry, occurrences, "eventOccurrences");
     }
 
     @Override
-    public List<EventDto> getAllEventsForUser(String email) {
-        List<EventEntity> events = eventRepository.getAllEventsForUserRooms(email);
+    public List<EventDto> getEventsForUser(String email, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now().minus(DEFAULT_LOOKBACK);
+        LocalDateTime end = to != null ? to : start.plus(DEFAULT_RANGE);
+        if (!end.isAfter(start)) {
+            throw new EventAPIException("Range end must be after its start");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new EventAPIException("Range cannot be longer than " + MAX_RANGE.toDays() + " days");
+        }
 
-        return events.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<EventRow> rows = eventRepository.findRowsForUserBetween(email, start, end);
+        Map<UUID, Series> series = rows.stream()
+                .filter(row -> row.recurrenceRule() != null)
+                .collect(Collectors.toMap(EventRow::id, EventServiceimplt::series));
+        if (series.isEmpty()) {
+            return rows.stream().map(EventDto::fromRow).collect(Collectors.toList());
+        }
+
+        Map<UUID, Map<LocalDateTime, OccurrenceChange>> changes = changesForWindow(series.values(), start, end);
+        List<EventDto> events = new ArrayList<>();
+        for (EventRow row : rows) {
+            Series recurring = series.get(row.id());
+            if (recurring == null) {
+                events.add(EventDto.fromRow(row));
+                continue;
+            }
+            for (Occurrence occurrence : occurrences(recurring, start, end, changes.getOrDefault(row.id(), Map.of()))) {
+                EventDto event = EventDto.fromRow(row);
+                event.setOccurrenceStart(occurrence.originalStart());
+                event.setTitle(occurrence.title());
+                event.setDescription(occurrence.description());
+                event.setStartTime(occurrence.start());
+                event.setEndTime(occurrence.end());
+                events.add(event);
+            }
+        }
+        events.sort(Comparator.comparing(EventDto::getStartTime));
+        return events;
     }
 
     @Override
@@ -52,11 +177,14 @@ public class EventServiceimplt implements EventService {
         eventEntity.setDescription(eventDto.getDescription());
         eventEntity.setStartTime(eventDto.getStartTime());
         eventEntity.setEndTime(eventDto.getEndTime());
+        applyRecurrence(eventEntity, eventDto.getRecurrenceRule());
         eventEntity.setRoom(roomRepository.getRoomEntityById(roomid).orElse(null));
         eventEntity.setUser(userRepository.getUserByEmail(email));
         eventEntity.setCreated(LocalDateTime.now());
         eventEntity.setUpdated(null);
         eventRepository.save(eventEntity);
+        evictConflictIndex(roomid);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomid));
     }
 
     @Override
@@ -66,13 +194,23 @@ public class EventServiceimplt implements EventService {
 
         eventExceptions(eventEntity == null, eventEntity, email);
 
+        LocalDateTime previousStart = eventEntity.getStartTime();
+        String previousRule = eventEntity.getRecurrenceRule();
         eventEntity.setTitle(eventDto.getTitle());
         eventEntity.setDescription(eventDto.getDescription());
         eventEntity.setStartTime(eventDto.getStartTime());
         eventEntity.setEndTime(eventDto.getEndTime());
+        applyRecurrence(eventEntity, eventDto.getRecurrenceRule());
         eventEntity.setUpdated(LocalDateTime.now());
-        
+        // Overrides name occurrences by the start the old rule gave them, which no longer mean anything
+        if (!Objects.equals(previousStart, eventEntity.getStartTime())
+                || !Objects.equals(previousRule, eventEntity.getRecurrenceRule())) {
+            overrideRepository.deleteByEventId(eventID);
+        }
+
         eventRepository.save(eventEntity);
+        evictConflictIndex(eventEntity.getRoom().getId());
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(eventEntity.getRoom().getId()));
     }
 
     @Override
@@ -81,33 +219,249 @@ public class EventServiceimplt implements EventService {
         EventEntity eventEntity = eventRepository.getEventById(email, eventId);
 
         eventExceptions(eventId == null, eventEntity, email);
+        overrideRepository.deleteByEventId(eventId);
         eventRepository.deleteEventById(email,eventId);
+        evictConflictIndex(eventEntity.getRoom().getId());
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(eventEntity.getRoom().getId()));
+    }
+
+    @Override
+    @Transactional
+    public void overrideOccurrence(UUID eventId, LocalDateTime occurrenceStart, EventDto changes, String email) {
+        EventEntity eventEntity = requireOccurrence(eventId, occurrenceStart, email);
+        Duration length = series(eventEntity).length();
+        LocalDateTime start = changes.getStartTime() != null ? changes.getStartTime() : occurrenceStart;
+        LocalDateTime end = changes.getEndTime() != null ? changes.getEndTime() : start.plus(length);
+        if (end.isBefore(start)) {
+            throw new EventAPIException("An occurrence cannot end before it starts");
+        }
+
+        EventOccurrenceOverrideEntity override = overrideRepository.findByEventIdAndOriginalStart(eventId, occurrenceStart)
+                .orElseGet(() -> new EventOccurrenceOverrideEntity(eventEntity, occurrenceStart));
+        override.setCancelled(false);
+        override.setTitle(changes.getTitle());
+        override.setDescription(changes.getDescription());
+        override.setStartTime(start);
+        override.setEndTime(end);
+        overrideRepository.save(override);
+        evictConflictIndex(eventEntity.getRoom().getId());
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(eventEntity.getRoom().getId()));
+    }
+
+    @Override
+    @Transactional
+    public void cancelOccurrence(UUID eventId, LocalDateTime occurrenceStart, String email) {
+        EventEntity eventEntity = requireOccurrence(eventId, occurrenceStart, email);
+
+        EventOccurrenceOverrideEntity override = overrideRepository.findByEventIdAndOriginalStart(eventId, occurrenceStart)
+                .orElseGet(() -> new EventOccurrenceOverrideEntity(eventEntity, occurrenceStart));
+        override.setCancelled(true);
+        override.setStartTime(occurrenceStart);
+        override.setEndTime(occurrenceStart.plus(series(eventEntity).length()));
+        overrideRepository.save(override);
+        evictConflictIndex(eventEntity.getRoom().getId());
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(eventEntity.getRoom().getId()));
+    }
+
+    @Override
+    public List<EventConflictDto> findConflicts(UUID roomId, LocalDateTime start, LocalDateTime end, UUID ignoredEventId,
+                                                String email) {
+        roomAccessService.requireMember(roomId, email);
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new EventAPIException("A conflict check needs a start and an end after it");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new EventAPIException("Range cannot be longer than " + MAX_RANGE.toDays() + " days");
+        }
+
+        RoomSchedule schedule = conflictIndex(roomId);
+        List<EventConflictDto> conflicts = new ArrayList<>(schedule.singles().overlapping(start, end));
+        for (Series series : schedule.series()) {
+            boolean running = series.start().isBefore(end)
+                    && (series.recurrenceEnd() == null || series.recurrenceEnd().isAfter(start));
+            if (!running && !schedule.changes().containsKey(series.id())) {
+                continue;
+            }
+            for (Occurrence occurrence : occurrences(series, start, end,
+                    schedule.changes().getOrDefault(series.id(), Map.of()))) {
+                conflicts.add(new EventConflictDto(series.id(), occurrence.title(), occurrence.start(), occurrence.end()));
+            }
+        }
+
+        // The event being rescheduled never conflicts with itself
+        return conflicts.stream()
+                .filter(event -> !event.id().equals(ignoredEventId))
+                .sorted(Comparator.comparing(EventConflictDto::startTime))
+                .collect(Collectors.toList());
+    }
+
+    // EFFECTS : Returns the series' occurrences overlapping [from, to) with its changes applied, earliest first.
+    private List<Occurrence> occurrences(Series series, LocalDateTime from, LocalDateTime to,
+                                         Map<LocalDateTime, OccurrenceChange> changes) {
+        Duration length = series.length();
+        List<LocalDateTime> starts = new ArrayList<>();
+        YearMonth last = to.isAfter(from) ? YearMonth.from(to.minusNanos(1)) : YearMonth.from(from);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            for (LocalDateTime start : startsInMonth(series, length, month)) {
+                // An occurrence running over a month boundary is listed by both months
+                if (starts.isEmpty() || start.isAfter(starts.get(starts.size() - 1))) {
+                    starts.add(start);
+                }
+            }
+        }
+
+        List<Occurrence> expanded = new ArrayList<>();
+        for (LocalDateTime start : starts) {
+            if (start.isBefore(to) && start.plus(length).isAfter(from) && !changes.containsKey(start)) {
+                expanded.add(new Occurrence(start, series.title(), series.description(), start, start.plus(length)));
+            }
+        }
+        // Changed occurrences count where they were moved to, wherever the rule put them
+        for (OccurrenceChange change : changes.values()) {
+            if (!change.cancelled() && change.start().isBefore(to) && change.end().isAfter(from)) {
+                expanded.add(new Occurrence(change.originalStart(),
+                        change.title() != null ? change.title() : series.title(),
+                        change.description() != null ? change.description() : series.description(),
+                        change.start(), change.end()));
+            }
+        }
+        expanded.sort(Comparator.comparing(Occurrence::start));
+        return expanded;
+    }
+
+    // EFFECTS : Returns the starts of the series' occurrences overlapping the month, earliest first.
+    private List<LocalDateTime> startsInMonth(Series series, Duration length, YearMonth month) {
+        // Expansion is pure computation, so it runs inside the cache's compute
+        return occurrences.get(new OccurrenceWindow(series.id(), series.version(), month), window -> {
+            LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+            return List.copyOf(RecurrenceRule.parse(series.rule())
+                    .startsBetween(series.start(), length, monthStart, monthStart.plusMonths(1)));
+        });
+    }
+
+    // EFFECTS : Loads, in one query, the changes that can affect the given series within [from, to).
+    private Map<UUID, Map<LocalDateTime, OccurrenceChange>> changesForWindow(Collection<Series> series,
+                                                                             LocalDateTime from, LocalDateTime to) {
+        // An occurrence the rule starts this long before the window still overlaps it
+        Duration longest = series.stream().map(Series::length).max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+        List<UUID> ids = series.stream().map(Series::id).toList();
+        return groupChanges(overrideRepository.findForWindow(ids, from.minus(longest), from, to));
+    }
+
+    private static Map<UUID, Map<LocalDateTime, OccurrenceChange>> groupChanges(List<EventOccurrenceOverrideEntity> overrides) {
+        Map<UUID, Map<LocalDateTime, OccurrenceChange>> changes = new HashMap<>();
+        for (EventOccurrenceOverrideEntity override : overrides) {
+            changes.computeIfAbsent(override.getEvent().getId(), id -> new HashMap<>())
+                    .put(override.getOriginalStart(), OccurrenceChange.of(override));
+        }
+        return changes;
+    }
+
+    // EFFECTS : Returns the creator's recurring event if its rule has an occurrence starting at occurrenceStart.
+    private EventEntity requireOccurrence(UUID eventId, LocalDateTime occurrenceStart, String email) {
+        EventEntity eventEntity = eventRepository.getEventById(email, eventId);
+        eventExceptions(eventEntity == null, eventEntity, email);
+        if (eventEntity.getRecurrenceRule() == null) {
+            throw new EventAPIException("Event does not repeat");
+        }
+        if (occurrenceStart == null
+                || !RecurrenceRule.parse(eventEntity.getRecurrenceRule()).occursAt(eventEntity.getStartTime(), occurrenceStart)) {
+            throw new EventAPIException("Event has no occurrence starting at " + occurrenceStart);
+        }
+        return eventEntity;
+    }
+
+    // EFFECTS : Validates and stores the rule, and records when the series ends.
+    private static void applyRecurrence(EventEntity eventEntity, String rule) {
+        if (rule == null || rule.isBlank()) {
+            eventEntity.setRecurrenceRule(null);
+            eventEntity.setRecurrenceEnd(null);
+            return;
+        }
+        String normalized = RecurrenceRule.normalize(rule);
+        if (normalized.length() > MAX_RULE_LENGTH) {
+            throw new EventAPIException("Recurrence rule is too long");
+        }
+        if (eventEntity.getStartTime() == null) {
+            throw new EventAPIException("A recurring event needs a start time");
+        }
+        RecurrenceRule parsed;
+        try {
+            parsed = RecurrenceRule.parse(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new EventAPIException(e.getMessage());
+        }
+
+        eventEntity.setRecurrenceRule(normalized);
+        try {
+            LocalDateTime lastStart = parsed.lastStart(eventEntity.getStartTime());
+            eventEntity.setRecurrenceEnd(lastStart != null ? lastStart.plus(series(eventEntity).length()) : null);
+        } catch (DateTimeException e) {
+            // The series would run past the last representable date
+            throw new EventAPIException("Recurrence rule reaches beyond the supported date range");
+        }
+    }
+
+    // EFFECTS : Returns the room's conflict index, building it from the room's events on first use.
+    private RoomSchedule conflictIndex(UUID roomId) {
+        RoomSchedule schedule = conflictIndexes.getIfPresent(roomId);
+        if (schedule != null) {
+            return schedule;
+        }
+        // Built outside the cache's compute so the queries never run inside a map lock
+        RoomSchedule built = buildSchedule(roomId);
+        RoomSchedule existing = conflictIndexes.asMap().putIfAbsent(roomId, built);
+        return existing != null ? existing : built;
+    }
+
+    private RoomSchedule buildSchedule(UUID roomId) {
+        List<EventConflictDto> singles = new ArrayList<>();
+        List<Series> series = new ArrayList<>();
+        for (EventSlotRow slot : eventRepository.findSlotsByRoomId(roomId)) {
+            if (slot.recurrenceRule() == null) {
+                singles.add(new EventConflictDto(slot.id(), slot.title(), slot.startTime(), slot.endTime()));
+            } else if (slot.startTime() != null) {
+                series.add(new Series(slot.id(), slot.version() != null ? slot.version() : 0, slot.recurrenceRule(),
+                        slot.startTime(), slot.endTime(), slot.recurrenceEnd(), slot.title(), null));
+            }
+        }
+        Map<UUID, Map<LocalDateTime, OccurrenceChange>> changes = series.isEmpty()
+                ? Map.of()
+                : groupChanges(overrideRepository.findByRoomId(roomId));
+        return new RoomSchedule(new EventIntervalTree(singles), List.copyOf(series), changes);
+    }
+
+    // Dropped after commit so a concurrent check cannot rebuild the index from the rows being replaced;
+    // the next check rebuilds it from the committed rows
+    private void evictConflictIndex(UUID roomId) {
+        if (roomId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    conflictIndexes.invalidate(roomId);
+                }
+            });
+        } else {
+            conflictIndexes.invalidate(roomId);
+        }
+    }
+
+    private static Series series(EventRow row) {
+        return new Series(row.id(), row.version() != null ? row.version() : 0, row.recurrenceRule(), row.startTime(),
+                row.endTime(), row.recurrenceEnd(), row.title(), row.description());
+    }
+
+    private static Series series(EventEntity eventEntity) {
+        return new Series(eventEntity.getId(), eventEntity.getVersion() != null ? eventEntity.getVersion() : 0,
+                eventEntity.getRecurrenceRule(), eventEntity.getStartTime(), eventEntity.getEndTime(),
+                eventEntity.getRecurrenceEnd(), eventEntity.getTitle(), eventEntity.getDescription());
     }
 
     private EventDto convertToDto(EventEntity eventEntity) {
-        EventDto eventDto = new EventDto();
-        eventDto.setId(eventEntity.getId());
-        eventDto.setTitle(eventEntity.getTitle());
-        eventDto.setDescription(eventEntity.getDescription());
-        eventDto.setStartTime(eventEntity.getStartTime());
-        eventDto.setEndTime(eventEntity.getEndTime());
-
-        RoomEntity roomEntity = eventEntity.getRoom();
-        EventRoomDto roomDto = new EventRoomDto(
-            roomEntity.getRoomCode(),
-            roomEntity.getName()
-        );
-        eventDto.setRooms(roomDto);
-
-        UserEntity userEntity = eventEntity.getUser();
-        EventUserDto userDto = new EventUserDto(
-            userEntity.getFirstName(),
-            userEntity.getLastName(),
-            userEntity.getEmail()
-        );
-        eventDto.setUser(userDto);
-
-        return eventDto;
+        return EventDto.fromEntity(eventEntity);
     }
 
     private static void eventExceptions(boolean eventEntity, EventEntity eventEntity1, String email) {
@@ -0,0 +1,167 @@
+package com.roomate.app.service.implementation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted-array prefix index over the names a room has used, ranked by how often and how recently each
+ * was used.
+ *
+ * Keys are kept in one sorted array, so a prefix maps to a contiguous range found with two binary searches.
+ * Writers copy the array under a lock and publish it through a volatile field; readers never lock.
+ * Per-entry stats are updated in place and may be read slightly stale, which only nudges ranking.
+ *
+ * An entry's score is its use count, weighted toward purchases, halved for every halfLifeDays since it was
+ * last used. Decay scales every entry by the same factor at a given moment, so entries are ranked by the
+ * log of the score at a fixed epoch instead; that rank only changes when the entry is used, and a lookup
+ * compares precomputed doubles rather than decaying each candidate.
+ */
+public final class GroceryPrefixIndex {
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000.0;
+    // Purchases say more about what a room actually buys than items that were only listed
+    private static final int PURCHASE_WEIGHT = 2;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static final class Entry {
+        private final String key;
+        private volatile String display;
+        private volatile String category;
+        private volatile long uses;
+        private volatile long purchases;
+        private volatile long lastUsedMillis;
+        private volatile double rank;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        public String display() {
+            return display;
+        }
+
+        public String category() {
+            return category;
+        }
+
+        public long uses() {
+            return uses;
+        }
+
+        public long purchases() {
+            return purchases;
+        }
+
+        public long lastUsedMillis() {
+            return lastUsedMillis;
+        }
+    }
+
+    private final double halfLifeDays;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Entry[] entries = new Entry[0];
+
+    public GroceryPrefixIndex(double halfLifeDays) {
+        this.halfLifeDays = halfLifeDays;
+    }
+
+    // EFFECTS : Lowercases and collapses whitespace, so "Oat  Milk" and "oat milk" share an entry.
+    public static String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    // EFFECTS : Adds uses and purchases to the entry for value, creating it if needed. The latest
+    //           spelling and non-blank category win.
+    public void record(String value, String category, long uses, long purchases, long usedAtMillis) {
+        String key = normalize(value);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            Entry[] current = entries;
+            int insertAt = lowerBound(current, key);
+            Entry entry;
+            if (insertAt < current.length && current[insertAt].key.equals(key)) {
+                entry = current[insertAt];
+            } else {
+                Entry[] grown = new Entry[current.length + 1];
+                System.arraycopy(current, 0, grown, 0, insertAt);
+                entry = new Entry(key);
+                grown[insertAt] = entry;
+                System.arraycopy(current, insertAt, grown, insertAt + 1, current.length - insertAt);
+                entries = grown;
+            }
+
+            entry.uses += uses;
+            entry.purchases += purchases;
+            if (usedAtMillis >= entry.lastUsedMillis || entry.display == null) {
+                entry.display = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+                if (category != null && !category.isBlank()) {
+                    entry.category = category.trim();
+                }
+            }
+            entry.lastUsedMillis = Math.max(entry.lastUsedMillis, usedAtMillis);
+            entry.rank = rank(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // EFFECTS : Returns up to limit entries whose key starts with prefix, best ranked first.
+    public List<Entry> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        Entry[] snapshot = entries;
+        int from = lowerBound(snapshot, key);
+        int to = key.isEmpty() ? snapshot.length : lowerBound(snapshot, key + Character.MAX_VALUE);
+        if (from >= to || limit <= 0) {
+            return List.of();
+        }
+
+        // Bounded min-heap on rank keeps the top entries without sorting the whole range
+        Comparator<Entry> byRank = Comparator.comparingDouble(entry -> entry.rank);
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, byRank);
+        for (int i = from; i < to; i++) {
+            Entry entry = snapshot[i];
+            if (best.size() < limit) {
+                best.add(entry);
+            } else if (entry.rank > best.peek().rank) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+
+        List<Entry> ranked = new ArrayList<>(best);
+        ranked.sort(byRank.reversed().thenComparing(entry -> entry.key));
+        return ranked;
+    }
+
+    // EFFECTS : log2 of the entry's score as of the epoch; higher ranks first.
+    private double rank(Entry entry) {
+        double weight = entry.uses + PURCHASE_WEIGHT * entry.purchases;
+        return Math.log(Math.max(weight, 1e-9)) / Math.log(2) + entry.lastUsedMillis / MILLIS_PER_DAY / halfLifeDays;
+    }
+
+    private static int lowerBound(Entry[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
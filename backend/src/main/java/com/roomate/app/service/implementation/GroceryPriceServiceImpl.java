@@ -0,0 +1,153 @@
+package com.roomate.app.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.dto.grocery.GroceryPriceHistoryDto;
+import com.roomate.app.dto.grocery.GroceryPriceStatsRow;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryPriceObservationEntity;
+import com.roomate.app.repository.GroceryPriceObservationRepository;
+import com.roomate.app.service.GroceryPriceService;
+import com.roomate.app.service.RoomAccessService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appends a price observation whenever an item is bought with a price, and keeps count, sum and last
+ * price per room and item in memory. A room's stats are built on first use from one aggregate query and
+ * one latest-price query, then advanced as purchases commit.
+ */
+@Service
+public class GroceryPriceServiceImpl implements GroceryPriceService {
+
+    private record PriceStats(long count, BigDecimal total, BigDecimal last, LocalDateTime lastObservedAt) {
+        PriceStats plus(BigDecimal price, LocalDateTime observedAt) {
+            boolean newer = lastObservedAt == null || !observedAt.isBefore(lastObservedAt);
+            return new PriceStats(count + 1, total.add(price),
+                    newer ? price : last, newer ? observedAt : lastObservedAt);
+        }
+
+        BigDecimal mean() {
+            return total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private final GroceryPriceObservationRepository observationRepository;
+    private final RoomAccessService roomAccessService;
+    private final Cache<UUID, Map<String, PriceStats>> stats;
+
+    public GroceryPriceServiceImpl(GroceryPriceObservationRepository observationRepository,
+                                   RoomAccessService roomAccessService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.grocery.prices.max-entries:200000}") long maxEntries,
+                                   @Value("${app.grocery.prices.idle-minutes:120}") long idleMinutes) {
+        this.observationRepository = observationRepository;
+        this.roomAccessService = roomAccessService;
+        this.stats = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((UUID roomId, Map<String, PriceStats> items) -> 1 + items.size())
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, "groceryPrices");
+    }
+
+    // EFFECTS : Returns the mean price the room has paid for the item, if it has bought it with a price.
+    @Override
+    public Optional<BigDecimal> estimatePrice(UUID roomId, String itemName) {
+        PriceStats item = roomStats(roomId).get(GroceryPrefixIndex.normalize(itemName));
+        return item != null ? Optional.of(item.mean()) : Optional.empty();
+    }
+
+    @Override
+    public void recordPurchase(UUID roomId, GroceryItemEntity item) {
+        BigDecimal price = item.getActualPrice();
+        String key = GroceryPrefixIndex.normalize(item.getName());
+        if (price == null || key.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime observedAt = item.getPurchasedAt() != null ? item.getPurchasedAt() : LocalDateTime.now();
+        observationRepository.save(new GroceryPriceObservationEntity(roomId, key, item.getName().trim(), price,
+                item.getId(), observedAt));
+        afterCommit(() -> stats.asMap().computeIfPresent(roomId, (id, items) -> {
+            items.merge(key, new PriceStats(1, price, price, observedAt),
+                    (current, added) -> current.plus(price, observedAt));
+            return items;
+        }));
+    }
+
+    @Override
+    public GroceryPriceHistoryDto getPriceHistory(UUID roomId, String itemName, String userEmail) {
+        roomAccessService.requireMember(roomId, userEmail);
+
+        String key = GroceryPrefixIndex.normalize(itemName);
+        PriceStats item = roomStats(roomId).get(key);
+        if (item == null) {
+            return new GroceryPriceHistoryDto(itemName, 0, null, null, null, List.of());
+        }
+        List<GroceryPriceHistoryDto.Observation> recent = observationRepository
+                .findTop50ByRoomIdAndItemKeyOrderByObservedAtDesc(roomId, key).stream()
+                .map(o -> new GroceryPriceHistoryDto.Observation(o.getItemName(), o.getPrice(), o.getObservedAt()))
+                .toList();
+        return new GroceryPriceHistoryDto(itemName, item.count(), item.mean(), item.last(), item.lastObservedAt(),
+                recent);
+    }
+
+    // EFFECTS : Returns the room's stats, building them from the price history on first use.
+    private Map<String, PriceStats> roomStats(UUID roomId) {
+        Map<String, PriceStats> items = stats.getIfPresent(roomId);
+        if (items != null) {
+            return items;
+        }
+        // Loaded outside the cache's compute so the queries never run inside a map lock
+        Map<String, PriceStats> built = build(roomId);
+        Map<String, PriceStats> existing = stats.asMap().putIfAbsent(roomId, built);
+        return existing != null ? existing : built;
+    }
+
+    private Map<String, PriceStats> build(UUID roomId) {
+        Map<String, BigDecimal> lastPrices = new HashMap<>();
+        for (GroceryPriceObservationEntity latest : observationRepository.findLatestByRoomId(roomId)) {
+            lastPrices.put(latest.getItemKey(), latest.getPrice());
+        }
+
+        Map<String, PriceStats> items = new ConcurrentHashMap<>();
+        for (GroceryPriceStatsRow row : observationRepository.summarizeByRoomId(roomId)) {
+            items.put(row.itemKey(), new PriceStats(row.count(), row.total(), lastPrices.get(row.itemKey()),
+                    row.lastObservedAt()));
+        }
+        return items;
+    }
+
+    // Only rooms already cached are advanced; an uncached room reads the committed rows when it is built.
+    // Advancing through compute makes the cache re-weigh the room as it grows.
+    private void afterCommit(Runnable apply) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
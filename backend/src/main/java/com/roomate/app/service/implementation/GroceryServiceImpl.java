@@ -1,30 +1,68 @@
 package com.roomate.app.service.implementation;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roomate.app.dto.grocery.*;
 import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListArchiveEntity;
 import com.roomate.app.entities.grocery.GroceryListEntity;
 import com.roomate.app.entities.grocery.GroceryListStatus;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
 import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.events.GroceryListChangedEvent;
+import com.roomate.app.events.GroceryListsCompletedEvent;
 import com.roomate.app.exceptions.UserApiError;
 import com.roomate.app.repository.*;
+import com.roomate.app.service.GroceryPriceService;
 import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.GrocerySuggestionService;
+import com.roomate.app.service.RoomAccessService;
+import com.roomate.app.service.RoomAccessService.RoomAccess;
+import com.roomate.app.websocket.GroceryListDeltaLog;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "daroomate.service", extraTags = {"service", "grocery"})
 @RequiredArgsConstructor
 public class GroceryServiceImpl implements GroceryService {
+    private static final int MAX_BULK_ITEMS = 500;
+    private static final int MAX_BULK_LISTS = 200;
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 100;
 
     private final GroceryListRepository groceryListRepository;
     private final GroceryItemRepository groceryItemRepository;
+    private final GroceryListArchiveRepository archiveRepository;
     private final RoomRepository roomRepository;
     private final RoomMemberRepository roomMemberRepository;
+    private final RoomAccessService roomAccessService;
+    private final GrocerySuggestionService suggestionService;
+    private final GroceryPriceService priceService;
+    private final GroceryListDeltaLog deltaLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -32,8 +70,7 @@ public class GroceryServiceImpl implements GroceryService {
         RoomEntity room = roomRepository.findById(dto.getRoomId())
                 .orElseThrow(() -> new UserApiError("Room not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(dto.getRoomId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomMemberEntity member = requireMemberEntity(dto.getRoomId(), userEmail);
 
         GroceryListEntity list = new GroceryListEntity(room, dto.getName(), member);
         GroceryListEntity saved = groceryListRepository.save(list);
@@ -41,30 +78,68 @@ public class GroceryServiceImpl implements GroceryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GroceryListDto> getGroceryListsForRoom(UUID roomId, String userEmail) {
-        validateRoomMembership(roomId, userEmail);
+        roomAccessService.requireMember(roomId, userEmail);
 
-        return groceryListRepository.findByRoomIdOrderByCreatedAtDesc(roomId).stream()
-                .map(GroceryListDto::fromEntityWithoutItems)
+        return groceryListRepository.findSummariesByRoomId(roomId).stream()
+                .map(GroceryListDto::fromSummaryRow)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GroceryListDto> getActiveGroceryListsForRoom(UUID roomId, String userEmail) {
-        validateRoomMembership(roomId, userEmail);
+        roomAccessService.requireMember(roomId, userEmail);
 
-        return groceryListRepository.findActiveByRoomId(roomId).stream()
-                .map(GroceryListDto::fromEntityWithoutItems)
+        return groceryListRepository.findActiveSummariesByRoomId(roomId).stream()
+                .map(GroceryListDto::fromSummaryRow)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public GroceryListDto getGroceryListById(UUID listId, String userEmail) {
         GroceryListEntity list = groceryListRepository.findById(listId)
                 .orElseThrow(() -> new UserApiError("Grocery list not found"));
 
-        validateRoomMembership(list.getRoom().getId(), userEmail);
-        return GroceryListDto.fromEntity(list);
+        roomAccessService.requireMember(list.getRoom().getId(), userEmail);
+        GroceryListDto dto = GroceryListDto.fromEntity(list);
+        if (list.getStatus() == GroceryListStatus.ACTIVE) {
+            dto.setProjectedTotal(projectTotal(list));
+        }
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroceryListSyncDto syncList(UUID listId, long sinceVersion, String userEmail) {
+        requireListMember(listId, userEmail);
+        long currentVersion = groceryListRepository.findVersionById(listId)
+                .orElseThrow(() -> new UserApiError("Grocery list not found"));
+
+        if (sinceVersion == currentVersion) {
+            return new GroceryListSyncDto(listId, currentVersion, List.of(), null);
+        }
+        if (sinceVersion < currentVersion) {
+            Optional<List<GroceryListDelta>> missed = deltaLog.since(listId, sinceVersion, currentVersion);
+            if (missed.isPresent()) {
+                return new GroceryListSyncDto(listId, currentVersion, missed.get(), null);
+            }
+        }
+
+        // Too far behind, or ahead of a version this server never issued: start over from a snapshot
+        GroceryListDto snapshot = groceryListRepository.findById(listId)
+                .map(GroceryListDto::fromEntity)
+                .orElseThrow(() -> new UserApiError("Grocery list not found"));
+        return new GroceryListSyncDto(listId, snapshot.getVersion(), null, snapshot);
+    }
+
+    @Override
+    public void requireListMember(UUID listId, String userEmail) {
+        UUID roomId = groceryListRepository.findRoomIdById(listId)
+                .orElseThrow(() -> new UserApiError("Grocery list not found"));
+        roomAccessService.requireMember(roomId, userEmail);
     }
 
     @Override
@@ -73,22 +148,83 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryListEntity list = groceryListRepository.findById(listId)
                 .orElseThrow(() -> new UserApiError("Grocery list not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(list.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomMemberEntity member = requireMemberEntity(list.getRoom().getId(), userEmail);
 
         if (list.getStatus() != GroceryListStatus.ACTIVE) {
             throw new UserApiError("Cannot add items to a completed or archived list");
         }
 
-        GroceryItemEntity item = new GroceryItemEntity(list, dto.getName(), dto.getQuantity(), dto.getCategory(),
-                member);
-        item.setNotes(dto.getNotes());
-        item.setEstimatedPrice(dto.getEstimatedPrice());
+        GroceryItemEntity saved = newItem(list, dto, member);
+        publishChange(listId, version -> GroceryListDelta.ofItem(GroceryListDeltaType.ITEM_ADDED, version, saved));
 
-        list.getItems().add(item);
-        groceryListRepository.save(list);
+        return GroceryItemDto.fromEntity(saved);
+    }
+
+    @Override
+    @Transactional
+    public GroceryItemBulkResultDto bulkUpsertItems(UUID listId, GroceryItemBulkRequestDto request, String userEmail) {
+        GroceryListEntity list = groceryListRepository.findById(listId)
+                .orElseThrow(() -> new UserApiError("Grocery list not found"));
+
+        RoomMemberEntity member = requireMemberEntity(list.getRoom().getId(), userEmail);
+
+        if (list.getStatus() != GroceryListStatus.ACTIVE) {
+            throw new UserApiError("Cannot add items to a completed or archived list");
+        }
+        List<GroceryItemBulkEntryDto> entries = request.getItems();
+        if (entries == null || entries.isEmpty()) {
+            throw new UserApiError("At least one item is required");
+        }
+        if (entries.size() > MAX_BULK_ITEMS) {
+            throw new UserApiError("At most " + MAX_BULK_ITEMS + " items can be written at once");
+        }
+
+        // Every item being updated, in one query
+        Map<UUID, GroceryItemEntity> existing = groceryItemRepository.findAllById(entries.stream()
+                        .map(GroceryItemBulkEntryDto::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(GroceryItemEntity::getId, Function.identity()));
+
+        // Validate everything before touching any entity, so a rejected batch leaves nothing to flush
+        List<GroceryItemBulkResultDto.ItemError> errors = new ArrayList<>();
+        Set<UUID> seenIds = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String error = validateBulkEntry(entries.get(i), listId, existing, seenIds);
+            if (error != null) {
+                errors.add(new GroceryItemBulkResultDto.ItemError(i, error));
+            }
+        }
+        if (!errors.isEmpty() && !request.isAllowPartial()) {
+            return new GroceryItemBulkResultDto(List.of(), errors);
+        }
+
+        Set<Integer> failed = errors.stream().map(GroceryItemBulkResultDto.ItemError::index).collect(Collectors.toSet());
+        List<GroceryItemEntity> written = new ArrayList<>();
+        List<LongFunction<GroceryListDelta>> deltas = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (failed.contains(i)) {
+                continue;
+            }
+            GroceryItemBulkEntryDto entry = entries.get(i);
+            GroceryItemEntity item;
+            GroceryListDeltaType type;
+            if (entry.getId() == null) {
+                // Persisted now, inserted in JDBC batches at flush
+                item = newItem(list, entry, member);
+                type = GroceryListDeltaType.ITEM_ADDED;
+            } else {
+                item = existing.get(entry.getId());
+                applyEdits(item, entry);
+                type = GroceryListDeltaType.ITEM_UPDATED;
+            }
+            written.add(item);
+            deltas.add(version -> GroceryListDelta.ofItem(type, version, item));
+        }
 
-        return GroceryItemDto.fromEntity(item);
+        publishChanges(listId, deltas);
+        return new GroceryItemBulkResultDto(written.stream().map(GroceryItemDto::fromEntity).toList(), errors);
     }
 
     @Override
@@ -97,19 +233,17 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryItemEntity item = groceryItemRepository.findById(itemId)
                 .orElseThrow(() -> new UserApiError("Grocery item not found"));
 
-        validateRoomMembership(item.getGroceryList().getRoom().getId(), userEmail);
+        roomAccessService.requireMember(item.getGroceryList().getRoom().getId(), userEmail);
 
         if (item.isPurchased()) {
             throw new UserApiError("Cannot update a purchased item");
         }
 
-        item.setName(dto.getName());
-        item.setQuantity(dto.getQuantity());
-        item.setCategory(dto.getCategory());
-        item.setNotes(dto.getNotes());
-        item.setEstimatedPrice(dto.getEstimatedPrice());
+        applyEdits(item, dto);
 
         GroceryItemEntity saved = groceryItemRepository.save(item);
+        publishChange(saved.getGroceryList().getId(),
+                version -> GroceryListDelta.ofItem(GroceryListDeltaType.ITEM_UPDATED, version, saved));
         return GroceryItemDto.fromEntity(saved);
     }
 
@@ -119,12 +253,13 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryItemEntity item = groceryItemRepository.findById(itemId)
                 .orElseThrow(() -> new UserApiError("Grocery item not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(
-                item.getGroceryList().getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomMemberEntity member = requireMemberEntity(item.getGroceryList().getRoom().getId(), userEmail);
 
         item.markPurchased(member, dto.getActualPrice());
         GroceryItemEntity saved = groceryItemRepository.save(item);
+        publishChange(saved.getGroceryList().getId(), version -> GroceryListDelta.purchased(version, saved));
+        priceService.recordPurchase(saved.getGroceryList().getRoom().getId(), saved);
+        suggestionService.recordPurchased(saved.getGroceryList().getRoom().getId(), saved.getName(), saved.getCategory());
         return GroceryItemDto.fromEntity(saved);
     }
 
@@ -134,10 +269,13 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryItemEntity item = groceryItemRepository.findById(itemId)
                 .orElseThrow(() -> new UserApiError("Grocery item not found"));
 
-        validateRoomMembership(item.getGroceryList().getRoom().getId(), userEmail);
+        roomAccessService.requireMember(item.getGroceryList().getRoom().getId(), userEmail);
 
         item.unmarkPurchased();
         GroceryItemEntity saved = groceryItemRepository.save(item);
+        UUID listId = saved.getGroceryList().getId();
+        publishChange(listId, version ->
+                GroceryListDelta.ofItemId(GroceryListDeltaType.ITEM_UNPURCHASED, version, listId, saved.getId()));
         return GroceryItemDto.fromEntity(saved);
     }
 
@@ -147,19 +285,20 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryItemEntity item = groceryItemRepository.findById(itemId)
                 .orElseThrow(() -> new UserApiError("Grocery item not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(
-                item.getGroceryList().getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess member = roomAccessService.requireMember(item.getGroceryList().getRoom().getId(), userEmail);
 
         // Only the person who added it or head roommate can remove
-        boolean isAdder = item.getAddedBy() != null && item.getAddedBy().getId().equals(member.getId());
-        boolean isHeadRoommate = member.getRole() == RoomMemberEnum.HEAD_ROOMMATE;
+        boolean isAdder = item.getAddedBy() != null && item.getAddedBy().getId().equals(member.memberId());
+        boolean isHeadRoommate = member.role() == RoomMemberEnum.HEAD_ROOMMATE;
 
         if (!isAdder && !isHeadRoommate) {
             throw new UserApiError("You can only remove items you added");
         }
 
         groceryItemRepository.delete(item);
+        UUID listId = item.getGroceryList().getId();
+        publishChange(listId, version ->
+                GroceryListDelta.ofItemId(GroceryListDeltaType.ITEM_REMOVED, version, listId, itemId));
     }
 
     @Override
@@ -168,24 +307,63 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryListEntity list = groceryListRepository.findById(listId)
                 .orElseThrow(() -> new UserApiError("Grocery list not found"));
 
-        validateRoomMembership(list.getRoom().getId(), userEmail);
+        roomAccessService.requireMember(list.getRoom().getId(), userEmail);
 
         list.complete();
         GroceryListEntity saved = groceryListRepository.save(list);
+        // Purchases are posted to the ledger once this commits
+        eventPublisher.publishEvent(new GroceryListsCompletedEvent(List.of(listId)));
         return GroceryListDto.fromEntity(saved);
     }
 
+    @Override
+    @Transactional
+    public List<GroceryListDto> completeLists(UUID roomId, List<UUID> listIds, String userEmail) {
+        roomAccessService.requireMember(roomId, userEmail);
+
+        if (listIds == null || listIds.isEmpty()) {
+            throw new UserApiError("At least one list is required");
+        }
+        if (listIds.size() > MAX_BULK_LISTS) {
+            throw new UserApiError("At most " + MAX_BULK_LISTS + " lists can be completed at once");
+        }
+
+        Set<UUID> requested = new HashSet<>(listIds);
+        List<GroceryListEntity> lists = groceryListRepository.findAllById(requested);
+        if (lists.size() != requested.size() || lists.stream().anyMatch(list -> !list.getRoom().getId().equals(roomId))) {
+            throw new UserApiError("Grocery list not found");
+        }
+
+        // Lists that are already finished are left as they are
+        List<UUID> completed = new ArrayList<>();
+        for (GroceryListEntity list : lists) {
+            if (list.getStatus() == GroceryListStatus.ACTIVE) {
+                list.complete();
+                completed.add(list.getId());
+            }
+        }
+        if (!completed.isEmpty()) {
+            // One event, so the ledger entries for every list are written together
+            eventPublisher.publishEvent(new GroceryListsCompletedEvent(completed));
+        }
+
+        groceryListRepository.flush();
+        return groceryListRepository.findSummariesByRoomId(roomId).stream()
+                .filter(summary -> requested.contains(summary.listId()))
+                .map(GroceryListDto::fromSummaryRow)
+                .toList();
+    }
+
     @Override
     @Transactional
     public GroceryListDto archiveList(UUID listId, String userEmail) {
         GroceryListEntity list = groceryListRepository.findById(listId)
                 .orElseThrow(() -> new UserApiError("Grocery list not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(list.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess member = roomAccessService.requireMember(list.getRoom().getId(), userEmail);
 
         // Only head roommate can archive
-        if (member.getRole() != RoomMemberEnum.HEAD_ROOMMATE) {
+        if (member.role() != RoomMemberEnum.HEAD_ROOMMATE) {
             throw new UserApiError("Only head roommates can archive grocery lists");
         }
 
@@ -200,12 +378,11 @@ public class GroceryServiceImpl implements GroceryService {
         GroceryListEntity list = groceryListRepository.findById(listId)
                 .orElseThrow(() -> new UserApiError("Grocery list not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(list.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess member = roomAccessService.requireMember(list.getRoom().getId(), userEmail);
 
         // Only head roommate or creator can delete
-        boolean isHeadRoommate = member.getRole() == RoomMemberEnum.HEAD_ROOMMATE;
-        boolean isCreator = list.getCreatedBy() != null && list.getCreatedBy().getId().equals(member.getId());
+        boolean isHeadRoommate = member.role() == RoomMemberEnum.HEAD_ROOMMATE;
+        boolean isCreator = list.getCreatedBy() != null && list.getCreatedBy().getId().equals(member.memberId());
 
         if (!isHeadRoommate && !isCreator) {
             throw new UserApiError("You don't have permission to delete this list");
@@ -214,8 +391,120 @@ public class GroceryServiceImpl implements GroceryService {
         groceryListRepository.delete(list);
     }
 
-    private RoomMemberEntity validateRoomMembership(UUID roomId, String userEmail) {
-        return roomMemberRepository.findByRoomIdAndUserEmail(roomId, userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+    @Override
+    @Transactional(readOnly = true)
+    public GroceryListArchivePageDto getArchivedLists(UUID roomId, int page, int size, String userEmail) {
+        roomAccessService.requireMember(roomId, userEmail);
+
+        int capped = Math.min(Math.max(size, 1), MAX_ARCHIVE_PAGE_SIZE);
+        Page<GroceryListArchiveSummaryDto> lists = archiveRepository.findSummariesByRoomId(roomId,
+                PageRequest.of(Math.max(page, 0), capped));
+        return new GroceryListArchivePageDto(lists.getContent(), lists.getNumber(), lists.getSize(),
+                lists.getTotalElements(), lists.getTotalPages());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroceryListDto getArchivedList(UUID listId, String userEmail) {
+        UUID roomId = archiveRepository.findRoomIdByListId(listId)
+                .orElseThrow(() -> new UserApiError("Archived grocery list not found"));
+        roomAccessService.requireMember(roomId, userEmail);
+
+        GroceryListArchiveEntity archive = archiveRepository.findById(listId)
+                .orElseThrow(() -> new UserApiError("Archived grocery list not found"));
+        try {
+            return objectMapper.readValue(archive.getPayload(), GroceryListDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read archived grocery list " + listId, e);
+        }
+    }
+
+    private GroceryItemEntity newItem(GroceryListEntity list, GroceryItemCreateDto dto, RoomMemberEntity member) {
+        GroceryItemEntity item = new GroceryItemEntity(list, dto.getName(), dto.getQuantity(), dto.getCategory(),
+                member);
+        item.setNotes(dto.getNotes());
+        item.setEstimatedPrice(dto.getEstimatedPrice() != null ? dto.getEstimatedPrice()
+                : priceService.estimatePrice(list.getRoom().getId(), dto.getName()).orElse(null));
+
+        // Persist the item itself: merging the list would assign the id to a copy, not to this instance
+        list.getItems().add(item);
+        GroceryItemEntity saved = groceryItemRepository.save(item);
+        suggestionService.recordAdded(list.getRoom().getId(), saved.getName(), saved.getCategory());
+        return saved;
+    }
+
+    // EFFECTS : Spent so far plus what is left, priced by each item's estimate or, failing that, by what the
+    //           room has paid for it before. Items never bought with a price add nothing.
+    private BigDecimal projectTotal(GroceryListEntity list) {
+        BigDecimal remaining = BigDecimal.ZERO;
+        for (GroceryItemEntity item : list.getItems()) {
+            if (item.isPurchased()) {
+                continue;
+            }
+            BigDecimal price = item.getEstimatedPrice() != null ? item.getEstimatedPrice()
+                    : priceService.estimatePrice(list.getRoom().getId(), item.getName()).orElse(null);
+            if (price != null) {
+                remaining = remaining.add(price);
+            }
+        }
+        return list.getTotalSpent().add(remaining);
+    }
+
+    private void applyEdits(GroceryItemEntity item, GroceryItemCreateDto dto) {
+        item.setName(dto.getName());
+        item.setQuantity(dto.getQuantity());
+        item.setCategory(dto.getCategory());
+        item.setNotes(dto.getNotes());
+        item.setEstimatedPrice(dto.getEstimatedPrice());
+    }
+
+    // EFFECTS : Returns why the entry cannot be written, or null when it can.
+    private String validateBulkEntry(GroceryItemBulkEntryDto entry, UUID listId, Map<UUID, GroceryItemEntity> existing,
+                                     Set<UUID> seenIds) {
+        if (entry == null) {
+            return "Item is empty";
+        }
+        Set<ConstraintViolation<GroceryItemBulkEntryDto>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (entry.getId() == null) {
+            return null;
+        }
+
+        GroceryItemEntity item = existing.get(entry.getId());
+        if (item == null || !item.getGroceryList().getId().equals(listId)) {
+            return "Grocery item not found";
+        }
+        if (item.isPurchased()) {
+            return "Cannot update a purchased item";
+        }
+        if (!seenIds.add(entry.getId())) {
+            return "Item is listed more than once";
+        }
+        return null;
+    }
+
+    private void publishChange(UUID listId, LongFunction<GroceryListDelta> delta) {
+        publishChanges(listId, List.of(delta));
+    }
+
+    // EFFECTS : Bumps the list's sync version once per change and queues the resulting deltas, which are
+    //           broadcast once the transaction commits.
+    private void publishChanges(UUID listId, List<LongFunction<GroceryListDelta>> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        groceryListRepository.incrementVersion(listId, deltas.size());
+        long version = groceryListRepository.findVersionById(listId)
+                .orElseThrow(() -> new UserApiError("Grocery list not found"));
+        long firstVersion = version - deltas.size() + 1;
+        for (int i = 0; i < deltas.size(); i++) {
+            eventPublisher.publishEvent(new GroceryListChangedEvent(deltas.get(i).apply(firstVersion + i)));
+        }
+    }
+
+    private RoomMemberEntity requireMemberEntity(UUID roomId, String userEmail) {
+        return roomMemberRepository.getReferenceById(roomAccessService.requireMember(roomId, userEmail).memberId());
     }
 }
@@ -0,0 +1,158 @@
+package com.roomate.app.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.dto.grocery.GroceryItemUsageRow;
+import com.roomate.app.dto.grocery.GrocerySuggestionDto;
+import com.roomate.app.repository.GroceryItemRepository;
+import com.roomate.app.service.GrocerySuggestionService;
+import com.roomate.app.service.RoomAccessService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a prefix index per room, built on first use from one aggregate query over the room's items and
+ * then kept current as items are added and bought. Rooms nobody types into expire, and the total number
+ * of indexed entries is capped, evicting the coldest rooms first.
+ */
+@Service
+public class GrocerySuggestionServiceImpl implements GrocerySuggestionService {
+    private static final int MAX_LIMIT = 25;
+
+    private record RoomIndex(GroceryPrefixIndex items, GroceryPrefixIndex categories) {
+        int weight() {
+            return 1 + items.size() + categories.size();
+        }
+    }
+
+    private final GroceryItemRepository groceryItemRepository;
+    private final RoomAccessService roomAccessService;
+    private final double halfLifeDays;
+    private final Cache<UUID, RoomIndex> indexes;
+
+    public GrocerySuggestionServiceImpl(GroceryItemRepository groceryItemRepository,
+                                        RoomAccessService roomAccessService,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.grocery.suggestions.half-life-days:30}") double halfLifeDays,
+                                        @Value("${app.grocery.suggestions.max-entries:500000}") long maxEntries,
+                                        @Value("${app.grocery.suggestions.idle-minutes:120}") long idleMinutes) {
+        this.groceryItemRepository = groceryItemRepository;
+        this.roomAccessService = roomAccessService;
+        this.halfLifeDays = halfLifeDays;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((UUID roomId, RoomIndex index) -> index.weight())
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "grocerySuggestions");
+    }
+
+    @Override
+    public List<GrocerySuggestionDto> suggestItems(UUID roomId, String prefix, int limit, String userEmail) {
+        roomAccessService.requireMember(roomId, userEmail);
+        return toDtos(index(roomId).items(), prefix, limit, true);
+    }
+
+    @Override
+    public List<GrocerySuggestionDto> suggestCategories(UUID roomId, String prefix, int limit, String userEmail) {
+        roomAccessService.requireMember(roomId, userEmail);
+        return toDtos(index(roomId).categories(), prefix, limit, false);
+    }
+
+    @Override
+    public void recordAdded(UUID roomId, String name, String category) {
+        long now = System.currentTimeMillis();
+        afterCommit(roomId, index -> {
+            index.items().record(name, category, 1, 0, now);
+            index.categories().record(category, null, 1, 0, now);
+        });
+    }
+
+    @Override
+    public void recordPurchased(UUID roomId, String name, String category) {
+        long now = System.currentTimeMillis();
+        afterCommit(roomId, index -> {
+            index.items().record(name, category, 0, 1, now);
+            index.categories().record(category, null, 0, 1, now);
+        });
+    }
+
+    // EFFECTS : Returns the room's index, building it from the database on first use.
+    private RoomIndex index(UUID roomId) {
+        RoomIndex index = indexes.getIfPresent(roomId);
+        if (index != null) {
+            return index;
+        }
+        // Built outside the cache's compute so the query never runs inside a map lock; a concurrent
+        // build of the same room is discarded in favour of whichever landed first
+        RoomIndex built = build(roomId);
+        RoomIndex existing = indexes.asMap().putIfAbsent(roomId, built);
+        return existing != null ? existing : built;
+    }
+
+    private RoomIndex build(UUID roomId) {
+        RoomIndex index = new RoomIndex(new GroceryPrefixIndex(halfLifeDays), new GroceryPrefixIndex(halfLifeDays));
+        for (GroceryItemUsageRow row : groceryItemRepository.summarizeUsageByRoomId(roomId)) {
+            long lastUsed = toMillis(latest(row.lastAddedAt(), row.lastPurchasedAt()));
+            index.items().record(row.name(), row.category(), row.uses(), row.purchases(), lastUsed);
+            index.categories().record(row.category(), null, row.uses(), row.purchases(), lastUsed);
+        }
+        return index;
+    }
+
+    // Only rooms already indexed are updated; an unbuilt room reads the committed rows when it is built.
+    // Updating through compute makes the cache re-weigh the room as it grows.
+    private void afterCommit(UUID roomId, Consumer<RoomIndex> update) {
+        Runnable apply = () -> indexes.asMap().computeIfPresent(roomId, (id, index) -> {
+            update.accept(index);
+            return index;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private List<GrocerySuggestionDto> toDtos(GroceryPrefixIndex index, String prefix, int limit, boolean withCategory) {
+        int capped = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return index.lookup(prefix, capped).stream()
+                .map(entry -> new GrocerySuggestionDto(entry.display(), withCategory ? entry.category() : null,
+                        entry.uses(), entry.purchases(), toDateTime(entry.lastUsedMillis())))
+                .toList();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return millis > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+}
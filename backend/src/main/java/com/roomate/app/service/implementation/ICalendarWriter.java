@@ -0,0 +1,127 @@
+package com.roomate.app.service.implementation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes an RFC 5545 document one content line at a time: text values are escaped, lines are folded at
+ * 75 octets and end in CRLF. Nothing is kept once written, so a feed of any size needs only the buffer.
+ *
+ * Times are written floating (no zone), the way the app stores them; DTSTAMP is written as UTC.
+ */
+public final class ICalendarWriter {
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Writer out;
+
+    public ICalendarWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    public void begin(String component) {
+        line("BEGIN:" + component);
+    }
+
+    public void end(String component) {
+        line("END:" + component);
+    }
+
+    // EFFECTS : Writes a value that is already in iCalendar syntax, such as a UID or an RRULE.
+    public void property(String name, String value) {
+        line(name + ":" + value);
+    }
+
+    // EFFECTS : Writes a TEXT value, escaped; null values are left out.
+    public void text(String name, String value) {
+        if (value != null && !value.isBlank()) {
+            line(name + ":" + escape(value));
+        }
+    }
+
+    public void dateTime(String name, LocalDateTime value) {
+        line(name + ":" + DATE_TIME.format(value));
+    }
+
+    public void dateTimes(String name, List<LocalDateTime> values) {
+        line(name + ":" + values.stream().map(DATE_TIME::format).collect(Collectors.joining(",")));
+    }
+
+    public void date(String name, LocalDate value) {
+        line(name + ";VALUE=DATE:" + DATE.format(value));
+    }
+
+    public void utc(String name, LocalDateTime value) {
+        line(name + ":" + DATE_TIME.format(value) + "Z");
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Continuation lines start with a space, which counts toward their 75 octets; a character is never split
+    private void line(String content) {
+        try {
+            int octets = 0;
+            for (int i = 0; i < content.length(); ) {
+                int codePoint = content.codePointAt(i);
+                int size = utf8Length(codePoint);
+                if (octets + size > MAX_LINE_OCTETS) {
+                    out.write("\r\n ");
+                    octets = 1;
+                }
+                out.write(content, i, Character.charCount(codePoint));
+                octets += size;
+                i += Character.charCount(codePoint);
+            }
+            out.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -1,25 +1,36 @@
 package com.roomate.app.service.implementation;
 
-import com.roomate.app.dto.RoomMemberDto;
 import com.roomate.app.dto.ledger.*;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
 import com.roomate.app.entities.ledger.*;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
 import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.events.CalendarChangedEvent;
 import com.roomate.app.exceptions.UserApiError;
 import com.roomate.app.repository.*;
 import com.roomate.app.service.LedgerService;
+import com.roomate.app.service.RoomAccessService;
+import com.roomate.app.service.RoomAccessService.RoomAccess;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "daroomate.service", extraTags = {"service", "ledger"})
 @RequiredArgsConstructor
 public class LedgerServiceImpl implements LedgerService {
 
@@ -27,6 +38,10 @@ public class LedgerServiceImpl implements LedgerService {
     private final LedgerSplitRepository ledgerSplitRepository;
     private final RoomRepository roomRepository;
     private final RoomMemberRepository roomMemberRepository;
+    private final RoomAccessService roomAccessService;
+    private final GroceryItemRepository groceryItemRepository;
+    private final GroceryListRepository groceryListRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -34,13 +49,13 @@ public class LedgerServiceImpl implements LedgerService {
         RoomEntity room = roomRepository.findById(dto.getRoomId())
                 .orElseThrow(() -> new UserApiError("Room not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(dto.getRoomId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess access = roomAccessService.requireMember(dto.getRoomId(), userEmail);
 
         // Only landlords and head roommates can create ledger entries
-        if (member.getRole() != RoomMemberEnum.LANDLORD && member.getRole() != RoomMemberEnum.HEAD_ROOMMATE) {
+        if (access.role() != RoomMemberEnum.LANDLORD && access.role() != RoomMemberEnum.HEAD_ROOMMATE) {
             throw new UserApiError("Only landlords and head roommates can create ledger entries");
         }
+        RoomMemberEntity member = roomMemberRepository.getReferenceById(access.memberId());
 
         LedgerEntryEntity entry = new LedgerEntryEntity(
                 room,
@@ -53,12 +68,14 @@ public class LedgerServiceImpl implements LedgerService {
         entry.setDueDate(dto.getDueDate());
 
         LedgerEntryEntity saved = ledgerEntryRepository.save(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(saved.getRoom().getId()));
         return LedgerEntryDto.fromEntity(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LedgerEntryDto> getLedgerEntriesForRoom(UUID roomId, String userEmail) {
-        validateRoomMembership(roomId, userEmail);
+        roomAccessService.requireMember(roomId, userEmail);
 
         return ledgerEntryRepository.findActiveByRoomId(roomId).stream()
                 .map(LedgerEntryDto::fromEntity)
@@ -66,11 +83,12 @@ public class LedgerServiceImpl implements LedgerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LedgerEntryDto getLedgerEntryById(UUID entryId, String userEmail) {
         LedgerEntryEntity entry = ledgerEntryRepository.findById(entryId)
                 .orElseThrow(() -> new UserApiError("Ledger entry not found"));
 
-        validateRoomMembership(entry.getRoom().getId(), userEmail);
+        roomAccessService.requireMember(entry.getRoom().getId(), userEmail);
         return LedgerEntryDto.fromEntity(entry);
     }
 
@@ -80,12 +98,10 @@ public class LedgerServiceImpl implements LedgerService {
         LedgerEntryEntity entry = ledgerEntryRepository.findById(entryId)
                 .orElseThrow(() -> new UserApiError("Ledger entry not found"));
 
-        RoomMemberEntity assigningMember = roomMemberRepository
-                .findByRoomIdAndUserEmail(entry.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess assigningMember = roomAccessService.requireMember(entry.getRoom().getId(), userEmail);
 
         // Only head roommates can assign splits
-        if (assigningMember.getRole() != RoomMemberEnum.HEAD_ROOMMATE) {
+        if (assigningMember.role() != RoomMemberEnum.HEAD_ROOMMATE) {
             throw new UserApiError("Only head roommates can assign expense splits");
         }
 
@@ -112,6 +128,7 @@ public class LedgerServiceImpl implements LedgerService {
 
         entry.setStatus(LedgerEntryStatus.APPROVED);
         LedgerEntryEntity saved = ledgerEntryRepository.save(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(saved.getRoom().getId()));
         return LedgerEntryDto.fromEntity(saved);
     }
 
@@ -121,12 +138,10 @@ public class LedgerServiceImpl implements LedgerService {
         LedgerEntryEntity entry = ledgerEntryRepository.findById(entryId)
                 .orElseThrow(() -> new UserApiError("Ledger entry not found"));
 
-        RoomMemberEntity assigningMember = roomMemberRepository
-                .findByRoomIdAndUserEmail(entry.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess assigningMember = roomAccessService.requireMember(entry.getRoom().getId(), userEmail);
 
         // Only head roommates can assign splits
-        if (assigningMember.getRole() != RoomMemberEnum.HEAD_ROOMMATE) {
+        if (assigningMember.role() != RoomMemberEnum.HEAD_ROOMMATE) {
             throw new UserApiError("Only head roommates can assign expense splits");
         }
 
@@ -143,44 +158,34 @@ public class LedgerServiceImpl implements LedgerService {
         // Clear existing splits
         entry.getSplits().clear();
 
-        // Calculate equal split amount
-        BigDecimal splitAmount = entry.getTotalAmount()
-                .divide(BigDecimal.valueOf(members.size()), 2, RoundingMode.HALF_UP);
-
-        // Handle rounding difference
-        BigDecimal totalAssigned = splitAmount.multiply(BigDecimal.valueOf(members.size()));
-        BigDecimal remainder = entry.getTotalAmount().subtract(totalAssigned);
-
-        for (int i = 0; i < members.size(); i++) {
-            BigDecimal amount = splitAmount;
-            // Add remainder to first member's split
-            if (i == 0 && remainder.compareTo(BigDecimal.ZERO) != 0) {
-                amount = amount.add(remainder);
-            }
-            LedgerSplitEntity split = new LedgerSplitEntity(entry, members.get(i), amount);
-            entry.getSplits().add(split);
-        }
+        // Calculate equal split amounts, rounding remainder goes to the first member
+        LedgerSplitCalculator.equalShares(entry.getTotalAmount(), members)
+                .forEach((member, amount) -> entry.getSplits().add(new LedgerSplitEntity(entry, member, amount)));
 
         entry.setStatus(LedgerEntryStatus.APPROVED);
         entry.setSplitType(SplitType.EQUAL);
         LedgerEntryEntity saved = ledgerEntryRepository.save(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(saved.getRoom().getId()));
         return LedgerEntryDto.fromEntity(saved);
     }
 
     @Override
     @Transactional
     public LedgerSplitDto recordPayment(UUID splitId, RecordPaymentDto dto, String userEmail) {
+        // The entry is locked before the split is read, so a concurrent utility re-split either finishes first
+        // and this sees its amounts, or waits for this payment and then skips the no longer unpaid entry
+        UUID entryId = ledgerSplitRepository.findEntryIdById(splitId)
+                .orElseThrow(() -> new UserApiError("Split not found"));
+        ledgerEntryRepository.findForUpdate(entryId);
         LedgerSplitEntity split = ledgerSplitRepository.findById(splitId)
                 .orElseThrow(() -> new UserApiError("Split not found"));
 
-        RoomMemberEntity payingMember = roomMemberRepository.findByRoomIdAndUserEmail(
-                split.getLedgerEntry().getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess payingMember = roomAccessService.requireMember(split.getLedgerEntry().getRoom().getId(), userEmail);
 
         // Only the member who owes can record their own payment, or head roommate can
         // record for others
-        boolean isOwnPayment = split.getRoomMember().getId().equals(payingMember.getId());
-        boolean isHeadRoommate = payingMember.getRole() == RoomMemberEnum.HEAD_ROOMMATE;
+        boolean isOwnPayment = split.getRoomMember().getId().equals(payingMember.memberId());
+        boolean isHeadRoommate = payingMember.role() == RoomMemberEnum.HEAD_ROOMMATE;
 
         if (!isOwnPayment && !isHeadRoommate) {
             throw new UserApiError("You can only record your own payments");
@@ -191,22 +196,19 @@ public class LedgerServiceImpl implements LedgerService {
             split.setNotes(dto.getNotes());
         }
 
-        // Update entry status if needed
         LedgerEntryEntity entry = split.getLedgerEntry();
-        if (entry.isFullyPaid()) {
-            entry.setStatus(LedgerEntryStatus.PAID);
-        } else if (entry.getTotalPaid().compareTo(BigDecimal.ZERO) > 0) {
-            entry.setStatus(LedgerEntryStatus.PARTIALLY_PAID);
-        }
+        updatePaymentStatus(entry);
 
         ledgerEntryRepository.save(entry);
         LedgerSplitEntity saved = ledgerSplitRepository.save(split);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(entry.getRoom().getId()));
         return LedgerSplitDto.fromEntity(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MemberBalanceDto> getMemberBalances(UUID roomId, String userEmail) {
-        validateRoomMembership(roomId, userEmail);
+        roomAccessService.requireMember(roomId, userEmail);
 
         List<RoomMemberEntity> members = roomMemberRepository.findByRoomID(roomId);
         List<MemberBalanceDto> balances = new ArrayList<>();
@@ -218,61 +220,22 @@ public class LedgerServiceImpl implements LedgerService {
             }
 
             List<LedgerSplitEntity> splits = ledgerSplitRepository.findByMemberIdAndRoomId(member.getId(), roomId);
-
-            BigDecimal totalOwed = splits.stream()
-                    .map(LedgerSplitEntity::getAmountOwed)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal totalPaid = splits.stream()
-                    .map(LedgerSplitEntity::getAmountPaid)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            int unpaidCount = (int) splits.stream()
-                    .filter(s -> s.getPaymentStatus() != PaymentStatus.PAID)
-                    .count();
-
-            balances.add(MemberBalanceDto.builder()
-                    .memberId(member.getId())
-                    .member(RoomMemberDto.fromEntity(member))
-                    .totalOwed(totalOwed)
-                    .totalPaid(totalPaid)
-                    .outstandingBalance(totalOwed.subtract(totalPaid))
-                    .unpaidSplitsCount(unpaidCount)
-                    .build());
+            balances.add(MemberBalanceDto.fromSplits(member, splits));
         }
 
         return balances;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MemberBalanceDto getMemberBalance(UUID roomId, UUID memberId, String userEmail) {
-        validateRoomMembership(roomId, userEmail);
+        roomAccessService.requireMember(roomId, userEmail);
 
         RoomMemberEntity member = roomMemberRepository.findById(memberId)
                 .orElseThrow(() -> new UserApiError("Member not found"));
 
         List<LedgerSplitEntity> splits = ledgerSplitRepository.findByMemberIdAndRoomId(memberId, roomId);
-
-        BigDecimal totalOwed = splits.stream()
-                .map(LedgerSplitEntity::getAmountOwed)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalPaid = splits.stream()
-                .map(LedgerSplitEntity::getAmountPaid)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        int unpaidCount = (int) splits.stream()
-                .filter(s -> s.getPaymentStatus() != PaymentStatus.PAID)
-                .count();
-
-        return MemberBalanceDto.builder()
-                .memberId(member.getId())
-                .member(RoomMemberDto.fromEntity(member))
-                .totalOwed(totalOwed)
-                .totalPaid(totalPaid)
-                .outstandingBalance(totalOwed.subtract(totalPaid))
-                .unpaidSplitsCount(unpaidCount)
-                .build();
+        return MemberBalanceDto.fromSplits(member, splits);
     }
 
     @Override
@@ -281,12 +244,11 @@ public class LedgerServiceImpl implements LedgerService {
         LedgerEntryEntity entry = ledgerEntryRepository.findById(entryId)
                 .orElseThrow(() -> new UserApiError("Ledger entry not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(entry.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess member = roomAccessService.requireMember(entry.getRoom().getId(), userEmail);
 
         // Only head roommates or the creator can cancel
-        boolean isHeadRoommate = member.getRole() == RoomMemberEnum.HEAD_ROOMMATE;
-        boolean isCreator = entry.getCreatedBy() != null && entry.getCreatedBy().getId().equals(member.getId());
+        boolean isHeadRoommate = member.role() == RoomMemberEnum.HEAD_ROOMMATE;
+        boolean isCreator = entry.getCreatedBy() != null && entry.getCreatedBy().getId().equals(member.memberId());
 
         if (!isHeadRoommate && !isCreator) {
             throw new UserApiError("You don't have permission to cancel this entry");
@@ -294,6 +256,7 @@ public class LedgerServiceImpl implements LedgerService {
 
         entry.setStatus(LedgerEntryStatus.CANCELLED);
         ledgerEntryRepository.save(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(entry.getRoom().getId()));
     }
 
     @Override
@@ -302,19 +265,96 @@ public class LedgerServiceImpl implements LedgerService {
         LedgerEntryEntity entry = ledgerEntryRepository.findById(entryId)
                 .orElseThrow(() -> new UserApiError("Ledger entry not found"));
 
-        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(entry.getRoom().getId(), userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+        RoomAccess member = roomAccessService.requireMember(entry.getRoom().getId(), userEmail);
 
         // Only head roommates can delete
-        if (member.getRole() != RoomMemberEnum.HEAD_ROOMMATE) {
+        if (member.role() != RoomMemberEnum.HEAD_ROOMMATE) {
             throw new UserApiError("Only head roommates can delete ledger entries");
         }
 
         ledgerEntryRepository.delete(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(entry.getRoom().getId()));
     }
 
-    private RoomMemberEntity validateRoomMembership(UUID roomId, String userEmail) {
-        return roomMemberRepository.findByRoomIdAndUserEmail(roomId, userEmail)
-                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+    // EFFECTS : Posts one approved GROCERY entry per purchaser of each finished list, split equally across the
+    //           room's sharing members, and returns how many were created. Lists already posted are skipped.
+    //           Clears the lists' ledgerPending marker in the same transaction.
+    //           Everything is read with a fixed number of queries and the entries are written in one batch,
+    //           however many lists are posted.
+    @Override
+    @Transactional
+    public int postCompletedGroceryLists(Collection<UUID> listIds) {
+        if (listIds.isEmpty()) {
+            return 0;
+        }
+        groceryListRepository.clearLedgerPending(listIds);
+        Set<UUID> posted = ledgerEntryRepository.findPostedGroceryListIds(listIds);
+        List<UUID> pending = listIds.stream().distinct().filter(id -> !posted.contains(id)).toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Spend per list and purchaser, purchasers in the order they first bought something
+        Map<UUID, GroceryListEntity> lists = new LinkedHashMap<>();
+        Map<UUID, Map<RoomMemberEntity, BigDecimal>> spend = new LinkedHashMap<>();
+        for (GroceryItemEntity item : groceryItemRepository.findPricedPurchasesByListIds(pending)) {
+            GroceryListEntity list = item.getGroceryList();
+            lists.putIfAbsent(list.getId(), list);
+            spend.computeIfAbsent(list.getId(), id -> new LinkedHashMap<>())
+                    .merge(item.getPurchasedBy(), item.getActualPrice(), BigDecimal::add);
+        }
+        if (spend.isEmpty()) {
+            return 0;
+        }
+
+        // Same sharers as calculateEqualSplits: landlords and guests are left out
+        Set<UUID> roomIds = lists.values().stream().map(list -> list.getRoom().getId()).collect(Collectors.toSet());
+        Map<UUID, List<RoomMemberEntity>> sharers = roomMemberRepository.findByRoomIds(roomIds).stream()
+                .filter(m -> m.getRole() != RoomMemberEnum.LANDLORD && m.getRole() != RoomMemberEnum.GUEST)
+                .collect(Collectors.groupingBy(m -> m.getRoom().getId()));
+
+        List<LedgerEntryEntity> entries = new ArrayList<>();
+        spend.forEach((listId, byPurchaser) -> {
+            GroceryListEntity list = lists.get(listId);
+            List<RoomMemberEntity> members = sharers.getOrDefault(list.getRoom().getId(), List.of());
+            if (!members.isEmpty()) {
+                byPurchaser.forEach((purchaser, total) -> entries.add(groceryEntry(list, purchaser, total, members)));
+            }
+        });
+
+        ledgerEntryRepository.saveAll(entries);
+        entries.stream().map(entry -> entry.getRoom().getId()).distinct()
+                .forEach(roomId -> eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId)));
+        return entries.size();
+    }
+
+    private LedgerEntryEntity groceryEntry(GroceryListEntity list, RoomMemberEntity purchaser, BigDecimal total,
+                                           List<RoomMemberEntity> members) {
+        LedgerEntryEntity entry = new LedgerEntryEntity(list.getRoom(), purchaser, "Groceries: " + list.getName(),
+                LedgerEntryType.GROCERY, total, SplitType.EQUAL);
+        entry.setDescription("Posted when the grocery list was completed");
+        entry.setGroceryListId(list.getId());
+        entry.setStatus(LedgerEntryStatus.APPROVED);
+
+        LedgerSplitCalculator.equalShares(total, members).forEach((member, amount) -> {
+            LedgerSplitEntity split = new LedgerSplitEntity(entry, member, amount);
+            // The purchaser already paid the shop, so their own share is settled
+            if (member.getId().equals(purchaser.getId())) {
+                split.recordPayment(amount);
+            }
+            entry.getSplits().add(split);
+        });
+        updatePaymentStatus(entry);
+        return entry;
+    }
+
+    // EFFECTS : Marks the entry PAID once every split is settled and PARTIALLY_PAID once any payment is in;
+    //           otherwise leaves its status as it is.
+    private static void updatePaymentStatus(LedgerEntryEntity entry) {
+        if (entry.isFullyPaid()) {
+            entry.setStatus(LedgerEntryStatus.PAID);
+        } else if (entry.getTotalPaid().compareTo(BigDecimal.ZERO) > 0) {
+            entry.setStatus(LedgerEntryStatus.PARTIALLY_PAID);
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.roomate.app.service.implementation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared split arithmetic for ledger entries.
+ * Amounts are rounded to cents and the rounding remainder is added to the first share.
+ */
+final class LedgerSplitCalculator {
+
+    private LedgerSplitCalculator() {
+    }
+
+    static <K> Map<K, BigDecimal> equalShares(BigDecimal total, List<K> keys) {
+        Map<K, BigDecimal> shares = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return shares;
+        }
+
+        BigDecimal splitAmount = total.divide(BigDecimal.valueOf(keys.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal remainder = total.subtract(splitAmount.multiply(BigDecimal.valueOf(keys.size())));
+
+        for (K key : keys) {
+            shares.put(key, splitAmount);
+        }
+        addRemainderToFirst(shares, remainder);
+        return shares;
+    }
+
+    static <K> Map<K, BigDecimal> weightedShares(BigDecimal total, Map<K, BigDecimal> weights) {
+        Map<K, BigDecimal> shares = new LinkedHashMap<>();
+        BigDecimal weightSum = weights.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (weights.isEmpty() || weightSum.signum() <= 0) {
+            return shares;
+        }
+
+        BigDecimal assigned = BigDecimal.ZERO;
+        for (Map.Entry<K, BigDecimal> weight : weights.entrySet()) {
+            BigDecimal amount = total.multiply(weight.getValue())
+                    .divide(weightSum, 2, RoundingMode.HALF_UP);
+            shares.put(weight.getKey(), amount);
+            assigned = assigned.add(amount);
+        }
+        addRemainderToFirst(shares, total.subtract(assigned));
+        return shares;
+    }
+
+    private static <K> void addRemainderToFirst(Map<K, BigDecimal> shares, BigDecimal remainder) {
+        if (remainder.signum() != 0) {
+            K first = shares.keySet().iterator().next();
+            shares.put(first, shares.get(first).add(remainder));
+        }
+    }
+}
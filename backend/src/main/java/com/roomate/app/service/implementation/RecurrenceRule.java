@@ -0,0 +1,410 @@
+package com.roomate.app.service.implementation;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * An RFC 5545 RRULE limited to what a shared-house calendar needs: FREQ DAILY, WEEKLY, MONTHLY or YEARLY
+ * with INTERVAL, COUNT or UNTIL, BYDAY (with ordinals in monthly and yearly rules), BYMONTHDAY, BYMONTH
+ * and WKST. Anything else is rejected rather than silently ignored.
+ *
+ * Occurrences are generated a period (day, week, month or year) at a time. Rules without COUNT start at
+ * the period holding the requested window, so expanding next week of a rule that began years ago costs
+ * the same as expanding its first week. Rules with COUNT are walked from the start, which COUNT bounds.
+ * As in RFC 5545 the event's own start is always the first occurrence, and times are kept as the local
+ * times they were written in.
+ */
+public final class RecurrenceRule {
+    // maxInterval keeps the gap between occurrences to about ten years, so period arithmetic stays in range
+    public enum Frequency {
+        DAILY(3660), WEEKLY(522), MONTHLY(120), YEARLY(10);
+
+        private final int maxInterval;
+
+        Frequency(int maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+    }
+
+    // ordinal 0 means every such weekday of the period
+    private record WeekdayNum(int ordinal, DayOfWeek day) {
+    }
+
+    public static final int MAX_COUNT = 1000;
+    // A rule whose filters never match (BYMONTH=2;BYMONTHDAY=30) stops after this many empty periods
+    private static final int MAX_EMPTY_PERIODS = 1000;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final List<String> DAY_CODES = List.of("MO", "TU", "WE", "TH", "FR", "SA", "SU");
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<WeekdayNum> byDay;
+    private final int[] byMonthDay;
+    private final Set<Month> byMonth;
+    private final DayOfWeek weekStart;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, List<WeekdayNum> byDay,
+                           int[] byMonthDay, Set<Month> byMonth, DayOfWeek weekStart) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.byMonth = byMonth;
+        this.weekStart = weekStart;
+    }
+
+    // EFFECTS : Returns the rule as stored: upper case, without an "RRULE:" prefix.
+    public static String normalize(String rule) {
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        return text.startsWith("RRULE:") ? text.substring("RRULE:".length()) : text;
+    }
+
+    // EFFECTS : Parses a rule such as "FREQ=WEEKLY;BYDAY=MO,TH" (an "RRULE:" prefix is allowed).
+    //           Throws IllegalArgumentException naming the first part it cannot honour.
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is empty");
+        }
+        String text = normalize(rule);
+
+        Frequency frequency = null;
+        String interval = null;
+        Integer count = null;
+        LocalDateTime until = null;
+        List<WeekdayNum> byDay = List.of();
+        int[] byMonthDay = new int[0];
+        Set<Month> byMonth = EnumSet.noneOf(Month.class);
+        DayOfWeek weekStart = DayOfWeek.MONDAY;
+
+        for (String part : text.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals <= 0 || equals == part.length() - 1) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String name = part.substring(0, equals);
+            String value = part.substring(equals + 1);
+            switch (name) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = value;
+                case "COUNT" -> count = parsePositive(name, value, MAX_COUNT);
+                case "UNTIL" -> until = parseUntil(value);
+                case "BYDAY" -> byDay = Arrays.stream(value.split(",")).map(RecurrenceRule::parseWeekdayNum).toList();
+                case "BYMONTHDAY" -> byMonthDay = Arrays.stream(value.split(","))
+                        .mapToInt(day -> parseMonthDay(day)).distinct().toArray();
+                case "BYMONTH" -> {
+                    for (String month : value.split(",")) {
+                        byMonth.add(Month.of(parsePositive(name, month, 12)));
+                    }
+                }
+                case "WKST" -> weekStart = parseDay(value);
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs a FREQ");
+        }
+        int periods = interval == null ? 1 : parsePositive("INTERVAL", interval, frequency.maxInterval);
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+        }
+        boolean ordinals = byDay.stream().anyMatch(day -> day.ordinal() != 0);
+        if (ordinals && (frequency == Frequency.DAILY || frequency == Frequency.WEEKLY)) {
+            throw new IllegalArgumentException("Numbered BYDAY values need a MONTHLY or YEARLY rule");
+        }
+        if (!byDay.isEmpty() && byMonth.isEmpty() && frequency == Frequency.YEARLY) {
+            throw new IllegalArgumentException("BYDAY in a YEARLY rule needs BYMONTH");
+        }
+        if (byMonthDay.length > 0 && frequency == Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYMONTHDAY cannot be used in a WEEKLY rule");
+        }
+        return new RecurrenceRule(frequency, periods, count, until, byDay, byMonthDay, byMonth, weekStart);
+    }
+
+    // EFFECTS : Returns true if the rule ends, by COUNT or UNTIL.
+    public boolean isBounded() {
+        return count != null || until != null;
+    }
+
+    // EFFECTS : Returns the start of every occurrence of an event starting at dtstart and lasting length
+    //           that overlaps [from, to), in order.
+    public List<LocalDateTime> startsBetween(LocalDateTime dtstart, Duration length, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        forEachStart(dtstart, count == null ? firstPeriodFor(dtstart, from.minus(length)) : 0, start -> {
+            if (!start.isBefore(to)) {
+                return false;
+            }
+            if (start.plus(length).isAfter(from)) {
+                starts.add(start);
+            }
+            return true;
+        });
+        return starts;
+    }
+
+    // EFFECTS : Returns true if an occurrence of an event starting at dtstart begins exactly at start.
+    public boolean occursAt(LocalDateTime dtstart, LocalDateTime start) {
+        boolean[] found = new boolean[1];
+        forEachStart(dtstart, count == null ? firstPeriodFor(dtstart, start) : 0, occurrence -> {
+            found[0] = occurrence.equals(start);
+            return occurrence.isBefore(start);
+        });
+        return found[0];
+    }
+
+    // EFFECTS : Returns the start of the last occurrence, or null if the rule never ends.
+    public LocalDateTime lastStart(LocalDateTime dtstart) {
+        if (!isBounded()) {
+            return null;
+        }
+        LocalDateTime[] last = new LocalDateTime[1];
+        forEachStart(dtstart, 0, start -> {
+            last[0] = start;
+            return true;
+        });
+        return last[0];
+    }
+
+    // EFFECTS : Calls visitor with each occurrence start in order, beginning with the period at firstPeriod,
+    //           until it returns false or the rule ends.
+    private void forEachStart(LocalDateTime dtstart, long firstPeriod, Predicate<LocalDateTime> visitor) {
+        int emitted = 0;
+        if (firstPeriod == 0) {
+            if (until != null && dtstart.isAfter(until)) {
+                return;
+            }
+            emitted++;
+            if (!visitor.test(dtstart) || (count != null && emitted >= count)) {
+                return;
+            }
+        }
+
+        LocalDate firstDate = dtstart.toLocalDate();
+        int emptyPeriods = 0;
+        for (long period = firstPeriod; emptyPeriods < MAX_EMPTY_PERIODS; period += interval) {
+            List<LocalDate> dates = datesInPeriod(firstDate, period);
+            if (until != null && periodStart(firstDate, period).isAfter(until.toLocalDate())) {
+                return;
+            }
+            boolean any = false;
+            for (LocalDate date : dates) {
+                LocalDateTime start = date.atTime(dtstart.toLocalTime());
+                // The event's own start was already visited as the first occurrence
+                if (!start.isAfter(dtstart)) {
+                    continue;
+                }
+                if (until != null && start.isAfter(until)) {
+                    return;
+                }
+                any = true;
+                emitted++;
+                if (!visitor.test(start) || (count != null && emitted >= count)) {
+                    return;
+                }
+            }
+            emptyPeriods = any ? 0 : emptyPeriods + 1;
+        }
+    }
+
+    // EFFECTS : Returns the first period, a multiple of the interval, that can hold an occurrence starting
+    //           after target.
+    private long firstPeriodFor(LocalDateTime dtstart, LocalDateTime target) {
+        LocalDate first = dtstart.toLocalDate();
+        LocalDate date = target.toLocalDate();
+        long periods = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(first, date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(first.with(TemporalAdjusters.previousOrSame(weekStart)),
+                    date.with(TemporalAdjusters.previousOrSame(weekStart)));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(date));
+            case YEARLY -> date.getYear() - first.getYear();
+        };
+        return periods <= 0 ? 0 : periods / interval * interval;
+    }
+
+    private LocalDate periodStart(LocalDate first, long period) {
+        return switch (frequency) {
+            case DAILY -> first.plusDays(period);
+            case WEEKLY -> first.with(TemporalAdjusters.previousOrSame(weekStart)).plusWeeks(period);
+            case MONTHLY -> YearMonth.from(first).plusMonths(period).atDay(1);
+            case YEARLY -> LocalDate.of(first.getYear(), 1, 1).plusYears(period);
+        };
+    }
+
+    // EFFECTS : Returns the dates the rule selects in the given period, in order.
+    private List<LocalDate> datesInPeriod(LocalDate first, long period) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        switch (frequency) {
+            case DAILY -> {
+                LocalDate date = first.plusDays(period);
+                if (matchesWeekday(date) && matchesMonthDay(date)) {
+                    dates.add(date);
+                }
+            }
+            case WEEKLY -> {
+                LocalDate start = periodStart(first, period);
+                if (byDay.isEmpty()) {
+                    dates.add(start.with(TemporalAdjusters.nextOrSame(first.getDayOfWeek())));
+                }
+                for (WeekdayNum day : byDay) {
+                    dates.add(start.with(TemporalAdjusters.nextOrSame(day.day())));
+                }
+            }
+            case MONTHLY -> dates.addAll(datesInMonth(YearMonth.from(first).plusMonths(period), first.getDayOfMonth()));
+            case YEARLY -> {
+                int year = Math.toIntExact(first.getYear() + period);
+                Set<Month> months = byMonth.isEmpty() ? EnumSet.of(first.getMonth()) : byMonth;
+                for (Month month : months) {
+                    dates.addAll(datesInMonth(YearMonth.of(year, month), first.getDayOfMonth()));
+                }
+            }
+        }
+        dates.removeIf(date -> !byMonth.isEmpty() && !byMonth.contains(date.getMonth()));
+        return new ArrayList<>(dates);
+    }
+
+    private List<LocalDate> datesInMonth(YearMonth month, int defaultDay) {
+        List<LocalDate> dates = new ArrayList<>();
+        if (byMonthDay.length > 0) {
+            for (int day : byMonthDay) {
+                int dayOfMonth = day > 0 ? day : month.lengthOfMonth() + day + 1;
+                if (dayOfMonth >= 1 && dayOfMonth <= month.lengthOfMonth()) {
+                    LocalDate date = month.atDay(dayOfMonth);
+                    if (matchesWeekday(date)) {
+                        dates.add(date);
+                    }
+                }
+            }
+        } else if (!byDay.isEmpty()) {
+            for (WeekdayNum day : byDay) {
+                LocalDate firstOfKind = month.atDay(1).with(TemporalAdjusters.nextOrSame(day.day()));
+                if (day.ordinal() == 0) {
+                    for (LocalDate date = firstOfKind; YearMonth.from(date).equals(month); date = date.plusWeeks(1)) {
+                        dates.add(date);
+                    }
+                } else {
+                    LocalDate date = day.ordinal() > 0
+                            ? firstOfKind.plusWeeks(day.ordinal() - 1)
+                            : month.atEndOfMonth().with(TemporalAdjusters.previousOrSame(day.day()))
+                                    .plusWeeks(day.ordinal() + 1);
+                    if (YearMonth.from(date).equals(month)) {
+                        dates.add(date);
+                    }
+                }
+            }
+        } else if (defaultDay <= month.lengthOfMonth()) {
+            // A monthly rule from the 31st skips shorter months rather than moving to their last day
+            dates.add(month.atDay(defaultDay));
+        }
+        return dates;
+    }
+
+    private boolean matchesWeekday(LocalDate date) {
+        return byDay.isEmpty() || byDay.stream().anyMatch(day -> day.day() == date.getDayOfWeek());
+    }
+
+    private boolean matchesMonthDay(LocalDate date) {
+        if (byMonthDay.length == 0) {
+            return true;
+        }
+        int length = date.lengthOfMonth();
+        for (int day : byMonthDay) {
+            if (date.getDayOfMonth() == (day > 0 ? day : length + day + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+        }
+    }
+
+    private static int parsePositive(String name, String value, int max) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= 1 && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be between 1 and " + max);
+    }
+
+    private static int parseMonthDay(String value) {
+        try {
+            int day = Integer.parseInt(value);
+            if (day != 0 && day >= -31 && day <= 31) {
+                return day;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid BYMONTHDAY value: " + value);
+    }
+
+    private static WeekdayNum parseWeekdayNum(String value) {
+        if (value.length() < 2) {
+            throw new IllegalArgumentException("Invalid BYDAY value: " + value);
+        }
+        DayOfWeek day = parseDay(value.substring(value.length() - 2));
+        String ordinal = value.substring(0, value.length() - 2);
+        if (ordinal.isEmpty()) {
+            return new WeekdayNum(0, day);
+        }
+        try {
+            int parsed = Integer.parseInt(ordinal.startsWith("+") ? ordinal.substring(1) : ordinal);
+            if (parsed != 0 && parsed >= -5 && parsed <= 5) {
+                return new WeekdayNum(parsed, day);
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid BYDAY value: " + value);
+    }
+
+    private static DayOfWeek parseDay(String code) {
+        int index = DAY_CODES.indexOf(code);
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid weekday: " + code);
+        }
+        return DayOfWeek.of(index + 1);
+    }
+
+    // UNTIL is inclusive; a bare date means the whole of that day
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return local.length() == 8
+                    ? LocalDate.parse(local, DATE).atTime(23, 59, 59)
+                    : LocalDateTime.parse(local, DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid UNTIL value: " + value);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.roomate.app.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.RoomMemberRepository;
+import com.roomate.app.service.RoomAccessService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class RoomAccessServiceImpl implements RoomAccessService {
+
+    private record Key(String email, UUID roomId) {
+    }
+
+    private final RoomMemberRepository roomMemberRepository;
+    private final Cache<Key, Optional<RoomAccess>> cache;
+
+    public RoomAccessServiceImpl(RoomMemberRepository roomMemberRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.room-access.cache-ttl-minutes:10}") long ttlMinutes,
+                                 @Value("${app.room-access.cache-max-size:50000}") long maxSize) {
+        this.roomMemberRepository = roomMemberRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "roomAccess");
+        Gauge.builder("room.access.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of membership checks answered from the cache")
+                .register(meterRegistry);
+    }
+
+    // EFFECTS : Returns the user's membership in the room, caching misses as well as hits.
+    @Override
+    public Optional<RoomAccess> findAccess(UUID roomId, String email) {
+        Key key = new Key(email, roomId);
+        Optional<RoomAccess> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Not cache.get(key, loader): the loader runs inside a synchronized map bin and would pin a virtual-thread
+        // request to its carrier for as long as the query takes
+        Optional<RoomAccess> loaded = roomMemberRepository.findByRoomIdAndUserEmail(roomId, email)
+                .map(member -> new RoomAccess(member.getId(), member.getRole()));
+        Optional<RoomAccess> existing = cache.asMap().putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    @Override
+    public RoomAccess requireMember(UUID roomId, String email) {
+        return findAccess(roomId, email)
+                .orElseThrow(() -> new UserApiError("You are not a member of this room"));
+    }
+
+    @Override
+    public boolean isMember(UUID roomId, String email) {
+        return findAccess(roomId, email).isPresent();
+    }
+
+    @Override
+    public void evict(UUID roomId, String email) {
+        Key key = new Key(email, roomId);
+        evictNowAndAfterCommit(() -> cache.invalidate(key));
+    }
+
+    @Override
+    public void evictRoom(UUID roomId) {
+        evictNowAndAfterCommit(() -> cache.asMap().keySet().removeIf(key -> key.roomId().equals(roomId)));
+    }
+
+    // Evicting again after commit stops a concurrent read from re-caching the pre-commit membership
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.roomate.app.service.implementation;
+
+import com.roomate.app.entities.IdBlockEntity;
+import com.roomate.app.repository.IdBlockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique room codes without checking the room table. Each node reserves a block of
+ * sequence numbers from id_block in one locked update and encodes them with RoomCodeCipher,
+ * so the database is only touched once per block.
+ */
+@Component
+public class RoomCodeAllocator {
+
+    static final String SEQUENCE_NAME = "room_code";
+
+    private final IdBlockRepository idBlockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomCodeCipher cipher;
+    private final int blockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public RoomCodeAllocator(IdBlockRepository idBlockRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.room-code.secret}") String secret,
+                             @Value("${app.room-code.block-size:1000}") int blockSize) {
+        this.idBlockRepository = idBlockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cipher = new RoomCodeCipher(secret);
+        this.blockSize = blockSize;
+    }
+
+    public String nextCode() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                reserveBlock();
+            }
+            return cipher.encode(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reserveBlock() {
+        Long start;
+        try {
+            start = transactionTemplate.execute(status -> takeBlock());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the sequence row first; it exists now, so lock it and retry
+            start = transactionTemplate.execute(status -> takeBlock());
+        }
+
+        if (start == null || start + blockSize > RoomCodeCipher.MAX_SEQUENCE) {
+            throw new IllegalStateException("Room code space exhausted");
+        }
+        next = start;
+        limit = start + blockSize;
+    }
+
+    private long takeBlock() {
+        IdBlockEntity block = idBlockRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> idBlockRepository.saveAndFlush(new IdBlockEntity(SEQUENCE_NAME, 0)));
+        long start = block.getNextValue();
+        block.setNextValue(start + blockSize);
+        return start;
+    }
+}
@@ -0,0 +1,85 @@
+package com.roomate.app.service.implementation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Maps sequence numbers to 8-character room codes with a keyed Feistel permutation.
+ * The permutation is a bijection, so distinct sequence numbers always give distinct codes,
+ * and without the key consecutive numbers give unrelated codes.
+ * <p>
+ * Codes are Crockford base32. The first character is always a letter outside 0-9A-F, so new
+ * codes can never collide with the legacy hex codes.
+ */
+public final class RoomCodeCipher {
+
+    public static final int CODE_BITS = 39;
+    public static final long MAX_SEQUENCE = 1L << CODE_BITS;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final char[] PREFIX = "GHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int HALF_BITS = 20;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 6;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public RoomCodeCipher(String secret) {
+        byte[] digest = sha256(secret);
+        for (int i = 0; i < ROUNDS; i++) {
+            long key = 0;
+            for (int b = 0; b < 8; b++) {
+                key = (key << 8) | (digest[(i * 5 + b) % digest.length] & 0xFF);
+            }
+            roundKeys[i] = key;
+        }
+    }
+
+    // EFFECTS : Returns the code for sequence, 0 <= sequence < MAX_SEQUENCE.
+    public String encode(long sequence) {
+        if (sequence < 0 || sequence >= MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Room code sequence out of range: " + sequence);
+        }
+
+        // Permute over 40 bits and cycle-walk until the value falls back into the 39-bit domain
+        long value = sequence;
+        do {
+            value = permute(value);
+        } while (value >= MAX_SEQUENCE);
+
+        char[] code = new char[8];
+        code[0] = PREFIX[(int) (value >>> 35) & 0xF];
+        for (int i = 1; i < 8; i++) {
+            code[i] = ALPHABET[(int) (value >>> (5 * (7 - i))) & 0x1F];
+        }
+        return new String(code);
+    }
+
+    private long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long key : roundKeys) {
+            long next = left ^ round(right, key);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long round(long half, long key) {
+        long x = half ^ key;
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x & HALF_MASK;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,15 +4,24 @@ import com.roomate.app.dto.UserDTOS.UpdateMemberRoleRequest;
 import com.roomate.app.mailer.RoomInviteMailSender;
 import com.roomate.app.dto.*;
 import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.ledger.LedgerEntryType;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
 import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.entities.room.RoomTeardownEntity;
+import com.roomate.app.events.CalendarChangedEvent;
+import com.roomate.app.events.RoomMembershipChangedEvent;
 import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.jobs.RoomTeardownJob;
 import com.roomate.app.repository.*;
+import com.roomate.app.service.RoomAccessService;
+import com.roomate.app.service.RoomAccessService.RoomAccess;
 import com.roomate.app.service.RoomService;
-import com.roomate.app.service.UtilityService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,40 +32,43 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed(value = "daroomate.service", extraTags = {"service", "room"})
 public class RoomServiceImplt implements RoomService {
     private static final Logger logger = LoggerFactory.getLogger(RoomServiceImplt.class);
+    private static final int MAX_ROOMS_PER_USER = 3;
+    private static final int MAX_MEMBERS_PER_ROOM = 6;
 
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final RoomMemberRepository roomMemberRepository;
-    private final EventRepository eventRepository;
     @Autowired
     private RoomInviteMailSender mailSender;
     @Autowired
     private UtilityRepository utilityRepository;
     @Autowired
-    private ChoreRepository choreRepository;
+    private LedgerSplitRepository ledgerSplitRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private RoomAccessService roomAccessService;
+    @Autowired
+    private RoomTeardownRepository roomTeardownRepository;
+    @Autowired
+    private RoomTeardownJob roomTeardownJob;
+    @Autowired
+    private RoomCodeAllocator roomCodeAllocator;
 
-    public RoomServiceImplt(UserRepository userRepository, RoomRepository roomRepository, RoomMemberRepository roomMemberRepository,
-                            EventRepository eventRepository) {
+    public RoomServiceImplt(UserRepository userRepository, RoomRepository roomRepository, RoomMemberRepository roomMemberRepository) {
         this.userRepository = userRepository;
         this.roomRepository = roomRepository;
         this.roomMemberRepository = roomMemberRepository;
-        this.eventRepository = eventRepository;
     }
 
     @Override
     @Transactional
     public List<RoomDto> getUserRooms(String email) {
-        UserEntity user = userRepository.getUserByEmail(email);
-
-        if (user == null) {
-            return List.of();
-        }
-
-        List<RoomEntity> roomEntities = roomRepository.findByMemberUserId(user.getId());
-
-        return roomEntities.stream().map(this::convertToRoomDto).toList();
+        // Rooms, members and member names come back as flat rows from one query
+        return RoomDto.fromRows(roomRepository.findRoomRowsByMemberEmail(email));
     }
 
     @Override
@@ -67,12 +79,11 @@ public class RoomServiceImplt implements RoomService {
             throw new UserApiError("Head roommate user not found with ID: " + headRoomateEmail);
         }
 
-        if (roomRepository.countRoomsByUserId(user.getId()) >= 3) {
-            throw new UserApiError("User has reached the maximum number of rooms (3).");
-        }
+        takeRoomSlot(user);
         String roomCode = generateUniqueRoomCode();
 
         RoomEntity room = new RoomEntity(request.getName(), request.getAddress(), request.getDescription(), roomCode, headRoomateEmail, new ArrayList<>());
+        room.setMemberCount(1);
 
         RoomMemberEntity roomMemberEntity = new RoomMemberEntity(room, user, RoomMemberEnum.HEAD_ROOMMATE);
 
@@ -98,31 +109,27 @@ public class RoomServiceImplt implements RoomService {
             throw new UserApiError("User not found with ID: " + email);
         }
 
-        if (roomRepository.countRoomsByUserId(user.getId()) >= 3) {
-            throw new UserApiError("User has reached the maximum number of rooms (3).");
-        }
-
         RoomEntity room = roomRepository.findByRoomCode(roomCode)
                 .orElseThrow(() -> new UserApiError("Room not found with code: " + roomCode));
 
-        if (room.getMembers().size() >= 6) {
-            throw new UserApiError("Room is full. Maximum of 6 members allowed.");
+        // Caps are guarded counter updates and duplicates hit the unique (room_id, user_id) index,
+        // so concurrent joins cannot both pass; any failure rolls the counters back with the join.
+        takeRoomSlot(user);
+        if (roomRepository.incrementMemberCount(room.getId(), MAX_MEMBERS_PER_ROOM) == 0) {
+            throw new UserApiError("Room is full. Maximum of " + MAX_MEMBERS_PER_ROOM + " members allowed.");
         }
 
-        boolean alreadyMember = room.getMembers().stream()
-                .anyMatch(member -> member.getUser().getId().equals(user.getId()));
-
-        if (alreadyMember) {
+        try {
+            roomMemberRepository.saveAndFlush(new RoomMemberEntity(room, user, RoomMemberEnum.ROOMMATE));
+        } catch (DataIntegrityViolationException e) {
             throw new UserApiError("User is already a member of this room.");
         }
 
-        RoomMemberEntity member = new RoomMemberEntity(room, user, RoomMemberEnum.ROOMMATE);
-
-        room.getMembers().add(member);
+        roomAccessService.evict(room.getId(), email);
+        eventPublisher.publishEvent(RoomMembershipChangedEvent.joined(room.getId(), email));
+        eventPublisher.publishEvent(CalendarChangedEvent.forUser(user.getId()));
 
-//        utilityService.updateUtilitiesOnUserChange(room.getId());
-
-        return convertToRoomDto(roomRepository.save(room));
+        return convertToRoomDto(room);
     }
 
     @Override
@@ -131,9 +138,7 @@ public class RoomServiceImplt implements RoomService {
         RoomEntity room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new UserApiError("Room not found with ID: " + roomId));
 
-        UserEntity requestingUser = userRepository.getUserByEmail(email);
-
-        if (requestingUser == null || !isRoomMember(roomId, email)) {
+        if (!isRoomMember(roomId, email)) {
             throw new UserApiError("User is not authorized to view this room.");
         }
 
@@ -158,7 +163,13 @@ public class RoomServiceImplt implements RoomService {
             throw new UserApiError("Not authorized to remove this member.");
         }
 
+        utilityRepository.deleteAllByRoomMemberId(memberId);
+        ledgerSplitRepository.deleteUnpaidByMemberIdAndEntryType(memberId, LedgerEntryType.UTILITY);
         roomMemberRepository.deleteByRoomIdAndUserId(roomId, member.getUser().getId());
+        releaseSlots(roomId, member.getUser().getId());
+        roomAccessService.evict(roomId, member.getUser().getEmail());
+        eventPublisher.publishEvent(RoomMembershipChangedEvent.left(roomId, member.getUser().getEmail()));
+        eventPublisher.publishEvent(CalendarChangedEvent.forUser(member.getUser().getId()));
     }
 
     @Override
@@ -176,18 +187,20 @@ public class RoomServiceImplt implements RoomService {
         if (!member.getUser().getId().equals(user.getId())) {
             throw new UserApiError("Not authorized to remove this member.");
         }
-        if (!utilityRepository.findByRoomId(memberid).isEmpty()) {
-            utilityRepository.deleteAllByRoomMemberId(memberid);
-        }
-
-//        utilityService.updateUtilitiesOnUserChange(roomid);
+        utilityRepository.deleteAllByRoomMemberId(memberid);
+        ledgerSplitRepository.deleteUnpaidByMemberIdAndEntryType(memberid, LedgerEntryType.UTILITY);
 
         roomMemberRepository.deleteByMemberIdAndUserId(memberid, user.getId());
+        releaseSlots(member.getRoom().getId(), user.getId());
+        roomAccessService.evict(member.getRoom().getId(), email);
+        eventPublisher.publishEvent(RoomMembershipChangedEvent.left(member.getRoom().getId(), email));
+        eventPublisher.publishEvent(CalendarChangedEvent.forUser(user.getId()));
 
     }
 
+    // EFFECTS : Deletes the room and all room-owned rows through the teardown job. Not transactional:
+    //           the job commits each chunk on its own so large rooms never hold one huge transaction.
     @Override
-    @Transactional
     public void removeRoom(UUID roomId, String requesterEmail) throws UserApiError {
         UserEntity user = userRepository.getUserByEmail(requesterEmail);
         if (user == null) {
@@ -202,15 +215,27 @@ public class RoomServiceImplt implements RoomService {
             throw new UserApiError("Not authorized to delete room.");
         }
 
-        utilityRepository.deleteAllByRoomId(roomId);
-
-        choreRepository.deleteAllByRoomId(roomId);
+        // Feeds leave out rooms with a teardown row, so members' feeds are bumped once the job has recorded it
+        List<Long> memberUserIds = roomMemberRepository.findByRoomID(roomId).stream()
+                .map(member -> member.getUser().getId())
+                .toList();
+        roomAccessService.evictRoom(roomId);
+        if (roomTeardownJob.start(roomId, requesterEmail).isEmpty()) {
+            throw new UserApiError("Room is already being deleted.");
+        }
+        memberUserIds.forEach(userId -> eventPublisher.publishEvent(CalendarChangedEvent.forUser(userId)));
+    }
 
-        eventRepository.deleteAllByEventId(roomId);
+    @Override
+    public RoomTeardownDto getRoomTeardownStatus(UUID roomId, String email) throws UserApiError {
+        RoomTeardownEntity teardown = roomTeardownRepository.findById(roomId)
+                .orElseThrow(() -> new UserApiError("No deletion found for room: " + roomId));
 
-        roomMemberRepository.deleteAllByRoomId(roomId);
+        if (!teardown.getRequestedBy().equals(email)) {
+            throw new UserApiError("Not authorized to view this deletion.");
+        }
 
-        roomRepository.deleteById(roomId);
+        return RoomTeardownDto.fromEntity(teardown);
     }
 
     @Override
@@ -219,15 +244,10 @@ public class RoomServiceImplt implements RoomService {
         RoomEntity room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new UserApiError("Room not found with ID: " + roomId));
 
-        UserEntity requestingUser = userRepository.getUserByEmail(requestingUserEmail);
-        if (requestingUser == null) {
-            throw new UserApiError("User Not Found with ID: " + requestingUserEmail);
-        }
-
-        RoomMemberEntity requestingMember = roomMemberRepository.findByRoomIdAndUserId(roomId, requestingUser.getId())
+        RoomAccess requestingMember = roomAccessService.findAccess(roomId, requestingUserEmail)
                 .orElseThrow(() -> new UserApiError("Requesting user is not a member of the room."));
 
-        RoomMemberEnum role = requestingMember.getRole();
+        RoomMemberEnum role = requestingMember.role();
         if (role != RoomMemberEnum.HEAD_ROOMMATE && role != RoomMemberEnum.ASSISTANT) {
             throw new UserApiError("Only head roommates or assistants can change member roles.");
         }
@@ -247,16 +267,13 @@ public class RoomServiceImplt implements RoomService {
         member.setUpdatedAt(LocalDateTime.now());
 
         roomMemberRepository.save(member);
+        roomAccessService.evict(roomId, member.getUser().getEmail());
     }
 
 
     @Override
     public boolean isRoomMember(UUID roomId, String email) {
-        UserEntity user = userRepository.getUserByEmail(email);
-        if (user == null) {
-            return false;
-        }
-        return roomMemberRepository.findByRoomIdAndUserId(roomId, user.getId()).isPresent();
+        return roomAccessService.isMember(roomId, email);
     }
 
     @Override
@@ -279,40 +296,21 @@ public class RoomServiceImplt implements RoomService {
     }
 
     private RoomDto convertToRoomDto(RoomEntity room) {
-        RoomDto dto = new RoomDto();
-        dto.setId(room.getId());
-        dto.setName(room.getName());
-        dto.setAddress(room.getAddress());
-        dto.setDescription(room.getDescription());
-        dto.setRoomCode(room.getRoomCode());
-        dto.setHeadRoommateId(room.getHeadRoommateId());
-        dto.setCreatedAt(room.getCreatedAt());
-        dto.setUpdatedAt(room.getUpdatedAt());
-
-        List<RoomMemberDto> memberDtos = new ArrayList<>();
-        if (room.getMembers() != null) {
-            for (RoomMemberEntity member : room.getMembers()) {
-                if (member == null || member.getUser() == null) continue;
-                RoomMemberDto memberDto = new RoomMemberDto();
-                memberDto.setId(member.getId());
-                memberDto.setJoinedAt(member.getJoinedAt());
-                memberDto.setUserId(member.getUser().getEmail());
-                memberDto.setName(member.getUser().getFirstName());
-                memberDto.setRole(member.getRole());
-                memberDtos.add(memberDto);
-            }
-        }
+        return RoomDto.fromEntity(room);
+    }
 
-        dto.setMembers(memberDtos.isEmpty() ? null : memberDtos);
+    private void takeRoomSlot(UserEntity user) {
+        if (userRepository.incrementRoomCount(user.getId(), MAX_ROOMS_PER_USER) == 0) {
+            throw new UserApiError("User has reached the maximum number of rooms (" + MAX_ROOMS_PER_USER + ").");
+        }
+    }
 
-        return dto;
+    private void releaseSlots(UUID roomId, Long userId) {
+        roomRepository.decrementMemberCount(roomId);
+        userRepository.decrementRoomCount(userId);
     }
 
     private String generateUniqueRoomCode() {
-        String roomCode;
-        do {
-            roomCode = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (roomRepository.existsByRoomCode(roomCode));
-        return roomCode;
+        return roomCodeAllocator.nextCode();
     }
 }
\ No newline at end of file
@@ -2,28 +2,30 @@ package com.roomate.app.service.implementation;
 
 import com.roomate.app.dto.UtilityCreateDto;
 import com.roomate.app.dto.UtilityDto;
-import com.roomate.app.entities.UserEntity;
-import com.roomate.app.entities.UtilityEntity;
 import com.roomate.app.entities.UtilDistributionEnum;
+import com.roomate.app.entities.ledger.*;
 import com.roomate.app.entities.room.RoomEntity;
 import com.roomate.app.entities.room.RoomMemberEntity;
-import com.roomate.app.repository.RoomMemberRepository;
-import com.roomate.app.repository.RoomRepository;
-import com.roomate.app.repository.UserRepository;
-import com.roomate.app.repository.UtilityRepository;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.events.CalendarChangedEvent;
+import com.roomate.app.repository.*;
 import com.roomate.app.service.UtilityService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Utilities are stored as UTILITY ledger entries with one split per member.
+ * Legacy utility rows are moved into the ledger by UtilityLedgerMigrationJob.
+ */
 @Service
 @RequiredArgsConstructor
 public class UtilityServiceImplt implements UtilityService {
@@ -31,126 +33,180 @@ public class UtilityServiceImplt implements UtilityService {
     private final UtilityRepository utilityRepository;
     private final RoomRepository roomRepository;
     private final RoomMemberRepository roomMemberRepository;
-    private final UserRepository userRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerSplitRepository ledgerSplitRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public List<UtilityEntity> createUtility(UtilityCreateDto dto) {
+    public List<UtilityDto> createUtility(UtilityCreateDto dto, String userEmail) {
         RoomEntity room = roomRepository.findById(dto.getRoomId()).orElseThrow(() -> new EntityNotFoundException("Room not found"));
-        Hibernate.initialize(room.getMembers());
-
-        List<UtilityEntity> createdUtilities = new ArrayList<>();
-
-        if (dto.getUtilDistributionEnum() == UtilDistributionEnum.EQUALSPLIT) {
-            List<RoomMemberEntity> members = room.getMembers();
-            double share = dto.getUtilityPrice() / members.size();
-
-            for (RoomMemberEntity member : members) {
-                UtilityEntity utility = new UtilityEntity();
-                utility.setUtilityName(dto.getUtilityName());
-                utility.setDescription(dto.getDescription());
-                utility.setUtilityPrice(share);
-                utility.setUtilDistributionEnum(dto.getUtilDistributionEnum());
-                utility.setRoom(room);
-                utility.setAssignedToMember(member);
-                createdUtilities.add(utilityRepository.save(utility));
-            }
-        } else if (dto.getUtilDistributionEnum() == UtilDistributionEnum.CUSTOMSPLIT) {
+        List<RoomMemberEntity> members = roomMemberRepository.findByRoomID(room.getId());
+        RoomMemberEntity creator = roomMemberRepository.findByRoomIdAndUserEmail(room.getId(), userEmail).orElse(null);
+
+        BigDecimal total = BigDecimal.valueOf(dto.getUtilityPrice()).setScale(2, RoundingMode.HALF_UP);
+        Map<RoomMemberEntity, BigDecimal> shares;
+        SplitType splitType;
+
+        if (dto.getUtilDistributionEnum() == UtilDistributionEnum.CUSTOMSPLIT) {
+            Map<UUID, RoomMemberEntity> membersById = members.stream()
+                    .collect(Collectors.toMap(RoomMemberEntity::getId, Function.identity()));
+            Map<RoomMemberEntity, BigDecimal> percentages = new LinkedHashMap<>();
             dto.getCustomSplit().forEach((memberId, percentage) -> {
-                RoomMemberEntity member = roomMemberRepository.findById(memberId).orElseThrow(() -> new EntityNotFoundException("Member not found"));
-                double shareAmount = (percentage / 100.0) * dto.getUtilityPrice();
-
-                UtilityEntity utility = new UtilityEntity();
-                utility.setUtilityName(dto.getUtilityName());
-                utility.setDescription(dto.getDescription());
-                utility.setUtilityPrice(shareAmount);
-                utility.setUtilDistributionEnum(dto.getUtilDistributionEnum());
-                utility.setRoom(room);
-                utility.setAssignedToMember(member);
-                createdUtilities.add(utilityRepository.save(utility));
+                RoomMemberEntity member = membersById.get(memberId);
+                if (member == null) {
+                    throw new EntityNotFoundException("Member not found");
+                }
+                percentages.put(member, BigDecimal.valueOf(percentage));
             });
+            shares = LedgerSplitCalculator.weightedShares(total, percentages);
+            splitType = SplitType.PERCENTAGE;
+        } else {
+            shares = LedgerSplitCalculator.equalShares(total, splitMembers(members));
+            splitType = SplitType.EQUAL;
         }
 
-        return createdUtilities;
+        if (shares.isEmpty()) {
+            throw new IllegalStateException("No members available to split the utility");
+        }
+
+        LedgerEntryEntity entry = new LedgerEntryEntity(room, creator, dto.getUtilityName(), LedgerEntryType.UTILITY, total, splitType);
+        entry.setDescription(dto.getDescription());
+        entry.setDueDate(dto.getDueDate());
+        entry.setStatus(LedgerEntryStatus.APPROVED);
+        shares.forEach((member, amount) -> entry.getSplits().add(new LedgerSplitEntity(entry, member, amount)));
+
+        LedgerEntryEntity saved = ledgerEntryRepository.save(entry);
+        eventPublisher.publishEvent(CalendarChangedEvent.forRoom(room.getId()));
+        return saved.getSplits().stream().map(UtilityDto::new).collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
     public List<UtilityDto> getUtilitiesByRoom(UUID roomId) {
-        roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        if (!roomRepository.existsById(roomId)) {
+            throw new EntityNotFoundException("Room not found");
+        }
 
-        return utilityRepository.findByRoomId(roomId).stream().map(utility -> new UtilityDto(utility.getId(), utility.getUtilityName(), utility.getUtilityPrice(), utility.getRoom() != null ? utility.getRoom().getId() : null)).collect(Collectors.toList());
+        return ledgerSplitRepository.findActiveByRoomIdAndEntryType(roomId, LedgerEntryType.UTILITY).stream().map(UtilityDto::new).collect(Collectors.toList());
     }
 
     @Override
     public List<UtilityDto> getUtilitiesByRoomandMemberId(UUID roomId, UUID memberId) {
-        roomRepository.findById(roomId).orElseThrow(() -> new EntityNotFoundException("Room not found"));
-
+        if (!roomRepository.existsById(roomId)) {
+            throw new EntityNotFoundException("Room not found");
+        }
 
-        return utilityRepository.findByRoomIdAndMemberId(roomId, memberId).stream().map(utility -> new UtilityDto(utility.getId(), utility.getUtilityName(), utility.getUtilityPrice(), utility.getRoom() != null ? utility.getRoom().getId() : null)).collect(Collectors.toList());
+        return ledgerSplitRepository.findActiveByRoomIdAndMemberIdAndEntryType(roomId, memberId, LedgerEntryType.UTILITY).stream().map(UtilityDto::new).collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
     public List<UtilityDto> getUpcomingUtilities(String id) {
-        UserEntity user = userRepository.findByEmail(id)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-
-        List<UUID> roomMemberIds = roomMemberRepository.findAllByUserId(user.getId())
+        return ledgerSplitRepository.findUnpaidByUserEmailAndEntryType(id, LedgerEntryType.UTILITY)
                 .stream()
-                .map(RoomMemberEntity::getId)
-                .collect(Collectors.toList());
-
-        return utilityRepository.findAllByRoomMemberIds(roomMemberIds)
-                .stream()
-                .map(utility -> new UtilityDto(
-                        utility.getId(),
-                        utility.getUtilityName(),
-                        utility.getUtilityPrice(),
-                        utility.getRoom() != null ? utility.getRoom().getName() : null,
-                        utility.getDueAt()
+                .map(split -> new UtilityDto(
+                        split.getLedgerEntry().getId(),
+                        split.getLedgerEntry().getTitle(),
+                        split.getAmountOwed().doubleValue(),
+                        split.getLedgerEntry().getRoom().getName(),
+                        split.getLedgerEntry().getDueDate() != null ? split.getLedgerEntry().getDueDate().atStartOfDay() : null
                 ))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public void deleteUtility(UUID utilityId) {
+        Optional<LedgerEntryEntity> entry = ledgerEntryRepository.findById(utilityId)
+                .filter(e -> e.getEntryType() == LedgerEntryType.UTILITY);
+        if (entry.isPresent()) {
+            ledgerEntryRepository.delete(entry.get());
+            eventPublisher.publishEvent(CalendarChangedEvent.forRoom(entry.get().getRoom().getId()));
+            return;
+        }
+
         if (!utilityRepository.existsById(utilityId)) {
             throw new EntityNotFoundException("Utility with id " + utilityId + " not found");
         }
         utilityRepository.deleteById(utilityId);
     }
 
-    // TODO handle OVerall Logic for updating utilities when users are added or removed from a room
+    // EFFECTS : Re-splits every unpaid utility entry in the room across the current members.
+    //           Only splits whose member or amount changed are written; splits of departed members are removed.
     @Override
     @Transactional
     public void updateUtilitiesOnUserChange(UUID roomId) {
-        RoomEntity room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
-        Hibernate.initialize(room.getMembers());
+        if (!roomRepository.existsById(roomId)) {
+            return;
+        }
 
-        List<RoomMemberEntity> members = room.getMembers();
-        if (members.isEmpty()) {
-            throw new IllegalStateException("Room has no members.");
+        // Locking the entries first keeps recordPayment from paying against a split that is being rewritten
+        if (ledgerEntryRepository.lockUnpaidByRoomIdAndEntryType(roomId, LedgerEntryType.UTILITY).isEmpty()) {
+            return;
         }
 
-        List<UtilityEntity> utilities = utilityRepository.findByRoomId(roomId);
+        List<RoomMemberEntity> members = splitMembers(roomMemberRepository.findByRoomID(roomId));
+        List<LedgerEntryEntity> changed = new ArrayList<>();
 
-        for (UtilityEntity utility : utilities) {
-            if (utility.getUtilDistributionEnum() == UtilDistributionEnum.EQUALSPLIT) {
-                double share = utility.getUtilityPrice() / members.size();
-                for (RoomMemberEntity member : members) {
-                    utility.setAssignedToMember(member);
-                    utility.setUtilityPrice(share);
-                    utilityRepository.save(utility);
-                }
-            } else if (utility.getUtilDistributionEnum() == UtilDistributionEnum.CUSTOMSPLIT) {
-                // Handle CUSTOMSPLIT logic if needed
-                throw new UnsupportedOperationException("Custom split logic needs to be implemented.");
+        for (LedgerEntryEntity entry : ledgerEntryRepository.findUnpaidByRoomIdAndEntryType(roomId, LedgerEntryType.UTILITY)) {
+            if (resplit(entry, members)) {
+                changed.add(entry);
             }
         }
+
+        if (!changed.isEmpty()) {
+            ledgerEntryRepository.saveAll(changed);
+            eventPublisher.publishEvent(CalendarChangedEvent.forRoom(roomId));
+        }
     }
 
+    private boolean resplit(LedgerEntryEntity entry, List<RoomMemberEntity> members) {
+        Map<UUID, LedgerSplitEntity> existing = new LinkedHashMap<>();
+        for (LedgerSplitEntity split : entry.getSplits()) {
+            existing.put(split.getRoomMember().getId(), split);
+        }
 
+        Map<UUID, RoomMemberEntity> membersById = new LinkedHashMap<>();
+        members.forEach(member -> membersById.put(member.getId(), member));
+
+        Map<UUID, BigDecimal> shares;
+        if (entry.getSplitType() == SplitType.EQUAL) {
+            shares = LedgerSplitCalculator.equalShares(entry.getTotalAmount(), new ArrayList<>(membersById.keySet()));
+        } else if (entry.getSplitType() == SplitType.PERCENTAGE) {
+            // Percentage splits keep their members; the remaining shares are scaled back up to the total
+            Map<UUID, BigDecimal> weights = new LinkedHashMap<>();
+            existing.forEach((memberId, split) -> {
+                if (membersById.containsKey(memberId)) {
+                    weights.put(memberId, split.getAmountOwed());
+                }
+            });
+            shares = LedgerSplitCalculator.weightedShares(entry.getTotalAmount(), weights);
+        } else {
+            return false;
+        }
 
+        if (shares.isEmpty()) {
+            return false;
+        }
+
+        boolean changed = entry.getSplits().removeIf(split -> !shares.containsKey(split.getRoomMember().getId()));
+
+        for (Map.Entry<UUID, BigDecimal> share : shares.entrySet()) {
+            LedgerSplitEntity split = existing.get(share.getKey());
+            if (split == null) {
+                entry.getSplits().add(new LedgerSplitEntity(entry, membersById.get(share.getKey()), share.getValue()));
+                changed = true;
+            } else if (split.getAmountOwed().compareTo(share.getValue()) != 0) {
+                split.setAmountOwed(share.getValue());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Landlords and guests are not part of shared bills, matching the ledger's equal split
+    private List<RoomMemberEntity> splitMembers(List<RoomMemberEntity> members) {
+        return members.stream()
+                .filter(m -> m.getRole() != RoomMemberEnum.LANDLORD && m.getRole() != RoomMemberEnum.GUEST)
+                .toList();
+    }
 }
@@ -0,0 +1,66 @@
+package com.roomate.app.websocket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roomate.app.dto.grocery.GroceryListDelta;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The last few deltas broadcast for each recently active list, so a client that reconnects can catch up
+ * without reloading the list. Lists that go quiet expire, and each keeps at most retained-deltas entries.
+ */
+@Component
+public class GroceryListDeltaLog {
+    private final Cache<UUID, List<GroceryListDelta>> deltas;
+    private final int retainedDeltas;
+
+    public GroceryListDeltaLog(@Value("${app.grocery.sync.retained-deltas:100}") int retainedDeltas,
+                               @Value("${app.grocery.sync.max-lists:10000}") long maxLists,
+                               @Value("${app.grocery.sync.idle-minutes:60}") long idleMinutes) {
+        this.retainedDeltas = retainedDeltas;
+        this.deltas = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .maximumSize(maxLists)
+                .build();
+    }
+
+    // EFFECTS : Adds the delta in version order, dropping the oldest beyond the retention limit.
+    //           Lists are replaced rather than mutated, so readers never need a lock.
+    public void record(GroceryListDelta delta) {
+        deltas.asMap().compute(delta.listId(), (listId, existing) -> {
+            List<GroceryListDelta> updated = existing != null ? new ArrayList<>(existing) : new ArrayList<>();
+            updated.add(delta);
+            // Commits can finish out of version order
+            updated.sort(Comparator.comparingLong(GroceryListDelta::version));
+            int overflow = updated.size() - retainedDeltas;
+            return List.copyOf(overflow > 0 ? updated.subList(overflow, updated.size()) : updated);
+        });
+    }
+
+    // EFFECTS : Returns every delta after sinceVersion up to currentVersion, or empty when any of them is
+    //           missing: evicted, or committed but not yet broadcast.
+    public Optional<List<GroceryListDelta>> since(UUID listId, long sinceVersion, long currentVersion) {
+        List<GroceryListDelta> retained = deltas.getIfPresent(listId);
+        if (retained == null) {
+            return Optional.empty();
+        }
+
+        List<GroceryListDelta> missed = retained.stream()
+                .filter(delta -> delta.version() > sinceVersion && delta.version() <= currentVersion)
+                .toList();
+        for (int i = 0; i < missed.size(); i++) {
+            if (missed.get(i).version() != sinceVersion + i + 1) {
+                return Optional.empty();
+            }
+        }
+        return missed.size() == currentVersion - sinceVersion ? Optional.of(missed) : Optional.empty();
+    }
+}
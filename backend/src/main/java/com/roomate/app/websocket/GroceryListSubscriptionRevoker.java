@@ -0,0 +1,76 @@
+package com.roomate.app.websocket;
+
+import com.roomate.app.events.RoomMembershipChangedEvent;
+import com.roomate.app.repository.GroceryListRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Subscriptions are only checked on SUBSCRIBE, so a member who leaves or is removed from a room would keep
+ * receiving its grocery list changes. Once the membership change commits, this unsubscribes every session
+ * of that user from the room's list topics at the broker.
+ */
+@Component
+public class GroceryListSubscriptionRevoker {
+
+    private final SimpUserRegistry userRegistry;
+    private final GroceryListRepository groceryListRepository;
+    private final MessageChannel brokerChannel;
+
+    public GroceryListSubscriptionRevoker(SimpUserRegistry userRegistry,
+                                          GroceryListRepository groceryListRepository,
+                                          @Qualifier("brokerChannel") MessageChannel brokerChannel) {
+        this.userRegistry = userRegistry;
+        this.groceryListRepository = groceryListRepository;
+        this.brokerChannel = brokerChannel;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMembershipChanged(RoomMembershipChangedEvent event) {
+        if (!event.left() || event.userEmail() == null) {
+            return;
+        }
+        SimpUser user = userRegistry.getUser(event.userEmail());
+        if (user == null) {
+            return;
+        }
+        List<SimpSubscription> listSubscriptions = user.getSessions().stream()
+                .flatMap(session -> session.getSubscriptions().stream())
+                .filter(subscription -> subscription.getDestination().startsWith(GroceryListSyncPublisher.TOPIC_PREFIX))
+                .toList();
+        if (listSubscriptions.isEmpty()) {
+            return;
+        }
+
+        Set<String> roomTopics = new HashSet<>();
+        groceryListRepository.findIdsByRoomId(event.roomId())
+                .forEach(listId -> roomTopics.add(GroceryListSyncPublisher.topic(listId)));
+        for (SimpSubscription subscription : listSubscriptions) {
+            if (roomTopics.contains(subscription.getDestination())) {
+                unsubscribe(subscription);
+            }
+        }
+    }
+
+    private void unsubscribe(SimpSubscription subscription) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(subscription.getSession().getId());
+        accessor.setSubscriptionId(subscription.getId());
+        accessor.setDestination(subscription.getDestination());
+        accessor.setLeaveMutable(true);
+        brokerChannel.send(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.roomate.app.websocket;
+
+import com.roomate.app.events.GroceryListChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Sends each committed grocery list change to /topic/grocery-lists/{listId}. Rolled-back writes never
+ * reach subscribers.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroceryListSyncPublisher {
+    public static final String TOPIC_PREFIX = "/topic/grocery-lists/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GroceryListDeltaLog deltaLog;
+
+    public static String topic(UUID listId) {
+        return TOPIC_PREFIX + listId;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onListChanged(GroceryListChangedEvent event) {
+        deltaLog.record(event.delta());
+        messagingTemplate.convertAndSend(topic(event.delta().listId()), event.delta());
+    }
+}
@@ -0,0 +1,83 @@
+package com.roomate.app.websocket;
+
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.JWTService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Authenticates STOMP sessions and guards subscriptions.
+ *
+ * CONNECT takes a bearer token from the Authorization header, falling back to the user the handshake was
+ * authenticated as (the jwt cookie). SUBSCRIBE is only allowed to grocery list topics of rooms the user
+ * belongs to. Clients never SEND: every broadcast comes from the server.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JWTService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final GroceryService groceryService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> authorizeSubscription(accessor);
+            case SEND -> throw new AccessDeniedException("Sending is not supported");
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            String username = jwtService.extractUsername(token);
+            UserDetails userDetails = username != null ? userDetailsService.loadUserByUsername(username) : null;
+            if (userDetails == null || !jwtService.isTokenValid(token, userDetails)) {
+                throw new AccessDeniedException("Invalid token");
+            }
+            accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        }
+        if (accessor.getUser() == null) {
+            throw new AccessDeniedException("Authentication required");
+        }
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        String destination = accessor.getDestination();
+        if (user == null || destination == null || !destination.startsWith(GroceryListSyncPublisher.TOPIC_PREFIX)) {
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+
+        try {
+            UUID listId = UUID.fromString(destination.substring(GroceryListSyncPublisher.TOPIC_PREFIX.length()));
+            groceryService.requireListMember(listId, user.getName());
+        } catch (IllegalArgumentException | UserApiError e) {
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- One iCalendar subscription per user; revision is bumped by every write that changes the feed's content
+CREATE TABLE IF NOT EXISTS calendar_feed (
+    revision bigint not null,
+    created_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    token varchar(64) not null,
+    primary key (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_calendar_feed_user ON calendar_feed (user_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_calendar_feed_token ON calendar_feed (token);
+
+ALTER TABLE IF EXISTS calendar_feed
+    ADD CONSTRAINT fk_calendar_feed_user
+    FOREIGN KEY (user_id)
+    REFERENCES users
+    ON DELETE CASCADE;
@@ -0,0 +1,88 @@
+-- Databases that predate Flyway are baselined at V1 and never run it, so everything V1 has that the
+-- pre-Flyway schema lacked is added here. On databases built from V1 every statement is a no-op apart from
+-- the counter backfill, which recomputes the same values.
+
+-- Background job state
+CREATE TABLE IF NOT EXISTS id_block (
+    next_value bigint not null,
+    name varchar(255) not null,
+    primary key (name)
+);
+
+CREATE TABLE IF NOT EXISTS job_checkpoint (
+    completed boolean not null,
+    processed_rows bigint not null,
+    updated_at timestamp(6),
+    written_rows bigint not null,
+    job_name varchar(255) not null,
+    last_processed_key varchar(255),
+    primary key (job_name)
+);
+
+CREATE TABLE IF NOT EXISTS room_teardown (
+    completed_at timestamp(6),
+    deleted_rows bigint not null,
+    started_at timestamp(6) not null,
+    updated_at timestamp(6),
+    room_id uuid not null,
+    current_step varchar(255),
+    requested_by varchar(255) not null,
+    status varchar(255) not null check (status in ('RUNNING','COMPLETED','FAILED')),
+    primary key (room_id)
+);
+
+-- Legacy utility shares; UtilityLedgerMigrationJob reads 0 / null as "not recorded"
+ALTER TABLE utility_entity ADD COLUMN IF NOT EXISTS bill_id uuid;
+ALTER TABLE utility_entity ADD COLUMN IF NOT EXISTS total_price float(53) NOT NULL DEFAULT 0;
+ALTER TABLE utility_entity ADD COLUMN IF NOT EXISTS split_percentage float(53) NOT NULL DEFAULT 0;
+
+-- Counters that back the room and membership caps
+ALTER TABLE room ADD COLUMN IF NOT EXISTS member_count integer NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS room_count integer NOT NULL DEFAULT 0;
+
+-- Duplicate memberships are merged into the earliest join before the unique index is built: every row that
+-- points at a duplicate is moved to the kept membership first
+CREATE VIEW room_member_duplicate AS
+SELECT rm.id AS duplicate_id,
+       (SELECT kept.id FROM room_member kept
+        WHERE kept.room_id = rm.room_id AND kept.user_id = rm.user_id
+        ORDER BY kept.joined_at, kept.id
+        LIMIT 1) AS kept_id
+FROM room_member rm
+WHERE EXISTS (SELECT 1 FROM room_member earlier
+              WHERE earlier.room_id = rm.room_id
+                AND earlier.user_id = rm.user_id
+                AND (earlier.joined_at < rm.joined_at
+                     OR (earlier.joined_at = rm.joined_at AND earlier.id < rm.id)));
+
+UPDATE chore_entity SET room_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = chore_entity.room_member_id)
+WHERE room_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE utility_entity SET room_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = utility_entity.room_member_id)
+WHERE room_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE ledger_entry SET created_by_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = ledger_entry.created_by_member_id)
+WHERE created_by_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE ledger_split SET room_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = ledger_split.room_member_id)
+WHERE room_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE grocery_list SET created_by_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = grocery_list.created_by_member_id)
+WHERE created_by_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE grocery_item SET added_by_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = grocery_item.added_by_member_id)
+WHERE added_by_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+UPDATE grocery_item SET purchased_by_member_id =
+    (SELECT d.kept_id FROM room_member_duplicate d WHERE d.duplicate_id = grocery_item.purchased_by_member_id)
+WHERE purchased_by_member_id IN (SELECT duplicate_id FROM room_member_duplicate);
+
+DELETE FROM room_member WHERE id IN (SELECT duplicate_id FROM room_member_duplicate);
+
+DROP VIEW room_member_duplicate;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_room_member_room_user ON room_member (room_id, user_id);
+
+-- Backfill the counters from the current memberships
+UPDATE room SET member_count = (SELECT COUNT(*) FROM room_member rm WHERE rm.room_id = room.id);
+UPDATE users SET room_count = (SELECT COUNT(*) FROM room_member rm WHERE rm.user_id = users.id);
@@ -0,0 +1,7 @@
+-- Completed lists whose purchases are not in the ledger yet; cleared by the transaction that posts them.
+-- Lists completed before this column existed were posted (or given up on) already, so they start cleared.
+ALTER TABLE grocery_list ADD COLUMN IF NOT EXISTS ledger_pending boolean NOT NULL DEFAULT false;
+
+-- GroceryListRepository.findLedgerPendingIdsBefore seeks straight to the pending lists in id order
+CREATE INDEX IF NOT EXISTS idx_grocery_list_ledger_pending
+    ON grocery_list (ledger_pending, id);
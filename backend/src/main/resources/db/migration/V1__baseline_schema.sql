@@ -0,0 +1,302 @@
+-- Baseline schema, generated from the JPA entities as Hibernate created it under ddl-auto: update.
+-- Databases that predate Flyway are baselined at this version (spring.flyway.baseline-version) and
+-- start from V2; new databases are built from here.
+
+create sequence addresses_seq start with 1 increment by 50;
+
+create table addresses (
+    id bigint not null,
+    city varchar(255),
+    country varchar(255),
+    postal varchar(255),
+    province varchar(255),
+    street varchar(255),
+    primary key (id)
+);
+
+create table chore_entity (
+    frequency integer not null,
+    is_completed boolean not null,
+    created_at timestamp(6),
+    due_at timestamp(6),
+    last_completed_at timestamp(6),
+    id uuid not null,
+    room_id uuid,
+    room_member_id uuid,
+    chore_frequency_unit_enum varchar(255) check (chore_frequency_unit_enum in ('WEEKLY','BIWEEKLY','MONTHLY')),
+    chore_name varchar(255),
+    primary key (id)
+);
+
+create table event_entity (
+    created timestamp(6),
+    end_time timestamp(6),
+    start_time timestamp(6),
+    updated timestamp(6),
+    user_id bigint,
+    version bigint,
+    id uuid not null,
+    room_id uuid,
+    description varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+create table grocery_item (
+    actual_price numeric(10,2),
+    estimated_price numeric(10,2),
+    is_purchased boolean not null,
+    created_at timestamp(6),
+    purchased_at timestamp(6),
+    added_by_member_id uuid,
+    grocery_list_id uuid not null,
+    id uuid not null,
+    purchased_by_member_id uuid,
+    category varchar(255),
+    name varchar(255) not null,
+    notes varchar(255),
+    quantity varchar(255),
+    primary key (id)
+);
+
+create table grocery_list (
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    created_by_member_id uuid,
+    id uuid not null,
+    room_id uuid not null,
+    name varchar(255) not null,
+    status varchar(255) not null check (status in ('ACTIVE','COMPLETED','ARCHIVED')),
+    primary key (id)
+);
+
+create table id_block (
+    next_value bigint not null,
+    name varchar(255) not null,
+    primary key (name)
+);
+
+create table job_checkpoint (
+    completed boolean not null,
+    processed_rows bigint not null,
+    updated_at timestamp(6),
+    written_rows bigint not null,
+    job_name varchar(255) not null,
+    last_processed_key varchar(255),
+    primary key (job_name)
+);
+
+create table ledger_entry (
+    due_date date,
+    total_amount numeric(10,2) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    created_by_member_id uuid,
+    id uuid not null,
+    room_id uuid not null,
+    description varchar(1000),
+    entry_type varchar(255) not null check (entry_type in ('RENT','UTILITY','INTERNET','SHARED_EXPENSE','GROCERY','OTHER')),
+    split_type varchar(255) not null check (split_type in ('EQUAL','PERCENTAGE','FIXED_AMOUNT','BY_ROOM')),
+    status varchar(255) not null check (status in ('PENDING','APPROVED','PARTIALLY_PAID','PAID','CANCELLED')),
+    title varchar(255) not null,
+    primary key (id)
+);
+
+create table ledger_split (
+    amount_owed numeric(10,2) not null,
+    amount_paid numeric(10,2) not null,
+    paid_at timestamp(6),
+    id uuid not null,
+    ledger_entry_id uuid not null,
+    room_member_id uuid not null,
+    notes varchar(500),
+    payment_status varchar(255) not null check (payment_status in ('UNPAID','PARTIAL','PAID')),
+    primary key (id)
+);
+
+create table roles (
+    id bigint generated by default as identity,
+    name varchar(255) unique,
+    primary key (id)
+);
+
+create table room (
+    member_count integer default 0 not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    id uuid not null,
+    address varchar(255) not null,
+    description varchar(255),
+    head_roommate_id varchar(255) not null,
+    name varchar(255),
+    room_code varchar(255) not null unique,
+    primary key (id)
+);
+
+create table room_member (
+    joined_at timestamp(6) not null,
+    updated_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    room_id uuid not null,
+    role varchar(255) not null check (role in ('LANDLORD','HEAD_ROOMMATE','ROOMMATE','ASSISTANT','GUEST')),
+    primary key (id),
+    constraint uk_room_member_room_user unique (room_id, user_id)
+);
+
+create table room_teardown (
+    completed_at timestamp(6),
+    deleted_rows bigint not null,
+    started_at timestamp(6) not null,
+    updated_at timestamp(6),
+    room_id uuid not null,
+    current_step varchar(255),
+    requested_by varchar(255) not null,
+    status varchar(255) not null check (status in ('RUNNING','COMPLETED','FAILED')),
+    primary key (room_id)
+);
+
+create table users (
+    enabled boolean not null,
+    room_count integer default 0 not null,
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table users_roles (
+    roles_id bigint not null,
+    user_entity_id bigint not null,
+    primary key (roles_id, user_entity_id)
+);
+
+create table utility_entity (
+    is_completed boolean not null,
+    split_percentage float(53) not null,
+    total_price float(53) not null,
+    utility_price float(53) not null,
+    created_at timestamp(6),
+    due_at timestamp(6),
+    last_completed_at timestamp(6),
+    bill_id uuid,
+    id uuid not null,
+    room_id uuid,
+    room_member_id uuid,
+    chore_frequency_unit_enum varchar(255) check (chore_frequency_unit_enum in ('WEEKLY','BIWEEKLY','MONTHLY')),
+    description varchar(255),
+    util_distribution_enum varchar(255) check (util_distribution_enum in ('EQUALSPLIT','CUSTOMSPLIT')),
+    utility_name varchar(255),
+    primary key (id)
+);
+
+create table verification_token_entity (
+    expiry_date timestamp(6),
+    id bigint generated by default as identity,
+    user_id bigint not null unique,
+    token varchar(255),
+    primary key (id)
+);
+
+alter table if exists chore_entity
+   add constraint FKhs5w84igwa8wyvdby5y86wqg1
+   foreign key (room_member_id)
+   references room_member;
+
+alter table if exists chore_entity
+   add constraint FKoqirbmr63o8l9ugblhrrc40om
+   foreign key (room_id)
+   references room;
+
+alter table if exists event_entity
+   add constraint FK8agka8booiatexw1blxe32n6m
+   foreign key (room_id)
+   references room;
+
+alter table if exists event_entity
+   add constraint FKotp93jqvjg4g9a4kadqlq6hx5
+   foreign key (user_id)
+   references users;
+
+alter table if exists grocery_item
+   add constraint FKqtn4nv26lnot9v4vg7ef2chy5
+   foreign key (added_by_member_id)
+   references room_member;
+
+alter table if exists grocery_item
+   add constraint FKf6bc3g3y0u08sg5lsku5yrtit
+   foreign key (grocery_list_id)
+   references grocery_list;
+
+alter table if exists grocery_item
+   add constraint FKr7naapdbucua78kr52jqiajoc
+   foreign key (purchased_by_member_id)
+   references room_member;
+
+alter table if exists grocery_list
+   add constraint FKdyt32e9gsrpkspdlpohjh5w4s
+   foreign key (created_by_member_id)
+   references room_member;
+
+alter table if exists grocery_list
+   add constraint FKcjtaew2xi5al32w6mug5bm506
+   foreign key (room_id)
+   references room;
+
+alter table if exists ledger_entry
+   add constraint FKabc95vgjjtor781jewp0p1pqp
+   foreign key (created_by_member_id)
+   references room_member;
+
+alter table if exists ledger_entry
+   add constraint FK2aaeddmlvqvdm1dcuhpe5033b
+   foreign key (room_id)
+   references room;
+
+alter table if exists ledger_split
+   add constraint FK9ybe7awdwm7onqny89xelwa9i
+   foreign key (ledger_entry_id)
+   references ledger_entry;
+
+alter table if exists ledger_split
+   add constraint FK7vib18jafoay03b9f3ivgvxum
+   foreign key (room_member_id)
+   references room_member;
+
+alter table if exists room_member
+   add constraint FKlmp67erahqx7u5shbkc12p0lw
+   foreign key (room_id)
+   references room;
+
+alter table if exists room_member
+   add constraint FK1d9bddturxgt7hws5r59wirw8
+   foreign key (user_id)
+   references users;
+
+alter table if exists users_roles
+   add constraint FKa62j07k5mhgifpp955h37ponj
+   foreign key (roles_id)
+   references roles;
+
+alter table if exists users_roles
+   add constraint FK7v417qhe0i2m9h8njggvciv00
+   foreign key (user_entity_id)
+   references users;
+
+alter table if exists utility_entity
+   add constraint FKjdadq3mokpr0shy1g17rim7iu
+   foreign key (room_member_id)
+   references room_member;
+
+alter table if exists utility_entity
+   add constraint FKkm6hqvbvf4u9jxs3ykpadyc4u
+   foreign key (room_id)
+   references room;
+
+alter table if exists verification_token_entity
+   add constraint FKsvq93at6cmk8quu489axdv1la
+   foreign key (user_id)
+   references users;
@@ -0,0 +1,65 @@
+-- Indexes for the repository lookups on the request path. Built CONCURRENTLY so existing databases keep
+-- taking writes while they build (see the .conf next to this file). The plain composite indexes are
+-- also declared on the entities; the partial ones only exist here.
+
+-- ledger_split: a member's splits by status (LedgerSplitRepository.findUnpaidByMemberId,
+-- calculateOutstandingBalance, summarizeByMemberIds) and an entry's splits (findByLedgerEntryId)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_split_member_status
+    ON ledger_split (room_member_id, payment_status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_split_entry
+    ON ledger_split (ledger_entry_id);
+-- Outstanding balances only ever read unpaid splits, which stay a small slice of the history
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_split_member_unpaid
+    ON ledger_split (room_member_id) INCLUDE (amount_owed, amount_paid)
+    WHERE payment_status <> 'PAID';
+
+-- ledger_entry: findByRoomIdAndStatusOrderByCreatedAtDesc, countByRoomIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_entry_room_status_created
+    ON ledger_entry (room_id, status, created_at);
+-- findActiveByRoomIdAndEntryType, findUnpaidByRoomIdAndEntryType
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_entry_room_type
+    ON ledger_entry (room_id, entry_type);
+-- findActiveByRoomId: newest first, cancelled entries never read
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ledger_entry_room_active_created
+    ON ledger_entry (room_id, created_at DESC)
+    WHERE status <> 'CANCELLED';
+
+-- room_member: (room_id, user_id) is covered by uk_room_member_room_user; memberships by user
+-- (findAllByUserId, findAllByUserEmailWithRoom, findRoomRowsByMemberEmail)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_room_member_user
+    ON room_member (user_id);
+
+-- chore_entity: findByRoomAndDueAtAfter, findByRoomWithMemberAndUser, findAllByRoomMemberIds
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chore_room_due
+    ON chore_entity (room_id, due_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chore_member
+    ON chore_entity (room_member_id);
+
+-- grocery_item: findByGroceryListIdAndIsPurchasedFalse/True, countByGroceryListIdAndIsPurchasedFalse,
+-- findByGroceryListIdOrderByCreatedAtDesc, findByAddedById
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grocery_item_list_purchased
+    ON grocery_item (grocery_list_id, is_purchased);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grocery_item_list_created
+    ON grocery_item (grocery_list_id, created_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grocery_item_added_by
+    ON grocery_item (added_by_member_id);
+
+-- grocery_list: findByRoomIdAndStatus, countByRoomIdAndStatus, findByRoomIdOrderByCreatedAtDesc
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grocery_list_room_status_created
+    ON grocery_list (room_id, status, created_at);
+-- findActiveByRoomId: archived lists are never read here
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grocery_list_room_open_created
+    ON grocery_list (room_id, created_at DESC)
+    WHERE status <> 'ARCHIVED';
+
+-- event_entity: getAllEventsForUserRooms, getAllEventsForUserRoom, findAllByRoomIdsWithRoomAndUser
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_room
+    ON event_entity (room_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_user
+    ON event_entity (user_id);
+
+-- utility_entity: findByRoomId, findByRoomIdAndMemberId, findAllByRoomMemberIds
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_utility_room
+    ON utility_entity (room_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_utility_member
+    ON utility_entity (room_member_id);
@@ -0,0 +1,9 @@
+-- users.id moves from an identity column to users_seq so Hibernate can batch user inserts.
+-- Hibernate takes a block of 50 ids per nextval (pooled-lo); the column default takes one value per row,
+-- which skips the rest of that block, so both can insert without colliding.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
@@ -0,0 +1,2 @@
+-- Bumped on every item change so live clients can tell which deltas they have missed.
+ALTER TABLE grocery_list ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -1,2 +0,0 @@
--- Add version column to event_entity table for optimistic locking
-ALTER TABLE event_entity ADD COLUMN version BIGINT DEFAULT 0; 
\ No newline at end of file
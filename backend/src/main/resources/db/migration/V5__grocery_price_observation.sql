@@ -0,0 +1,16 @@
+-- Prices paid per room and normalized item name. Append-only, and deliberately not tied to grocery_item
+-- so the history survives lists being archived or deleted.
+CREATE TABLE IF NOT EXISTS grocery_price_observation (
+    price numeric(10,2) not null,
+    observed_at timestamp(6) not null,
+    grocery_item_id uuid,
+    id uuid not null,
+    room_id uuid not null,
+    item_key varchar(255) not null,
+    item_name varchar(255) not null,
+    primary key (id)
+);
+
+-- Builds a room's running price stats: GROUP BY item_key and the latest price per key
+CREATE INDEX IF NOT EXISTS idx_grocery_price_room_item_observed
+    ON grocery_price_observation (room_id, item_key, observed_at);
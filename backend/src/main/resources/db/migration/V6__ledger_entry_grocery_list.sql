@@ -0,0 +1,6 @@
+-- Ledger entries posted from a completed grocery list, one per purchaser. The unique index makes posting
+-- a list idempotent even when two posts race.
+ALTER TABLE ledger_entry ADD COLUMN IF NOT EXISTS grocery_list_id uuid;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_ledger_entry_grocery_list_member
+    ON ledger_entry (grocery_list_id, created_by_member_id);
@@ -0,0 +1,24 @@
+-- When a list was archived, so compaction can tell how long it has been cold. Lists archived before this
+-- column existed fall back to completed_at / created_at.
+ALTER TABLE grocery_list ADD COLUMN IF NOT EXISTS archived_at timestamp(6);
+
+CREATE INDEX IF NOT EXISTS idx_grocery_list_status_archived
+    ON grocery_list (status, archived_at);
+
+-- Archived lists compacted out of grocery_list and grocery_item, one JSON document per list
+CREATE TABLE IF NOT EXISTS grocery_list_archive (
+    item_count integer not null,
+    total_spent numeric(10,2) not null,
+    archived_at timestamp(6),
+    compacted_at timestamp(6) not null,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    list_id uuid not null,
+    room_id uuid not null,
+    name varchar(255) not null,
+    payload text not null,
+    primary key (list_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_grocery_list_archive_room_created
+    ON grocery_list_archive (room_id, created_at);
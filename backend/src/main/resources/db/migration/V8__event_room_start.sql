@@ -0,0 +1,5 @@
+-- Calendar range reads (EventRepository.findRowsForUserBetween) seek by room and start time. The old
+-- room_id index is a prefix of the new one, so it is dropped once the new one exists.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_event_room_start
+    ON event_entity (room_id, start_time);
+DROP INDEX CONCURRENTLY IF EXISTS idx_event_room;
@@ -0,0 +1,25 @@
+-- Recurring events: the RRULE and the end of its last occurrence (null while the rule never ends), so range
+-- reads can skip series that finished before the window
+ALTER TABLE event_entity ADD COLUMN IF NOT EXISTS recurrence_rule varchar(255);
+ALTER TABLE event_entity ADD COLUMN IF NOT EXISTS recurrence_end timestamp(6);
+
+-- Sparse exceptions: one row per moved, retitled or cancelled occurrence
+CREATE TABLE IF NOT EXISTS event_occurrence_override (
+    cancelled boolean not null,
+    end_time timestamp(6) not null,
+    original_start timestamp(6) not null,
+    start_time timestamp(6) not null,
+    event_id uuid not null,
+    id uuid not null,
+    description varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_event_override_event_start
+    ON event_occurrence_override (event_id, original_start);
+
+ALTER TABLE IF EXISTS event_occurrence_override
+    ADD CONSTRAINT fk_event_override_event
+    FOREIGN KEY (event_id)
+    REFERENCES event_entity;
@@ -0,0 +1,153 @@
+package com.example.demo.repositoryTest;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Databases created before Flyway are baselined and skip V1. This builds the schema Hibernate created for the
+ * entities back then, fills it, and runs the migrations after the baseline against it. V2-V10 need Postgres
+ * (CONCURRENTLY, sequences), so the database is baselined at V10 and only the catch-up migration runs.
+ */
+public class PreFlywayMigrationTest {
+    private static final String[] PRE_FLYWAY_SCHEMA = {
+            "create table users (enabled boolean not null, id bigint generated by default as identity, " +
+                    "email varchar(255) not null unique, first_name varchar(255), primary key (id))",
+            "create table room (created_at timestamp(6) not null, id uuid not null, address varchar(255) not null, " +
+                    "head_roommate_id varchar(255) not null, room_code varchar(255) not null unique, primary key (id))",
+            "create table room_member (joined_at timestamp(6) not null, user_id bigint not null references users, " +
+                    "id uuid not null, room_id uuid not null references room, role varchar(255) not null, primary key (id))",
+            "create table chore_entity (frequency integer not null, is_completed boolean not null, id uuid not null, " +
+                    "room_id uuid references room, room_member_id uuid references room_member, primary key (id))",
+            "create table utility_entity (is_completed boolean not null, utility_price float(53) not null, " +
+                    "id uuid not null, room_id uuid references room, room_member_id uuid references room_member, " +
+                    "primary key (id))",
+            "create table ledger_entry (total_amount numeric(10,2) not null, created_by_member_id uuid references room_member, " +
+                    "id uuid not null, room_id uuid not null references room, primary key (id))",
+            "create table ledger_split (amount_owed numeric(10,2) not null, id uuid not null, " +
+                    "ledger_entry_id uuid not null references ledger_entry, " +
+                    "room_member_id uuid not null references room_member, primary key (id))",
+            "create table grocery_list (created_by_member_id uuid references room_member, id uuid not null, " +
+                    "room_id uuid not null references room, primary key (id))",
+            "create table grocery_item (added_by_member_id uuid references room_member, grocery_list_id uuid not null " +
+                    "references grocery_list, id uuid not null, purchased_by_member_id uuid references room_member, " +
+                    "primary key (id))"
+    };
+
+    private JdbcTemplate jdbc;
+    private Flyway flyway;
+
+    @BeforeEach
+    void createPreFlywayDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:pre-flyway-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.batchUpdate(PRE_FLYWAY_SCHEMA);
+        flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("10")
+                .load();
+    }
+
+    @Test
+    void catchUpMigrationAddsTheMissingSchemaAndMergesDuplicateMemberships() {
+        long user = user("dup");
+        UUID room = room();
+        UUID kept = member(room, user, LocalDateTime.of(2024, 1, 1, 0, 0));
+        UUID duplicate = member(room, user, LocalDateTime.of(2024, 2, 1, 0, 0));
+        UUID chore = UUID.randomUUID();
+        jdbc.update("insert into chore_entity (frequency, is_completed, id, room_id, room_member_id) values (1, false, ?, ?, ?)",
+                chore, room, duplicate);
+        UUID entry = UUID.randomUUID();
+        jdbc.update("insert into ledger_entry (total_amount, created_by_member_id, id, room_id) values (10, ?, ?, ?)",
+                duplicate, entry, room);
+        jdbc.update("insert into ledger_split (amount_owed, id, ledger_entry_id, room_member_id) values (10, ?, ?, ?)",
+                UUID.randomUUID(), entry, duplicate);
+        UUID utility = UUID.randomUUID();
+        jdbc.update("insert into utility_entity (is_completed, utility_price, id, room_id, room_member_id) values (false, 30, ?, ?, ?)",
+                utility, room, kept);
+
+        flyway.migrate();
+
+        assertThat(jdbc.queryForList("select id from room_member", UUID.class)).containsExactly(kept);
+        assertThat(jdbc.queryForObject("select room_member_id from chore_entity", UUID.class)).isEqualTo(kept);
+        assertThat(jdbc.queryForObject("select created_by_member_id from ledger_entry", UUID.class)).isEqualTo(kept);
+        assertThat(jdbc.queryForObject("select room_member_id from ledger_split", UUID.class)).isEqualTo(kept);
+        assertThat(jdbc.queryForMap("select bill_id, total_price, split_percentage from utility_entity"))
+                .containsEntry("bill_id", null)
+                .containsEntry("total_price", 0.0)
+                .containsEntry("split_percentage", 0.0);
+        for (String table : new String[]{"id_block", "job_checkpoint", "room_teardown"}) {
+            assertThat(jdbc.queryForObject("select count(*) from " + table, Long.class)).as(table).isZero();
+        }
+        assertThatThrownBy(() -> member(room, user, LocalDateTime.now()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void countersAreBackfilledFromTheExistingMemberships() {
+        long alice = user("alice");
+        long bob = user("bob");
+        long carol = user("carol");
+        long loner = user("loner");
+        UUID full = room();
+        UUID pair = room();
+        UUID empty = room();
+        member(full, alice, LocalDateTime.of(2024, 1, 1, 0, 0));
+        member(full, bob, LocalDateTime.of(2024, 1, 2, 0, 0));
+        member(full, carol, LocalDateTime.of(2024, 1, 3, 0, 0));
+        member(pair, alice, LocalDateTime.of(2024, 1, 4, 0, 0));
+        member(pair, bob, LocalDateTime.of(2024, 1, 5, 0, 0));
+        // A duplicate is merged away before counting
+        member(pair, bob, LocalDateTime.of(2024, 1, 6, 0, 0));
+
+        flyway.migrate();
+
+        assertThat(memberCount(full)).isEqualTo(3);
+        assertThat(memberCount(pair)).isEqualTo(2);
+        assertThat(memberCount(empty)).isZero();
+        assertThat(roomCount(alice)).isEqualTo(2);
+        assertThat(roomCount(bob)).isEqualTo(2);
+        assertThat(roomCount(carol)).isEqualTo(1);
+        assertThat(roomCount(loner)).isZero();
+    }
+
+    private int memberCount(UUID room) {
+        return jdbc.queryForObject("select member_count from room where id = ?", Integer.class, room);
+    }
+
+    private int roomCount(long user) {
+        return jdbc.queryForObject("select room_count from users where id = ?", Integer.class, user);
+    }
+
+    private long user(String name) {
+        jdbc.update("insert into users (enabled, email, first_name) values (true, ?, ?)", name + "@migration.test", name);
+        return jdbc.queryForObject("select id from users where email = ?", Long.class, name + "@migration.test");
+    }
+
+    private UUID room() {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into room (created_at, id, address, head_roommate_id, room_code) values (?, ?, '1 Test St', 'head', ?)",
+                Timestamp.valueOf(LocalDateTime.now()), id, id.toString().substring(0, 8));
+        return id;
+    }
+
+    private UUID member(UUID room, long user, LocalDateTime joinedAt) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("insert into room_member (joined_at, user_id, id, room_id, role) values (?, ?, ?, ?, 'ROOMMATE')",
+                Timestamp.valueOf(joinedAt), user, id, room);
+        return id;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.demo.repositoryTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.entities.grocery.GroceryListStatus;
+import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.repository.CalendarFeedRepository;
+import com.roomate.app.repository.ChoreRepository;
+import com.roomate.app.repository.EventRepository;
+import com.roomate.app.repository.GroceryItemRepository;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.LedgerSplitRepository;
+import com.roomate.app.repository.RoomMemberRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UtilityRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each hot repository method, captures the SQL Hibernate sends for it and fails if EXPLAIN shows a
+ * full table scan, so the check follows the queries as they are actually generated.
+ *
+ * On H2 the plans come from the indexes declared on the entities and the ones H2 adds for foreign keys,
+ * so it mostly guards against queries that no index can serve. Pointing the test at Postgres 16+
+ * (spring.datasource.* on the command line, schema from the Flyway migrations) also covers the partial
+ * indexes; there the generic plan is explained with sequential scans switched off, so tiny test tables
+ * still show the index choice.
+ */
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@Import(QueryPlanTest.StatementCapture.class)
+public class QueryPlanTest {
+    private static final Pattern H2_SCAN = Pattern.compile("(\\w+)\\.tableScan");
+    private static final Pattern POSTGRES_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LedgerSplitRepository ledgerSplitRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UtilityRepository utilityRepository;
+    @Autowired
+    private CalendarFeedRepository calendarFeedRepository;
+    @Autowired
+    private GroceryItemRepository groceryItemRepository;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+
+    private boolean postgres;
+    private final UUID roomId = UUID.randomUUID();
+    private final UUID memberId = UUID.randomUUID();
+    private final UUID listId = UUID.randomUUID();
+    private final List<UUID> memberIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    @BeforeEach
+    void detectDatabase() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        }
+    }
+
+    @Test
+    void ledgerQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("LedgerSplitRepository.findUnpaidByMemberId", () -> ledgerSplitRepository.findUnpaidByMemberId(memberId));
+        queries.put("LedgerSplitRepository.findByLedgerEntryId", () -> ledgerSplitRepository.findByLedgerEntryId(UUID.randomUUID()));
+        queries.put("LedgerSplitRepository.summarizeByMemberIds", () -> ledgerSplitRepository.summarizeByMemberIds(memberIds));
+        queries.put("LedgerSplitRepository.findActiveByRoomIdAndEntryType",
+                () -> ledgerSplitRepository.findActiveByRoomIdAndEntryType(roomId, LedgerEntryType.UTILITY));
+        queries.put("LedgerEntryRepository.findByRoomIdAndStatusOrderByCreatedAtDesc",
+                () -> ledgerEntryRepository.findByRoomIdAndStatusOrderByCreatedAtDesc(roomId, LedgerEntryStatus.PENDING));
+        queries.put("LedgerEntryRepository.findActiveByRoomId", () -> ledgerEntryRepository.findActiveByRoomId(roomId));
+
+        assertNoTableScans(queries);
+    }
+
+    @Test
+    void roomAndChoreQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("RoomMemberRepository.findByRoomIdAndUserId", () -> roomMemberRepository.findByRoomIdAndUserId(roomId, 1L));
+        queries.put("RoomMemberRepository.findAllByUserId", () -> roomMemberRepository.findAllByUserId(1L));
+        queries.put("ChoreRepository.findByRoomAndDueAtAfter",
+                () -> choreRepository.findByRoomAndDueAtAfter(roomRepository.getReferenceById(roomId), LocalDateTime.now()));
+        queries.put("ChoreRepository.findAllByRoomMemberIdsWithRoom", () -> choreRepository.findAllByRoomMemberIdsWithRoom(memberIds));
+        queries.put("EventRepository.findRowsForUserBetween",
+                () -> eventRepository.findRowsForUserBetween("plan@test", LocalDateTime.now(), LocalDateTime.now().plusDays(30)));
+        queries.put("UtilityRepository.findByRoomIdAndMemberId", () -> utilityRepository.findByRoomIdAndMemberId(roomId, memberId));
+        queries.put("CalendarFeedRepository.findByToken", () -> calendarFeedRepository.findByToken("feed-token"));
+        queries.put("CalendarFeedRepository.lockRoomFeedIds", () -> calendarFeedRepository.lockRoomFeedIds(roomId));
+        queries.put("CalendarFeedRepository.bumpFeeds", () -> calendarFeedRepository.bumpFeeds(memberIds));
+
+        assertNoTableScans(queries);
+    }
+
+    @Test
+    void groceryQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("GroceryItemRepository.findByGroceryListIdAndIsPurchasedFalse",
+                () -> groceryItemRepository.findByGroceryListIdAndIsPurchasedFalse(listId));
+        queries.put("GroceryItemRepository.findByGroceryListIdOrderByCreatedAtDesc",
+                () -> groceryItemRepository.findByGroceryListIdOrderByCreatedAtDesc(listId));
+        queries.put("GroceryListRepository.findByRoomIdOrderByCreatedAtDesc", () -> groceryListRepository.findByRoomIdOrderByCreatedAtDesc(roomId));
+        queries.put("GroceryListRepository.findActiveByRoomId", () -> groceryListRepository.findActiveByRoomId(roomId));
+        queries.put("GroceryListRepository.countByRoomIdAndStatus",
+                () -> groceryListRepository.countByRoomIdAndStatus(roomId, GroceryListStatus.ACTIVE));
+
+        assertNoTableScans(queries);
+    }
+
+    private void assertNoTableScans(Map<String, Runnable> queries) {
+        List<String> failures = new ArrayList<>();
+        queries.forEach((query, call) -> {
+            List<String> statements = capture(call);
+            assertThat(statements).as(query + " sent no SQL").isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                Set<String> scanned = scannedTables(plan);
+                if (!scanned.isEmpty()) {
+                    failures.add(query + " scans " + scanned + ":\n" + sql + "\n" + plan);
+                }
+            }
+        });
+        assertThat(failures).isEmpty();
+    }
+
+    // Runs the call in a transaction that is rolled back, so modifying queries leave nothing behind
+    private List<String> capture(Runnable call) {
+        return statementInspector.capture(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        }));
+    }
+
+    private String explain(String sql) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            List<String> lines;
+            if (postgres) {
+                // Local to this transaction; without it the planner rightly scans tables this small
+                jdbc.execute("SET LOCAL enable_seqscan = off");
+                // A generic plan needs no values, so the parameters are left unbound as $1, $2, ...
+                lines = jdbc.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class);
+            } else {
+                // H2 plans when the statement is prepared; the values bound do not change it
+                lines = jdbc.query("EXPLAIN " + sql, statement -> {
+                    int count = statement.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= count; i++) {
+                        statement.setNull(i, Types.NULL);
+                    }
+                }, (row, rowNum) -> row.getString(1));
+            }
+            status.setRollbackOnly();
+            return String.join("\n", lines);
+        });
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private Set<String> scannedTables(String plan) {
+        Matcher matcher = (postgres ? POSTGRES_SCAN : H2_SCAN).matcher(plan);
+        Set<String> tables = new LinkedHashSet<>();
+        while (matcher.find()) {
+            tables.add(matcher.group(1).toLowerCase());
+        }
+        return tables;
+    }
+
+    /**
+     * Records the SQL Hibernate prepares on the capturing thread; scheduled jobs running meanwhile are ignored.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        List<String> capture(Runnable call) {
+            captured.set(new ArrayList<>());
+            try {
+                call.run();
+                return captured.get();
+            } finally {
+                captured.remove();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
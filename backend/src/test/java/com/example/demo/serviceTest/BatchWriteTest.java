@@ -0,0 +1,268 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.ChoreCreateDto;
+import com.roomate.app.dto.UtilityCreateDto;
+import com.roomate.app.entities.ChoreFrequencyUnitEnum;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.UtilDistributionEnum;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.ChoreService;
+import com.roomate.app.service.LedgerService;
+import com.roomate.app.service.RoomService;
+import com.roomate.app.service.UtilityService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the bulk write paths with JDBC batching switched off (batch size 1 on the session) and with the
+ * configured batch size. The DataSource is wrapped to count what reaches the driver: statements are
+ * every SQL statement executed, round trips are the execute calls, where one executeBatch carries a
+ * whole batch.
+ */
+@ServiceTest
+@Import(BatchWriteTest.CountingDataSourceConfig.class)
+public class BatchWriteTest {
+    private static final Logger logger = LoggerFactory.getLogger(BatchWriteTest.class);
+    private static final int ROOMMATES = 8;
+    private static final int BULK_USERS = 20;
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                            ? new CountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ChoreService choreService;
+    @Autowired
+    private UtilityService utilityService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private final Map<String, Measurement[]> results = new LinkedHashMap<>();
+    private UserEntity head;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        head = saveUser("head");
+        room = new RoomEntity("Batch Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, head, RoomMemberEnum.HEAD_ROOMMATE));
+        for (int i = 1; i < ROOMMATES; i++) {
+            room.getMembers().add(new RoomMemberEntity(room, saveUser("mate" + i), RoomMemberEnum.ROOMMATE));
+        }
+        room = roomRepository.save(room);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void bulkWritesShareRoundTrips() {
+        ChoreCreateDto chore = new ChoreCreateDto();
+        chore.setChoreName("Trash");
+        chore.setFrequency(1);
+        chore.setFrequencyUnit(ChoreFrequencyUnitEnum.WEEKLY);
+        chore.setDeadline(LocalDateTime.now().plusMonths(6));
+        compare("distributeChores", () -> choreService.distributeChores(room.getId(), chore, head.getEmail()));
+
+        // Hand every chore to the head first, otherwise the second pass finds nothing to reassign
+        compare("redistributeChores", () -> {
+            jdbc.update("UPDATE chore_entity SET room_member_id = :memberId WHERE room_id = :roomId",
+                    new MapSqlParameterSource("memberId", room.getMembers().get(0).getId()).addValue("roomId", room.getId()));
+            choreService.redistributeChores(room.getId(), head.getEmail());
+        });
+
+        UtilityCreateDto utility = new UtilityCreateDto();
+        utility.setUtilityName("Hydro");
+        utility.setUtilityPrice(100.01);
+        utility.setUtilDistributionEnum(UtilDistributionEnum.EQUALSPLIT);
+        utility.setRoomId(room.getId());
+        compare("createUtility", () -> utilityService.createUtility(utility, head.getEmail()));
+
+        RoomMemberEntity creator = room.getMembers().get(0);
+        LedgerEntryEntity entry = ledgerEntryRepository.save(new LedgerEntryEntity(room, creator, "Groceries",
+                LedgerEntryType.GROCERY, new BigDecimal("80.05"), SplitType.EQUAL));
+        compare("calculateEqualSplits", () -> ledgerService.calculateEqualSplits(entry.getId(), head.getEmail()));
+
+        compare("saveAll(users)", () -> {
+            List<UserEntity> batch = new ArrayList<>();
+            for (int i = 0; i < BULK_USERS; i++) {
+                batch.add(newUser("bulk" + i));
+            }
+            users.addAll(userRepository.saveAll(batch));
+        });
+
+        results.forEach((operation, pair) -> logger.debug("{}: {} statements in {} round trips unbatched, {} in {} batched",
+                operation, pair[0].statements(), pair[0].roundTrips(), pair[1].statements(), pair[1].roundTrips()));
+
+        results.forEach((operation, pair) -> {
+            assertThat(pair[0].roundTrips()).as(operation).isEqualTo(pair[0].statements());
+            assertThat(pair[1].roundTrips()).as(operation).isLessThan(pair[0].roundTrips());
+        });
+        // One sequence call covers the whole block of ids, so the users land in a handful of round trips
+        assertThat(results.get("saveAll(users)")[1].roundTrips()).isLessThanOrEqualTo(3);
+    }
+
+    // EFFECTS : Runs the operation unbatched and then batched, each in its own transaction, and records both.
+    //           The two runs see different data (the second one adds to the first), so only round trips compare.
+    private void compare(String operation, Runnable action) {
+        results.put(operation, new Measurement[]{measure(action, 1), measure(action, null)});
+    }
+
+    private Measurement measure(Runnable action, Integer batchSize) {
+        CountingDataSource counter = (CountingDataSource) dataSource;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            long statements = counter.statements.get();
+            long roundTrips = counter.roundTrips.get();
+            action.run();
+            entityManager.flush();
+            return new Measurement(counter.statements.get() - statements, counter.roundTrips.get() - roundTrips);
+        });
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(newUser(name));
+        users.add(user);
+        return user;
+    }
+
+    private UserEntity newUser(String name) {
+        return new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@batch.test", "555");
+    }
+
+    private record Measurement(long statements, long roundTrips) {
+    }
+
+    /**
+     * Counts the statements and driver round trips issued through every connection it hands out.
+     */
+    static final class CountingDataSource extends DelegatingDataSource {
+        final AtomicLong statements = new AtomicLong();
+        final AtomicLong roundTrips = new AtomicLong();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return result instanceof Statement statement ? wrap(statement) : result;
+            });
+        }
+
+        private Statement wrap(Statement statement) {
+            Class<? extends Statement> type = statement instanceof java.sql.CallableStatement
+                    ? java.sql.CallableStatement.class
+                    : statement instanceof java.sql.PreparedStatement ? java.sql.PreparedStatement.class : Statement.class;
+            return proxy(type, statement, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("addBatch")) {
+                    statements.incrementAndGet();
+                } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                    roundTrips.incrementAndGet();
+                } else if (name.startsWith("execute")) {
+                    statements.incrementAndGet();
+                    roundTrips.incrementAndGet();
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(BatchWriteTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.controller.CalendarController;
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.entities.ChoreEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.ChoreRepository;
+import com.roomate.app.repository.EventRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.CalendarFeedService;
+import com.roomate.app.service.EventService;
+import com.roomate.app.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ServiceTest
+public class CalendarFeedTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @Autowired
+    private CalendarController calendarController;
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private RoomEntity room;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@feed.test", "555"));
+        RoomEntity created = new RoomEntity("Feed Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(created);
+        token = calendarFeedService.getFeed(owner.getEmail()).token();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (roomRepository.existsById(room.getId())) {
+            remove();
+        }
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void feedStreamsEventsChoresAndBills() throws IOException {
+        createEvent("Bins; recycling, too", MONDAY.withHour(19), "FREQ=WEEKLY;COUNT=10");
+        UUID bins = eventRepository.getAllEventsForUserRoom(room.getId(), owner.getEmail()).get(0).getId();
+        eventService.cancelOccurrence(bins, MONDAY.plusDays(7).withHour(19), owner.getEmail());
+        EventDto late = new EventDto();
+        late.setStartTime(MONDAY.plusDays(15).withHour(21));
+        eventService.overrideOccurrence(bins, MONDAY.plusDays(14).withHour(19), late, owner.getEmail());
+        createEvent("A very long house meeting title that certainly needs folding across more than one line", MONDAY, null);
+        chore("Vacuum", MONDAY.plusDays(2).withHour(10));
+        bill("Internet", LocalDate.of(2030, 3, 15));
+
+        String ics = read(calendarController.getFeed(token, null));
+
+        assertThat(ics).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(ics).contains(
+                "UID:" + bins + "@daroommate\r\n",
+                "DTSTART:20300304T190000\r\nDTEND:20300304T200000\r\nRRULE:FREQ=WEEKLY;COUNT=10\r\n",
+                "EXDATE:20300311T190000\r\n",
+                "RECURRENCE-ID:20300318T190000\r\nDTSTART:20300319T210000\r\nDTEND:20300319T220000\r\n",
+                "SUMMARY:Bins\\; recycling\\, too\r\n",
+                "SUMMARY:Chore: Vacuum\r\n",
+                "DTSTART:20300306T100000\r\n",
+                "DTSTART;VALUE=DATE:20300315\r\nDTEND;VALUE=DATE:20300316\r\nSUMMARY:Due: Internet\r\n",
+                "LOCATION:Feed Room\r\n");
+        assertThat(ics.split("\r\n")).allMatch(line -> line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        assertThat(ics).contains("SUMMARY:A very long house meeting title that certainly needs folding across\r\n  more than one line\r\n");
+        assertThat(ics.split("BEGIN:VEVENT", -1)).hasSize(6);
+    }
+
+    @Test
+    void repeatPollsAreAnsweredFromTheFeedRowUntilSomethingChanges() throws IOException {
+        ResponseEntity<StreamingResponseBody> first = calendarController.getFeed(token, null);
+        String etag = first.getHeaders().getETag();
+        assertThat(read(first)).doesNotContain("BEGIN:VEVENT");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResponseEntity<StreamingResponseBody> poll = calendarController.getFeed(token, etag);
+
+        assertThat(poll.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(poll.getBody()).isNull();
+        // Only the feed row; no event, chore or ledger table is read
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(calendarController.getFeed(token, "W/" + etag + ", \"other\"").getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        createEvent("Dinner", MONDAY.withHour(18), null);
+        ResponseEntity<StreamingResponseBody> changed = calendarController.getFeed(token, etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(read(changed)).contains("SUMMARY:Dinner\r\n");
+
+        // Removing the room changes the feed too, and its events leave with it
+        String beforeRemoval = changed.getHeaders().getETag();
+        remove();
+        ResponseEntity<StreamingResponseBody> removed = calendarController.getFeed(token, beforeRemoval);
+        assertThat(removed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(read(removed)).doesNotContain("BEGIN:VEVENT");
+    }
+
+    @Test
+    void rotatingTheTokenRetiresTheOldLink() {
+        String rotated = calendarFeedService.rotateToken(owner.getEmail()).token();
+
+        assertThat(rotated).isNotEqualTo(token);
+        assertThat(calendarFeedService.getFeed(owner.getEmail()).path()).isEqualTo("/calendar/" + rotated + ".ics");
+        assertThat(calendarController.getFeed(token, null).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(calendarController.getFeed(rotated, null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private void createEvent(String title, LocalDateTime start, String rule) {
+        EventDto event = new EventDto();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        event.setRecurrenceRule(rule);
+        eventService.createEventForRoom(event, room.getId(), owner.getEmail());
+    }
+
+    private void chore(String name, LocalDateTime dueAt) {
+        ChoreEntity chore = new ChoreEntity();
+        chore.setChoreName(name);
+        chore.setDueAt(dueAt);
+        chore.setRoom(room);
+        chore.setAssignedToMember(room.getMembers().get(0));
+        choreRepository.save(chore);
+    }
+
+    private void bill(String title, LocalDate dueDate) {
+        LedgerEntryEntity entry = new LedgerEntryEntity(room, room.getMembers().get(0), title, LedgerEntryType.INTERNET,
+                new BigDecimal("60.00"), SplitType.EQUAL);
+        entry.setDueDate(dueDate);
+        entry.getSplits().add(new LedgerSplitEntity(entry, room.getMembers().get(0), new BigDecimal("60.00")));
+        ledgerEntryRepository.save(entry);
+    }
+
+    private static String read(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void remove() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), owner.getEmail());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.dto.dashboard.DashboardDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.DashboardService;
+import com.roomate.app.service.EventService;
+import com.roomate.app.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ServiceTest
+public class DashboardTest {
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@dashboard.test", "555"));
+        RoomEntity created = new RoomEntity("Dashboard Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), owner.getEmail());
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void sectionsShareOneConnectionAndEventsComeFromTheCalendarWindow() {
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atTime(LocalTime.of(19, 0));
+        createEvent("Bins", tomorrow, "FREQ=WEEKLY");
+        createEvent("Last year's party", tomorrow.minusYears(1), null);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        DashboardDto dashboard = dashboardService.getDashboard(owner.getEmail());
+
+        assertThat(statistics.getConnectCount()).isEqualTo(1);
+        assertThat(dashboard.getRooms()).hasSize(1);
+        // The open-ended weekly series is expanded over the window instead of returned as one row
+        assertThat(dashboard.getEvents()).extracting(EventDto::getTitle).containsOnly("Bins");
+        assertThat(dashboard.getEvents()).hasSizeGreaterThan(10)
+                .allMatch(event -> event.getOccurrenceStart() != null);
+    }
+
+    private void createEvent(String title, LocalDateTime start, String rule) {
+        EventDto event = new EventDto();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(1));
+        event.setRecurrenceRule(rule);
+        eventService.createEventForRoom(event, room.getId(), owner.getEmail());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.entities.EventEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.exceptions.EventAPIException;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.EventRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.EventService;
+import com.roomate.app.service.RoomService;
+import com.roomate.app.service.implementation.EventIntervalTree;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ServiceTest
+public class EventCalendarTest {
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 0, 0);
+    private static final int TREE_EVENTS = 20_000;
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private UserEntity outsider;
+    private RoomEntity room;
+    private RoomEntity otherRoom;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@events.test", "555"));
+        outsider = userRepository.save(new UserEntity(null, "outsider", "Test", "out-" + UUID.randomUUID() + "@events.test", "555"));
+        room = room("Event Room", owner);
+        otherRoom = room("Other Room", outsider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        remove(room, owner);
+        remove(otherRoom, outsider);
+        userRepository.deleteAll(List.of(owner, outsider));
+    }
+
+    @Test
+    void rangeReadsOnlyOverlappingEventsInOneQuery() {
+        event(room, owner, "Last week", MONDAY.minusDays(7), MONDAY.minusDays(7).plusHours(1));
+        event(room, owner, "Overnight", MONDAY.minusHours(2), MONDAY.plusHours(2));
+        event(room, owner, "Dinner", MONDAY.plusDays(2).withHour(19), MONDAY.plusDays(2).withHour(21));
+        event(room, owner, "Ends at the start", MONDAY.minusHours(1), MONDAY);
+        event(room, owner, "Next week", MONDAY.plusDays(7), MONDAY.plusDays(7).plusHours(1));
+        event(otherRoom, outsider, "Not my room", MONDAY.plusDays(1), MONDAY.plusDays(1).plusHours(1));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<EventDto> week = eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(7));
+
+        assertThat(week).extracting(EventDto::getTitle).containsExactly("Overnight", "Dinner");
+        assertThat(week.get(1).getRooms().getName()).isEqualTo("Event Room");
+        assertThat(week.get(1).getUser().getEmail()).isEqualTo(owner.getEmail());
+        // Rooms and creators come with the events, not one by one after them
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        assertThatThrownBy(() -> eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY))
+                .isInstanceOf(EventAPIException.class);
+        assertThatThrownBy(() -> eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusYears(2)))
+                .isInstanceOf(EventAPIException.class);
+    }
+
+    @Test
+    void conflictChecksFollowCommittedChanges() {
+        EventEntity dinner = event(room, owner, "Dinner", MONDAY.withHour(18), MONDAY.withHour(20));
+        event(room, owner, "Movie", MONDAY.withHour(20), MONDAY.withHour(22));
+        event(otherRoom, outsider, "Not my room", MONDAY.withHour(19), MONDAY.withHour(21));
+
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.withHour(19), MONDAY.withHour(21), null, owner.getEmail()))
+                .extracting(EventConflictDto::title).containsExactly("Dinner", "Movie");
+        // Back to back is not a conflict
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.withHour(22), MONDAY.withHour(23), null, owner.getEmail()))
+                .isEmpty();
+        // Moving dinner never conflicts with dinner itself
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.withHour(17), MONDAY.withHour(19), dinner.getId(),
+                owner.getEmail())).isEmpty();
+
+        EventDto brunch = new EventDto();
+        brunch.setTitle("Brunch");
+        brunch.setStartTime(MONDAY.withHour(10));
+        brunch.setEndTime(MONDAY.withHour(12));
+        eventService.createEventForRoom(brunch, room.getId(), owner.getEmail());
+
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.withHour(11), MONDAY.withHour(19), null, owner.getEmail()))
+                .extracting(EventConflictDto::title).containsExactly("Brunch", "Dinner");
+        assertThatThrownBy(() -> eventService.findConflicts(room.getId(), MONDAY, MONDAY.plusHours(1), null,
+                outsider.getEmail())).isInstanceOf(UserApiError.class);
+        // Open-ended series are expanded month by month, so the range is capped like a calendar read
+        assertThatThrownBy(() -> eventService.findConflicts(room.getId(), MONDAY, MONDAY.plusYears(2), null,
+                owner.getEmail())).isInstanceOf(EventAPIException.class);
+    }
+
+    @Test
+    void treeFindsExactlyTheOverlapsABruteForceScanFinds() {
+        Random random = new Random(7);
+        List<EventConflictDto> events = new ArrayList<>();
+        for (int i = 0; i < TREE_EVENTS; i++) {
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(365 * 24 * 60));
+            // Mostly short events, with the odd multi-week one
+            int minutes = random.nextInt(50) == 0 ? random.nextInt(30 * 24 * 60) : 15 + random.nextInt(180);
+            events.add(new EventConflictDto(UUID.randomUUID(), "Event " + i, start, start.plusMinutes(minutes)));
+        }
+        EventIntervalTree tree = new EventIntervalTree(events);
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = MONDAY.plusMinutes(random.nextInt(365 * 24 * 60));
+            LocalDateTime end = start.plusMinutes(random.nextInt(6 * 60));
+            List<EventConflictDto> expected = events.stream()
+                    .filter(event -> event.startTime().isBefore(end) && event.endTime().isAfter(start))
+                    .toList();
+
+            assertThat(tree.overlapping(start, end)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private RoomEntity room(String name, UserEntity head) {
+        RoomEntity created = new RoomEntity(name, "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, head, RoomMemberEnum.HEAD_ROOMMATE));
+        return roomRepository.save(created);
+    }
+
+    private EventEntity event(RoomEntity eventRoom, UserEntity user, String title, LocalDateTime start, LocalDateTime end) {
+        EventEntity event = new EventEntity();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(end);
+        event.setRoom(eventRoom);
+        event.setUser(user);
+        event.setCreated(LocalDateTime.now());
+        return eventRepository.save(event);
+    }
+
+    private void remove(RoomEntity removed, UserEntity head) {
+        RoomTestSupport.removeRoom(roomService, removed.getId(), head.getEmail());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.grocery.GroceryItemDto;
+import com.roomate.app.dto.grocery.GroceryListArchivePageDto;
+import com.roomate.app.dto.grocery.GroceryListArchiveSummaryDto;
+import com.roomate.app.dto.grocery.GroceryListDto;
+import com.roomate.app.entities.JobCheckpointEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.grocery.GroceryListStatus;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.jobs.GroceryArchiveCompactionJob;
+import com.roomate.app.repository.GroceryItemRepository;
+import com.roomate.app.repository.GroceryListArchiveRepository;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.JobCheckpointRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ServiceTest
+@TestPropertySource(properties = "app.grocery.archive.chunk-size=1")
+public class GroceryArchiveCompactionTest {
+    @Autowired
+    private GroceryArchiveCompactionJob compactionJob;
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private GroceryItemRepository groceryItemRepository;
+    @Autowired
+    private GroceryListArchiveRepository archiveRepository;
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity owner;
+    private UserEntity outsider;
+    private RoomEntity room;
+    private RoomMemberEntity member;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@archive.test", "555"));
+        outsider = userRepository.save(new UserEntity(null, "outsider", "Test", "out-" + UUID.randomUUID() + "@archive.test", "555"));
+        room = new RoomEntity("Archive Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        member = room.getMembers().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), owner.getEmail());
+        assertThat(archiveRepository.findAll()).noneMatch(archive -> archive.getRoomId().equals(room.getId()));
+        userRepository.deleteAll(List.of(owner, outsider));
+    }
+
+    @Test
+    void coldArchivedListsMoveToTheArchiveAndStayReadable() {
+        // Archived before archived_at was recorded: dated by when it was completed
+        GroceryListEntity legacy = list("Legacy", GroceryListStatus.ARCHIVED, null, LocalDateTime.now().minusDays(200));
+        GroceryListEntity cold = list("Cold", GroceryListStatus.ARCHIVED, LocalDateTime.now().minusDays(100), null);
+        GroceryListEntity recent = list("Recent", GroceryListStatus.ARCHIVED, LocalDateTime.now().minusDays(1), null);
+        GroceryListEntity active = list("Active", GroceryListStatus.ACTIVE, null, null);
+        List<UUID> coldItemIds = cold.getItems().stream().map(GroceryItemEntity::getId).toList();
+
+        assertThat(compactionJob.compact()).isGreaterThanOrEqualTo(2);
+
+        assertThat(groceryListRepository.findById(cold.getId())).isEmpty();
+        assertThat(groceryListRepository.findById(legacy.getId())).isEmpty();
+        assertThat(groceryItemRepository.findAllById(coldItemIds)).isEmpty();
+        assertThat(groceryListRepository.findById(recent.getId())).isPresent();
+        assertThat(groceryListRepository.findById(active.getId())).isPresent();
+
+        // Chunks of one list each, every one checkpointed
+        JobCheckpointEntity checkpoint = checkpointRepository.findById("grocery-archive-compaction").orElseThrow();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getLastProcessedKey()).isNotNull();
+        assertThat(checkpoint.getWrittenRows()).isGreaterThanOrEqualTo(2);
+
+        GroceryListArchivePageDto first = groceryService.getArchivedLists(room.getId(), 0, 1, owner.getEmail());
+        assertThat(first.totalLists()).isEqualTo(2);
+        assertThat(first.totalPages()).isEqualTo(2);
+        assertThat(first.lists()).extracting(GroceryListArchiveSummaryDto::id).containsExactly(cold.getId());
+        assertThat(first.lists().get(0).itemCount()).isEqualTo(2);
+        assertThat(first.lists().get(0).totalSpent()).isEqualByComparingTo("4.50");
+        assertThat(groceryService.getArchivedLists(room.getId(), 1, 1, owner.getEmail()).lists())
+                .extracting(GroceryListArchiveSummaryDto::id).containsExactly(legacy.getId());
+
+        GroceryListDto archived = groceryService.getArchivedList(cold.getId(), owner.getEmail());
+        assertThat(archived.getName()).isEqualTo("Cold");
+        assertThat(archived.getStatus()).isEqualTo(GroceryListStatus.ARCHIVED);
+        assertThat(archived.getCreatedBy().getId()).isEqualTo(member.getId());
+        assertThat(archived.getItems()).extracting(GroceryItemDto::getName).containsExactlyInAnyOrder("Milk", "Jam");
+        assertThat(archived.getItems()).filteredOn(GroceryItemDto::isPurchased).singleElement()
+                .satisfies(item -> assertThat(item.getActualPrice()).isEqualByComparingTo("4.50"));
+
+        // Running again finds nothing left to move for this room
+        compactionJob.compact();
+        assertThat(groceryService.getArchivedLists(room.getId(), 0, 20, owner.getEmail()).totalLists()).isEqualTo(2);
+        assertThat(groceryListRepository.findById(recent.getId())).isPresent();
+    }
+
+    @Test
+    void onlyRoomMembersReadTheArchive() {
+        GroceryListEntity cold = list("Cold", GroceryListStatus.ARCHIVED, LocalDateTime.now().minusDays(100), null);
+        compactionJob.compact();
+
+        assertThatThrownBy(() -> groceryService.getArchivedList(cold.getId(), outsider.getEmail()))
+                .isInstanceOf(UserApiError.class);
+        assertThatThrownBy(() -> groceryService.getArchivedLists(room.getId(), 0, 20, outsider.getEmail()))
+                .isInstanceOf(UserApiError.class);
+        assertThatThrownBy(() -> groceryService.getArchivedList(UUID.randomUUID(), owner.getEmail()))
+                .isInstanceOf(UserApiError.class);
+    }
+
+    // A list with one bought and one unbought item
+    private GroceryListEntity list(String name, GroceryListStatus status, LocalDateTime archivedAt,
+                                   LocalDateTime completedAt) {
+        GroceryListEntity list = new GroceryListEntity(room, name, member);
+        GroceryItemEntity milk = new GroceryItemEntity(list, "Milk", "1", "Dairy", member);
+        milk.markPurchased(member, new BigDecimal("4.50"));
+        list.getItems().add(milk);
+        list.getItems().add(new GroceryItemEntity(list, "Jam", "1", "Spreads", member));
+        list.setStatus(status);
+        list.setArchivedAt(archivedAt);
+        list.setCompletedAt(completedAt);
+        return groceryListRepository.save(list);
+    }
+}
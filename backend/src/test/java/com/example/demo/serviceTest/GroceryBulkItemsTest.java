@@ -0,0 +1,167 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.grocery.GroceryItemBulkEntryDto;
+import com.roomate.app.dto.grocery.GroceryItemBulkRequestDto;
+import com.roomate.app.dto.grocery.GroceryItemBulkResultDto;
+import com.roomate.app.dto.grocery.GroceryItemDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.GroceryItemRepository;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class GroceryBulkItemsTest {
+    private static final int NEW_ITEMS = 40;
+
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private GroceryItemRepository groceryItemRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private RoomEntity room;
+    private GroceryListEntity list;
+    private GroceryListEntity otherList;
+    private GroceryItemEntity milk;
+    private GroceryItemEntity purchased;
+    private GroceryItemEntity elsewhere;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@bulk.test", "555"));
+        room = new RoomEntity("Bulk Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        RoomMemberEntity member = room.getMembers().get(0);
+
+        list = new GroceryListEntity(room, "Weekly", member);
+        list.getItems().add(new GroceryItemEntity(list, "Milk", "1", "Dairy", member));
+        GroceryItemEntity bought = new GroceryItemEntity(list, "Bread", "1", "Bakery", member);
+        bought.markPurchased(member, new BigDecimal("3.00"));
+        list.getItems().add(bought);
+        list = groceryListRepository.save(list);
+        milk = list.getItems().get(0);
+        purchased = list.getItems().get(1);
+
+        otherList = new GroceryListEntity(room, "Party", member);
+        otherList.getItems().add(new GroceryItemEntity(otherList, "Chips", "1", "Snacks", member));
+        otherList = groceryListRepository.save(otherList);
+        elsewhere = otherList.getItems().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        groceryListRepository.deleteAllById(List.of(list.getId(), otherList.getId()));
+        roomRepository.delete(room);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void validBatchIsWrittenInOneTransactionWithBatchedInserts() {
+        List<GroceryItemBulkEntryDto> entries = new ArrayList<>();
+        for (int i = 0; i < NEW_ITEMS; i++) {
+            entries.add(entry(null, "Item " + i));
+        }
+        entries.add(entry(milk.getId(), "Oat milk"));
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        GroceryItemBulkResultDto result = groceryService.bulkUpsertItems(list.getId(),
+                new GroceryItemBulkRequestDto(entries, false), owner.getEmail());
+
+        assertThat(result.errors()).isEmpty();
+        assertThat(result.items()).hasSize(NEW_ITEMS + 1);
+        assertThat(result.items()).extracting(GroceryItemDto::getName).startsWith("Item 0", "Item 1").endsWith("Oat milk");
+        assertThat(result.items()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(NEW_ITEMS);
+        // Reads, the version bump and one batch of inserts; a statement per row would be over 40
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(12);
+        assertThat(groceryItemRepository.findByGroceryListIdOrderByCreatedAtDesc(list.getId())).hasSize(NEW_ITEMS + 2);
+        assertThat(groceryListRepository.findVersionById(list.getId())).contains((long) NEW_ITEMS + 1);
+    }
+
+    @Test
+    void anInvalidEntryRejectsTheWholeBatchByDefault() {
+        GroceryItemBulkResultDto result = groceryService.bulkUpsertItems(list.getId(), new GroceryItemBulkRequestDto(
+                List.of(entry(null, "Eggs"), entry(milk.getId(), "Oat milk"), entry(null, " ")), false), owner.getEmail());
+
+        assertThat(result.rejected()).isTrue();
+        assertThat(result.errors()).extracting(GroceryItemBulkResultDto.ItemError::index).containsExactly(2);
+        assertThat(groceryItemRepository.findByGroceryListIdOrderByCreatedAtDesc(list.getId()))
+                .extracting(GroceryItemEntity::getName).containsExactlyInAnyOrder("Milk", "Bread");
+        assertThat(groceryListRepository.findVersionById(list.getId())).contains(0L);
+    }
+
+    @Test
+    void partialBatchesWriteTheValidEntriesAndReportTheRest() {
+        GroceryItemBulkResultDto result = groceryService.bulkUpsertItems(list.getId(), new GroceryItemBulkRequestDto(
+                List.of(entry(null, "Eggs"),
+                        entry(null, ""),
+                        entry(purchased.getId(), "Rye bread"),
+                        entry(elsewhere.getId(), "Salsa"),
+                        entry(UUID.randomUUID(), "Ghost"),
+                        entry(milk.getId(), "Oat milk"),
+                        entry(milk.getId(), "Soy milk")), true), owner.getEmail());
+
+        assertThat(result.rejected()).isFalse();
+        assertThat(result.items()).extracting(GroceryItemDto::getName).containsExactly("Eggs", "Oat milk");
+        assertThat(result.errors()).extracting(GroceryItemBulkResultDto.ItemError::index).containsExactly(1, 2, 3, 4, 6);
+        assertThat(result.errors().get(1).message()).isEqualTo("Cannot update a purchased item");
+        assertThat(groceryItemRepository.findByGroceryListIdOrderByCreatedAtDesc(list.getId()))
+                .extracting(GroceryItemEntity::getName).containsExactlyInAnyOrder("Oat milk", "Bread", "Eggs");
+        assertThat(groceryItemRepository.findById(elsewhere.getId())).get()
+                .extracting(GroceryItemEntity::getName).isEqualTo("Chips");
+    }
+
+    private GroceryItemBulkEntryDto entry(UUID id, String name) {
+        GroceryItemBulkEntryDto entry = new GroceryItemBulkEntryDto();
+        entry.setId(id);
+        entry.setName(name);
+        entry.setQuantity("1");
+        entry.setCategory("Misc");
+        return entry;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.grocery.GroceryListStatus;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.PaymentStatus;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.jobs.GroceryLedgerSweepJob;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.LedgerService;
+import com.roomate.app.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ServiceTest
+public class GroceryLedgerPostingTest {
+    private static final int BULK_LISTS = 20;
+
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private GroceryLedgerSweepJob groceryLedgerSweepJob;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity head;
+    private UserEntity mate;
+    private UserEntity landlord;
+    private RoomEntity room;
+    private RoomMemberEntity headMember;
+    private RoomMemberEntity mateMember;
+
+    @BeforeEach
+    void setUp() {
+        head = saveUser("head");
+        mate = saveUser("mate");
+        landlord = saveUser("landlord");
+        room = new RoomEntity("Ledger Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, head, RoomMemberEnum.HEAD_ROOMMATE));
+        room.getMembers().add(new RoomMemberEntity(room, mate, RoomMemberEnum.ROOMMATE));
+        room.getMembers().add(new RoomMemberEntity(room, landlord, RoomMemberEnum.LANDLORD));
+        room = roomRepository.save(room);
+        headMember = room.getMembers().get(0);
+        mateMember = room.getMembers().get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+        userRepository.deleteAll(List.of(head, mate, landlord));
+    }
+
+    @Test
+    void completingAListPostsOneEntryPerPurchaserOnce() throws InterruptedException {
+        GroceryListEntity list = shop("Weekly", "10.00", "5.01", "3.00");
+
+        groceryService.completeList(list.getId(), head.getEmail());
+        List<LedgerEntryEntity> entries = awaitEntries(2);
+
+        LedgerEntryEntity headEntry = entryCreatedBy(entries, headMember);
+        assertThat(headEntry.getTitle()).isEqualTo("Groceries: Weekly");
+        assertThat(headEntry.getEntryType()).isEqualTo(LedgerEntryType.GROCERY);
+        // The purchaser's own share is settled, the roommate's is not
+        assertThat(headEntry.getStatus()).isEqualTo(LedgerEntryStatus.PARTIALLY_PAID);
+        assertThat(headEntry.getGroceryListId()).isEqualTo(list.getId());
+        assertThat(headEntry.getTotalAmount()).isEqualByComparingTo("15.01");
+        // Split between the two roommates, the landlord left out; the cent goes to one share
+        assertThat(headEntry.getSplits()).extracting(split -> split.getRoomMember().getId())
+                .containsExactlyInAnyOrder(headMember.getId(), mateMember.getId());
+        assertThat(headEntry.getSplits()).extracting(LedgerSplitEntity::getAmountOwed)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactlyInAnyOrder(new BigDecimal("7.50"), new BigDecimal("7.51"));
+        assertThat(splitOf(headEntry, headMember).getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(splitOf(headEntry, mateMember).getPaymentStatus()).isEqualTo(PaymentStatus.UNPAID);
+
+        LedgerEntryEntity mateEntry = entryCreatedBy(entries, mateMember);
+        assertThat(mateEntry.getTotalAmount()).isEqualByComparingTo("3.00");
+        assertThat(splitOf(mateEntry, headMember).getAmountOwed()).isEqualByComparingTo("1.50");
+
+        assertThat(groceryListRepository.findById(list.getId())).get()
+                .extracting(GroceryListEntity::isLedgerPending).isEqualTo(false);
+        // Posting again, as a retried job would, changes nothing
+        assertThat(ledgerService.postCompletedGroceryLists(List.of(list.getId()))).isZero();
+        assertThat(entries()).hasSize(2);
+    }
+
+    @Test
+    void aPurchaserWithNobodyToSplitWithIsAlreadyPaid() {
+        roomService.leaveRoom(mateMember.getId(), mate.getEmail(), room.getId());
+        GroceryListEntity list = shop("Solo", "6.00", null, null);
+        list.complete();
+        groceryListRepository.save(list);
+
+        assertThat(ledgerService.postCompletedGroceryLists(List.of(list.getId()))).isEqualTo(1);
+
+        LedgerEntryEntity entry = entryCreatedBy(entries(), headMember);
+        assertThat(entry.getSplits()).singleElement()
+                .extracting(LedgerSplitEntity::getPaymentStatus).isEqualTo(PaymentStatus.PAID);
+        assertThat(entry.getStatus()).isEqualTo(LedgerEntryStatus.PAID);
+    }
+
+    @Test
+    void postingManyListsBatchesTheLedgerWrites() {
+        List<UUID> listIds = new ArrayList<>();
+        for (int i = 0; i < BULK_LISTS; i++) {
+            GroceryListEntity list = shop("List " + i, "12.00", null, "4.00");
+            list.complete();
+            listIds.add(groceryListRepository.save(list).getId());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int posted = ledgerService.postCompletedGroceryLists(listIds);
+
+        assertThat(posted).isEqualTo(2 * BULK_LISTS);
+        // Two purchasers per list, each entry split two ways
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2 * BULK_LISTS * 3);
+        // Three reads, then entries and splits in JDBC batches; a statement per row would be 120
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(12);
+        assertThat(entries()).hasSize(2 * BULK_LISTS);
+    }
+
+    @Test
+    void bulkCompletionPostsEveryActiveList() throws InterruptedException {
+        GroceryListEntity first = shop("First", "8.00", null, null);
+        GroceryListEntity second = shop("Second", null, null, "6.00");
+        GroceryListEntity unpriced = groceryListRepository.save(new GroceryListEntity(room, "Unpriced", headMember));
+
+        groceryService.completeLists(room.getId(), List.of(first.getId(), second.getId(), unpriced.getId()),
+                head.getEmail());
+
+        assertThat(awaitEntries(2)).extracting(LedgerEntryEntity::getGroceryListId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(groceryListRepository.findById(unpriced.getId())).get()
+                .extracting(GroceryListEntity::getStatus).isEqualTo(GroceryListStatus.COMPLETED);
+    }
+
+    @Test
+    void sweepPostsListsWhosePostingNeverHappened() {
+        // Completed without the event, as if the process stopped before the listener ran
+        GroceryListEntity lost = shop("Lost", "9.00", null, null);
+        lost.complete();
+        lost.setCompletedAt(LocalDateTime.now().minusHours(1));
+        groceryListRepository.save(lost);
+        // Still within the grace period, so it is left to the listener
+        GroceryListEntity recent = shop("Recent", "4.00", null, null);
+        recent.complete();
+        groceryListRepository.save(recent);
+
+        groceryLedgerSweepJob.sweep();
+
+        assertThat(entries()).extracting(LedgerEntryEntity::getGroceryListId).containsExactly(lost.getId());
+        assertThat(groceryListRepository.findById(lost.getId())).get()
+                .extracting(GroceryListEntity::isLedgerPending).isEqualTo(false);
+        assertThat(groceryListRepository.findById(recent.getId())).get()
+                .extracting(GroceryListEntity::isLedgerPending).isEqualTo(true);
+
+        groceryLedgerSweepJob.sweep();
+        assertThat(entries()).hasSize(1);
+    }
+
+    // Head buys two priced items, the roommate one; each price may be null to skip that purchase
+    private GroceryListEntity shop(String name, String headPrice, String secondHeadPrice, String matePrice) {
+        GroceryListEntity list = new GroceryListEntity(room, name, headMember);
+        buy(list, "Milk", headMember, headPrice);
+        buy(list, "Bread", headMember, secondHeadPrice);
+        buy(list, "Eggs", mateMember, matePrice);
+        GroceryItemEntity unbought = new GroceryItemEntity(list, "Jam", "1", "Spreads", headMember);
+        unbought.setEstimatedPrice(new BigDecimal("2.00"));
+        list.getItems().add(unbought);
+        return groceryListRepository.save(list);
+    }
+
+    private void buy(GroceryListEntity list, String name, RoomMemberEntity purchaser, String price) {
+        if (price != null) {
+            GroceryItemEntity item = new GroceryItemEntity(list, name, "1", "Misc", purchaser);
+            item.markPurchased(purchaser, new BigDecimal(price));
+            list.getItems().add(item);
+        }
+    }
+
+    private List<LedgerEntryEntity> awaitEntries(int expected) throws InterruptedException {
+        List<LedgerEntryEntity> entries = entries();
+        for (int i = 0; i < 100 && entries.size() < expected; i++) {
+            Thread.sleep(50);
+            entries = entries();
+        }
+        assertThat(entries).hasSize(expected);
+        return entries;
+    }
+
+    // Loaded with splits and members inside a transaction so the assertions can walk them
+    private List<LedgerEntryEntity> entries() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<LedgerEntryEntity> entries = ledgerEntryRepository.findByRoomIdOrderByCreatedAtDesc(room.getId());
+            entries.forEach(entry -> {
+                entry.getCreatedBy().getId();
+                entry.getSplits().forEach(split -> split.getRoomMember().getId());
+            });
+            return entries;
+        });
+    }
+
+    private LedgerEntryEntity entryCreatedBy(List<LedgerEntryEntity> entries, RoomMemberEntity member) {
+        return entries.stream().filter(entry -> entry.getCreatedBy().getId().equals(member.getId()))
+                .findFirst().orElseThrow();
+    }
+
+    private LedgerSplitEntity splitOf(LedgerEntryEntity entry, RoomMemberEntity member) {
+        return entry.getSplits().stream().filter(split -> split.getRoomMember().getId().equals(member.getId()))
+                .findFirst().orElseThrow();
+    }
+
+    private UserEntity saveUser(String name) {
+        return userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@ledger.test", "555"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.grocery.GroceryListDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class GroceryListQueryCountTest {
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<GroceryListEntity> lists = new ArrayList<>();
+    private UserEntity owner;
+    private RoomEntity room;
+    private RoomMemberEntity member;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@grocery.test", "555"));
+        room = new RoomEntity("Grocery Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        member = room.getMembers().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        groceryListRepository.deleteAll(lists);
+        roomRepository.delete(room);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void listOverviewUsesOneQueryRegardlessOfListsAndItems() {
+        addList("Empty", 0, 0);
+        // Warm the membership cache so only the overview itself is counted
+        groceryService.getGroceryListsForRoom(room.getId(), owner.getEmail());
+        long oneListQueries = countQueries(() -> groceryService.getGroceryListsForRoom(room.getId(), owner.getEmail()));
+
+        addList("Weekly", 12, 5);
+        addList("Party", 30, 30);
+        Statistics statistics = statistics();
+        statistics.clear();
+        List<GroceryListDto> result = groceryService.getGroceryListsForRoom(room.getId(), owner.getEmail());
+        long manyListQueries = statistics.getPrepareStatementCount();
+
+        assertThat(manyListQueries).isEqualTo(oneListQueries).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(result).extracting(GroceryListDto::getName).containsExactly("Party", "Weekly", "Empty");
+
+        GroceryListDto weekly = result.get(1);
+        assertThat(weekly.getTotalItems()).isEqualTo(12);
+        assertThat(weekly.getPurchasedItems()).isEqualTo(5);
+        assertThat(weekly.getRemainingItems()).isEqualTo(7);
+        // One purchased item has no recorded price and counts as zero
+        assertThat(weekly.getTotalSpent()).isEqualByComparingTo("8.00");
+        assertThat(weekly.getItems()).isNull();
+        assertThat(weekly.getCreatedBy().getEmail()).isEqualTo(owner.getEmail());
+
+        GroceryListDto empty = result.get(2);
+        assertThat(empty.getTotalItems()).isZero();
+        assertThat(empty.getTotalSpent()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    // Purchased items cost 2.00 each, except the first, which has no price
+    private void addList(String name, int itemCount, int purchasedCount) {
+        GroceryListEntity list = new GroceryListEntity(room, name, member);
+        for (int i = 0; i < itemCount; i++) {
+            GroceryItemEntity item = new GroceryItemEntity(list, "Item " + i, "1", "Misc", member);
+            if (i < purchasedCount) {
+                item.markPurchased(member, i == 0 ? null : new BigDecimal("2.00"));
+            }
+            list.getItems().add(item);
+        }
+        lists.add(groceryListRepository.save(list));
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
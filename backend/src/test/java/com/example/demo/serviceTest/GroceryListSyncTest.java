@@ -0,0 +1,249 @@
+package com.example.demo.serviceTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.grocery.GroceryItemCreateDto;
+import com.roomate.app.dto.grocery.GroceryItemDto;
+import com.roomate.app.dto.grocery.GroceryListDelta;
+import com.roomate.app.dto.grocery.GroceryListDeltaType;
+import com.roomate.app.dto.grocery.GroceryListSyncDto;
+import com.roomate.app.dto.grocery.PurchaseItemDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.events.RoomMembershipChangedEvent;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.websocket.GroceryListSyncPublisher;
+import com.roomate.app.websocket.StompAuthChannelInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class GroceryListSyncTest {
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AbstractSubscribableChannel brokerChannel;
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private SimpleBrokerMessageHandler brokerHandler;
+
+    private final List<Message<?>> broadcasts = new CopyOnWriteArrayList<>();
+    private final MessageHandler capture = broadcasts::add;
+    private UserEntity owner;
+    private UserEntity outsider;
+    private RoomEntity room;
+    private GroceryListEntity list;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@sync.test", "555"));
+        outsider = userRepository.save(new UserEntity(null, "outsider", "Test", "out-" + UUID.randomUUID() + "@sync.test", "555"));
+        room = new RoomEntity("Sync Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        list = groceryListRepository.save(new GroceryListEntity(room, "Weekly", room.getMembers().get(0)));
+        brokerChannel.subscribe(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        brokerChannel.unsubscribe(capture);
+        groceryListRepository.deleteById(list.getId());
+        roomRepository.delete(room);
+        userRepository.deleteAll(List.of(owner, outsider));
+    }
+
+    @Test
+    void itemWritesBroadcastVersionedDeltasAfterCommit() throws Exception {
+        GroceryItemDto milk = groceryService.addItem(list.getId(), item("Milk"), owner.getEmail());
+        groceryService.updateItem(milk.getId(), item("Oat milk"), owner.getEmail());
+        PurchaseItemDto purchase = new PurchaseItemDto();
+        purchase.setActualPrice(new BigDecimal("4.50"));
+        groceryService.markItemPurchased(milk.getId(), purchase, owner.getEmail());
+        groceryService.unmarkItemPurchased(milk.getId(), owner.getEmail());
+        groceryService.removeItem(milk.getId(), owner.getEmail());
+
+        // A rolled-back write neither broadcasts nor moves the version
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            groceryService.addItem(list.getId(), item("Eggs"), owner.getEmail());
+            status.setRollbackOnly();
+        });
+
+        List<GroceryListDelta> deltas = deltas();
+        assertThat(deltas).extracting(GroceryListDelta::version).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(deltas).extracting(GroceryListDelta::type).containsExactly(
+                GroceryListDeltaType.ITEM_ADDED, GroceryListDeltaType.ITEM_UPDATED, GroceryListDeltaType.ITEM_PURCHASED,
+                GroceryListDeltaType.ITEM_UNPURCHASED, GroceryListDeltaType.ITEM_REMOVED);
+        assertThat(deltas).extracting(GroceryListDelta::itemId).containsOnly(milk.getId());
+        assertThat(deltas.get(1).name()).isEqualTo("Oat milk");
+        assertThat(deltas.get(2).actualPrice()).isEqualByComparingTo("4.50");
+        assertThat(deltas.get(4).name()).isNull();
+    }
+
+    @Test
+    void clientsResyncFromAKnownVersion() {
+        GroceryItemDto bread = groceryService.addItem(list.getId(), item("Bread"), owner.getEmail());
+        groceryService.addItem(list.getId(), item("Jam"), owner.getEmail());
+        groceryService.removeItem(bread.getId(), owner.getEmail());
+
+        GroceryListSyncDto caughtUp = groceryService.syncList(list.getId(), 3, owner.getEmail());
+        assertThat(caughtUp.version()).isEqualTo(3);
+        assertThat(caughtUp.deltas()).isEmpty();
+
+        GroceryListSyncDto behind = groceryService.syncList(list.getId(), 1, owner.getEmail());
+        assertThat(behind.deltas()).extracting(GroceryListDelta::version).containsExactly(2L, 3L);
+        assertThat(behind.snapshot()).isNull();
+
+        GroceryListSyncDto unknown = groceryService.syncList(list.getId(), 42, owner.getEmail());
+        assertThat(unknown.deltas()).isNull();
+        assertThat(unknown.snapshot().getVersion()).isEqualTo(3);
+        assertThat(unknown.snapshot().getItems()).extracting(GroceryItemDto::getName).containsExactly("Jam");
+    }
+
+    @Test
+    void onlyRoomMembersCanSubscribeToAList() {
+        String topic = GroceryListSyncPublisher.topic(list.getId());
+
+        assertThat(stompAuthChannelInterceptor.preSend(subscribe(owner, topic), brokerChannel)).isNotNull();
+        assertThatThrownBy(() -> stompAuthChannelInterceptor.preSend(subscribe(outsider, topic), brokerChannel))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> stompAuthChannelInterceptor.preSend(subscribe(owner, "/topic/anything"), brokerChannel))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> stompAuthChannelInterceptor.preSend(subscribe(null, topic), brokerChannel))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void leavingARoomDropsTheMembersListSubscriptions() {
+        String topic = GroceryListSyncPublisher.topic(list.getId());
+        String otherRoomTopic = GroceryListSyncPublisher.topic(UUID.randomUUID());
+        Message<byte[]> listSubscription = subscribe(owner, topic, "session-1", "sub-1");
+        Message<byte[]> otherSubscription = subscribe(owner, otherRoomTopic, "session-1", "sub-2");
+        Principal principal = SimpMessageHeaderAccessor.getUser(listSubscription.getHeaders());
+        eventPublisher.publishEvent(new SessionConnectedEvent(this, listSubscription, principal));
+        for (Message<byte[]> subscription : List.of(listSubscription, otherSubscription)) {
+            eventPublisher.publishEvent(new SessionSubscribeEvent(this, subscription));
+            brokerChannel.send(subscription);
+        }
+        assertThat(subscribers(topic)).isNotEmpty();
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    eventPublisher.publishEvent(RoomMembershipChangedEvent.left(room.getId(), owner.getEmail())));
+
+            assertThat(subscribers(topic)).isEmpty();
+            assertThat(subscribers(otherRoomTopic)).containsExactly("sub-2");
+        } finally {
+            brokerChannel.send(disconnect("session-1"));
+            eventPublisher.publishEvent(new SessionDisconnectEvent(this, disconnect("session-1"), "session-1",
+                    CloseStatus.NORMAL));
+        }
+    }
+
+    private List<String> subscribers(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return brokerHandler.getSubscriptionRegistry().findSubscriptions(message).values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private Message<byte[]> disconnect(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private List<GroceryListDelta> deltas() throws Exception {
+        List<GroceryListDelta> deltas = new ArrayList<>();
+        for (Message<?> message : broadcasts) {
+            if (GroceryListSyncPublisher.topic(list.getId()).equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                deltas.add(objectMapper.readValue((byte[]) message.getPayload(), GroceryListDelta.class));
+            }
+        }
+        return deltas;
+    }
+
+    private Message<byte[]> subscribe(UserEntity user, String destination) {
+        return subscribe(user, destination, "session-0", "sub-0");
+    }
+
+    private Message<byte[]> subscribe(UserEntity user, String destination, String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setSessionId(sessionId);
+        if (user != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private GroceryItemCreateDto item(String name) {
+        GroceryItemCreateDto dto = new GroceryItemCreateDto();
+        dto.setName(name);
+        dto.setQuantity("1");
+        dto.setCategory("Misc");
+        return dto;
+    }
+}
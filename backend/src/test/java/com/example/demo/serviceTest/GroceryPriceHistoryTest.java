@@ -0,0 +1,134 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.grocery.GroceryItemCreateDto;
+import com.roomate.app.dto.grocery.GroceryItemDto;
+import com.roomate.app.dto.grocery.GroceryListDto;
+import com.roomate.app.dto.grocery.GroceryPriceHistoryDto;
+import com.roomate.app.dto.grocery.PurchaseItemDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.GroceryPriceObservationRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryPriceService;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ServiceTest
+public class GroceryPriceHistoryTest {
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private GroceryPriceService priceService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private GroceryPriceObservationRepository observationRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private RoomEntity room;
+    private GroceryListEntity lastWeek;
+    private GroceryListEntity thisWeek;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@prices.test", "555"));
+        room = new RoomEntity("Price Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        lastWeek = groceryListRepository.save(new GroceryListEntity(room, "Last week", room.getMembers().get(0)));
+        thisWeek = groceryListRepository.save(new GroceryListEntity(room, "This week", room.getMembers().get(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), owner.getEmail());
+        assertThat(observationRepository.findAll()).noneMatch(o -> o.getRoomId().equals(room.getId()));
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void purchasesFeedEstimatesAndSurviveArchiving() {
+        buy(lastWeek, "Milk", "4.00");
+        buy(lastWeek, "oat  MILK", "3.00");
+        buy(lastWeek, "milk", "5.00");
+        // Bought without a price: nothing to learn from
+        buy(lastWeek, "Bread", null);
+        groceryService.archiveList(lastWeek.getId(), owner.getEmail());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        GroceryItemDto milk = groceryService.addItem(thisWeek.getId(), item("MILK", null), owner.getEmail());
+        statistics.clear();
+        GroceryItemDto oatMilk = groceryService.addItem(thisWeek.getId(), item("Oat milk", null), owner.getEmail());
+        GroceryItemDto bread = groceryService.addItem(thisWeek.getId(), item("Bread", null), owner.getEmail());
+        GroceryItemDto jam = groceryService.addItem(thisWeek.getId(), item("Jam", "2.25"), owner.getEmail());
+
+        assertThat(milk.getEstimatedPrice()).isEqualByComparingTo("4.50");
+        assertThat(oatMilk.getEstimatedPrice()).isEqualByComparingTo("3.00");
+        assertThat(bread.getEstimatedPrice()).isNull();
+        assertThat(jam.getEstimatedPrice()).isEqualByComparingTo("2.25");
+        // Once the room's stats are cached, estimating reads no price history
+        assertThat(statistics.getQueries()).noneMatch(query -> query.contains("GroceryPriceObservationEntity"));
+
+        buy(milk, "6.00");
+        GroceryListDto list = groceryService.getGroceryListById(thisWeek.getId(), owner.getEmail());
+        assertThat(list.getTotalSpent()).isEqualByComparingTo("6.00");
+        assertThat(list.getProjectedTotal()).isEqualByComparingTo("11.25");
+        assertThat(groceryService.getActiveGroceryListsForRoom(room.getId(), owner.getEmail()))
+                .filteredOn(summary -> summary.getId().equals(thisWeek.getId()))
+                .singleElement()
+                .satisfies(summary -> assertThat(summary.getProjectedTotal()).isEqualByComparingTo("11.25"));
+
+        GroceryPriceHistoryDto history = priceService.getPriceHistory(room.getId(), " milk ", owner.getEmail());
+        assertThat(history.timesPurchased()).isEqualTo(3);
+        assertThat(history.meanPrice()).isEqualByComparingTo("5.00");
+        assertThat(history.lastPrice()).isEqualByComparingTo("6.00");
+        assertThat(history.recent()).extracting(GroceryPriceHistoryDto.Observation::price)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("6.00"), new BigDecimal("5.00"), new BigDecimal("4.00"));
+    }
+
+    private void buy(GroceryListEntity list, String name, String price) {
+        buy(groceryService.addItem(list.getId(), item(name, null), owner.getEmail()), price);
+    }
+
+    private void buy(GroceryItemDto item, String price) {
+        PurchaseItemDto purchase = new PurchaseItemDto();
+        purchase.setActualPrice(price != null ? new BigDecimal(price) : null);
+        groceryService.markItemPurchased(item.getId(), purchase, owner.getEmail());
+    }
+
+    private GroceryItemCreateDto item(String name, String estimatedPrice) {
+        GroceryItemCreateDto dto = new GroceryItemCreateDto();
+        dto.setName(name);
+        dto.setQuantity("1");
+        dto.setEstimatedPrice(estimatedPrice != null ? new BigDecimal(estimatedPrice) : null);
+        return dto;
+    }
+}
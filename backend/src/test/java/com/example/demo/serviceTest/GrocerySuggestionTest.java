@@ -0,0 +1,198 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.grocery.GroceryItemCreateDto;
+import com.roomate.app.dto.grocery.GroceryItemDto;
+import com.roomate.app.dto.grocery.GrocerySuggestionDto;
+import com.roomate.app.dto.grocery.PurchaseItemDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.GroceryListRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.GroceryService;
+import com.roomate.app.service.GrocerySuggestionService;
+import com.roomate.app.service.implementation.GroceryPrefixIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class GrocerySuggestionTest {
+    private static final Logger logger = LoggerFactory.getLogger(GrocerySuggestionTest.class);
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final int INDEXED_NAMES = 50_000;
+    private static final int LOOKUPS = 200_000;
+    private static final long MAX_NANOS_PER_LOOKUP = 1_000_000;
+
+    @Autowired
+    private GrocerySuggestionService suggestionService;
+    @Autowired
+    private GroceryService groceryService;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity owner;
+    private UserEntity outsider;
+    private RoomEntity room;
+    private GroceryListEntity list;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@suggest.test", "555"));
+        outsider = userRepository.save(new UserEntity(null, "outsider", "Test", "out-" + UUID.randomUUID() + "@suggest.test", "555"));
+        room = new RoomEntity("Suggest Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(room);
+        RoomMemberEntity member = room.getMembers().get(0);
+
+        list = new GroceryListEntity(room, "Weekly", member);
+        list.getItems().add(new GroceryItemEntity(list, "Milk", "1", "Dairy", member));
+        list.getItems().add(new GroceryItemEntity(list, "milk", "2", "Dairy", member));
+        list.getItems().add(new GroceryItemEntity(list, "Mint", "1", "Produce", member));
+        GroceryItemEntity mangoes = new GroceryItemEntity(list, "Mangoes", "3", "Produce", member);
+        mangoes.markPurchased(member, null);
+        list.getItems().add(mangoes);
+        list = groceryListRepository.save(list);
+    }
+
+    @AfterEach
+    void tearDown() {
+        groceryListRepository.deleteById(list.getId());
+        roomRepository.delete(room);
+        userRepository.deleteAll(List.of(owner, outsider));
+    }
+
+    @Test
+    void indexIsBuiltOnceAndThenKeptCurrentByCommittedWrites() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<GrocerySuggestionDto> first = suggestionService.suggestItems(room.getId(), "m", 10, owner.getEmail());
+        long builtWith = statistics.getPrepareStatementCount();
+
+        // A bought mango outranks milk listed twice; spellings that differ only in case share an entry
+        assertThat(first).extracting(this::lowerCaseValue).containsExactly("mangoes", "milk", "mint");
+        assertThat(first.get(0).timesPurchased()).isEqualTo(1);
+        assertThat(first.get(1).timesAdded()).isEqualTo(2);
+
+        statistics.clear();
+        assertThat(suggestionService.suggestItems(room.getId(), "MI", 10, owner.getEmail()))
+                .extracting(this::lowerCaseValue).containsExactly("milk", "mint");
+        // Only the membership check touches the database once the room is indexed
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(builtWith);
+
+        GroceryItemDto mint = groceryService.addItem(list.getId(), item("Mint", "Herbs"), owner.getEmail());
+        PurchaseItemDto purchase = new PurchaseItemDto();
+        groceryService.markItemPurchased(mint.getId(), purchase, owner.getEmail());
+        groceryService.addItem(list.getId(), item("Muesli", "Breakfast"), owner.getEmail());
+
+        // A rolled-back add is never indexed
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            groceryService.addItem(list.getId(), item("Marmite", "Spreads"), owner.getEmail());
+            status.setRollbackOnly();
+        });
+
+        List<GrocerySuggestionDto> updated = suggestionService.suggestItems(room.getId(), "m", 10, owner.getEmail());
+        assertThat(updated).extracting(this::lowerCaseValue).containsExactly("mint", "mangoes", "milk", "muesli");
+        assertThat(updated.get(0).category()).isEqualTo("Herbs");
+        assertThat(suggestionService.suggestCategories(room.getId(), "", 10, owner.getEmail()))
+                .extracting(GrocerySuggestionDto::value).containsExactly("Produce", "Herbs", "Dairy", "Breakfast");
+    }
+
+    @Test
+    void onlyRoomMembersGetSuggestions() {
+        assertThatThrownBy(() -> suggestionService.suggestItems(room.getId(), "m", 10, outsider.getEmail()))
+                .isInstanceOf(UserApiError.class);
+    }
+
+    @Test
+    void recentUseOutranksOlderHabits() {
+        long now = System.currentTimeMillis();
+        GroceryPrefixIndex index = new GroceryPrefixIndex(30);
+        index.record("Coffee", "Drinks", 6, 0, now - 120 * DAY);
+        index.record("Cola", "Drinks", 2, 0, now - DAY);
+        index.record("  Coffee  beans", "Drinks", 1, 0, now);
+
+        assertThat(index.lookup("co", 10)).extracting(GroceryPrefixIndex.Entry::display)
+                .containsExactly("Cola", "Coffee beans", "Coffee");
+        assertThat(index.lookup("coffee b", 10)).extracting(GroceryPrefixIndex.Entry::display)
+                .containsExactly("Coffee beans");
+        assertThat(index.lookup("tea", 10)).isEmpty();
+    }
+
+    @Test
+    void lookupsTakeMicrosecondsOnALargeRoom() {
+        long now = System.currentTimeMillis();
+        Random random = new Random(42);
+        GroceryPrefixIndex index = new GroceryPrefixIndex(30);
+        String[] names = new String[INDEXED_NAMES];
+        for (int i = 0; i < INDEXED_NAMES; i++) {
+            names[i] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36) + " " + i;
+            index.record(names[i], "Misc", 1 + random.nextInt(20), random.nextInt(5), now - random.nextInt(365) * DAY);
+        }
+        assertThat(index.size()).isEqualTo(INDEXED_NAMES);
+
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            String name = names[i % INDEXED_NAMES];
+            found += index.lookup(name.substring(0, 1 + i % 3), 10).size();
+        }
+        long nanosPerLookup = (System.nanoTime() - start) / LOOKUPS;
+        logger.debug("Ran {} prefix lookups over {} names at {} ns/lookup", LOOKUPS, INDEXED_NAMES, nanosPerLookup);
+
+        assertThat(found).isPositive();
+        // Around 30 us on a developer machine; the bound only catches a lookup that has stopped being a prefix walk
+        assertThat(nanosPerLookup).isLessThan(MAX_NANOS_PER_LOOKUP);
+    }
+
+    private String lowerCaseValue(GrocerySuggestionDto suggestion) {
+        return suggestion.value().toLowerCase();
+    }
+
+    private GroceryItemCreateDto item(String name, String category) {
+        GroceryItemCreateDto dto = new GroceryItemCreateDto();
+        dto.setName(name);
+        dto.setQuantity("1");
+        dto.setCategory(category);
+        return dto;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.EventDTOS.EventConflictDto;
+import com.roomate.app.dto.EventDTOS.EventDto;
+import com.roomate.app.entities.EventEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.exceptions.EventAPIException;
+import com.roomate.app.repository.EventOccurrenceOverrideRepository;
+import com.roomate.app.repository.EventRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.EventService;
+import com.roomate.app.service.RoomService;
+import com.roomate.app.service.implementation.RecurrenceRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ServiceTest
+public class RecurringEventTest {
+    // A Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventOccurrenceOverrideRepository overrideRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UserEntity owner;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserEntity(null, "owner", "Test", "owner-" + UUID.randomUUID() + "@recur.test", "555"));
+        room = roomRepository.save(room(owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), owner.getEmail());
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void weeklyRuleExpandsOnlyWithinTheRequestedRange() {
+        create("Bins", MONDAY.withHour(19), MONDAY.withHour(20), "RRULE:FREQ=WEEKLY;BYDAY=MO,TH");
+        create("Dinner", MONDAY.plusDays(1).withHour(18), MONDAY.plusDays(1).withHour(20), null);
+
+        List<EventDto> fortnight = eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(14));
+
+        assertThat(fortnight).extracting(EventDto::getStartTime).containsExactly(
+                MONDAY.withHour(19), MONDAY.plusDays(1).withHour(18), MONDAY.plusDays(3).withHour(19),
+                MONDAY.plusDays(7).withHour(19), MONDAY.plusDays(10).withHour(19));
+        EventDto thursday = fortnight.get(2);
+        assertThat(thursday.getTitle()).isEqualTo("Bins");
+        assertThat(thursday.getOccurrenceStart()).isEqualTo(MONDAY.plusDays(3).withHour(19));
+        assertThat(thursday.getEndTime()).isEqualTo(MONDAY.plusDays(3).withHour(20));
+        assertThat(thursday.getRecurrenceRule()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,TH");
+    }
+
+    @Test
+    void countAndUntilEndTheSeries() {
+        create("Rent", MONDAY.withHour(9), MONDAY.withHour(10), "FREQ=MONTHLY;BYDAY=-1FR;COUNT=3");
+        create("Standup", MONDAY.withHour(8), MONDAY.withHour(9), "FREQ=DAILY;INTERVAL=2;UNTIL=20300310T080000");
+
+        List<EventDto> year = eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(365));
+
+        assertThat(year).filteredOn(event -> event.getTitle().equals("Rent"))
+                .extracting(EventDto::getStartTime)
+                .containsExactly(MONDAY.withHour(9), lastFriday(2030, 3), lastFriday(2030, 4));
+        assertThat(year).filteredOn(event -> event.getTitle().equals("Standup"))
+                .extracting(EventDto::getStartTime)
+                .containsExactly(MONDAY.withHour(8), MONDAY.plusDays(2).withHour(8), MONDAY.plusDays(4).withHour(8),
+                        MONDAY.plusDays(6).withHour(8));
+        // Past the last occurrence the series is not read at all
+        assertThat(eventService.getEventsForUser(owner.getEmail(), MONDAY.plusYears(1), MONDAY.plusYears(1).plusDays(30)))
+                .isEmpty();
+    }
+
+    @Test
+    void decadesOldRuleExpandsOnlyTheWindow() {
+        LocalDateTime longAgo = MONDAY.minusYears(40).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY)).withHour(7);
+        create("Gym", longAgo, longAgo.plusHours(1), "FREQ=DAILY");
+
+        long started = System.nanoTime();
+        List<EventDto> week = eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(7));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(week).hasSize(7);
+        assertThat(week.get(0).getStartTime()).isEqualTo(MONDAY.withHour(7));
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void slidingWindowsReuseTheMonthsAlreadyExpanded() {
+        create("Bins", MONDAY.withHour(19), MONDAY.withHour(20), "FREQ=WEEKLY");
+        // Runs over midnight into the next month: listed by both months, returned once
+        LocalDateTime lastNight = LocalDateTime.of(2030, 3, 31, 23, 0);
+        create("Night shift", lastNight, lastNight.plusHours(2), "FREQ=MONTHLY;BYMONTHDAY=-1");
+
+        eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(7));
+        double missesBefore = occurrenceCache("miss");
+        double hitsBefore = occurrenceCache("hit");
+        List<EventDto> nextWeek = eventService.getEventsForUser(owner.getEmail(), MONDAY.plusDays(7), MONDAY.plusDays(14));
+
+        assertThat(nextWeek).extracting(EventDto::getStartTime).containsExactly(MONDAY.plusDays(7).withHour(19));
+        assertThat(occurrenceCache("miss")).isEqualTo(missesBefore);
+        assertThat(occurrenceCache("hit")).isGreaterThan(hitsBefore);
+
+        assertThat(eventService.getEventsForUser(owner.getEmail(), lastNight.minusDays(1), lastNight.plusDays(1)))
+                .filteredOn(event -> event.getTitle().equals("Night shift"))
+                .extracting(EventDto::getStartTime).containsExactly(lastNight);
+        assertThat(eventService.getEventsForUser(owner.getEmail(), lastNight.plusHours(1), lastNight.plusDays(1)))
+                .filteredOn(event -> event.getTitle().equals("Night shift"))
+                .extracting(EventDto::getStartTime).containsExactly(lastNight);
+    }
+
+    @Test
+    void overridesMoveAndCancelSingleOccurrences() {
+        create("Bins", MONDAY.withHour(19), MONDAY.withHour(20), "FREQ=WEEKLY");
+        UUID bins = eventRepository.getAllEventsForUserRoom(room.getId(), owner.getEmail()).get(0).getId();
+
+        EventDto moved = new EventDto();
+        moved.setTitle("Bins (late)");
+        moved.setStartTime(MONDAY.plusDays(8).withHour(21));
+        eventService.overrideOccurrence(bins, MONDAY.plusDays(7).withHour(19), moved, owner.getEmail());
+        eventService.cancelOccurrence(bins, MONDAY.plusDays(14).withHour(19), owner.getEmail());
+
+        List<EventDto> month = eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(28));
+        assertThat(month).extracting(EventDto::getStartTime).containsExactly(
+                MONDAY.withHour(19), MONDAY.plusDays(8).withHour(21), MONDAY.plusDays(21).withHour(19));
+        assertThat(month.get(1).getTitle()).isEqualTo("Bins (late)");
+        assertThat(month.get(1).getEndTime()).isEqualTo(MONDAY.plusDays(8).withHour(22));
+        assertThat(month.get(1).getOccurrenceStart()).isEqualTo(MONDAY.plusDays(7).withHour(19));
+
+        // Conflicts follow the moved occurrence, not the slot the rule gave it
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.plusDays(7).withHour(19), MONDAY.plusDays(7).withHour(20),
+                null, owner.getEmail())).isEmpty();
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.plusDays(8).withHour(21), MONDAY.plusDays(8).withHour(23),
+                null, owner.getEmail())).extracting(EventConflictDto::title).containsExactly("Bins (late)");
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.plusDays(21).withHour(18), MONDAY.plusDays(21).withHour(23),
+                null, owner.getEmail())).extracting(EventConflictDto::startTime).containsExactly(MONDAY.plusDays(21).withHour(19));
+        assertThat(eventService.findConflicts(room.getId(), MONDAY.plusDays(21).withHour(18), MONDAY.plusDays(21).withHour(23),
+                bins, owner.getEmail())).isEmpty();
+
+        assertThatThrownBy(() -> eventService.cancelOccurrence(bins, MONDAY.plusDays(1).withHour(19), owner.getEmail()))
+                .isInstanceOf(EventAPIException.class);
+        assertThat(overrideRepository.findByRoomId(room.getId())).hasSize(2);
+
+        // Moving the series drops overrides that named occurrences of the old rule
+        EventDto shifted = new EventDto();
+        shifted.setTitle("Bins");
+        shifted.setStartTime(MONDAY.withHour(20));
+        shifted.setEndTime(MONDAY.withHour(21));
+        shifted.setRecurrenceRule("FREQ=WEEKLY");
+        eventService.updateEvent(shifted, bins, owner.getEmail());
+        assertThat(overrideRepository.findByRoomId(room.getId())).isEmpty();
+        assertThat(eventService.getEventsForUser(owner.getEmail(), MONDAY, MONDAY.plusDays(28)))
+                .extracting(EventDto::getStartTime).hasSize(4).allMatch(start -> start.getHour() == 20);
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        assertThatThrownBy(() -> create("Bad", MONDAY, MONDAY.plusHours(1), "FREQ=HOURLY"))
+                .isInstanceOf(EventAPIException.class);
+        assertThatThrownBy(() -> create("Bad", MONDAY, MONDAY.plusHours(1), "FREQ=WEEKLY;BYDAY=1MO"))
+                .isInstanceOf(EventAPIException.class);
+        assertThatThrownBy(() -> create("Bad", MONDAY, MONDAY.plusHours(1), "FREQ=DAILY;COUNT=0"))
+                .isInstanceOf(EventAPIException.class);
+        // INTERVAL is capped per FREQ, wherever it appears in the rule
+        assertThatThrownBy(() -> create("Bad", MONDAY, MONDAY.plusHours(1), "INTERVAL=2000000000;FREQ=YEARLY;COUNT=1000"))
+                .isInstanceOf(EventAPIException.class)
+                .hasMessage("INTERVAL must be between 1 and 10");
+        assertThatThrownBy(() -> create("Bad", MONDAY, MONDAY.plusHours(1), "FREQ=DAILY;INTERVAL=3661"))
+                .isInstanceOf(EventAPIException.class);
+        // A series that would run past the last representable date
+        LocalDateTime farFuture = LocalDateTime.of(999_999_990, 1, 1, 0, 0);
+        assertThatThrownBy(() -> create("Bad", farFuture, farFuture.plusHours(1), "FREQ=YEARLY;INTERVAL=10;COUNT=1000"))
+                .isInstanceOf(EventAPIException.class);
+        assertThat(eventRepository.getAllEventsForUserRoom(room.getId(), owner.getEmail())).isEmpty();
+    }
+
+    @Test
+    void ruleMatchesABruteForceDayByDayScan() {
+        LocalDateTime start = LocalDateTime.of(2029, 1, 31, 10, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=31,-1");
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (LocalDateTime day = start; day.isBefore(start.plusYears(3)); day = day.plusDays(1)) {
+            if (day.getDayOfMonth() == day.toLocalDate().lengthOfMonth()) {
+                expected.add(day);
+            }
+        }
+
+        assertThat(rule.startsBetween(start, Duration.ofHours(1), start, start.plusYears(3))).containsExactlyElementsOf(expected);
+        assertThat(rule.occursAt(start, LocalDateTime.of(2029, 2, 28, 10, 0))).isTrue();
+        assertThat(rule.occursAt(start, LocalDateTime.of(2029, 2, 27, 10, 0))).isFalse();
+        assertThat(rule.lastStart(start)).isNull();
+    }
+
+    private double occurrenceCache(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "eventOccurrences").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private void create(String title, LocalDateTime start, LocalDateTime end, String rule) {
+        EventDto event = new EventDto();
+        event.setTitle(title);
+        event.setStartTime(start);
+        event.setEndTime(end);
+        event.setRecurrenceRule(rule);
+        eventService.createEventForRoom(event, room.getId(), owner.getEmail());
+    }
+
+    private static LocalDateTime lastFriday(int year, int month) {
+        return LocalDateTime.of(year, month, 1, 9, 0).with(TemporalAdjusters.lastInMonth(DayOfWeek.FRIDAY));
+    }
+
+    private static RoomEntity room(UserEntity head) {
+        RoomEntity created = new RoomEntity("Recurring Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, head, RoomMemberEnum.HEAD_ROOMMATE));
+        return created;
+    }
+}
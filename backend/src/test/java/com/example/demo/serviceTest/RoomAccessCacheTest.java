@@ -0,0 +1,131 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.UserDTOS.UpdateMemberRoleRequest;
+import com.roomate.app.entities.ChoreEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import com.roomate.app.repository.ChoreRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.RoomAccessService;
+import com.roomate.app.service.RoomAccessService.RoomAccess;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Membership checks are cached; every change to a membership must be visible to the next check. Teardowns
+ * delete one row per chunk and hand over to the background after the first, so a removal is still running
+ * when the test looks at it.
+ */
+@ServiceTest
+@TestPropertySource(properties = {
+        "app.room-teardown.chunk-size=1",
+        "app.room-teardown.inline-row-limit=1"
+})
+public class RoomAccessCacheTest {
+    private static final int CHORES = 200;
+
+    @Autowired
+    private RoomAccessService roomAccessService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private UserEntity head;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        head = saveUser("head");
+        RoomEntity created = new RoomEntity("Access Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, head, RoomMemberEnum.HEAD_ROOMMATE));
+        room = roomRepository.save(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (roomRepository.existsById(room.getId())) {
+            RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void joinRoleChangeAndLeaveAreSeenByTheNextCheck() {
+        UserEntity mate = saveUser("mate");
+        assertThat(roomAccessService.findAccess(room.getId(), mate.getEmail())).isEmpty();
+
+        roomService.joinRoom(room.getRoomCode(), mate.getEmail());
+        RoomAccess joined = roomAccessService.findAccess(room.getId(), mate.getEmail()).orElseThrow();
+        assertThat(joined.role()).isEqualTo(RoomMemberEnum.ROOMMATE);
+
+        UpdateMemberRoleRequest request = new UpdateMemberRoleRequest();
+        request.setRole(RoomMemberEnum.ASSISTANT);
+        roomService.updateMemberRole(room.getId(), joined.memberId(), request, head.getEmail());
+        assertThat(roomAccessService.findAccess(room.getId(), mate.getEmail()))
+                .map(RoomAccess::role).contains(RoomMemberEnum.ASSISTANT);
+
+        roomService.leaveRoom(joined.memberId(), mate.getEmail(), room.getId());
+        assertThat(roomAccessService.isMember(room.getId(), mate.getEmail())).isFalse();
+    }
+
+    @Test
+    void removedMemberLosesAccess() {
+        UserEntity mate = saveUser("mate");
+        roomService.joinRoom(room.getRoomCode(), mate.getEmail());
+        RoomAccess joined = roomAccessService.findAccess(room.getId(), mate.getEmail()).orElseThrow();
+
+        roomService.removeMemberFromRoom(room.getId(), joined.memberId(), head.getEmail());
+
+        assertThat(roomAccessService.isMember(room.getId(), mate.getEmail())).isFalse();
+        assertThat(roomAccessService.isMember(room.getId(), head.getEmail())).isTrue();
+    }
+
+    @Test
+    void accessCachedDuringABackgroundTeardownIsEvictedWhenItFinishes() {
+        List<ChoreEntity> chores = new ArrayList<>();
+        for (int i = 0; i < CHORES; i++) {
+            ChoreEntity chore = new ChoreEntity();
+            chore.setChoreName("Chore " + i);
+            chore.setRoom(room);
+            chores.add(chore);
+        }
+        choreRepository.saveAll(chores);
+
+        roomService.removeRoom(room.getId(), head.getEmail());
+        assertThat(roomService.getRoomTeardownStatus(room.getId(), head.getEmail()).getStatus())
+                .isEqualTo(RoomTeardownStatus.RUNNING);
+        // Chores go before members, so the membership still exists and this check caches it again
+        assertThat(roomAccessService.isMember(room.getId(), head.getEmail())).isTrue();
+
+        RoomTestSupport.awaitTeardown(roomService, room.getId(), head.getEmail());
+
+        assertThat(roomAccessService.isMember(room.getId(), head.getEmail())).isFalse();
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@access.test", "555"));
+        users.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.CreateRoomRequest;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class RoomMembershipCapsTest {
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UUID> rooms = new ArrayList<>();
+    private final List<UserEntity> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (UUID roomId : rooms) {
+            roomService.removeRoom(roomId, roomRepository.findById(roomId).orElseThrow().getHeadRoommateId());
+        }
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void concurrentJoinsNeverExceedTheRoomCap() throws Exception {
+        RoomDto room = createRoom(saveUser("head"));
+        List<UserEntity> joiners = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            joiners.add(saveUser("joiner" + i));
+        }
+
+        AtomicInteger joined = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(joiners.size());
+        List<Future<?>> futures = new ArrayList<>();
+        for (UserEntity joiner : joiners) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    roomService.joinRoom(room.getRoomCode(), joiner.getEmail());
+                    joined.incrementAndGet();
+                } catch (UserApiError ignored) {
+                    // room full
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(joined.get()).isEqualTo(5);
+        assertThat(roomRepository.findById(room.getId()).orElseThrow().getMemberCount()).isEqualTo(6);
+        assertThat(roomService.getRoomById(room.getId(), room.getHeadRoommateId()).getMembers()).hasSize(6);
+    }
+
+    @Test
+    void duplicateJoinIsRejectedAndLeavesCountersUnchanged() {
+        UserEntity head = saveUser("head");
+        UserEntity roommate = saveUser("roommate");
+        RoomDto room = createRoom(head);
+        roomService.joinRoom(room.getRoomCode(), roommate.getEmail());
+
+        assertThatThrownBy(() -> roomService.joinRoom(room.getRoomCode(), roommate.getEmail()))
+                .isInstanceOf(UserApiError.class)
+                .hasMessageContaining("already a member");
+
+        assertThat(roomRepository.findById(room.getId()).orElseThrow().getMemberCount()).isEqualTo(2);
+        assertThat(userRepository.findById(roommate.getId()).orElseThrow().getRoomCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userCannotBeInMoreThanThreeRooms() {
+        UserEntity user = saveUser("busy");
+        createRoom(user);
+        createRoom(user);
+        createRoom(user);
+
+        assertThatThrownBy(() -> createRoom(user))
+                .isInstanceOf(UserApiError.class)
+                .hasMessageContaining("maximum number of rooms");
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getRoomCount()).isEqualTo(3);
+    }
+
+    private RoomDto createRoom(UserEntity head) {
+        CreateRoomRequest request = new CreateRoomRequest();
+        request.setName("Caps Room");
+        request.setAddress("1 Test St");
+        RoomDto room = roomService.createRoom(request, head.getEmail());
+        rooms.add(room.getId());
+        return room;
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@caps.test", "555"));
+        users.add(user);
+        return user;
+    }
+}
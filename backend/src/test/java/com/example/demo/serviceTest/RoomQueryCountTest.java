@@ -0,0 +1,107 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = StartOneApplication.class)
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class RoomQueryCountTest {
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<RoomEntity> rooms = new ArrayList<>();
+    private final List<UserEntity> users = new ArrayList<>();
+    private UserEntity owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll(rooms);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void getUserRoomsUsesOneQueryRegardlessOfRoomsAndMembers() {
+        addRoom(1);
+        long singleRoomQueries = countQueries(() -> roomService.getUserRooms(owner.getEmail()));
+
+        addRoom(4);
+        addRoom(5);
+        Statistics statistics = statistics();
+        statistics.clear();
+        List<RoomDto> result = roomService.getUserRooms(owner.getEmail());
+        long manyRoomQueries = statistics.getPrepareStatementCount();
+
+        assertThat(result).hasSize(3);
+        assertThat(result.stream().mapToInt(room -> room.getMembers().size()).sum()).isEqualTo(1 + 4 + 5);
+        assertThat(manyRoomQueries).isEqualTo(singleRoomQueries).isEqualTo(1);
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Creates a room headed by the owner with (memberCount - 1) extra roommates
+    private void addRoom(int memberCount) {
+        RoomEntity room = new RoomEntity("Room " + rooms.size(), "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                owner.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, owner, RoomMemberEnum.HEAD_ROOMMATE));
+        for (int i = 1; i < memberCount; i++) {
+            room.getMembers().add(new RoomMemberEntity(room, saveUser("member" + rooms.size() + "-" + i), RoomMemberEnum.ROOMMATE));
+        }
+        rooms.add(roomRepository.save(room));
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@querycount.test", "555"));
+        users.add(user);
+        return user;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.RoomTeardownDto;
+import com.roomate.app.entities.ChoreEntity;
+import com.roomate.app.entities.ChoreFrequencyUnitEnum;
+import com.roomate.app.entities.EventEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.UtilityEntity;
+import com.roomate.app.entities.grocery.GroceryItemEntity;
+import com.roomate.app.entities.grocery.GroceryListEntity;
+import com.roomate.app.entities.ledger.LedgerEntryEntity;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.entities.room.RoomTeardownEntity;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import com.roomate.app.exceptions.UserApiError;
+import com.roomate.app.repository.*;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ServiceTest
+@TestPropertySource(properties = {
+        "app.room-teardown.chunk-size=500",
+        "app.room-teardown.inline-row-limit=1000"
+})
+public class RoomTeardownTest {
+    private static final int LEDGER_ENTRIES = 300;
+    private static final int GROCERY_ITEMS = 1200;
+    private static final int CHORES = 800;
+    private static final int EVENTS = 200;
+    private static final int UTILITIES = 100;
+
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private LedgerSplitRepository ledgerSplitRepository;
+    @Autowired
+    private GroceryListRepository groceryListRepository;
+    @Autowired
+    private GroceryItemRepository groceryItemRepository;
+    @Autowired
+    private ChoreRepository choreRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private UtilityRepository utilityRepository;
+    @Autowired
+    private RoomTeardownRepository roomTeardownRepository;
+
+    private final List<UserEntity> users = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void removeRoomDeletesEveryRoomOwnedRow() {
+        UserEntity head = saveUser("head");
+        RoomEntity room = bigRoom(head);
+        List<RoomMemberEntity> members = roomMemberRepository.findByRoomID(room.getId());
+        // Other rooms (e.g. seeded data) share these tables, so compare against the counts before seeding
+        List<Long> countsBefore = tableCounts();
+        seed(room, head, members);
+
+        RoomTeardownDto status = RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+
+        long seededRows = LEDGER_ENTRIES * 4L + GROCERY_ITEMS + 1 + CHORES + EVENTS + UTILITIES + members.size() + 1;
+        assertThat(status.getStatus()).isEqualTo(RoomTeardownStatus.COMPLETED);
+        assertThat(status.getDeletedRows()).isEqualTo(seededRows);
+        assertThat(roomRepository.existsById(room.getId())).isFalse();
+        assertThat(roomMemberRepository.findByRoomID(room.getId())).isEmpty();
+        assertThat(tableCounts()).isEqualTo(countsBefore);
+    }
+
+    @Test
+    void concurrentRemovalsStartOneTeardown() throws Exception {
+        UserEntity head = saveUser("head");
+        RoomEntity room = bigRoom(head);
+        List<RoomMemberEntity> members = roomMemberRepository.findByRoomID(room.getId());
+        seed(room, head, members);
+
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        List<Future<Boolean>> started = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            started.add(executor.submit(() -> {
+                start.await();
+                try {
+                    roomService.removeRoom(room.getId(), head.getEmail());
+                    return true;
+                } catch (UserApiError e) {
+                    // already being deleted, or already gone
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> result : started) {
+            winners += result.get(60, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(winners).isEqualTo(1);
+        RoomTeardownDto status = RoomTestSupport.awaitTeardown(roomService, room.getId(), head.getEmail());
+        long seededRows = LEDGER_ENTRIES * 4L + GROCERY_ITEMS + 1 + CHORES + EVENTS + UTILITIES + members.size() + 1;
+        assertThat(status.getDeletedRows()).isEqualTo(seededRows);
+    }
+
+    @Test
+    void failedTeardownCanBeStartedAgain() {
+        UserEntity head = saveUser("head");
+        RoomEntity room = bigRoom(head);
+        RoomTeardownEntity failed = new RoomTeardownEntity(room.getId(), head.getEmail());
+        failed.fail();
+        roomTeardownRepository.save(failed);
+
+        RoomTeardownDto status = RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+
+        assertThat(status.getStatus()).isEqualTo(RoomTeardownStatus.COMPLETED);
+        assertThat(roomRepository.existsById(room.getId())).isFalse();
+    }
+
+    private RoomEntity bigRoom(UserEntity head) {
+        RoomEntity room = new RoomEntity("Big Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        room.getMembers().add(new RoomMemberEntity(room, head, RoomMemberEnum.HEAD_ROOMMATE));
+        room.getMembers().add(new RoomMemberEntity(room, saveUser("second"), RoomMemberEnum.ROOMMATE));
+        room.getMembers().add(new RoomMemberEntity(room, saveUser("third"), RoomMemberEnum.ROOMMATE));
+        return roomRepository.save(room);
+    }
+
+    private List<Long> tableCounts() {
+        return List.of(ledgerEntryRepository.count(), ledgerSplitRepository.count(), groceryListRepository.count(),
+                groceryItemRepository.count(), choreRepository.count(), eventRepository.count(), utilityRepository.count());
+    }
+
+    private void seed(RoomEntity room, UserEntity head, List<RoomMemberEntity> members) {
+        List<LedgerEntryEntity> entries = new ArrayList<>();
+        for (int i = 0; i < LEDGER_ENTRIES; i++) {
+            LedgerEntryEntity entry = new LedgerEntryEntity(room, members.get(0), "Bill " + i, LedgerEntryType.OTHER,
+                    new BigDecimal("30.00"), SplitType.EQUAL);
+            for (RoomMemberEntity member : members) {
+                entry.getSplits().add(new LedgerSplitEntity(entry, member, new BigDecimal("10.00")));
+            }
+            entries.add(entry);
+        }
+        ledgerEntryRepository.saveAll(entries);
+
+        GroceryListEntity list = new GroceryListEntity(room, "Weekly", members.get(0));
+        for (int i = 0; i < GROCERY_ITEMS; i++) {
+            list.getItems().add(new GroceryItemEntity(list, "Item " + i, "1", "Misc", members.get(i % members.size())));
+        }
+        groceryListRepository.save(list);
+
+        List<ChoreEntity> chores = new ArrayList<>();
+        for (int i = 0; i < CHORES; i++) {
+            ChoreEntity chore = new ChoreEntity();
+            chore.setChoreName("Chore " + i);
+            chore.setChoreFrequencyUnitEnum(ChoreFrequencyUnitEnum.WEEKLY);
+            chore.setRoom(room);
+            chore.setAssignedToMember(members.get(i % members.size()));
+            chore.setDueAt(LocalDateTime.now().plusDays(i));
+            chores.add(chore);
+        }
+        choreRepository.saveAll(chores);
+
+        List<EventEntity> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            EventEntity event = new EventEntity();
+            event.setTitle("Teardown event " + i);
+            event.setStartTime(LocalDateTime.now().plusDays(i));
+            event.setEndTime(LocalDateTime.now().plusDays(i).plusHours(1));
+            event.setRoom(room);
+            event.setUser(head);
+            events.add(event);
+        }
+        eventRepository.saveAll(events);
+
+        List<UtilityEntity> utilities = new ArrayList<>();
+        for (int i = 0; i < UTILITIES; i++) {
+            UtilityEntity utility = new UtilityEntity();
+            utility.setUtilityName("Legacy " + i);
+            utility.setRoom(room);
+            utility.setAssignedToMember(members.get(i % members.size()));
+            utilities.add(utility);
+        }
+        utilityRepository.saveAll(utilities);
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@teardown.test", "555"));
+        users.add(user);
+        return user;
+    }
+}
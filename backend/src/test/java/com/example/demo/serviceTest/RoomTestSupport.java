@@ -0,0 +1,51 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.RoomTeardownDto;
+import com.roomate.app.entities.room.RoomTeardownStatus;
+import com.roomate.app.service.RoomService;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Room helpers shared by the service tests.
+ */
+final class RoomTestSupport {
+    private static final Duration TEARDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_MILLIS = 50;
+
+    private RoomTestSupport() {
+    }
+
+    // EFFECTS : Removes the room and waits for its teardown to complete; fails if it fails or is still running
+    //           after TEARDOWN_TIMEOUT.
+    static RoomTeardownDto removeRoom(RoomService roomService, UUID roomId, String email) {
+        roomService.removeRoom(roomId, email);
+        return awaitTeardown(roomService, roomId, email);
+    }
+
+    // EFFECTS : Waits for the room's teardown to leave RUNNING and returns its final status, which must be COMPLETED.
+    static RoomTeardownDto awaitTeardown(RoomService roomService, UUID roomId, String email) {
+        long deadline = System.nanoTime() + TEARDOWN_TIMEOUT.toNanos();
+        RoomTeardownDto status = roomService.getRoomTeardownStatus(roomId, email);
+        while (status.getStatus() == RoomTeardownStatus.RUNNING) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Teardown of room %s still running after %s (%d rows deleted)",
+                        roomId, TEARDOWN_TIMEOUT, status.getDeletedRows());
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for the teardown of room " + roomId, e);
+            }
+            status = roomService.getRoomTeardownStatus(roomId, email);
+        }
+        if (status.getStatus() != RoomTeardownStatus.COMPLETED) {
+            fail("Teardown of room %s ended %s at step %s", roomId, status.getStatus(), status.getCurrentStep());
+        }
+        return status;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.config.SyntheticDataGenerator;
+import com.roomate.app.config.SyntheticDataGenerator.Settings;
+import com.roomate.app.dto.RoomDto;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = StartOneApplication.class, properties = {
+        "app.datagen.seed=7",
+        "app.datagen.users=42",
+        "app.datagen.room-size=4",
+        "app.datagen.chores-per-room=3",
+        "app.datagen.ledger-entries-per-room=5",
+        "app.datagen.grocery-lists-per-room=2",
+        "app.datagen.items-per-list=6",
+        "app.datagen.batch-size=16"
+})
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles({"test", "datagen"})
+public class SyntheticDataGeneratorTest {
+    private static final Settings SETTINGS = new Settings(7, 42, 4, 3, 5, 2, 6, 16);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesTheConfiguredShapeAtStartup() {
+        // 42 users in rooms of 4 -> 11 rooms, the last one with 2 members
+        assertThat(count("SELECT COUNT(*) FROM users WHERE email LIKE 'gen-7-%'")).isEqualTo(42);
+        assertThat(count("SELECT COUNT(*) FROM room WHERE name LIKE 'Generated House %'")).isEqualTo(11);
+        assertThat(count("SELECT COUNT(*) FROM ledger_split s JOIN ledger_entry e ON e.id = s.ledger_entry_id " +
+                "JOIN room r ON r.id = e.room_id WHERE r.name LIKE 'Generated House %'")).isEqualTo(42 * 5);
+        assertThat(count("SELECT COUNT(*) FROM grocery_item i JOIN grocery_list l ON l.id = i.grocery_list_id " +
+                "JOIN room r ON r.id = l.room_id WHERE r.name LIKE 'Generated House %'")).isEqualTo(11 * 2 * 6);
+    }
+
+    @Test
+    void generatedRowsAreReadableThroughTheServices() {
+        List<RoomDto> rooms = roomService.getUserRooms(SyntheticDataGenerator.email(SETTINGS, 5));
+
+        assertThat(rooms).hasSize(1);
+        assertThat(rooms.get(0).getMembers()).hasSize(4);
+        assertThat(rooms.get(0).getHeadRoommateId()).isEqualTo(SyntheticDataGenerator.email(SETTINGS, 4));
+    }
+
+    @Test
+    void rerunningWithTheSameSettingsSkipsExistingChunks() {
+        Map<String, Long> written = generator.generate(SETTINGS);
+
+        assertThat(written).isEmpty();
+        assertThat(count("SELECT COUNT(*) FROM users WHERE email LIKE 'gen-7-%'")).isEqualTo(42);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
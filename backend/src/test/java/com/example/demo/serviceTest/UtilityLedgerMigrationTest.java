@@ -0,0 +1,242 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.entities.JobCheckpointEntity;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.UtilDistributionEnum;
+import com.roomate.app.entities.UtilityEntity;
+import com.roomate.app.entities.ledger.LedgerEntryStatus;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.SplitType;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.jobs.UtilityLedgerMigrationJob;
+import com.roomate.app.repository.JobCheckpointRepository;
+import com.roomate.app.repository.LedgerEntryRepository;
+import com.roomate.app.repository.LedgerSplitRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.repository.UtilityRepository;
+import com.roomate.app.service.RoomService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Moves seeded legacy utility rows into the ledger. The job is only a bean when its property is set, so it is
+ * built here around the context's repositories.
+ */
+@ServiceTest
+public class UtilityLedgerMigrationTest {
+    private static final String JOB_NAME = "utility-ledger-migration";
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 5, 1, 0, 0);
+
+    @Autowired
+    private UtilityRepository utilityRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private LedgerSplitRepository ledgerSplitRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private final List<RoomEntity> rooms = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        checkpointRepository.deleteById(JOB_NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (RoomEntity room : rooms) {
+            RoomTestSupport.removeRoom(roomService, room.getId(), room.getHeadRoommateId());
+        }
+        userRepository.deleteAll(users);
+        checkpointRepository.deleteById(JOB_NAME);
+    }
+
+    @Test
+    void sharesAreGroupedIntoBillsWithRoundingAndPaymentsCarriedOver() {
+        RoomEntity room = room(3);
+        List<RoomMemberEntity> members = room.getMembers();
+        UUID hydro = UUID.randomUUID();
+        List<UtilityEntity> rows = new ArrayList<>();
+        // Three double shares of 100.00 that add up to 99.99; only the first member has paid
+        rows.add(share(room, members.get(0), hydro, "Hydro", 33.33, 100.00, UtilDistributionEnum.EQUALSPLIT, DUE, true));
+        rows.add(share(room, members.get(1), hydro, "Hydro", 33.33, 100.00, UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        rows.add(share(room, members.get(2), hydro, "Hydro", 33.33, 100.00, UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        // Shares from before bills had ids: grouped by name, description, due date and distribution
+        rows.add(share(room, members.get(0), null, "Internet", 60.00, 0, UtilDistributionEnum.CUSTOMSPLIT, DUE, true));
+        rows.add(share(room, members.get(1), null, "Internet", 40.00, 0, UtilDistributionEnum.CUSTOMSPLIT, DUE, true));
+        rows.add(share(room, members.get(0), null, "Water", 10.00, 0, UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        rows.add(share(room, members.get(1), null, "Water", 10.00, 0, UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        rows.add(share(room, members.get(0), null, "Water", 12.00, 0, UtilDistributionEnum.EQUALSPLIT, DUE.plusMonths(1), false));
+        // A bill nobody was assigned to has no one to split it between, so it stays where it is
+        rows.add(share(room, null, UUID.randomUUID(), "Orphan", 5.00, 5.00, UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        utilityRepository.saveAll(rows);
+
+        job(utilityRepository, 50).run(null);
+
+        Map<String, List<LedgerSplitEntity>> bills = bills(room);
+        assertThat(bills).containsOnlyKeys("Hydro@2030-05-01", "Internet@2030-05-01", "Water@2030-05-01", "Water@2030-06-01");
+
+        List<LedgerSplitEntity> hydroSplits = bills.get("Hydro@2030-05-01");
+        assertThat(hydroSplits.get(0).getLedgerEntry().getTotalAmount()).isEqualByComparingTo("100.00");
+        assertThat(hydroSplits.get(0).getLedgerEntry().getSplitType()).isEqualTo(SplitType.EQUAL);
+        assertThat(hydroSplits.get(0).getLedgerEntry().getStatus()).isEqualTo(LedgerEntryStatus.PARTIALLY_PAID);
+        assertThat(hydroSplits).extracting(split -> split.getAmountOwed().toPlainString())
+                .containsExactlyInAnyOrder("33.34", "33.33", "33.33");
+        assertThat(sum(hydroSplits)).isEqualByComparingTo("100.00");
+        assertThat(hydroSplits).filteredOn(split -> split.getAmountPaid().signum() > 0).hasSize(1)
+                .allMatch(split -> split.getAmountPaid().compareTo(split.getAmountOwed()) == 0);
+
+        List<LedgerSplitEntity> internet = bills.get("Internet@2030-05-01");
+        assertThat(internet.get(0).getLedgerEntry().getTotalAmount()).isEqualByComparingTo("100.00");
+        assertThat(internet.get(0).getLedgerEntry().getSplitType()).isEqualTo(SplitType.PERCENTAGE);
+        assertThat(internet.get(0).getLedgerEntry().getStatus()).isEqualTo(LedgerEntryStatus.PAID);
+
+        assertThat(bills.get("Water@2030-05-01")).hasSize(2);
+        assertThat(bills.get("Water@2030-05-01").get(0).getLedgerEntry().getStatus()).isEqualTo(LedgerEntryStatus.APPROVED);
+        assertThat(sum(bills.get("Water@2030-06-01"))).isEqualByComparingTo("12.00");
+
+        assertThat(utilityRepository.findByRoomIdWithMember(room.getId()))
+                .extracting(UtilityEntity::getUtilityName).containsExactly("Orphan");
+        JobCheckpointEntity checkpoint = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        assertThat(checkpoint.isCompleted()).isTrue();
+        assertThat(checkpoint.getProcessedRows()).isEqualTo(rows.size() - 1);
+        assertThat(checkpoint.getLastProcessedKey()).isEqualTo(room.getId().toString());
+        assertThat(checkpoint.getWrittenRows()).isEqualTo(4);
+    }
+
+    @Test
+    void interruptedRunResumesFromTheLastCommittedChunk() {
+        List<RoomEntity> seeded = List.of(room(2), room(2), room(2));
+        for (RoomEntity room : seeded) {
+            utilityRepository.saveAll(List.of(
+                    share(room, room.getMembers().get(0), null, "Gas", 25.00, 0, UtilDistributionEnum.EQUALSPLIT, DUE, false),
+                    share(room, room.getMembers().get(1), null, "Gas", 25.00, 0, UtilDistributionEnum.EQUALSPLIT, DUE, false)));
+        }
+
+        // One room per chunk; the second chunk dies part-way, so only the first one commits
+        AtomicInteger chunks = new AtomicInteger();
+        UtilityRepository crashing = (UtilityRepository) Proxy.newProxyInstance(UtilityRepository.class.getClassLoader(),
+                new Class<?>[]{UtilityRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("deleteAllInBatch") && chunks.incrementAndGet() == 2) {
+                        throw new IllegalStateException("Simulated crash");
+                    }
+                    try {
+                        return method.invoke(utilityRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        assertThatThrownBy(() -> job(crashing, 1).run(null)).hasMessage("Simulated crash");
+
+        JobCheckpointEntity interrupted = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        assertThat(interrupted.isCompleted()).isFalse();
+        assertThat(interrupted.getProcessedRows()).isEqualTo(2);
+        assertThat(interrupted.getWrittenRows()).isEqualTo(1);
+        List<RoomEntity> done = seeded.stream()
+                .filter(room -> utilityRepository.findByRoomIdWithMember(room.getId()).isEmpty())
+                .toList();
+        assertThat(done).hasSize(1);
+        // The next run starts after the last committed room
+        assertThat(interrupted.getLastProcessedKey()).isEqualTo(done.get(0).getId().toString());
+        assertThat(seeded.stream().mapToInt(room -> bills(room).size()).sum()).isEqualTo(1);
+
+        job(utilityRepository, 1).run(null);
+
+        JobCheckpointEntity resumed = checkpointRepository.findById(JOB_NAME).orElseThrow();
+        assertThat(resumed.isCompleted()).isTrue();
+        assertThat(resumed.getProcessedRows()).isEqualTo(6);
+        assertThat(resumed.getWrittenRows()).isEqualTo(3);
+        for (RoomEntity room : seeded) {
+            assertThat(utilityRepository.findByRoomIdWithMember(room.getId())).isEmpty();
+            assertThat(bills(room)).containsOnlyKeys("Gas@2030-05-01");
+            assertThat(sum(bills(room).get("Gas@2030-05-01"))).isEqualByComparingTo("50.00");
+        }
+
+        // A completed job is not run again
+        utilityRepository.save(share(seeded.get(0), seeded.get(0).getMembers().get(0), null, "Late", 1.00, 0,
+                UtilDistributionEnum.EQUALSPLIT, DUE, false));
+        job(utilityRepository, 1).run(null);
+        assertThat(utilityRepository.findByRoomIdWithMember(seeded.get(0).getId())).hasSize(1);
+    }
+
+    private UtilityLedgerMigrationJob job(UtilityRepository repository, int batchSize) {
+        return new UtilityLedgerMigrationJob(repository, ledgerEntryRepository, roomRepository, checkpointRepository,
+                transactionManager, batchSize);
+    }
+
+    // Splits of the room's utility entries, keyed by "title@dueDate"
+    private Map<String, List<LedgerSplitEntity>> bills(RoomEntity room) {
+        return ledgerSplitRepository.findActiveByRoomIdAndEntryType(room.getId(), LedgerEntryType.UTILITY).stream()
+                .collect(Collectors.groupingBy(split ->
+                        split.getLedgerEntry().getTitle() + "@" + split.getLedgerEntry().getDueDate()));
+    }
+
+    private static BigDecimal sum(List<LedgerSplitEntity> splits) {
+        return splits.stream().map(LedgerSplitEntity::getAmountOwed).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static UtilityEntity share(RoomEntity room, RoomMemberEntity member, UUID billId, String name, double price,
+                                       double totalPrice, UtilDistributionEnum distribution, LocalDateTime dueAt,
+                                       boolean completed) {
+        UtilityEntity utility = new UtilityEntity();
+        utility.setRoom(room);
+        utility.setAssignedToMember(member);
+        utility.setBillId(billId);
+        utility.setUtilityName(name);
+        utility.setUtilityPrice(price);
+        utility.setTotalPrice(totalPrice);
+        utility.setUtilDistributionEnum(distribution);
+        utility.setDueAt(dueAt);
+        utility.setCompleted(completed);
+        return utility;
+    }
+
+    private RoomEntity room(int memberCount) {
+        List<UserEntity> roomUsers = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            roomUsers.add(userRepository.save(new UserEntity(null, "member" + i, "Test",
+                    "member" + i + "-" + UUID.randomUUID() + "@migration.test", "555")));
+        }
+        users.addAll(roomUsers);
+        RoomEntity room = new RoomEntity("Migration Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                roomUsers.get(0).getEmail(), new ArrayList<>());
+        for (UserEntity user : roomUsers) {
+            room.getMembers().add(new RoomMemberEntity(room, user,
+                    user == roomUsers.get(0) ? RoomMemberEnum.HEAD_ROOMMATE : RoomMemberEnum.ROOMMATE));
+        }
+        RoomEntity saved = roomRepository.save(room);
+        rooms.add(saved);
+        return saved;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.dto.UtilityCreateDto;
+import com.roomate.app.dto.ledger.RecordPaymentDto;
+import com.roomate.app.entities.UserEntity;
+import com.roomate.app.entities.UtilDistributionEnum;
+import com.roomate.app.entities.ledger.LedgerEntryType;
+import com.roomate.app.entities.ledger.LedgerSplitEntity;
+import com.roomate.app.entities.ledger.PaymentStatus;
+import com.roomate.app.entities.room.RoomEntity;
+import com.roomate.app.entities.room.RoomMemberEntity;
+import com.roomate.app.entities.room.RoomMemberEnum;
+import com.roomate.app.repository.LedgerSplitRepository;
+import com.roomate.app.repository.RoomMemberRepository;
+import com.roomate.app.repository.RoomRepository;
+import com.roomate.app.repository.UserRepository;
+import com.roomate.app.service.LedgerService;
+import com.roomate.app.service.RoomService;
+import com.roomate.app.service.UtilityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Re-splitting utilities after membership changes. Members are added and re-roled through the repository,
+ * so no membership event starts a second re-split in the background.
+ */
+@ServiceTest
+public class UtilityResplitTest {
+    @Autowired
+    private UtilityService utilityService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private RoomMemberRepository roomMemberRepository;
+    @Autowired
+    private LedgerSplitRepository ledgerSplitRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private UserEntity head;
+    private UserEntity first;
+    private UserEntity second;
+    private RoomEntity room;
+
+    @BeforeEach
+    void setUp() {
+        head = saveUser("head");
+        first = saveUser("first");
+        second = saveUser("second");
+        RoomEntity created = new RoomEntity("Resplit Room", "1 Test St", "", UUID.randomUUID().toString().substring(0, 8),
+                head.getEmail(), new ArrayList<>());
+        created.getMembers().add(new RoomMemberEntity(created, head, RoomMemberEnum.HEAD_ROOMMATE));
+        created.getMembers().add(new RoomMemberEntity(created, first, RoomMemberEnum.ROOMMATE));
+        created.getMembers().add(new RoomMemberEntity(created, second, RoomMemberEnum.ROOMMATE));
+        room = roomRepository.save(created);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoomTestSupport.removeRoom(roomService, room.getId(), head.getEmail());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void equalResplitWritesOnlyTheSplitsThatChange() {
+        utilityService.createUtility(utility(UtilDistributionEnum.EQUALSPLIT, null), head.getEmail());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Guests are not part of shared bills, so nothing is written
+        addMember(saveUser("guest"), RoomMemberEnum.GUEST);
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 0, 0, 0);
+        assertThat(shares()).isEqualTo(Map.of(head.getId(), "30.00", first.getId(), "30.00", second.getId(), "30.00"));
+
+        UserEntity third = saveUser("third");
+        addMember(third, RoomMemberEnum.ROOMMATE);
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 1, 3, 0);
+        assertThat(shares()).isEqualTo(Map.of(head.getId(), "22.50", first.getId(), "22.50", second.getId(), "22.50",
+                third.getId(), "22.50"));
+
+        // A second pass over an already even split is a no-op
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 0, 0, 0);
+
+        // Demoting a member to guest removes their split and the others take back their share
+        changeRole(third, RoomMemberEnum.GUEST);
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 0, 3, 1);
+        assertThat(shares()).isEqualTo(Map.of(head.getId(), "30.00", first.getId(), "30.00", second.getId(), "30.00"));
+    }
+
+    @Test
+    void percentageResplitKeepsTheRemainingProportions() {
+        Map<UUID, Double> percentages = new HashMap<>();
+        percentages.put(memberId(head), 50.0);
+        percentages.put(memberId(first), 30.0);
+        percentages.put(memberId(second), 20.0);
+        utilityService.createUtility(utility(UtilDistributionEnum.CUSTOMSPLIT, percentages), head.getEmail());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Percentage splits keep their members: a newcomer is not added
+        addMember(saveUser("third"), RoomMemberEnum.ROOMMATE);
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 0, 0, 0);
+
+        changeRole(second, RoomMemberEnum.GUEST);
+        statistics.clear();
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+        assertWrites(statistics, 0, 2, 1);
+        assertThat(shares()).isEqualTo(Map.of(head.getId(), "56.25", first.getId(), "33.75"));
+    }
+
+    @Test
+    void entriesWithPaymentsAreNotResplit() {
+        utilityService.createUtility(utility(UtilDistributionEnum.EQUALSPLIT, null), head.getEmail());
+        ledgerService.recordPayment(splitOf(first).getId(), payment("10.00"), first.getEmail());
+
+        addMember(saveUser("third"), RoomMemberEnum.ROOMMATE);
+        utilityService.updateUtilitiesOnUserChange(room.getId());
+
+        assertThat(shares()).isEqualTo(Map.of(head.getId(), "30.00", first.getId(), "30.00", second.getId(), "30.00"));
+    }
+
+    @Test
+    void paymentWaitsForARunningResplitAndPaysTheNewShare() throws Exception {
+        utilityService.createUtility(utility(UtilDistributionEnum.EQUALSPLIT, null), head.getEmail());
+        UUID headSplit = splitOf(head).getId();
+        addMember(saveUser("third"), RoomMemberEnum.ROOMMATE);
+
+        CountDownLatch resplitWritten = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> resplit = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                utilityService.updateUtilitiesOnUserChange(room.getId());
+                resplitWritten.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(resplitWritten.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> payment = executor.submit(() -> ledgerService.recordPayment(headSplit, payment("22.50"), head.getEmail()));
+            Thread.sleep(300);
+            assertThat(payment).as("payment must wait for the re-split to commit").isNotDone();
+
+            commit.countDown();
+            resplit.get(10, TimeUnit.SECONDS);
+            payment.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LedgerSplitEntity paid = splitOf(head);
+        assertThat(paid.getAmountOwed()).isEqualByComparingTo("22.50");
+        assertThat(paid.getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(shares().values().stream().map(BigDecimal::new).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("90.00");
+    }
+
+    private static void assertWrites(Statistics statistics, long inserts, long updates, long deletes) {
+        assertThat(statistics.getEntityInsertCount()).as("inserts").isEqualTo(inserts);
+        assertThat(statistics.getEntityUpdateCount()).as("updates").isEqualTo(updates);
+        assertThat(statistics.getEntityDeleteCount()).as("deletes").isEqualTo(deletes);
+    }
+
+    // Amount owed per user id, as plain strings so the map compares regardless of BigDecimal scale quirks
+    private Map<Long, String> shares() {
+        Map<Long, String> shares = new HashMap<>();
+        for (LedgerSplitEntity split : ledgerSplitRepository.findActiveByRoomIdAndEntryType(room.getId(), LedgerEntryType.UTILITY)) {
+            shares.put(split.getRoomMember().getUser().getId(), split.getAmountOwed().setScale(2).toPlainString());
+        }
+        return shares;
+    }
+
+    private LedgerSplitEntity splitOf(UserEntity user) {
+        return ledgerSplitRepository.findActiveByRoomIdAndEntryType(room.getId(), LedgerEntryType.UTILITY).stream()
+                .filter(split -> split.getRoomMember().getUser().getId().equals(user.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private UUID memberId(UserEntity user) {
+        return roomMemberRepository.findByRoomIdAndUserEmail(room.getId(), user.getEmail()).orElseThrow().getId();
+    }
+
+    private void addMember(UserEntity user, RoomMemberEnum role) {
+        roomMemberRepository.save(new RoomMemberEntity(room, user, role));
+    }
+
+    private void changeRole(UserEntity user, RoomMemberEnum role) {
+        RoomMemberEntity member = roomMemberRepository.findByRoomIdAndUserEmail(room.getId(), user.getEmail()).orElseThrow();
+        member.setRole(role);
+        roomMemberRepository.save(member);
+    }
+
+    private UtilityCreateDto utility(UtilDistributionEnum distribution, Map<UUID, Double> customSplit) {
+        UtilityCreateDto dto = new UtilityCreateDto();
+        dto.setUtilityName("Hydro");
+        dto.setUtilityPrice(90.00);
+        dto.setUtilDistributionEnum(distribution);
+        dto.setCustomSplit(customSplit);
+        dto.setRoomId(room.getId());
+        return dto;
+    }
+
+    private static RecordPaymentDto payment(String amount) {
+        RecordPaymentDto dto = new RecordPaymentDto();
+        dto.setAmount(new BigDecimal(amount));
+        return dto;
+    }
+
+    private UserEntity saveUser(String name) {
+        UserEntity user = userRepository.save(new UserEntity(null, name, "Test", name + "-" + UUID.randomUUID() + "@resplit.test", "555"));
+        users.add(user);
+        return user;
+    }
+}
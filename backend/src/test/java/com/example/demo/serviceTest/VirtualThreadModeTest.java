@@ -0,0 +1,107 @@
+package com.example.demo.serviceTest;
+
+import com.roomate.app.StartOneApplication;
+import com.roomate.app.config.ConcurrencyLimitFilter;
+import com.roomate.app.config.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = StartOneApplication.class, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "app.threads.requests-per-connection=2",
+        "app.threads.admission-timeout-ms=50",
+        "app.threads.pinning-threshold-ms=10"
+})
+@EnableAutoConfiguration(exclude = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.oauth2.resource.servlet.OAuth2ResourceServerAutoConfiguration.class
+})
+@ActiveProfiles("test")
+public class VirtualThreadModeTest {
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void asyncTasksRunOnVirtualThreads() throws Exception {
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    void limitIsDerivedFromTheConnectionPoolAndShedsExcessRequests() throws Exception {
+        assertThat(concurrencyLimitFilter.getMaxConcurrentRequests()).isEqualTo(6);
+
+        CountDownLatch holding = new CountDownLatch(6);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 6; i++) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    concurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"),
+                            new MockHttpServletResponse(), (req, res) -> {
+                                holding.countDown();
+                                try {
+                                    release.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            });
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        concurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), shed, new MockFilterChain());
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        concurrencyLimitFilter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+        release.countDown();
+
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(health.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void blockingInsideSynchronizedIsReported() throws Exception {
+        double before = pinningMonitor.pinnedCount();
+        Object lock = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // JFR streams events in batches about once a second
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pinningMonitor.pinnedCount() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinningMonitor.pinnedCount()).isGreaterThan(before);
+    }
+}
@@ -2,6 +2,12 @@ import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import '../styling/Calendar.css';
 
+// The API takes local date-times without an offset, e.g. 2030-03-01T00:00:00
+const toLocalDateTime = (date) => {
+    const pad = (value) => String(value).padStart(2, '0');
+    return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}T00:00:00`;
+};
+
 const Calendar = () => {
     const [user, setUser] = useState(null);
     const [events, setEvents] = useState([]);
@@ -58,11 +64,7 @@ const Calendar = () => {
 
             try {
                 setLoading(true);
-                const [eventsResponse, roomsResponse, choresRes, utilitiesRes] = await Promise.all([
-                    axios.get(`${process.env.REACT_APP_BASE_API_URL}/api/events/user`, {
-                        withCredentials: true,
-                        credentials: 'include',
-                    }),
+                const [roomsResponse, choresRes, utilitiesRes] = await Promise.all([
                     axios.get(`${process.env.REACT_APP_BASE_API_URL}/api/rooms`, {
                         withCredentials: true,
                         credentials: 'include',
@@ -77,7 +79,6 @@ const Calendar = () => {
                     }),
                 ]);
 
-                setEvents(eventsResponse.data);
                 setRooms(Array.isArray(roomsResponse.data) ? roomsResponse.data : (roomsResponse.data ? [roomsResponse.data] : []));
                 setChores(Array.isArray(choresRes.data) ? choresRes.data : (choresRes.data ? [choresRes.data] : []));
                 setUtilities(Array.isArray(utilitiesRes.data) ? utilitiesRes.data : (utilitiesRes.data ? [utilitiesRes.data] : []));
@@ -93,6 +94,43 @@ const Calendar = () => {
         fetchData();
     }, [user]);
 
+    const visibleYear = selectedDate.getFullYear();
+    const visibleMonth = selectedDate.getMonth();
+
+    // Events are read for the month on screen only; recurring ones come back expanded over it
+    useEffect(() => {
+        if (!user) {
+            return;
+        }
+        let cancelled = false;
+
+        const fetchEvents = async () => {
+            try {
+                const eventsResponse = await axios.get(`${process.env.REACT_APP_BASE_API_URL}/api/events/user`, {
+                    params: {
+                        from: toLocalDateTime(new Date(visibleYear, visibleMonth, 1)),
+                        to: toLocalDateTime(new Date(visibleYear, visibleMonth + 1, 1)),
+                    },
+                    withCredentials: true,
+                    credentials: 'include',
+                });
+                if (!cancelled) {
+                    setEvents(eventsResponse.data);
+                }
+            } catch (err) {
+                console.error('Error fetching events:', err);
+                if (!cancelled) {
+                    setError('Failed to load calendar data');
+                }
+            }
+        };
+
+        fetchEvents();
+        return () => {
+            cancelled = true;
+        };
+    }, [user, visibleYear, visibleMonth]);
+
     const createEvent = async (e) => {
         e.preventDefault();
 